@@ -743,6 +743,9 @@ public class RunnerBuilder {
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
             apiConfiguration,
             miningConfiguration);
+    blockchainQueries
+        .getBlockFeeSummaryCache()
+        .ifPresent(cache -> synchronizer.subscribeInSync(cache::inSyncChanged));
 
     final FilterManager filterManager =
         new FilterManagerBuilder()
@@ -1079,6 +1082,7 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        blockchainQueries.getLogIndex(),
         context.getBlockchain());
   }
 
@@ -30,6 +30,10 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.pipeline.Pipe;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 import org.hyperledger.besu.util.era1.Era1BlockIndex;
 import org.hyperledger.besu.util.era1.Era1ExecutionBlockBody;
 import org.hyperledger.besu.util.era1.Era1ExecutionBlockHeader;
@@ -47,9 +51,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
@@ -61,8 +67,13 @@ import org.slf4j.LoggerFactory;
 public class Era1BlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(Era1BlockImporter.class);
 
-  private static final int ERA1_BLOCK_COUNT_MAX = 8192;
   private static final int IMPORT_COUNT_FOR_LOG_UPDATE = 1000;
+  private static final int DECODING_PARALLELISM = Runtime.getRuntime().availableProcessors();
+  private static final int PIPELINE_BUFFER_SIZE = 4 * DECODING_PARALLELISM;
+  private static final long IMPORT_TIMEOUT_MINUTES = 10;
+
+  private final ExecutorService decodingExecutor = Executors.newCachedThreadPool();
+  private final ExecutorService pipelineExecutor = Executors.newCachedThreadPool();
 
   /** Default Constructor. */
   public Era1BlockImporter() {}
@@ -84,92 +95,133 @@ public class Era1BlockImporter implements Closeable {
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
     final ProtocolContext context = controller.getProtocolContext();
 
-    Era1Reader reader = new Era1Reader(new SnappyFactory(), new InputStreamFactory());
-
-    final List<Future<BlockHeader>> headersFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    final List<Future<BlockBody>> bodiesFutures = new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    final List<Future<List<TransactionReceipt>>> receiptsFutures =
-        new ArrayList<>(ERA1_BLOCK_COUNT_MAX);
-    reader.read(
-        new FileInputStream(path.toFile()),
-        new Era1ReaderListener() {
-
-          @Override
-          public void handleExecutionBlockHeader(
-              final Era1ExecutionBlockHeader executionBlockHeader) {
-            headersFutures.add(
-                CompletableFuture.supplyAsync(
-                    () ->
-                        BlockHeader.readFrom(
-                            new BytesValueRLPInput(
-                                Bytes.wrap(executionBlockHeader.header()), false),
-                            blockHeaderFunctions)));
-          }
-
-          @Override
-          public void handleExecutionBlockBody(final Era1ExecutionBlockBody executionBlockBody) {
-            bodiesFutures.add(
-                CompletableFuture.supplyAsync(
-                    () ->
-                        BlockBody.readWrappedBodyFrom(
-                            new BytesValueRLPInput(Bytes.wrap(executionBlockBody.block()), false),
-                            blockHeaderFunctions,
-                            true)));
-          }
-
-          @Override
-          public void handleExecutionBlockReceipts(
-              final Era1ExecutionBlockReceipts executionBlockReceipts) {
-            receiptsFutures.add(
-                CompletableFuture.supplyAsync(
-                    () -> {
-                      RLPInput input =
-                          new BytesValueRLPInput(
-                              Bytes.wrap(executionBlockReceipts.receipts()), false);
-                      final List<TransactionReceipt> receiptsForBlock = new ArrayList<>();
-                      input.readList(
-                          (in) ->
-                              receiptsForBlock.add(TransactionReceiptDecoder.readFrom(in, false)));
-                      return receiptsForBlock;
-                    }));
-          }
-
-          @Override
-          public void handleBlockIndex(final Era1BlockIndex blockIndex) {
-            // not really necessary, do nothing
-          }
-        });
-
-    LOG.info("Read {} blocks, now importing", headersFutures.size());
-
-    Block block = null;
-    for (int i = 0; i < headersFutures.size(); i++) {
-      BlockHeader blockHeader = headersFutures.get(i).get(10, TimeUnit.SECONDS);
-      BlockImporter blockImporter =
-          protocolSchedule.getByBlockHeader(blockHeader).getBlockImporter();
-      block = new Block(blockHeader, bodiesFutures.get(i).get(10, TimeUnit.SECONDS));
-
-      BlockImportResult importResult =
-          blockImporter.importBlockForSyncing(
-              context,
-              block,
-              receiptsFutures.get(i).get(10, TimeUnit.SECONDS),
-              HeaderValidationMode.NONE,
-              HeaderValidationMode.NONE,
-              BodyValidationMode.NONE,
-              false);
-      if (importResult.getStatus() != BlockImportResult.BlockImportStatus.IMPORTED) {
-        LOG.warn(
-            "Failed to import block {} due to {}",
-            blockHeader.getNumber(),
-            importResult.getStatus());
-      } else if (i % IMPORT_COUNT_FOR_LOG_UPDATE == 0) {
-        LOG.info("{}/{} blocks imported", i, headersFutures.size());
+    final Era1Reader reader = new Era1Reader(new SnappyFactory(), new InputStreamFactory());
+    final AtomicInteger importedBlocks = new AtomicInteger();
+
+    final Pipeline<Era1RawBlock> pipeline =
+        PipelineBuilder.<Era1RawBlock>createPipeline(
+                "readEra1Blocks",
+                PIPELINE_BUFFER_SIZE,
+                NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER,
+                false,
+                "era1BlockImport")
+            .thenProcessAsyncOrdered(
+                "decodeEra1Blocks",
+                rawBlock ->
+                    CompletableFuture.supplyAsync(
+                        () -> decodeBlock(rawBlock, blockHeaderFunctions), decodingExecutor),
+                DECODING_PARALLELISM)
+            .andFinishWith(
+                "importEra1Blocks",
+                decodedBlock -> {
+                  importBlock(protocolSchedule, context, decodedBlock);
+                  final int imported = importedBlocks.incrementAndGet();
+                  if (imported % IMPORT_COUNT_FOR_LOG_UPDATE == 0) {
+                    LOG.info("{} blocks imported", imported);
+                  }
+                });
+    final CompletableFuture<Void> pipelineFuture = pipeline.start(pipelineExecutor);
+
+    final Pipe<Era1RawBlock> inputPipe = pipeline.getInputPipe();
+    try (final FileInputStream inputStream = new FileInputStream(path.toFile())) {
+      reader.read(
+          inputStream,
+          new Era1ReaderListener() {
+            private byte[] header;
+            private byte[] body;
+
+            @Override
+            public void handleExecutionBlockHeader(
+                final Era1ExecutionBlockHeader executionBlockHeader) {
+              header = executionBlockHeader.header();
+            }
+
+            @Override
+            public void handleExecutionBlockBody(final Era1ExecutionBlockBody executionBlockBody) {
+              body = executionBlockBody.block();
+            }
+
+            @Override
+            public void handleExecutionBlockReceipts(
+                final Era1ExecutionBlockReceipts executionBlockReceipts) {
+              // the receipts are the last entry of each block tuple, the block is now complete
+              inputPipe.put(new Era1RawBlock(header, body, executionBlockReceipts.receipts()));
+              header = null;
+              body = null;
+            }
+
+            @Override
+            public void handleBlockIndex(final Era1BlockIndex blockIndex) {
+              // not really necessary, do nothing
+            }
+          });
+    } catch (final IOException | RuntimeException e) {
+      pipeline.abort();
+      throw e;
+    } finally {
+      inputPipe.close();
+    }
+
+    try {
+      pipelineFuture.get(IMPORT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    } catch (final TimeoutException | ExecutionException | InterruptedException e) {
+      // stop the decoding and import stages so no more blocks are written after giving up
+      pipeline.abort();
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
       }
+      throw e;
     }
-    LOG.info("Done importing {} blocks", headersFutures.size());
+    LOG.info("Done importing {} blocks", importedBlocks.get());
   }
 
+  private DecodedEra1Block decodeBlock(
+      final Era1RawBlock rawBlock, final BlockHeaderFunctions blockHeaderFunctions) {
+    final BlockHeader blockHeader =
+        BlockHeader.readFrom(
+            new BytesValueRLPInput(Bytes.wrap(rawBlock.header()), false), blockHeaderFunctions);
+    final BlockBody blockBody =
+        BlockBody.readWrappedBodyFrom(
+            new BytesValueRLPInput(Bytes.wrap(rawBlock.body()), false),
+            blockHeaderFunctions,
+            true);
+    final RLPInput input = new BytesValueRLPInput(Bytes.wrap(rawBlock.receipts()), false);
+    final List<TransactionReceipt> receiptsForBlock = new ArrayList<>();
+    input.readList((in) -> receiptsForBlock.add(TransactionReceiptDecoder.readFrom(in, false)));
+    return new DecodedEra1Block(new Block(blockHeader, blockBody), receiptsForBlock);
+  }
+
+  private void importBlock(
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext context,
+      final DecodedEra1Block decodedBlock) {
+    final Block block = decodedBlock.block();
+    final BlockImporter blockImporter =
+        protocolSchedule.getByBlockHeader(block.getHeader()).getBlockImporter();
+    final BlockImportResult importResult =
+        blockImporter.importBlockForSyncing(
+            context,
+            block,
+            decodedBlock.receipts(),
+            HeaderValidationMode.NONE,
+            HeaderValidationMode.NONE,
+            BodyValidationMode.NONE,
+            false);
+    if (importResult.getStatus() != BlockImportResult.BlockImportStatus.IMPORTED) {
+      LOG.warn(
+          "Failed to import block {} due to {}",
+          block.getHeader().getNumber(),
+          importResult.getStatus());
+    }
+  }
+
+  private record Era1RawBlock(byte[] header, byte[] body, byte[] receipts) {}
+
+  private record DecodedEra1Block(Block block, List<TransactionReceipt> receipts) {}
+
   @Override
-  public void close() throws IOException {}
+  public void close() throws IOException {
+    decodingExecutor.shutdownNow();
+    pipelineExecutor.shutdownNow();
+  }
 }
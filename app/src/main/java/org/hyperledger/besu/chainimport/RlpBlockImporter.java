@@ -32,18 +32,20 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.util.RawBlockIterator;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
@@ -54,10 +56,11 @@ import org.slf4j.LoggerFactory;
 public class RlpBlockImporter implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(RlpBlockImporter.class);
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  private static final int VALIDATION_PARALLELISM = Runtime.getRuntime().availableProcessors();
+  private static final int PIPELINE_BUFFER_SIZE = 2 * VALIDATION_PARALLELISM;
 
   private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
-  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+  private final ExecutorService pipelineExecutor = Executors.newCachedThreadPool();
 
   private long cumulativeGas;
   private long segmentGas;
@@ -105,94 +108,66 @@ public class RlpBlockImporter implements Closeable {
     final ProtocolSchedule protocolSchedule = besuController.getProtocolSchedule();
     final ProtocolContext context = besuController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
     final BlockHeaderFunctions blockHeaderFunctions =
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
     try (final RawBlockIterator iterator = new RawBlockIterator(blocks, blockHeaderFunctions)) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      final AtomicReference<Throwable> threadedException = new AtomicReference<>();
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        final long blockNumber = header.getNumber();
-        if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
-            || blockNumber < startBlock
-            || blockNumber >= endBlock) {
-          continue;
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-        final BlockHeader lastHeader = previousHeader;
-
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header, skipPowValidation),
-                validationExecutor);
-
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
-
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
-        }
-
-        try {
-          do {
-            final Throwable t = (Exception) threadedException.get();
-            if (t != null) {
-              throw new RuntimeException("Error importing block " + header.getNumber(), t);
-            }
-          } while (!blockBacklog.tryAcquire(1, SECONDS));
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
-        }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () ->
-                    evaluateBlock(
-                        context,
-                        block,
-                        header,
-                        protocolSchedule.getByBlockHeader(header),
-                        skipPowValidation),
-                importExecutor);
-        previousBlockFuture.exceptionally(
-            exception -> {
-              threadedException.set(exception);
-              return null;
-            });
-
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
+      final BlocksToImportSource source =
+          new BlocksToImportSource(iterator, blockchain, startBlock, endBlock);
+      final Pipeline<BlockToImport> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "readBlocks",
+                  source,
+                  PIPELINE_BUFFER_SIZE,
+                  NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER,
+                  false,
+                  "rlpBlockImport")
+              .thenProcessAsyncOrdered(
+                  "validateBlocks",
+                  blockToImport ->
+                      CompletableFuture.supplyAsync(
+                          () -> {
+                            extractSignatures(blockToImport.block());
+                            validateBlock(
+                                protocolSchedule.getByBlockHeader(blockToImport.header()),
+                                context,
+                                blockToImport.parentHeader(),
+                                blockToImport.header(),
+                                skipPowValidation);
+                            return blockToImport;
+                          },
+                          validationExecutor),
+                  VALIDATION_PARALLELISM)
+              .andFinishWith(
+                  "importBlocks",
+                  blockToImport ->
+                      evaluateBlock(
+                          context,
+                          blockToImport.block(),
+                          blockToImport.header(),
+                          protocolSchedule.getByBlockHeader(blockToImport.header()),
+                          skipPowValidation));
+      try {
+        pipeline.start(pipelineExecutor).get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        pipeline.abort();
+        LOG.error("Interrupted importing blocks.", e);
+      } catch (final ExecutionException e) {
+        pipeline.abort();
+        throw new RuntimeException(
+            "Error importing blocks after block " + blockchain.getChainHeadBlockNumber(),
+            e.getCause());
       }
       logProgress(blockchain.getChainHeadBlockNumber());
       return new RlpBlockImporter.ImportResult(
-          blockchain.getChainHead().getTotalDifficulty(), count);
+          blockchain.getChainHead().getTotalDifficulty(), source.getCount());
     }
   }
 
   private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
+    // blocks are validated in parallel, so recover the senders of each block sequentially
     for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
-    }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+      tx.getSender();
     }
   }
 
@@ -239,7 +214,6 @@ public class RlpBlockImporter implements Closeable {
             "Invalid block at block number " + header.getNumber() + ".");
       }
     } finally {
-      blockBacklog.release();
       cumulativeTimer.stop();
       segmentTimer.stop();
       final long thisGas = block.getHeader().getGasUsed();
@@ -292,12 +266,81 @@ public class RlpBlockImporter implements Closeable {
       LOG.error("Error shutting down validatorExecutor.", e);
     }
 
-    importExecutor.shutdownNow();
+    pipelineExecutor.shutdownNow();
     try {
       //noinspection ResultOfMethodCallIgnored
-      importExecutor.awaitTermination(5, SECONDS);
+      pipelineExecutor.awaitTermination(5, SECONDS);
     } catch (final Exception e) {
-      LOG.error("Error shutting down importExecutor", e);
+      LOG.error("Error shutting down pipelineExecutor", e);
+    }
+  }
+
+  private record BlockToImport(Block block, BlockHeader parentHeader) {
+    BlockHeader header() {
+      return block.getHeader();
+    }
+  }
+
+  /**
+   * Reads the blocks to import from the file, skipping the ones outside the requested range or
+   * already in the chain, and pairs each of them with its parent header so they can be validated
+   * independently of each other.
+   */
+  private class BlocksToImportSource implements Iterator<BlockToImport> {
+    private final RawBlockIterator iterator;
+    private final MutableBlockchain blockchain;
+    private final long startBlock;
+    private final long endBlock;
+    private BlockHeader previousHeader = null;
+    private Block nextBlock = null;
+    private int count = 0;
+
+    BlocksToImportSource(
+        final RawBlockIterator iterator,
+        final MutableBlockchain blockchain,
+        final long startBlock,
+        final long endBlock) {
+      this.iterator = iterator;
+      this.blockchain = blockchain;
+      this.startBlock = startBlock;
+      this.endBlock = endBlock;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (nextBlock == null && iterator.hasNext()) {
+        final Block block = iterator.next();
+        final BlockHeader header = block.getHeader();
+        final long blockNumber = header.getNumber();
+        if (blockNumber == BlockHeader.GENESIS_BLOCK_NUMBER
+            || blockNumber < startBlock
+            || blockNumber >= endBlock
+            || blockchain.contains(header.getHash())) {
+          continue;
+        }
+        nextBlock = block;
+      }
+      return nextBlock != null;
+    }
+
+    @Override
+    public BlockToImport next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final Block block = nextBlock;
+      nextBlock = null;
+      if (previousHeader == null) {
+        previousHeader = lookupPreviousHeader(blockchain, block.getHeader());
+      }
+      final BlockToImport blockToImport = new BlockToImport(block, previousHeader);
+      previousHeader = block.getHeader();
+      ++count;
+      return blockToImport;
+    }
+
+    int getCount() {
+      return count;
     }
   }
 
@@ -94,6 +94,48 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--api-log-index-enabled"},
+      hidden = true,
+      description =
+          "Set to maintain an inverted index of the log addresses and topics, used by eth_getLogs and eth_getFilterLogs instead of the log blooms (default: ${DEFAULT-VALUE})")
+  private final Boolean apiLogIndexEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--api-shared-simulation-state-enabled"},
+      hidden = true,
+      description =
+          "Set to share one frozen world state, with its loaded accounts and storage, between the concurrent simulations of eth_call and eth_estimateGas at the same block (default: ${DEFAULT-VALUE})")
+  private final Boolean apiSharedSimulationStateEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--api-trace-cache-max-size"},
+      hidden = true,
+      description =
+          "Maximum size in bytes of the on disk cache of the debug_traceBlock, trace_block and trace_replayBlockTransactions results, 0 to disable it (default: ${DEFAULT-VALUE})")
+  private final Long apiTraceCacheMaxSize = 0L;
+
+  @CommandLine.Option(
+      names = {"--api-parallel-block-replay-enabled"},
+      hidden = true,
+      description =
+          "Set to execute the transactions of the blocks traced by debug_traceBlock and trace_block in parallel, each on its own copy of the parent state, and confirm them in block order (default: ${DEFAULT-VALUE})")
+  private final Boolean apiParallelBlockReplayEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--api-streamed-trace-responses-enabled"},
+      hidden = true,
+      description =
+          "Set to write the debug_traceBlock and trace_block results of the HTTP requests while the transactions are traced, instead of collecting them in memory first (default: ${DEFAULT-VALUE})")
+  private final Boolean apiStreamedTraceResponsesEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--api-fee-summary-cache-size"},
+      hidden = true,
+      description =
+          "Number of recent blocks whose fee data is precomputed for eth_feeHistory, eth_gasPrice and eth_maxPriorityFeePerGas, 0 to disable it (default: ${DEFAULT-VALUE})")
+  private final Integer apiFeeSummaryCacheSize = 0;
+
   /**
    * Validates the API options.
    *
@@ -137,7 +179,13 @@ public class ApiConfigurationOptions {
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .isLogIndexEnabled(apiLogIndexEnabled)
+            .isSharedSimulationWorldStateEnabled(apiSharedSimulationStateEnabled)
+            .traceCacheMaxSize(apiTraceCacheMaxSize)
+            .isParallelBlockReplayEnabled(apiParallelBlockReplayEnabled)
+            .isStreamedTraceResponsesEnabled(apiStreamedTraceResponsesEnabled)
+            .feeSummaryCacheSize(apiFeeSummaryCacheSize);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
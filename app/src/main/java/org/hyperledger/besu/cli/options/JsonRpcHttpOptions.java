@@ -15,8 +15,10 @@
 package org.hyperledger.besu.cli.options;
 
 import static java.util.Arrays.asList;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_BATCH_PARALLELISM;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_HOST;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_PORT;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_BATCH_COST;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_PRETTY_JSON_ENABLED;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis.DEFAULT_RPC_APIS;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis.VALID_APIS;
@@ -212,6 +214,20 @@ public class JsonRpcHttpOptions {
           "Specifies the maximum number of requests in a single RPC batch request via RPC. -1 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Integer rpcHttpMaxBatchSize = DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_SIZE;
 
+  @CommandLine.Option(
+      names = {"--rpc-http-batch-parallelism"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Specifies the maximum number of requests of a single RPC batch request executed concurrently. 1 executes them serially (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpBatchParallelism = DEFAULT_BATCH_PARALLELISM;
+
+  @CommandLine.Option(
+      names = {"--rpc-http-max-batch-cost"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Specifies the maximum total cost of the requests in a single RPC batch request, where simple lookups cost 1, calls and log queries 10 and traces 100. -1 specifies no limit (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpMaxBatchCost = DEFAULT_MAX_BATCH_COST;
+
   @CommandLine.Option(
       names = {"--rpc-http-max-request-content-length"},
       paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
@@ -271,6 +287,12 @@ public class JsonRpcHttpOptions {
           "Unable to authenticate JSON-RPC HTTP endpoint without a supplied credentials file or authentication public key file");
     }
 
+    if (rpcHttpMaxBatchCost != -1 && rpcHttpMaxBatchCost <= 0) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          "Invalid value for option '--rpc-http-max-batch-cost', must be a positive number or -1 for no limit");
+    }
+
     checkDependencies(logger, commandLine);
 
     if (isRpcTlsConfigurationRequired()) {
@@ -299,6 +321,8 @@ public class JsonRpcHttpOptions {
     jsonRpcConfiguration.setAuthenticationAlgorithm(rpcHttpAuthenticationAlgorithm);
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setMaxBatchSize(rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setBatchParallelism(rpcHttpBatchParallelism);
+    jsonRpcConfiguration.setMaxBatchCost(rpcHttpMaxBatchCost);
     jsonRpcConfiguration.setMaxRequestContentLength(rpcHttpMaxRequestContentLength);
     jsonRpcConfiguration.setPrettyJsonEnabled(prettyJsonEnabled);
     return jsonRpcConfiguration;
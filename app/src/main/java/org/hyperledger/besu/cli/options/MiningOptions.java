@@ -26,6 +26,7 @@ import static org.hyperledger.besu.ethereum.core.MiningConfiguration.MutableInit
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_MAX_OMMERS_DEPTH;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
+import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POS_SELECTION_REUSE_ENABLED;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_POW_JOB_TTL;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_REMOTE_SEALERS_LIMIT;
 import static org.hyperledger.besu.ethereum.core.MiningConfiguration.Unstable.DEFAULT_REMOTE_SEALERS_TTL;
@@ -176,6 +177,15 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
                 + " then it waits before next repetition. Must be positive and ≤ 2000 (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockCreationRepetitionMinDuration =
         DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xpos-selection-reuse-enabled"},
+        paramLabel = "<Boolean>",
+        arity = "0..1",
+        description =
+            "Reuse the transactions already selected for a PoS proposal when another proposal is requested for the same slot (default: ${DEFAULT-VALUE})")
+    private Boolean posSelectionReuseEnabled = DEFAULT_POS_SELECTION_REUSE_ENABLED;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -305,6 +315,8 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
         miningConfiguration.getUnstable().getPosBlockCreationMaxTime();
     miningOptions.unstableOptions.posBlockCreationRepetitionMinDuration =
         miningConfiguration.getUnstable().getPosBlockCreationRepetitionMinDuration();
+    miningOptions.unstableOptions.posSelectionReuseEnabled =
+        miningConfiguration.getUnstable().isPosSelectionReuseEnabled();
 
     miningConfiguration.getCoinbase().ifPresent(coinbase -> miningOptions.coinbase = coinbase);
     miningConfiguration.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
@@ -346,6 +358,7 @@ public class MiningOptions implements CLIOptions<MiningConfiguration> {
                 .posBlockCreationMaxTime(unstableOptions.posBlockCreationMaxTime)
                 .posBlockCreationRepetitionMinDuration(
                     unstableOptions.posBlockCreationRepetitionMinDuration)
+                .isPosSelectionReuseEnabled(unstableOptions.posSelectionReuseEnabled)
                 .build())
         .build();
   }
@@ -46,6 +46,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-downloader-chain-segment-size";
   private static final String DOWNLOADER_PARALLELISM_FLAG =
       "--Xsynchronizer-downloader-parallelism";
+  private static final String DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED_FLAG =
+      "--Xsynchronizer-downloader-adaptive-parallelism-enabled";
   private static final String TRANSACTIONS_PARALLELISM_FLAG =
       "--Xsynchronizer-transactions-parallelism";
   private static final String COMPUTATION_PARALLELISM_FLAG =
@@ -89,6 +91,21 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private static final String SNAP_FLAT_STORAGE_HEALED_COUNT_PER_REQUEST_FLAG =
       "--Xsnapsync-synchronizer-flat-slot-healed-count-per-request";
 
+  private static final String SNAP_PERSIST_PARALLELISM_FLAG =
+      "--Xsnapsync-synchronizer-persist-parallelism";
+
+  private static final String SNAP_HEAL_PREFETCH_MAX_DEPTH_FLAG =
+      "--Xsnapsync-synchronizer-heal-prefetch-max-depth";
+
+  private static final String SNAP_BULK_LOAD_ENABLED_FLAG =
+      "--Xsnapsync-synchronizer-bulk-load-enabled";
+
+  private static final String SNAP_RING_BUFFER_PIPES_ENABLED_FLAG =
+      "--Xsnapsync-synchronizer-ring-buffer-pipes-enabled";
+
+  private static final String SNAP_PENDING_STORAGE_REQUESTS_MEMORY_LIMIT_FLAG =
+      "--Xsnapsync-synchronizer-pending-storage-requests-memory-limit";
+
   private static final String CHECKPOINT_POST_MERGE_FLAG = "--Xcheckpoint-post-merge-enabled";
 
   private static final String SNAP_SYNC_SAVE_PRE_CHECKPOINT_HEADERS_ONLY_FLAG =
@@ -169,6 +186,18 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       description = "Number of threads to provide to chain downloader (default: ${DEFAULT-VALUE})")
   private int downloaderParallelism = SynchronizerConfiguration.DEFAULT_DOWNLOADER_PARALLELISM;
 
+  @CommandLine.Option(
+      names = DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Adjust the number of concurrent chain download requests at runtime, starting from "
+              + DOWNLOADER_PARALLELISM_FLAG
+              + ", according to the response latency of the peers and the progress of the import (default: ${DEFAULT-VALUE})")
+  private Boolean downloaderAdaptiveParallelismEnabled =
+      SynchronizerConfiguration.DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED;
+
   @CommandLine.Option(
       names = TRANSACTIONS_PARALLELISM_FLAG,
       hidden = true,
@@ -304,6 +333,50 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private int snapsyncFlatStorageHealedCountPerRequest =
       SnapSyncConfiguration.DEFAULT_LOCAL_FLAT_STORAGE_COUNT_TO_HEAL_PER_REQUEST;
 
+  @CommandLine.Option(
+      names = SNAP_PERSIST_PARALLELISM_FLAG,
+      hidden = true,
+      paramLabel = "<INTEGER>",
+      description =
+          "Snap sync downloaded account and storage ranges persisted concurrently (default: ${DEFAULT-VALUE})")
+  private int snapsyncPersistParallelism = SnapSyncConfiguration.DEFAULT_PERSIST_PARALLELISM;
+
+  @CommandLine.Option(
+      names = SNAP_HEAL_PREFETCH_MAX_DEPTH_FLAG,
+      hidden = true,
+      paramLabel = "<INTEGER>",
+      description =
+          "Snap sync maximum depth of the account trie prefetched when the heal starts, 0 to disable (default: ${DEFAULT-VALUE})")
+  private int snapsyncHealPrefetchMaxDepth = SnapSyncConfiguration.DEFAULT_HEAL_PREFETCH_MAX_DEPTH;
+
+  @CommandLine.Option(
+      names = SNAP_BULK_LOAD_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Write the downloaded world state ranges as ingested SST files and defer their compaction until healing (default: ${DEFAULT-VALUE})")
+  private Boolean snapsyncBulkLoadEnabled = SnapSyncConfiguration.DEFAULT_BULK_LOAD_ENABLED;
+
+  @CommandLine.Option(
+      names = SNAP_RING_BUFFER_PIPES_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Use lock-free ring buffers for the pipes of the snap sync world state download pipelines (default: ${DEFAULT-VALUE})")
+  private Boolean snapsyncRingBufferPipesEnabled =
+      SnapSyncConfiguration.DEFAULT_RING_BUFFER_PIPES_ENABLED;
+
+  @CommandLine.Option(
+      names = SNAP_PENDING_STORAGE_REQUESTS_MEMORY_LIMIT_FLAG,
+      hidden = true,
+      paramLabel = "<INTEGER>",
+      description =
+          "Snap sync maximum number of pending storage range requests kept in memory, the others are persisted in the database and resumed after a restart, 0 to keep them all in memory only (default: ${DEFAULT-VALUE})")
+  private int snapsyncPendingStorageRequestsMemoryLimit =
+      SnapSyncConfiguration.DEFAULT_PENDING_STORAGE_REQUESTS_MEMORY_LIMIT;
+
   // TODO --Xsnapsync-server-enabled is deprecated, remove in a future release
   @SuppressWarnings("ExperimentalCliOptionMustBeCorrectlyDisplayed")
   @CommandLine.Option(
@@ -424,6 +497,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.downloaderCheckpointRetries = config.getDownloaderCheckpointRetries();
     options.downloaderChainSegmentSize = config.getDownloaderChainSegmentSize();
     options.downloaderParallelism = config.getDownloaderParallelism();
+    options.downloaderAdaptiveParallelismEnabled = config.isDownloaderAdaptiveParallelismEnabled();
     options.transactionsParallelism = config.getTransactionsParallelism();
     options.computationParallelism = config.getComputationParallelism();
     options.fastSyncPivotDistance = config.getSyncPivotDistance();
@@ -447,6 +521,15 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         config.getSnapSyncConfiguration().getLocalFlatAccountCountToHealPerRequest();
     options.snapsyncFlatStorageHealedCountPerRequest =
         config.getSnapSyncConfiguration().getLocalFlatStorageCountToHealPerRequest();
+    options.snapsyncPersistParallelism =
+        config.getSnapSyncConfiguration().getPersistParallelism();
+    options.snapsyncHealPrefetchMaxDepth =
+        config.getSnapSyncConfiguration().getHealPrefetchMaxDepth();
+    options.snapsyncBulkLoadEnabled = config.getSnapSyncConfiguration().isBulkLoadEnabled();
+    options.snapsyncRingBufferPipesEnabled =
+        config.getSnapSyncConfiguration().isRingBufferPipesEnabled();
+    options.snapsyncPendingStorageRequestsMemoryLimit =
+        config.getSnapSyncConfiguration().getPendingStorageRequestsMemoryLimit();
     options.checkpointPostMergeSyncEnabled = config.isCheckpointPostMergeEnabled();
     options.snapsyncServerEnabled = config.getSnapSyncConfiguration().isSnapServerEnabled();
     options.snapTransactionIndexingEnabled =
@@ -469,6 +552,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.downloaderCheckpointRetries(downloaderCheckpointRetries);
     builder.downloaderChainSegmentSize(downloaderChainSegmentSize);
     builder.downloaderParallelism(downloaderParallelism);
+    builder.downloaderAdaptiveParallelismEnabled(downloaderAdaptiveParallelismEnabled);
     builder.transactionsParallelism(transactionsParallelism);
     builder.computationParallelism(computationParallelism);
     builder.syncPivotDistance(fastSyncPivotDistance);
@@ -487,6 +571,11 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             .trienodeCountPerRequest(snapsyncTrieNodeCountPerRequest)
             .localFlatAccountCountToHealPerRequest(snapsyncFlatAccountHealedCountPerRequest)
             .localFlatStorageCountToHealPerRequest(snapsyncFlatStorageHealedCountPerRequest)
+            .persistParallelism(snapsyncPersistParallelism)
+            .healPrefetchMaxDepth(snapsyncHealPrefetchMaxDepth)
+            .isBulkLoadEnabled(snapsyncBulkLoadEnabled)
+            .isRingBufferPipesEnabled(snapsyncRingBufferPipesEnabled)
+            .pendingStorageRequestsMemoryLimit(snapsyncPendingStorageRequestsMemoryLimit)
             .isSnapServerEnabled(snapsyncServerEnabled)
             .isSnapSyncTransactionIndexingEnabled(snapTransactionIndexingEnabled)
             .build());
@@ -518,6 +607,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             OptionParser.format(downloaderChainSegmentSize),
             DOWNLOADER_PARALLELISM_FLAG,
             OptionParser.format(downloaderParallelism),
+            DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED_FLAG,
+            OptionParser.format(downloaderAdaptiveParallelismEnabled),
             TRANSACTIONS_PARALLELISM_FLAG,
             OptionParser.format(transactionsParallelism),
             COMPUTATION_PARALLELISM_FLAG,
@@ -550,6 +641,16 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             OptionParser.format(snapsyncFlatAccountHealedCountPerRequest),
             SNAP_FLAT_STORAGE_HEALED_COUNT_PER_REQUEST_FLAG,
             OptionParser.format(snapsyncFlatStorageHealedCountPerRequest),
+            SNAP_PERSIST_PARALLELISM_FLAG,
+            OptionParser.format(snapsyncPersistParallelism),
+            SNAP_HEAL_PREFETCH_MAX_DEPTH_FLAG,
+            OptionParser.format(snapsyncHealPrefetchMaxDepth),
+            SNAP_BULK_LOAD_ENABLED_FLAG,
+            OptionParser.format(snapsyncBulkLoadEnabled),
+            SNAP_RING_BUFFER_PIPES_ENABLED_FLAG,
+            OptionParser.format(snapsyncRingBufferPipesEnabled),
+            SNAP_PENDING_STORAGE_REQUESTS_MEMORY_LIMIT_FLAG,
+            OptionParser.format(snapsyncPendingStorageRequestsMemoryLimit),
             SNAP_SERVER_ENABLED_FLAG,
             OptionParser.format(snapsyncServerEnabled),
             SNAP_TRANSACTION_INDEXING_ENABLED_FLAG,
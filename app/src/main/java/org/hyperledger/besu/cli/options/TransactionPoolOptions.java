@@ -253,6 +253,13 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
     private static final String MAX_TRACKED_SEEN_TXS_PER_PEER = "--Xmax-tracked-seen-txs-per-peer";
     private static final String PEER_TRACKER_FORGET_EVICTED_TXS_FLAG =
         "--Xpeer-tracker-forget-evicted-txs";
+    private static final String PEER_TRACKER_SEEN_TXS_FILTER_ENABLED_FLAG =
+        "--Xpeer-tracker-seen-txs-filter-enabled";
+    private static final String TX_BROADCAST_COALESCING_WINDOW_FLAG =
+        "--Xtx-broadcast-coalescing-window-milliseconds";
+    private static final String TX_BROADCAST_MAX_BYTES_PER_PEER_FLAG =
+        "--Xtx-broadcast-max-bytes-per-peer";
+    private static final String BLOB_STORE_MAX_DISK_BYTES_FLAG = "--Xblob-store-max-disk-bytes";
 
     @CommandLine.Option(
         names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
@@ -294,6 +301,48 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         arity = "0..1",
         fallbackValue = "true")
     private Boolean peerTrackerForgetEvictedTxs;
+
+    @CommandLine.Option(
+        names = {PEER_TRACKER_SEEN_TXS_FILTER_ENABLED_FLAG},
+        paramLabel = "<BOOLEAN>",
+        hidden = true,
+        description =
+            "Whether to remember the txs exchanged with peers using compact probabilistic filters, instead of exact sets. Evicted txs cannot be forgotten when enabled (default: ${DEFAULT-VALUE})",
+        arity = "0..1",
+        fallbackValue = "true")
+    private Boolean peerTrackerSeenTxsFilterEnabled =
+        TransactionPoolConfiguration.Unstable.DEFAULT_PEER_TRACKER_SEEN_TXS_FILTER_ENABLED;
+
+    @CommandLine.Option(
+        names = {TX_BROADCAST_COALESCING_WINDOW_FLAG},
+        paramLabel = "<LONG>",
+        converter = DurationMillisConverter.class,
+        hidden = true,
+        description =
+            "The period during which the txs to broadcast to a peer are accumulated before being sent together, in milliseconds (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private Duration txBroadcastCoalescingWindow =
+        TransactionPoolConfiguration.Unstable.DEFAULT_TX_BROADCAST_COALESCING_WINDOW;
+
+    @CommandLine.Option(
+        names = {TX_BROADCAST_MAX_BYTES_PER_PEER_FLAG},
+        paramLabel = "<INTEGER>",
+        hidden = true,
+        description =
+            "The max size in bytes of full txs sent to a peer in a single broadcast round, txs exceeding it are sent in the next round, 0 means no limit (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private int txBroadcastMaxBytesPerPeer =
+        TransactionPoolConfiguration.Unstable.DEFAULT_TX_BROADCAST_MAX_BYTES_PER_PEER;
+
+    @CommandLine.Option(
+        names = {BLOB_STORE_MAX_DISK_BYTES_FLAG},
+        paramLabel = "<LONG>",
+        hidden = true,
+        description =
+            "Max disk space in bytes used to keep the blobs of recently included txs in memory-mapped files, instead of on the heap, 0 means keep them on the heap (default: ${DEFAULT-VALUE})",
+        arity = "1")
+    private long blobStoreMaxDiskBytes =
+        TransactionPoolConfiguration.Unstable.DEFAULT_BLOB_STORE_MAX_DISK_BYTES;
   }
 
   private TransactionPoolOptions() {}
@@ -358,6 +407,14 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         config.getUnstable().getMaxTrackedSeenTxsPerPeer();
     options.unstableOptions.peerTrackerForgetEvictedTxs =
         config.getUnstable().getPeerTrackerForgetEvictedTxs();
+    options.unstableOptions.peerTrackerSeenTxsFilterEnabled =
+        config.getUnstable().getPeerTrackerSeenTxsFilterEnabled();
+    options.unstableOptions.txBroadcastCoalescingWindow =
+        config.getUnstable().getTxBroadcastCoalescingWindow();
+    options.unstableOptions.txBroadcastMaxBytesPerPeer =
+        config.getUnstable().getTxBroadcastMaxBytesPerPeer();
+    options.unstableOptions.blobStoreMaxDiskBytes =
+        config.getUnstable().getBlobStoreMaxDiskBytes();
     return options;
   }
 
@@ -419,6 +476,10 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
                 .peerTrackerForgetEvictedTxs(
                     Optional.ofNullable(unstableOptions.peerTrackerForgetEvictedTxs)
                         .orElse(deriveDefaultPeersTrackerForgetEvictedTxs(txPoolImplementation)))
+                .peerTrackerSeenTxsFilterEnabled(unstableOptions.peerTrackerSeenTxsFilterEnabled)
+                .txBroadcastCoalescingWindow(unstableOptions.txBroadcastCoalescingWindow)
+                .txBroadcastMaxBytesPerPeer(unstableOptions.txBroadcastMaxBytesPerPeer)
+                .blobStoreMaxDiskBytes(unstableOptions.blobStoreMaxDiskBytes)
                 .build())
         .build();
   }
@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.cli.options.storage;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_INDEXED_RECEIPTS_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -22,8 +23,10 @@ import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import picocli.CommandLine;
@@ -56,6 +59,24 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
           "Convenience option to enable online history pruning and configure BlobDB garbage collection settings (default: ${DEFAULT-VALUE}). \"--Xhistory-expiry-prune\" is deprecated and will be removed in a future release. Use \"--history-expiry-prune\" instead.")
   private Boolean historyExpiryPrune = false;
 
+  @Option(
+      hidden = true,
+      names = {"--Xera1-history-dir"},
+      paramLabel = "<PATH>",
+      description =
+          "Directory of era1 files to serve the block bodies and receipts missing from the database, like the pruned pre-merge history, from (default: none)",
+      arity = "1")
+  private Path era1HistoryDirectory = null;
+
+  @Option(
+      hidden = true,
+      names = {"--Xindexed-receipts-enabled"},
+      description =
+          "Store the receipts in an encoding that can be read one receipt at a time, and migrate the stored receipts in the background. Older versions cannot read this encoding (default: ${DEFAULT-VALUE})",
+      fallbackValue = "true",
+      arity = "0..1")
+  private Boolean indexedReceiptsEnabled = DEFAULT_INDEXED_RECEIPTS_ENABLED;
+
   /**
    * Options specific to path-based storage modes. Holds the necessary parameters to configure
    * path-based storage, such as the Bonsai mode or Verkle in the future.
@@ -99,6 +120,8 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         PathBasedExtraStorageOptions.fromConfig(
             domainObject.getPathBasedExtraStorageConfiguration());
     dataStorageOptions.historyExpiryPrune = domainObject.getHistoryExpiryPruneEnabled();
+    dataStorageOptions.era1HistoryDirectory = domainObject.getEra1HistoryDirectory().orElse(null);
+    dataStorageOptions.indexedReceiptsEnabled = domainObject.getIndexedReceiptsEnabled();
     return dataStorageOptions;
   }
 
@@ -109,6 +132,8 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
             .dataStorageFormat(dataStorageFormat)
             .receiptCompactionEnabled(receiptCompactionEnabled)
             .historyExpiryPruneEnabled(historyExpiryPrune)
+            .era1HistoryDirectory(Optional.ofNullable(era1HistoryDirectory))
+            .indexedReceiptsEnabled(indexedReceiptsEnabled)
             .pathBasedExtraStorageConfiguration(pathBasedExtraStorageOptions.toDomainObject());
     return builder.build();
   }
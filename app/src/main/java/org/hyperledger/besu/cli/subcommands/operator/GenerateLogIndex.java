@@ -0,0 +1,80 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.subcommands.operator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.hyperledger.besu.cli.DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP;
+
+import org.hyperledger.besu.cli.util.VersionProvider;
+import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.ethereum.api.query.cache.LogIndex;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+/** The generate-log-index CLI command. */
+@Command(
+    name = "generate-log-index",
+    description = "Generate the missing segments of the inverted index of the block logs.",
+    mixinStandardHelpOptions = true,
+    versionProvider = VersionProvider.class)
+public class GenerateLogIndex implements Runnable {
+
+  @Option(
+      names = "--start-block",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description = "The block to start generating the index (default: ${DEFAULT-VALUE})",
+      arity = "1..1")
+  private final Long startBlock = 0L;
+
+  @Option(
+      names = "--end-block",
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description = "The block to stop generating the index (default is last block of the chain).",
+      arity = "1..1")
+  private final Long endBlock = Long.MAX_VALUE;
+
+  @ParentCommand private OperatorSubCommand parentCommand;
+
+  /** Default constructor. */
+  public GenerateLogIndex() {}
+
+  @Override
+  public void run() {
+    checkNotNull(parentCommand.parentCommand.dataDir());
+    final MutableBlockchain blockchain =
+        parentCommand.parentCommand.buildController().getProtocolContext().getBlockchain();
+    final LogIndex logIndex =
+        new LogIndex(
+            blockchain,
+            parentCommand
+                .parentCommand
+                .dataDir()
+                .resolve(BesuController.CACHE_PATH)
+                .resolve(LogIndex.INDEX_DIR));
+    try {
+      final long finalBlock = Math.min(blockchain.getChainHeadBlockNumber(), endBlock);
+      final int generated = logIndex.generateMissingSegments(startBlock, finalBlock);
+      System.out.printf("Generated %d log index segments%n", generated);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -37,6 +37,7 @@ import org.hyperledger.besu.ethereum.chain.ChainDataPruner;
 import org.hyperledger.besu.ethereum.chain.ChainDataPrunerStorage;
 import org.hyperledger.besu.ethereum.chain.ChainPrunerConfiguration;
 import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
+import org.hyperledger.besu.ethereum.chain.Era1HistoryBlockchainStorage;
 import org.hyperledger.besu.ethereum.chain.GenesisState;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage;
@@ -73,16 +74,19 @@ import org.hyperledger.besu.ethereum.eth.sync.fastsync.checkpoint.ImmutableCheck
 import org.hyperledger.besu.ethereum.eth.sync.fullsync.SyncTerminationCondition;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
+import org.hyperledger.besu.ethereum.eth.transactions.MappedBlobStore;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.trie.forest.ForestWorldStateArchive;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiArchiveWorldStateProvider;
@@ -110,6 +114,8 @@ import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.services.BesuPluginContextImpl;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.time.Clock;
@@ -122,6 +128,7 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -130,6 +137,8 @@ import org.slf4j.LoggerFactory;
 /** The Besu controller builder that builds Besu Controller. */
 public abstract class BesuControllerBuilder implements MiningParameterOverrides {
   private static final Logger LOG = LoggerFactory.getLogger(BesuControllerBuilder.class);
+  private static final String BLOB_STORE_DIRECTORY = "blobs";
+  private static final int INDEXED_RECEIPTS_BATCH_SIZE = 1000;
 
   /** The genesis file */
   protected GenesisConfig genesisConfig;
@@ -598,7 +607,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
             genesisState.getBlock(),
-            blockchainStorage,
+            withEra1History(blockchainStorage, protocolSchedule),
             metricsSystem,
             reorgLoggingThreshold,
             dataDirectory.toString(),
@@ -627,7 +636,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             worldStateArchive,
             protocolSchedule,
             miningConfiguration,
-            apiConfiguration.getGasCap());
+            apiConfiguration.getGasCap(),
+            apiConfiguration.isSharedSimulationWorldStateEnabled());
 
     final var consensusContext =
         createConsensusContext(blockchain, worldStateArchive, protocolSchedule);
@@ -696,6 +706,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final boolean fullSyncDisabled = !SyncMode.isFullSync(syncConfig.getSyncMode());
     final SyncState syncState = new SyncState(blockchain, ethPeers, fullSyncDisabled, checkpoint);
 
+    Optional<ChainDataPruner> maybeChainDataPruner = Optional.empty();
     if (chainPrunerConfiguration.chainPruningEnabled()
         || dataStorageConfiguration.getHistoryExpiryPruneEnabled()) {
       LOG.info("Adding ChainDataPruner to observe block added events");
@@ -706,6 +717,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
               () -> blockchain.removeObserver(chainDataPrunerObserverId.get()),
               syncState);
       chainDataPrunerObserverId.set(blockchain.observeBlockAdded(chainDataPruner));
+      maybeChainDataPruner = Optional.of(chainDataPruner);
       if (chainPrunerConfiguration.chainPruningEnabled()) {
         LOG.info(
             "Chain data pruning enabled with recent blocks retained to be: "
@@ -721,6 +733,22 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       }
     }
 
+    if (dataStorageConfiguration.getIndexedReceiptsEnabled()
+        && blockchainStorage instanceof KeyValueStoragePrefixedKeyBlockchainStorage storage) {
+      // the blocks the pruner removes are not migrated
+      final LongUnaryOperator lowestRetainedBlockNumber =
+          maybeChainDataPruner
+              .<LongUnaryOperator>map(pruner -> pruner::getLowestRetainedBlockNumber)
+              .orElse(chainHeadNumber -> 0);
+      scheduler.scheduleServiceTask(
+          () -> {
+            final long migrated =
+                storage.migrateToIndexedReceipts(
+                    INDEXED_RECEIPTS_BATCH_SIZE, lowestRetainedBlockNumber);
+            LOG.info("Migrated the receipts of {} blocks to the indexed encoding", migrated);
+          });
+    }
+
     final TransactionPool transactionPool =
         TransactionPoolFactory.createTransactionPool(
             protocolSchedule,
@@ -730,7 +758,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             metricsSystem,
             syncState,
             transactionPoolConfiguration,
-            besuComponent.map(BesuComponent::getBlobCache).orElse(new BlobCache()),
+            createBlobCache(),
             miningConfiguration,
             syncConfig.isPeerTaskSystemEnabled());
 
@@ -1230,6 +1258,33 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     };
   }
 
+  private BlobCache createBlobCache() {
+    final long blobStoreMaxDiskBytes =
+        transactionPoolConfiguration.getUnstable().getBlobStoreMaxDiskBytes();
+    if (blobStoreMaxDiskBytes > 0) {
+      return new BlobCache(
+          new MappedBlobStore(dataDirectory.resolve(BLOB_STORE_DIRECTORY), blobStoreMaxDiskBytes));
+    }
+    return besuComponent.map(BesuComponent::getBlobCache).orElse(new BlobCache());
+  }
+
+  private BlockchainStorage withEra1History(
+      final BlockchainStorage blockchainStorage, final ProtocolSchedule protocolSchedule) {
+    final Optional<Path> era1HistoryDirectory = dataStorageConfiguration.getEra1HistoryDirectory();
+    if (era1HistoryDirectory.isEmpty()) {
+      return blockchainStorage;
+    }
+    try {
+      return Era1HistoryBlockchainStorage.fromDirectory(
+          blockchainStorage,
+          era1HistoryDirectory.get(),
+          ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          "Unable to read the era1 files in " + era1HistoryDirectory.get(), e);
+    }
+  }
+
   private ChainDataPruner createChainPruner(
       final BlockchainStorage blockchainStorage,
       final Runnable unsubscribeRunnable,
@@ -14,13 +14,18 @@
  */
 package org.hyperledger.besu.chainimport;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.cli.config.EthNetworkConfig;
 import org.hyperledger.besu.cli.config.NetworkName;
 import org.hyperledger.besu.components.BesuComponent;
 import org.hyperledger.besu.controller.BesuController;
 import org.hyperledger.besu.cryptoservices.NodeKeyUtils;
+import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -30,6 +35,7 @@ import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.sync.SyncMode;
 import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
@@ -90,4 +96,26 @@ public class Era1BlockImporterTest {
     BlockHeader chainHeadHeader = blockchain.getChainHeadHeader();
     Assertions.assertEquals(8191, chainHeadHeader.getNumber());
   }
+
+  @Test
+  public void failedImportAbortsPipeline() throws URISyntaxException {
+    final Path source =
+        Path.of(
+            BlockTestUtil.class
+                .getClassLoader()
+                .getResource("mainnet-00000-5ec1ffb8.era1")
+                .toURI());
+    final ProtocolSchedule protocolSchedule = mock(ProtocolSchedule.class);
+    when(protocolSchedule.getByBlockHeader(any()))
+        .thenThrow(new IllegalStateException("no protocol spec"));
+    final ProtocolContext protocolContext = mock(ProtocolContext.class);
+    final BesuController controller = mock(BesuController.class);
+    when(controller.getProtocolSchedule()).thenReturn(protocolSchedule);
+    when(controller.getProtocolContext()).thenReturn(protocolContext);
+
+    assertThatThrownBy(() -> era1BlockImporter.importBlocks(controller, source))
+        .isInstanceOf(ExecutionException.class)
+        .hasRootCauseInstanceOf(IllegalStateException.class);
+    verifyNoInteractions(protocolContext);
+  }
 }
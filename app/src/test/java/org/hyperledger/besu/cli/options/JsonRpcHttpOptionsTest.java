@@ -942,6 +942,32 @@ public class JsonRpcHttpOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcHttpBatchParallelismAndMaxCostOptionsMustBeUsed() {
+    parseCommand("--rpc-http-batch-parallelism", "8", "--rpc-http-max-batch-cost", "500");
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getBatchParallelism()).isEqualTo(8);
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMaxBatchCost()).isEqualTo(500);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpMaxBatchCostOptionMustBePositiveOrMinusOne() {
+    parseCommand("--rpc-http-max-batch-cost", "0");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains(
+            "Invalid value for option '--rpc-http-max-batch-cost', must be a positive number or -1 for no limit");
+  }
+
   @Test
   public void portInUseReportsError() throws IOException {
     final ServerSocket serverSocket = new ServerSocket(8545);
@@ -262,6 +262,21 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningConfiguratio
         "17000");
   }
 
+  @Test
+  public void posSelectionReuseDisabledByDefault() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().isPosSelectionReuseEnabled()).isFalse());
+  }
+
+  @Test
+  public void posSelectionReuseOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().isPosSelectionReuseEnabled()).isTrue(),
+        "--Xpos-selection-reuse-enabled");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
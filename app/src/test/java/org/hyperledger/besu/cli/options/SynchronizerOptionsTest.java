@@ -64,6 +64,7 @@ public class SynchronizerOptionsTest
         .downloaderChainSegmentSize(
             SynchronizerConfiguration.DEFAULT_DOWNLOADER_CHAIN_SEGMENT_SIZE + 2)
         .downloaderParallelism(SynchronizerConfiguration.DEFAULT_DOWNLOADER_PARALLELISM + 2)
+        .downloaderAdaptiveParallelismEnabled(true)
         .transactionsParallelism(SynchronizerConfiguration.DEFAULT_TRANSACTIONS_PARALLELISM + 2)
         .computationParallelism(SynchronizerConfiguration.DEFAULT_COMPUTATION_PARALLELISM + 2)
         .snapSyncConfiguration(
@@ -77,6 +78,11 @@ public class SynchronizerOptionsTest
                 .storageCountPerRequest(SnapSyncConfiguration.DEFAULT_STORAGE_COUNT_PER_REQUEST + 2)
                 .bytecodeCountPerRequest(
                     SnapSyncConfiguration.DEFAULT_BYTECODE_COUNT_PER_REQUEST + 2)
+                .persistParallelism(SnapSyncConfiguration.DEFAULT_PERSIST_PARALLELISM + 2)
+                .healPrefetchMaxDepth(SnapSyncConfiguration.DEFAULT_HEAL_PREFETCH_MAX_DEPTH + 1)
+                .isBulkLoadEnabled(Boolean.TRUE)
+                .isRingBufferPipesEnabled(Boolean.TRUE)
+                .pendingStorageRequestsMemoryLimit(10_000)
                 .isSnapServerEnabled(Boolean.TRUE)
                 .isSnapSyncTransactionIndexingEnabled(Boolean.TRUE)
                 .build())
@@ -373,6 +373,41 @@ public class TransactionPoolOptionsTest
         "-1");
   }
 
+  @Test
+  public void txBroadcastCoalescingWindow() {
+    final Duration txBroadcastCoalescingWindow = Duration.ofMillis(250);
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getTxBroadcastCoalescingWindow())
+                .isEqualTo(txBroadcastCoalescingWindow),
+        "--Xtx-broadcast-coalescing-window-milliseconds",
+        new DurationMillisConverter().format(txBroadcastCoalescingWindow));
+  }
+
+  @Test
+  public void txBroadcastMaxBytesPerPeer() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getTxBroadcastMaxBytesPerPeer()).isEqualTo(65536),
+        "--Xtx-broadcast-max-bytes-per-peer",
+        "65536");
+  }
+
+  @Test
+  public void blobStoreMaxDiskBytes() {
+    internalTestSuccess(
+        config ->
+            assertThat(config.getUnstable().getBlobStoreMaxDiskBytes()).isEqualTo(1_073_741_824L),
+        "--Xblob-store-max-disk-bytes",
+        "1073741824");
+  }
+
+  @Test
+  public void peerTrackerSeenTxsFilterEnabled() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getPeerTrackerSeenTxsFilterEnabled()).isTrue(),
+        "--Xpeer-tracker-seen-txs-filter-enabled");
+  }
+
   @Test
   public void maxPrioritizedTxsPerType() {
     final int maxBlobs = 2;
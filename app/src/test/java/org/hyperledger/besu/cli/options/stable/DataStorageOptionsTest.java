@@ -24,6 +24,8 @@ import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguratio
 import org.hyperledger.besu.ethereum.worldstate.ImmutablePathBasedExtraStorageConfiguration;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
 
 public class DataStorageOptionsTest
@@ -162,6 +164,23 @@ public class DataStorageOptionsTest
         "--receipt-compaction-enabled=false");
   }
 
+  @Test
+  public void era1HistoryDirectoryCanBeSet() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getEra1HistoryDirectory())
+                .contains(Path.of("/data/era1")),
+        "--Xera1-history-dir=/data/era1");
+  }
+
+  @Test
+  public void indexedReceiptsCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getIndexedReceiptsEnabled()).isTrue(),
+        "--Xindexed-receipts-enabled");
+  }
+
   @Override
   protected DataStorageConfiguration createDefaultDomainObject() {
     return DataStorageConfiguration.DEFAULT_CONFIG;
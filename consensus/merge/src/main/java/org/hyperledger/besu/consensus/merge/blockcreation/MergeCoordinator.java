@@ -60,6 +60,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -119,6 +120,9 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
   private final Map<PayloadIdentifier, BlockCreationTask> blockCreationTasks =
       new ConcurrentHashMap<>();
 
+  private final AtomicReference<ProposalSelection> latestProposalSelection =
+      new AtomicReference<>();
+
   /**
    * Instantiates a new Merge coordinator.
    *
@@ -301,6 +305,9 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
 
     blockCreationTasks.put(payloadIdentifier, new BlockCreationTask(mergeBlockCreator));
 
+    // transactions already selected for a proposal of the same slot are a starting point
+    final Optional<List<Transaction>> maybeReusedTransactions = takeReusableTransactions(timestamp);
+
     // put the empty block in first
     final Block emptyBlock =
         mergeBlockCreator
@@ -341,7 +348,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
         mergeBlockCreator,
         withdrawals,
         parentBeaconBlockRoot,
-        parentHeader);
+        parentHeader,
+        maybeReusedTransactions);
 
     return payloadIdentifier;
   }
@@ -383,7 +391,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final MergeBlockCreator mergeBlockCreator,
       final Optional<List<Withdrawal>> withdrawals,
       final Optional<Bytes32> parentBeaconBlockRoot,
-      final BlockHeader parentHeader) {
+      final BlockHeader parentHeader,
+      final Optional<List<Transaction>> maybeReusedTransactions) {
 
     final Supplier<BlockCreationResult> blockCreator =
         () ->
@@ -400,9 +409,27 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
         payloadIdentifier,
         miningConfiguration.getUnstable().getPosBlockCreationMaxTime());
 
+    final Optional<Supplier<BlockCreationResult>> maybeReusedSelectionBlockCreator =
+        maybeReusedTransactions.map(
+            reusedTransactions ->
+                () ->
+                    mergeBlockCreator.createBlock(
+                        Optional.of(reusedTransactions),
+                        random,
+                        timestamp,
+                        withdrawals,
+                        parentBeaconBlockRoot,
+                        parentHeader));
+
     ethScheduler
         .scheduleBlockCreationTask(
-            () -> retryBlockCreationUntilUseful(payloadIdentifier, blockCreator))
+            () -> {
+              maybeReusedSelectionBlockCreator.ifPresent(
+                  reusedSelectionBlockCreator ->
+                      createBlockFromReusedTransactions(
+                          payloadIdentifier, reusedSelectionBlockCreator));
+              retryBlockCreationUntilUseful(payloadIdentifier, blockCreator);
+            })
         .orTimeout(
             miningConfiguration.getUnstable().getPosBlockCreationMaxTime(), TimeUnit.MILLISECONDS)
         .whenComplete(
@@ -418,6 +445,27 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
             });
   }
 
+  private void createBlockFromReusedTransactions(
+      final PayloadIdentifier payloadIdentifier,
+      final Supplier<BlockCreationResult> reusedSelectionBlockCreator) {
+    if (isBlockCreationCancelled(payloadIdentifier)) return;
+    try {
+      LOG.debug("Building block for payload id {} from reused transactions", payloadIdentifier);
+      recoverableBlockCreation(
+          payloadIdentifier, reusedSelectionBlockCreator, System.currentTimeMillis());
+    } catch (final CancellationException ce) {
+      LOG.debug(
+          "Block creation from reused transactions for payload id {} has been cancelled",
+          payloadIdentifier);
+    } catch (final Throwable e) {
+      // not fatal, the regular block creation will select the transactions from scratch
+      LOG.debug(
+          "Something went wrong creating block from reused transactions for payload id {}, error {}",
+          payloadIdentifier,
+          logException(e));
+    }
+  }
+
   private Void retryBlockCreationUntilUseful(
       final PayloadIdentifier payloadIdentifier, final Supplier<BlockCreationResult> blockCreator) {
 
@@ -484,6 +532,13 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
 
       if (isBlockCreationCancelled(payloadIdentifier)) return;
 
+      if (miningConfiguration.getUnstable().isPosSelectionReuseEnabled()
+          && !bestBlock.getBody().getTransactions().isEmpty()) {
+        latestProposalSelection.set(
+            new ProposalSelection(
+                bestBlock.getHeader().getTimestamp(), bestBlock.getBody().getTransactions()));
+      }
+
       mergeContext.putPayloadById(
           new PayloadWrapper(
               payloadIdentifier,
@@ -719,6 +774,28 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
     return newWorldState.isPresent();
   }
 
+  private Optional<List<Transaction>> takeReusableTransactions(final long timestamp) {
+    if (!miningConfiguration.getUnstable().isPosSelectionReuseEnabled()) {
+      return Optional.empty();
+    }
+    // those already included in the chain would only be rejected again
+    final Blockchain blockchain = protocolContext.getBlockchain();
+    return getReusableTransactions(timestamp)
+        .map(
+            transactions ->
+                transactions.stream()
+                    .filter(tx -> blockchain.getTransactionLocation(tx.getHash()).isEmpty())
+                    .toList())
+        .filter(transactions -> !transactions.isEmpty());
+  }
+
+  @VisibleForTesting
+  Optional<List<Transaction>> getReusableTransactions(final long timestamp) {
+    return Optional.ofNullable(latestProposalSelection.get())
+        .filter(selection -> selection.timestamp() == timestamp)
+        .map(ProposalSelection::transactions);
+  }
+
   @Override
   public Optional<Hash> getLatestValidAncestor(final Hash blockHash) {
     final var chain = protocolContext.getBlockchain();
@@ -938,4 +1015,14 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       blockCreator.cancel();
     }
   }
+
+  /**
+   * The transactions of the latest block built for a proposal, kept to start the building of
+   * another proposal for the same slot, for example when the consensus client prepares it again on
+   * a new head.
+   *
+   * @param timestamp the timestamp of the proposal
+   * @param transactions the transactions selected for it
+   */
+  private record ProposalSelection(long timestamp, List<Transaction> transactions) {}
 }
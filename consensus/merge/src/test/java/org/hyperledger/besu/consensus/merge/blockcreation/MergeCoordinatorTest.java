@@ -492,6 +492,109 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
         .allSatisfy(d -> assertThat(d).isGreaterThanOrEqualTo(REPETITION_MIN_DURATION - 10));
   }
 
+  @Test
+  public void shouldStartProposalFromTransactionsSelectedForTheSameSlotWhenEnabled()
+      throws InterruptedException, ExecutionException {
+    final MergeCoordinator reusingCoordinator =
+        new MergeCoordinator(
+            protocolContext,
+            protocolSchedule,
+            ethScheduler,
+            transactionPool,
+            ImmutableMiningConfiguration.builder()
+                .mutableInitValues(MutableInitValues.builder().coinbase(coinbase).build())
+                .unstable(
+                    Unstable.builder()
+                        .posBlockCreationRepetitionMinDuration(REPETITION_MIN_DURATION)
+                        .isPosSelectionReuseEnabled(true)
+                        .build())
+                .build(),
+            backwardSyncContext,
+            Optional.empty());
+
+    final AtomicLong proposals = new AtomicLong(0);
+    doAnswer(
+            invocation -> {
+              // the empty block first, then the first full one
+              if (proposals.incrementAndGet() == 2) {
+                reusingCoordinator.finalizeProposalById(
+                    invocation.getArgument(0, PayloadWrapper.class).payloadIdentifier());
+              }
+              return null;
+            })
+        .when(mergeContext)
+        .putPayloadById(any());
+
+    transactions.addTransaction(createLocalTransaction(0), Optional.empty());
+    transactions.addTransaction(createLocalTransaction(1), Optional.empty());
+
+    final BlockHeader genesisHeader = genesisState.getBlock().getHeader();
+    final long timestamp = System.currentTimeMillis() / 1000;
+    reusingCoordinator.preparePayload(
+        genesisHeader,
+        timestamp,
+        Bytes32.ZERO,
+        suggestedFeeRecipient,
+        Optional.empty(),
+        Optional.empty());
+    blockCreationTask.get();
+
+    assertThat(reusingCoordinator.getReusableTransactions(timestamp).orElseThrow())
+        .hasSize(2);
+    assertThat(reusingCoordinator.getReusableTransactions(timestamp + 1)).isEmpty();
+
+    // the pool no longer has them, so only the previous selection can fill the new proposal
+    transactions.reset();
+    proposals.set(0);
+
+    final var payloadId =
+        reusingCoordinator.preparePayload(
+            genesisHeader,
+            timestamp,
+            Bytes32.fromHexString("0x01"),
+            suggestedFeeRecipient,
+            Optional.empty(),
+            Optional.empty());
+    blockCreationTask.get();
+
+    final ArgumentCaptor<PayloadWrapper> payloadWrapper =
+        ArgumentCaptor.forClass(PayloadWrapper.class);
+    verify(mergeContext, times(4)).putPayloadById(payloadWrapper.capture());
+    assertThat(payloadWrapper.getValue().payloadIdentifier()).isEqualTo(payloadId);
+    assertThat(payloadWrapper.getValue().blockWithReceipts().getBlock().getBody().getTransactions())
+        .hasSize(2);
+  }
+
+  @Test
+  public void shouldNotKeepSelectedTransactionsWhenSelectionReuseIsDisabled()
+      throws InterruptedException, ExecutionException {
+    final AtomicLong proposals = new AtomicLong(0);
+    doAnswer(
+            invocation -> {
+              if (proposals.incrementAndGet() == 2) {
+                coordinator.finalizeProposalById(
+                    invocation.getArgument(0, PayloadWrapper.class).payloadIdentifier());
+              }
+              return null;
+            })
+        .when(mergeContext)
+        .putPayloadById(any());
+
+    transactions.addTransaction(createLocalTransaction(0), Optional.empty());
+
+    final long timestamp = System.currentTimeMillis() / 1000;
+    coordinator.preparePayload(
+        genesisState.getBlock().getHeader(),
+        timestamp,
+        Bytes32.ZERO,
+        suggestedFeeRecipient,
+        Optional.empty(),
+        Optional.empty());
+    blockCreationTask.get();
+
+    assertThat(coordinator.getReusableTransactions(timestamp)).isEmpty();
+  }
+
   @Test
   public void shouldRetryBlockCreationOnRecoverableError()
       throws InterruptedException, ExecutionException {
@@ -156,6 +156,10 @@ public class JsonRpcTestMethodsFactory {
     return stateArchive;
   }
 
+  public TransactionSimulator getTransactionSimulator() {
+    return transactionSimulator;
+  }
+
   public BigInteger getChainId() {
     return protocolSchedule.getChainId().get();
   }
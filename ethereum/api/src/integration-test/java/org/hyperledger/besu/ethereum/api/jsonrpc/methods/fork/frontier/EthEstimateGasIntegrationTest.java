@@ -101,7 +101,7 @@ public class EthEstimateGasIntegrationTest {
             .build();
 
     final JsonRpcRequestContext request = requestWithParams(callParameter);
-    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x1b954");
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x1b551");
 
     final JsonRpcResponse response = method.response(request);
 
@@ -122,7 +122,7 @@ public class EthEstimateGasIntegrationTest {
             .build();
 
     final JsonRpcRequestContext request = requestWithParams(callParameter);
-    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x1b954");
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x1b551");
 
     final JsonRpcResponse response = method.response(request);
 
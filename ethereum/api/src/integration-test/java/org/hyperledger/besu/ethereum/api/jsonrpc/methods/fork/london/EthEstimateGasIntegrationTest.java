@@ -15,14 +15,20 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.methods.fork.london;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.BlockchainImporter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcTestMethodsFactory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthEstimateGas;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
@@ -32,6 +38,7 @@ import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.ImmutableCallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.testutil.BlockTestUtil;
 
 import java.math.BigInteger;
@@ -95,7 +102,7 @@ public class EthEstimateGasIntegrationTest {
             .build();
 
     final JsonRpcResponse response = method.response(requestWithParams(callParameter));
-    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x6429");
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x62d4");
     assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
   }
 
@@ -110,7 +117,7 @@ public class EthEstimateGasIntegrationTest {
             .build();
 
     final JsonRpcResponse response = method.response(requestWithParams(callParameter));
-    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x1f4c0");
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x1f081");
     assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
   }
 
@@ -127,10 +134,46 @@ public class EthEstimateGasIntegrationTest {
             .build();
 
     final JsonRpcResponse response = method.response(requestWithParams(callParameter));
-    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x2059d");
+    final JsonRpcResponse expectedResponse = new JsonRpcSuccessResponse(null, "0x2014d");
     assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
   }
 
+  @Test
+  public void shouldEstimateContractDeployFromTheTracedExecution() {
+    final TransactionSimulator transactionSimulator = spy(BLOCKCHAIN.getTransactionSimulator());
+    final JsonRpcMethod estimateGas =
+        new EthEstimateGas(
+            BLOCKCHAIN.getBlockchainQueries(),
+            transactionSimulator,
+            ImmutableApiConfiguration.builder().build());
+
+    final JsonRpcResponse response = estimateGas.response(requestWithParams(contractDeploy()));
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(new JsonRpcSuccessResponse(null, "0x1f081"));
+    // the traced execution and the confirmation of its estimate, without a binary search
+    verify(transactionSimulator, times(2)).processOnPending(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldCheckTheTracedEstimateIsExactWithoutTolerance() {
+    final TransactionSimulator transactionSimulator = spy(BLOCKCHAIN.getTransactionSimulator());
+    final JsonRpcMethod estimateGas =
+        new EthEstimateGas(
+            BLOCKCHAIN.getBlockchainQueries(),
+            transactionSimulator,
+            ImmutableApiConfiguration.builder().estimateGasToleranceRatio(0.0).build());
+
+    final JsonRpcResponse response = estimateGas.response(requestWithParams(contractDeploy()));
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(new JsonRpcSuccessResponse(null, "0x1f081"));
+    // one more execution with one gas less fails
+    verify(transactionSimulator, times(3)).processOnPending(any(), any(), any(), any(), any());
+  }
+
   @Test
   public void shouldReturnErrorWithInvalidChainId() {
     final CallParameter callParameter =
@@ -156,6 +199,15 @@ public class EthEstimateGasIntegrationTest {
     assertThat(response).usingRecursiveComparison().isEqualTo(expectedResponse);
   }
 
+  private CallParameter contractDeploy() {
+    return ImmutableCallParameter.builder()
+        .sender(Address.fromHexString("0xa94f5374fce5edbc8e2a8697c15331677e6ebf0b"))
+        .input(
+            Bytes.fromHexString(
+                "0x608060405234801561001057600080fd5b50610157806100206000396000f30060806040526004361061004c576000357c0100000000000000000000000000000000000000000000000000000000900463ffffffff1680633bdab8bf146100515780639ae97baa14610068575b600080fd5b34801561005d57600080fd5b5061006661007f565b005b34801561007457600080fd5b5061007d6100b9565b005b7fa53887c1eed04528e23301f55ad49a91634ef5021aa83a97d07fd16ed71c039a60016040518082815260200191505060405180910390a1565b7fa53887c1eed04528e23301f55ad49a91634ef5021aa83a97d07fd16ed71c039a60026040518082815260200191505060405180910390a17fa53887c1eed04528e23301f55ad49a91634ef5021aa83a97d07fd16ed71c039a60036040518082815260200191505060405180910390a15600a165627a7a7230582010ddaa52e73a98c06dbcd22b234b97206c1d7ed64a7c048e10c2043a3d2309cb0029"))
+        .build();
+  }
+
   private List<AccessListEntry> createAccessList() {
     return List.of(
         new AccessListEntry(
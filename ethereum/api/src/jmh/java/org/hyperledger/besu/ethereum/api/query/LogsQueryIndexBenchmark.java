@@ -0,0 +1,122 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Dispatches the logs of a block to logs subscriptions, testing each log against every
+ * subscription or only against the candidates of a {@link LogsQueryIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogsQueryIndexBenchmark {
+  private static final int CONTRACTS = 2_000;
+  private static final int EVENTS = 200;
+
+  @Param({"10000"})
+  public int subscriptions;
+
+  @Param({"500"})
+  public int logsPerBlock;
+
+  private List<LogsQuery> queries;
+  private List<Log> logs;
+  private LogsQueryIndex<LogsQuery> index;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(42);
+    final List<Address> contracts = new ArrayList<>(CONTRACTS);
+    for (int i = 0; i < CONTRACTS; i++) {
+      contracts.add(Address.wrap(Bytes.random(Address.SIZE, random)));
+    }
+    final List<LogTopic> events = new ArrayList<>(EVENTS);
+    for (int i = 0; i < EVENTS; i++) {
+      events.add(LogTopic.wrap(Bytes32.random(random)));
+    }
+
+    // mostly subscriptions to the events of a contract, some to an event of any contract and a
+    // few to every log
+    queries = new ArrayList<>(subscriptions);
+    for (int i = 0; i < subscriptions; i++) {
+      final int kind = random.nextInt(100);
+      if (kind < 80) {
+        queries.add(
+            new LogsQuery(
+                List.of(contracts.get(random.nextInt(CONTRACTS))),
+                List.of(List.of(events.get(random.nextInt(EVENTS))))));
+      } else if (kind < 99) {
+        queries.add(new LogsQuery(List.of(), List.of(List.of(events.get(random.nextInt(EVENTS))))));
+      } else {
+        queries.add(new LogsQuery(List.of(), List.of()));
+      }
+    }
+    index = LogsQueryIndex.create(queries, query -> query);
+
+    logs = new ArrayList<>(logsPerBlock);
+    for (int i = 0; i < logsPerBlock; i++) {
+      logs.add(
+          new Log(
+              contracts.get(random.nextInt(CONTRACTS)),
+              Bytes.EMPTY,
+              List.of(events.get(random.nextInt(EVENTS)), LogTopic.wrap(Bytes32.random(random)))));
+    }
+  }
+
+  @Benchmark
+  public void dispatchToEverySubscription(final Blackhole blackhole) {
+    for (final Log log : logs) {
+      for (final LogsQuery query : queries) {
+        if (query.matches(log)) {
+          blackhole.consume(query);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void dispatchWithIndex(final Blackhole blackhole) {
+    for (final Log log : logs) {
+      index.forEachMatch(log, blackhole::consume);
+    }
+  }
+
+  @Benchmark
+  public LogsQueryIndex<LogsQuery> buildIndex() {
+    return LogsQueryIndex.create(queries, query -> query);
+  }
+}
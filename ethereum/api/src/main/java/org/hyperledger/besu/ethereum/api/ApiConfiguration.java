@@ -157,4 +157,72 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  /**
+   * Returns whether the logs queries use an inverted index of the log addresses and topics instead
+   * of the log blooms. Default value is false.
+   *
+   * @return true if the log index is enabled, false otherwise
+   */
+  @Value.Default
+  public boolean isLogIndexEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns whether the concurrent eth_call and eth_estimateGas simulations at the same block share
+   * one frozen world state, released when the chain head moves. Default value is false.
+   *
+   * @return true if the simulations share their world state, false otherwise
+   */
+  @Value.Default
+  public boolean isSharedSimulationWorldStateEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns the maximum size in bytes of the on disk cache of the block trace results, 0 to disable
+   * the cache. Default value is 0.
+   *
+   * @return the maximum size of the trace result cache
+   */
+  @Value.Default
+  public long getTraceCacheMaxSize() {
+    return 0L;
+  }
+
+  /**
+   * Returns whether the block traces execute the transactions of the block in parallel, each on
+   * its own copy of the parent state, before confirming them in block order. Default value is
+   * false.
+   *
+   * @return true if the parallel block replay is enabled, false otherwise
+   */
+  @Value.Default
+  public boolean isParallelBlockReplayEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns whether the block traces are written to the HTTP response as the transactions are
+   * traced, instead of being collected before the response is serialized. Default value is false.
+   *
+   * @return true if the trace responses are streamed, false otherwise
+   */
+  @Value.Default
+  public boolean isStreamedTraceResponsesEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns the number of recent blocks whose fee summaries are kept to answer eth_feeHistory,
+   * eth_gasPrice and eth_maxPriorityFeePerGas without decoding their transactions. Default value
+   * is 0, which disables the cache.
+   *
+   * @return the number of blocks of the fee summary cache
+   */
+  @Value.Default
+  public int getFeeSummaryCacheSize() {
+    return 0;
+  }
 }
@@ -41,7 +41,6 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
-import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.LogTopic;
 import org.hyperledger.besu.plugin.data.SyncStatus;
 
@@ -232,10 +231,12 @@ public class GraphQLDataFetchers {
         throw new GraphQLException(GraphQLError.INVALID_PARAMS);
       }
 
+      final GraphQLDataLoader dataLoader =
+          GraphQLDataLoader.of(dataFetchingEnvironment.getGraphQlContext());
       final List<NormalBlockAdapter> results = new ArrayList<>();
       for (long i = from; i <= to; i++) {
         final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block =
-            blockchainQuery.blockByNumber(i);
+            dataLoader.blockByNumber(i);
         block.ifPresent(e -> results.add(new NormalBlockAdapter(e)));
       }
       return results;
@@ -267,12 +268,14 @@ public class GraphQLDataFetchers {
         throw new GraphQLException(GraphQLError.INVALID_PARAMS);
       }
 
+      final GraphQLDataLoader dataLoader =
+          GraphQLDataLoader.of(dataFetchingEnvironment.getGraphQlContext());
       final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block;
       if (number != null) {
-        block = blockchain.blockByNumber(number);
+        block = dataLoader.blockByNumber(number);
         checkArgument(block.isPresent(), "Block number %s was not found", number);
       } else if (hash != null) {
-        block = blockchain.blockByHash(Hash.wrap(hash));
+        block = dataLoader.blockByHash(Hash.wrap(hash));
         Preconditions.checkArgument(block.isPresent(), "Block hash %s was not found", hash);
       } else {
         block = blockchain.latestBlock();
@@ -287,12 +290,14 @@ public class GraphQLDataFetchers {
           dataFetchingEnvironment.getGraphQlContext().get(GraphQLContextType.BLOCKCHAIN_QUERIES);
       final Address addr = dataFetchingEnvironment.getArgument("address");
       final Long bn = dataFetchingEnvironment.getArgument("blockNumber");
+      final GraphQLDataLoader dataLoader =
+          GraphQLDataLoader.of(dataFetchingEnvironment.getGraphQlContext());
       if (bn != null) {
-        return blockchainQuery
-            .getAndMapWorldState(
+        return dataLoader
+            .getAndMapAccount(
                 bn,
-                ws -> {
-                  final Account account = ws.get(addr);
+                addr,
+                account -> {
                   if (account == null) {
                     return Optional.of(new EmptyAccountAdapter(addr));
                   }
@@ -311,10 +316,10 @@ public class GraphQLDataFetchers {
       } else {
         // return account on latest block
         final long latestBn = blockchainQuery.latestBlock().get().getHeader().getNumber();
-        return blockchainQuery.getAndMapWorldState(
+        return dataLoader.getAndMapAccount(
             latestBn,
-            ws -> {
-              final Account account = ws.get(addr);
+            addr,
+            account -> {
               if (account == null) {
                 return Optional.of(new EmptyAccountAdapter(addr));
               }
@@ -372,10 +377,10 @@ public class GraphQLDataFetchers {
 
   DataFetcher<Optional<TransactionAdapter>> getTransactionDataFetcher() {
     return dataFetchingEnvironment -> {
-      final BlockchainQueries blockchain =
-          dataFetchingEnvironment.getGraphQlContext().get(GraphQLContextType.BLOCKCHAIN_QUERIES);
       final Bytes32 hash = dataFetchingEnvironment.getArgument("hash");
-      final Optional<TransactionWithMetadata> tran = blockchain.transactionByHash(Hash.wrap(hash));
+      final Optional<TransactionWithMetadata> tran =
+          GraphQLDataLoader.of(dataFetchingEnvironment.getGraphQlContext())
+              .transactionByHash(Hash.wrap(hash));
       return tran.map(this::getTransactionAdapter);
     };
   }
@@ -0,0 +1,262 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import graphql.GraphQLContext;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Loads the blocks, transactions, receipts and accounts needed to resolve a GraphQL request, and
+ * keeps them for the rest of the request.
+ *
+ * <p>The fields of a query often need the same data, like the block of each transaction of a block
+ * or the account of each log of a contract, so each of them is read once from the {@link
+ * BlockchainQueries} however many fields ask for it. The receipt of a transaction is served from
+ * the receipts of its block when they were already loaded, so the transactions of a block share a
+ * single read of its receipts.
+ *
+ * <p>An instance is created for each request and must not outlive it, as it does not follow the
+ * changes of the chain.
+ */
+public class GraphQLDataLoader {
+
+  private final BlockchainQueries blockchainQueries;
+
+  private final Map<Hash, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksByHash = new ConcurrentHashMap<>();
+  private final Map<Long, Optional<BlockWithMetadata<TransactionWithMetadata, Hash>>>
+      blocksByNumber = new ConcurrentHashMap<>();
+  private final Map<Long, Optional<BlockHeader>> headersByNumber = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<BlockBody>> bodies = new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionWithMetadata>> transactions =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<List<TransactionReceiptWithMetadata>>> blockReceipts =
+      new ConcurrentHashMap<>();
+  private final Map<Hash, Optional<TransactionReceiptWithMetadata>> receipts =
+      new ConcurrentHashMap<>();
+  private final Map<AccountKey, Optional<LoadedAccount>> accounts = new ConcurrentHashMap<>();
+  private final Map<AccountKey, Optional<Bytes>> codes = new ConcurrentHashMap<>();
+  private final Map<StorageKey, Optional<Bytes32>> storageValues = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a data loader reading from the given blockchain queries.
+   *
+   * @param blockchainQueries the blockchain queries
+   */
+  public GraphQLDataLoader(final BlockchainQueries blockchainQueries) {
+    this.blockchainQueries = blockchainQueries;
+  }
+
+  /**
+   * Returns the data loader of the request, or a new one when the context does not hold any.
+   *
+   * @param context the GraphQL context of the request
+   * @return the data loader to use
+   */
+  public static GraphQLDataLoader of(final GraphQLContext context) {
+    return context
+        .<GraphQLDataLoader>getOrEmpty(GraphQLContextType.DATA_LOADER)
+        .orElseGet(
+            () -> new GraphQLDataLoader(context.get(GraphQLContextType.BLOCKCHAIN_QUERIES)));
+  }
+
+  /**
+   * Returns the block with the given hash.
+   *
+   * @param blockHash the hash of the block
+   * @return the block, if found
+   */
+  public Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByHash(
+      final Hash blockHash) {
+    return blocksByHash.computeIfAbsent(blockHash, blockchainQueries::blockByHash);
+  }
+
+  /**
+   * Returns the block with the given number.
+   *
+   * @param blockNumber the number of the block
+   * @return the block, if found
+   */
+  public Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> blockByNumber(
+      final long blockNumber) {
+    return blocksByNumber.computeIfAbsent(blockNumber, blockchainQueries::blockByNumber);
+  }
+
+  /**
+   * Returns the header of the block with the given number.
+   *
+   * @param blockNumber the number of the block
+   * @return the block header, if found
+   */
+  public Optional<BlockHeader> blockHeaderByNumber(final long blockNumber) {
+    return headersByNumber.computeIfAbsent(
+        blockNumber, blockchainQueries::getBlockHeaderByNumber);
+  }
+
+  /**
+   * Returns the body of the block with the given hash.
+   *
+   * @param blockHash the hash of the block
+   * @return the block body, if found
+   */
+  public Optional<BlockBody> blockBody(final Hash blockHash) {
+    return bodies.computeIfAbsent(
+        blockHash, hash -> blockchainQueries.getBlockchain().getBlockBody(hash));
+  }
+
+  /**
+   * Returns the ommer at the given index of the block with the given hash.
+   *
+   * @param blockHash the hash of the block
+   * @param index the index of the ommer
+   * @return the ommer header, if found
+   */
+  public Optional<BlockHeader> ommer(final Hash blockHash, final int index) {
+    return blockBody(blockHash)
+        .map(BlockBody::getOmmers)
+        .filter(ommers -> index < ommers.size())
+        .map(ommers -> ommers.get(index));
+  }
+
+  /**
+   * Returns the transaction with the given hash.
+   *
+   * @param transactionHash the hash of the transaction
+   * @return the transaction, if found
+   */
+  public Optional<TransactionWithMetadata> transactionByHash(final Hash transactionHash) {
+    return transactions.computeIfAbsent(transactionHash, blockchainQueries::transactionByHash);
+  }
+
+  /**
+   * Returns the receipts of the transactions of the block with the given hash.
+   *
+   * @param blockHash the hash of the block
+   * @param protocolSchedule the protocol schedule
+   * @return the receipts, if the block is found
+   */
+  public Optional<List<TransactionReceiptWithMetadata>> transactionReceipts(
+      final Hash blockHash, final ProtocolSchedule protocolSchedule) {
+    return blockReceipts.computeIfAbsent(
+        blockHash,
+        hash -> blockchainQueries.transactionReceiptsByBlockHash(hash, protocolSchedule));
+  }
+
+  /**
+   * Returns the receipt of the given transaction, from the receipts of its block when they are
+   * already loaded.
+   *
+   * @param transaction the transaction
+   * @param protocolSchedule the protocol schedule
+   * @return the receipt, if the transaction is included in a block
+   */
+  public Optional<TransactionReceiptWithMetadata> transactionReceipt(
+      final TransactionWithMetadata transaction, final ProtocolSchedule protocolSchedule) {
+    final Optional<List<TransactionReceiptWithMetadata>> loadedReceipts =
+        transaction
+            .getBlockHash()
+            .flatMap(hash -> blockReceipts.getOrDefault(hash, Optional.empty()));
+    if (loadedReceipts.isPresent() && transaction.getTransactionIndex().isPresent()) {
+      final int index = transaction.getTransactionIndex().get();
+      if (index < loadedReceipts.get().size()) {
+        return Optional.of(loadedReceipts.get().get(index));
+      }
+    }
+    return receipts.computeIfAbsent(
+        transaction.getTransaction().getHash(),
+        hash -> blockchainQueries.transactionReceiptByTransactionHash(hash, protocolSchedule));
+  }
+
+  /**
+   * Maps the account with the given address in the world state of the given block.
+   *
+   * @param blockNumber the number of the block
+   * @param address the address of the account
+   * @param mapper the mapper, called with a null account when the account does not exist
+   * @param <U> the type of the mapped value
+   * @return the mapped value, or empty when the world state of the block is not available
+   */
+  public <U> Optional<U> getAndMapAccount(
+      final long blockNumber,
+      final Address address,
+      final Function<Account, ? extends Optional<U>> mapper) {
+    return accounts
+        .computeIfAbsent(
+            new AccountKey(blockNumber, address),
+            key ->
+                blockchainQueries.getAndMapWorldState(
+                    blockNumber, ws -> Optional.of(new LoadedAccount(ws.get(address)))))
+        .flatMap(loaded -> mapper.apply(loaded.account()));
+  }
+
+  /**
+   * Returns the code of the account with the given address in the world state of the given block.
+   *
+   * @param blockNumber the number of the block
+   * @param address the address of the account
+   * @return the code, or empty when the world state of the block is not available
+   */
+  public Optional<Bytes> code(final long blockNumber, final Address address) {
+    return codes.computeIfAbsent(
+        new AccountKey(blockNumber, address),
+        key ->
+            blockchainQueries.getAndMapWorldState(
+                blockNumber, ws -> Optional.of(ws.get(address).getCode())));
+  }
+
+  /**
+   * Returns a storage value of the account with the given address in the world state of the given
+   * block.
+   *
+   * @param blockNumber the number of the block
+   * @param address the address of the account
+   * @param slot the storage slot
+   * @return the storage value, or empty when the world state of the block is not available
+   */
+  public Optional<Bytes32> storageValue(
+      final long blockNumber, final Address address, final UInt256 slot) {
+    return storageValues.computeIfAbsent(
+        new StorageKey(new AccountKey(blockNumber, address), slot),
+        key ->
+            blockchainQueries.getAndMapWorldState(
+                blockNumber, ws -> Optional.of((Bytes32) ws.get(address).getStorageValue(slot))));
+  }
+
+  private record AccountKey(long blockNumber, Address address) {}
+
+  private record StorageKey(AccountKey account, UInt256 slot) {}
+
+  private record LoadedAccount(@Nullable Account account) {}
+}
@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLRespon
 import org.hyperledger.besu.ethereum.api.graphql.internal.response.GraphQLSuccessResponse;
 import org.hyperledger.besu.ethereum.api.handlers.IsAliveHandler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.util.NetworkUtility;
 
@@ -464,6 +465,10 @@ public class GraphQLHttpService {
     contextMap.put(
         GraphQLContextType.IS_ALIVE_HANDLER,
         new IsAliveHandler(scheduler, config.getHttpTimeoutSec()));
+    contextMap.put(
+        GraphQLContextType.DATA_LOADER,
+        new GraphQLDataLoader(
+            (BlockchainQueries) graphQlContextMap.get(GraphQLContextType.BLOCKCHAIN_QUERIES)));
     final ExecutionInput executionInput =
         ExecutionInput.newExecutionInput()
             .query(requestJson)
@@ -119,10 +119,8 @@ public class AccountAdapter extends AdapterBase {
 
     if (account.get() instanceof BonsaiAccount) {
       final BlockchainQueries query = getBlockchainQueries(environment);
-      return query
-          .getAndMapWorldState(
-              blockNumber.orElse(query.headBlockNumber()),
-              ws -> Optional.of(ws.get(account.get().getAddress()).getCode()))
+      return getDataLoader(environment)
+          .code(blockNumber.orElse(query.headBlockNumber()), account.get().getAddress())
           .get();
     } else {
       return account.map(AccountState::getCode).orElse(Bytes.EMPTY);
@@ -140,10 +138,9 @@ public class AccountAdapter extends AdapterBase {
     final Bytes32 slot = environment.getArgument("slot");
 
     if (account.get() instanceof BonsaiAccount) {
-      return query
-          .getAndMapWorldState(
-              blockNumber.orElse(query.headBlockNumber()),
-              ws -> Optional.of((Bytes32) ws.get(address).getStorageValue(UInt256.fromBytes(slot))))
+      return getDataLoader(environment)
+          .storageValue(
+              blockNumber.orElse(query.headBlockNumber()), address, UInt256.fromBytes(slot))
           .get();
     } else {
       return account
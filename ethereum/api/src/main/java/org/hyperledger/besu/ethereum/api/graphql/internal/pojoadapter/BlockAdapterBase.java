@@ -74,10 +74,9 @@ public class BlockAdapterBase extends AdapterBase {
    * @return an Optional containing the parent block if it exists, otherwise an empty Optional
    */
   public Optional<NormalBlockAdapter> getParent(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final Hash parentHash = header.getParentHash();
     final Optional<BlockWithMetadata<TransactionWithMetadata, Hash>> block =
-        query.blockByHash(parentHash);
+        getDataLoader(environment).blockByHash(parentHash);
     return block.map(NormalBlockAdapter::new);
   }
 
@@ -136,15 +135,14 @@ public class BlockAdapterBase extends AdapterBase {
    */
   public AccountAdapter getMiner(final DataFetchingEnvironment environment) {
 
-    final BlockchainQueries query = getBlockchainQueries(environment);
     long blockNumber = header.getNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
       blockNumber = bn;
     }
 
-    return query
-        .getAndMapWorldState(blockNumber, ws -> Optional.ofNullable(ws.get(header.getCoinbase())))
+    return getDataLoader(environment)
+        .getAndMapAccount(blockNumber, header.getCoinbase(), Optional::ofNullable)
         .map(AccountAdapter::new)
         .orElseGet(() -> new EmptyAccountAdapter(header.getCoinbase()));
   }
@@ -247,12 +245,11 @@ public class BlockAdapterBase extends AdapterBase {
    *     block
    */
   public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final long bn = header.getNumber();
     final Address address = environment.getArgument("address");
-    return query
-        .getAndMapWorldState(
-            bn, ws -> Optional.of(new AccountAdapter(ws.get(address), Optional.of(bn))))
+    return getDataLoader(environment)
+        .getAndMapAccount(
+            bn, address, account -> Optional.of(new AccountAdapter(account, Optional.of(bn))))
         .get();
   }
 
@@ -385,10 +382,8 @@ public class BlockAdapterBase extends AdapterBase {
    * @return the raw data of the block
    */
   Bytes getRaw(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
-    return query
-        .getBlockchain()
-        .getBlockBody(header.getBlockHash())
+    return getDataLoader(environment)
+        .blockBody(header.getBlockHash())
         .map(
             blockBody -> {
               final BytesValueRLPOutput rlpOutput = new BytesValueRLPOutput();
@@ -415,10 +410,8 @@ public class BlockAdapterBase extends AdapterBase {
    *     withdrawals of the current block if they exist, otherwise an empty Optional
    */
   Optional<List<WithdrawalAdapter>> getWithdrawals(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
-    return query
-        .getBlockchain()
-        .getBlockBody(header.getBlockHash())
+    return getDataLoader(environment)
+        .blockBody(header.getBlockHash())
         .flatMap(
             blockBody ->
                 blockBody
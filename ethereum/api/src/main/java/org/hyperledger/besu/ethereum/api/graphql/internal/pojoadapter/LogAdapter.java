@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
-import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.evm.log.LogTopic;
@@ -85,9 +84,9 @@ public class LogAdapter extends AdapterBase {
    * @throws java.util.NoSuchElementException if the transaction is not found.
    */
   public TransactionAdapter getTransaction(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final Hash hash = logWithMetadata.getTransactionHash();
-    final Optional<TransactionWithMetadata> tran = query.transactionByHash(hash);
+    final Optional<TransactionWithMetadata> tran =
+        getDataLoader(environment).transactionByHash(hash);
     return tran.map(TransactionAdapter::new).orElseThrow();
   }
 
@@ -98,7 +97,6 @@ public class LogAdapter extends AdapterBase {
    * @return an AccountAdapter for the account associated with the log.
    */
   public AccountAdapter getAccount(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     long blockNumber = logWithMetadata.getBlockNumber();
     final Long bn = environment.getArgument("block");
     if (bn != null) {
@@ -106,8 +104,8 @@ public class LogAdapter extends AdapterBase {
     }
 
     final Address logger = logWithMetadata.getLogger();
-    return query
-        .getAndMapWorldState(blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(logger))))
+    return getDataLoader(environment)
+        .getAndMapAccount(blockNumber, logger, account -> Optional.of(new AccountAdapter(account)))
         .orElse(new EmptyAccountAdapter(logger));
   }
 }
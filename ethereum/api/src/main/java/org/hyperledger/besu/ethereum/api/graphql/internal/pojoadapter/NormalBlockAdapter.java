@@ -16,8 +16,8 @@ package org.hyperledger.besu.ethereum.api.graphql.internal.pojoadapter;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.graphql.GraphQLContextType;
+import org.hyperledger.besu.ethereum.api.graphql.GraphQLDataLoader;
 import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
-import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -90,12 +90,12 @@ public class NormalBlockAdapter extends BlockAdapterBase {
    * @return a list of UncleBlockAdapter for the ommers of the block.
    */
   public List<UncleBlockAdapter> getOmmers(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
+    final GraphQLDataLoader dataLoader = getDataLoader(environment);
     final List<Hash> ommers = blockWithMetaData.getOmmers();
     final List<UncleBlockAdapter> results = new ArrayList<>();
     final Hash hash = blockWithMetaData.getHeader().getHash();
     for (int i = 0; i < ommers.size(); i++) {
-      final Optional<BlockHeader> header = query.getOmmer(hash, i);
+      final Optional<BlockHeader> header = dataLoader.ommer(hash, i);
       header.ifPresent(item -> results.add(new UncleBlockAdapter(item)));
     }
 
@@ -109,12 +109,11 @@ public class NormalBlockAdapter extends BlockAdapterBase {
    * @return an UncleBlockAdapter for the ommer at the given index of the block.
    */
   public Optional<UncleBlockAdapter> getOmmerAt(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final int index = ((Number) environment.getArgument("index")).intValue();
     final List<Hash> ommers = blockWithMetaData.getOmmers();
     if (ommers.size() > index) {
       final Hash hash = blockWithMetaData.getHeader().getHash();
-      final Optional<BlockHeader> header = query.getOmmer(hash, index);
+      final Optional<BlockHeader> header = getDataLoader(environment).ommer(hash, index);
       return header.map(UncleBlockAdapter::new);
     }
     return Optional.empty();
@@ -129,14 +128,13 @@ public class NormalBlockAdapter extends BlockAdapterBase {
    * @return a list of TransactionAdapter objects for the transactions in the block.
    */
   public List<TransactionAdapter> getTransactions(final DataFetchingEnvironment environment) {
-    final BlockchainQueries query = getBlockchainQueries(environment);
     final Hash hash = blockWithMetaData.getHeader().getHash();
     final ProtocolSchedule protocolSchedule =
         environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
 
     final List<TransactionWithMetadata> trans = blockWithMetaData.getTransactions();
     final List<TransactionReceiptWithMetadata> transReceipts =
-        query.transactionReceiptsByBlockHash(hash, protocolSchedule).get();
+        getDataLoader(environment).transactionReceipts(hash, protocolSchedule).get();
 
     final List<TransactionAdapter> results = new ArrayList<>();
     for (int i = 0; i < trans.size(); i++) {
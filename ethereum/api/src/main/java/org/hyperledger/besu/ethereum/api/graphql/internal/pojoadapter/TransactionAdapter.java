@@ -90,7 +90,6 @@ public class TransactionAdapter extends AdapterBase {
   private Optional<TransactionReceiptWithMetadata> getReceipt(
       final DataFetchingEnvironment environment) {
     if (transactionReceiptWithMetadata == null) {
-      final BlockchainQueries query = getBlockchainQueries(environment);
       final ProtocolSchedule protocolSchedule =
           environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
 
@@ -99,7 +98,8 @@ public class TransactionAdapter extends AdapterBase {
         transactionReceiptWithMetadata = Optional.empty();
       } else {
         transactionReceiptWithMetadata =
-            query.transactionReceiptByTransactionHash(transaction.getHash(), protocolSchedule);
+            getDataLoader(environment)
+                .transactionReceipt(transactionWithMetadata, protocolSchedule);
       }
     }
     return transactionReceiptWithMetadata;
@@ -160,10 +160,8 @@ public class TransactionAdapter extends AdapterBase {
             .orElseGet(query::headBlockNumber);
 
     final Address addr = transactionWithMetadata.getTransaction().getSender();
-    return query
-        .getAndMapWorldState(
-            blockNumber,
-            mutableWorldState -> Optional.of(new AccountAdapter(mutableWorldState.get(addr))))
+    return getDataLoader(environment)
+        .getAndMapAccount(blockNumber, addr, account -> Optional.of(new AccountAdapter(account)))
         .orElse(new EmptyAccountAdapter(addr));
   }
 
@@ -191,10 +189,11 @@ public class TransactionAdapter extends AdapterBase {
         .getTo()
         .flatMap(
             address ->
-                query
-                    .getAndMapWorldState(
+                getDataLoader(environment)
+                    .getAndMapAccount(
                         blockNumber,
-                        ws -> Optional.of(new AccountAdapter(address, ws.get(address))))
+                        address,
+                        account -> Optional.of(new AccountAdapter(address, account)))
                     .or(() -> Optional.of(new EmptyAccountAdapter(address))));
   }
 
@@ -290,7 +289,7 @@ public class TransactionAdapter extends AdapterBase {
   public Optional<NormalBlockAdapter> getBlock(final DataFetchingEnvironment environment) {
     return transactionWithMetadata
         .getBlockHash()
-        .flatMap(blockHash -> getBlockchainQueries(environment).blockByHash(blockHash))
+        .flatMap(blockHash -> getDataLoader(environment).blockByHash(blockHash))
         .map(NormalBlockAdapter::new);
   }
 
@@ -419,16 +418,15 @@ public class TransactionAdapter extends AdapterBase {
       final Optional<Address> addr = transactionWithMetadata.getTransaction().contractAddress();
 
       if (addr.isPresent()) {
-        final BlockchainQueries query = getBlockchainQueries(environment);
         final Optional<Long> txBlockNumber = transactionWithMetadata.getBlockNumber();
         final Optional<Long> bn = Optional.ofNullable(environment.getArgument("block"));
         if (txBlockNumber.isEmpty() && bn.isEmpty()) {
           return Optional.empty();
         }
         final long blockNumber = bn.orElseGet(txBlockNumber::get);
-        return query
-            .getAndMapWorldState(
-                blockNumber, ws -> Optional.of(new AccountAdapter(ws.get(addr.get()))))
+        return getDataLoader(environment)
+            .getAndMapAccount(
+                blockNumber, addr.get(), account -> Optional.of(new AccountAdapter(account)))
             .or(() -> Optional.of(new EmptyAccountAdapter(addr.get())));
       }
     }
@@ -448,13 +446,11 @@ public class TransactionAdapter extends AdapterBase {
    */
   public List<LogAdapter> getLogs(final DataFetchingEnvironment environment) {
     final BlockchainQueries query = getBlockchainQueries(environment);
-    final ProtocolSchedule protocolSchedule =
-        environment.getGraphQlContext().get(GraphQLContextType.PROTOCOL_SCHEDULE);
-
-    final Hash hash = transactionWithMetadata.getTransaction().getHash();
 
     final Optional<BlockHeader> maybeBlockHeader =
-        transactionWithMetadata.getBlockNumber().flatMap(query::getBlockHeaderByNumber);
+        transactionWithMetadata
+            .getBlockNumber()
+            .flatMap(getDataLoader(environment)::blockHeaderByNumber);
 
     if (maybeBlockHeader.isEmpty()) {
       throw new RuntimeException(
@@ -465,7 +461,7 @@ public class TransactionAdapter extends AdapterBase {
     }
 
     final Optional<TransactionReceiptWithMetadata> maybeTransactionReceiptWithMetadata =
-        query.transactionReceiptByTransactionHash(hash, protocolSchedule);
+        getReceipt(environment);
     final List<LogAdapter> results = new ArrayList<>();
     if (maybeTransactionReceiptWithMetadata.isPresent()) {
       final List<LogWithMetadata> logs =
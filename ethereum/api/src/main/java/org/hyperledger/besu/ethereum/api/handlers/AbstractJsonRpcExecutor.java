@@ -22,7 +22,9 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedArrayResult;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -32,6 +34,7 @@ import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
@@ -90,17 +93,32 @@ public abstract class AbstractJsonRpcExecutor {
         spanContext,
         () -> !ctx.response().closed(),
         jsonRequest,
-        req -> req.mapTo(JsonRpcRequest.class));
+        req -> {
+          final JsonRpcRequest request = req.mapTo(JsonRpcRequest.class);
+          // the HTTP responses are written by a worker thread while they are serialized
+          request.setStreamedResponseSupported(true);
+          return request;
+        });
   }
 
   protected static void handleJsonRpcError(
       final RoutingContext routingContext, final Object id, final RpcErrorType error) {
     final HttpServerResponse response = routingContext.response();
-    if (!response.closed()) {
+    if (response.closed()) {
+      return;
+    }
+    if (response.headWritten()) {
+      // a streamed response already sent its status and part of its result, which can't be
+      // replaced: it is terminated with the error, so that it can't be mistaken for a complete
+      // result, and the connection closed, which stops producing the rest of the result
       response
-          .setStatusCode(statusCodeFromError(error).code())
-          .end(Json.encode(new JsonRpcErrorResponse(id, error)));
+          .write(Buffer.buffer("\n" + Json.encode(new JsonRpcErrorResponse(id, error))))
+          .onComplete(written -> routingContext.request().connection().close());
+      return;
     }
+    response
+        .setStatusCode(statusCodeFromError(error).code())
+        .end(Json.encode(new JsonRpcErrorResponse(id, error)));
   }
 
   private static HttpResponseStatus statusCodeFromError(final RpcErrorType error) {
@@ -117,7 +135,12 @@ public abstract class AbstractJsonRpcExecutor {
     return response;
   }
 
-  protected static ObjectMapper getJsonObjectMapper() {
+  /**
+   * The object mapper serializing the JSON-RPC responses.
+   *
+   * @return the JSON-RPC object mapper
+   */
+  public static ObjectMapper getJsonObjectMapper() {
     return jsonObjectMapper;
   }
 
@@ -126,6 +149,16 @@ public abstract class AbstractJsonRpcExecutor {
     T get() throws Exception;
   }
 
+  protected static void traceResponse(final JsonRpcResponse response) {
+    // a streamed result is produced while it is written, it can't be serialized twice
+    if (response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamedArrayResult) {
+      LOG.trace("Streamed response for request {}", successResponse.getId());
+    } else {
+      lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
+    }
+  }
+
   protected static void lazyTraceLogger(
       final ExceptionThrowingSupplier<String> logMessageSupplier) {
     if (LOG.isTraceEnabled()) {
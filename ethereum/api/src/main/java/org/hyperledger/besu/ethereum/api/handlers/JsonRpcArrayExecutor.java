@@ -23,9 +23,16 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import io.opentelemetry.api.trace.Tracer;
@@ -35,12 +42,29 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  private final JsonRpcBatchExecution batchExecution;
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    this(
+        jsonRpcExecutor,
+        tracer,
+        ctx,
+        jsonRpcConfiguration,
+        JsonRpcBatchExecution.serial(jsonRpcConfiguration));
+  }
+
+  public JsonRpcArrayExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final RoutingContext ctx,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final JsonRpcBatchExecution batchExecution) {
     super(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
+    this.batchExecution = batchExecution;
   }
 
   /**
@@ -52,18 +76,30 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
   void execute() throws IOException {
     HttpServerResponse response = prepareHttpResponse(ctx);
     final JsonArray batchJsonRequest = getRequestBodyAsJsonArray(ctx);
-    if (isBatchSizeValid(batchJsonRequest)) {
+    if (!isBatchSizeValid(batchJsonRequest)) {
+      handleJsonRpcError(ctx, null, RpcErrorType.EXCEEDS_RPC_MAX_BATCH_SIZE);
+    } else if (!batchExecution.isBatchCostValid(batchJsonRequest)) {
+      handleJsonRpcError(ctx, null, RpcErrorType.EXCEEDS_RPC_MAX_BATCH_COST);
+    } else {
+      batchExecution.getBatchSize().observe(batchJsonRequest.size());
+      final OperationTimer.TimingContext timingContext =
+          batchExecution.getBatchTimer().startTimer();
       try (final JsonResponseStreamer streamer =
-          new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
+          new JsonResponseStreamer(
+              response,
+              ctx.request().remoteAddress(),
+              Duration.ofSeconds(jsonRpcConfiguration.getHttpTimeoutSec()))) {
         executeRpcRequestBatch(batchJsonRequest, streamer);
+      } finally {
+        timingContext.stopTimer();
       }
-    } else {
-      handleJsonRpcError(ctx, null, RpcErrorType.EXCEEDS_RPC_MAX_BATCH_SIZE);
     }
   }
 
   /**
-   * Executes a batch of RPC requests.
+   * Executes a batch of RPC requests. When the batch execution has an executor, up to its
+   * parallelism requests are executed concurrently, and their responses are still written in the
+   * order of the requests, each one as soon as it and the ones before it are available.
    *
    * @param rpcRequestBatch the batch of RPC requests.
    * @param streamer the JsonResponseStreamer to use.
@@ -72,17 +108,59 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
       generator.writeStartArray();
-      for (int i = 0; i < rpcRequestBatch.size(); i++) {
-        JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
-        if (response.getType() != RpcResponseType.NONE) {
-          generator.writeObject(response);
+      if (batchExecution.getExecutor().isPresent() && rpcRequestBatch.size() > 1) {
+        executeConcurrently(rpcRequestBatch, batchExecution.getExecutor().get(), generator);
+      } else {
+        for (int i = 0; i < rpcRequestBatch.size(); i++) {
+          writeResponse(processMaybeRequest(rpcRequestBatch.getValue(i)), generator);
         }
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
       }
       generator.writeEndArray();
     }
   }
 
+  private void executeConcurrently(
+      final JsonArray rpcRequestBatch,
+      final ExecutorService executor,
+      final JsonGenerator generator)
+      throws IOException {
+    final Deque<CompletableFuture<JsonRpcResponse>> inFlight = new ArrayDeque<>();
+    int next = 0;
+    try {
+      while (next < rpcRequestBatch.size() || !inFlight.isEmpty()) {
+        while (next < rpcRequestBatch.size()
+            && inFlight.size() < batchExecution.getParallelism()) {
+          final Object maybeRequest = rpcRequestBatch.getValue(next++);
+          inFlight.add(
+              CompletableFuture.supplyAsync(() -> processMaybeRequest(maybeRequest), executor));
+        }
+        writeResponse(awaitResponse(inFlight.remove()), generator);
+      }
+    } finally {
+      // stop the remaining requests if writing failed, e.g. because the client went away
+      inFlight.forEach(future -> future.cancel(false));
+    }
+  }
+
+  private static JsonRpcResponse awaitResponse(final CompletableFuture<JsonRpcResponse> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private void writeResponse(final JsonRpcResponse response, final JsonGenerator generator)
+      throws IOException {
+    if (response.getType() != RpcResponseType.NONE) {
+      generator.writeObject(response);
+    }
+    traceResponse(response);
+  }
+
   /**
    * Processes a single RPC request.
    *
@@ -0,0 +1,141 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod.ETH_CALL;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod.ETH_CREATE_ACCESS_LIST;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod.ETH_ESTIMATE_GAS;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod.ETH_GET_LOGS;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod.ETH_SIMULATE_V1;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The executor, limits and metrics shared by the batch requests of a JSON-RPC service.
+ *
+ * <p>When an executor is present, the requests of a batch run on it with at most {@code
+ * parallelism} of them in flight for each batch, so a large batch neither runs serially nor takes
+ * over the executor shared with the other batches.
+ */
+public class JsonRpcBatchExecution {
+  /** The buckets of the batch size histogram. */
+  public static final double[] BATCH_SIZE_BUCKETS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000
+  };
+
+  private static final int DEFAULT_COST = 1;
+  private static final int SIMULATION_COST = 10;
+  private static final int REPLAY_COST = 100;
+  private static final Set<String> SIMULATION_METHODS =
+      Stream.of(ETH_CALL, ETH_ESTIMATE_GAS, ETH_CREATE_ACCESS_LIST, ETH_SIMULATE_V1, ETH_GET_LOGS)
+          .map(RpcMethod::getMethodName)
+          .collect(Collectors.toUnmodifiableSet());
+
+  private final Optional<ExecutorService> executor;
+  private final int parallelism;
+  private final int maxBatchCost;
+  private final Histogram batchSize;
+  private final OperationTimer batchTimer;
+
+  public JsonRpcBatchExecution(
+      final JsonRpcConfiguration config,
+      final Optional<ExecutorService> executor,
+      final Histogram batchSize,
+      final OperationTimer batchTimer) {
+    this.executor = executor;
+    this.parallelism = Math.max(1, config.getBatchParallelism());
+    this.maxBatchCost = config.getMaxBatchCost();
+    this.batchSize = batchSize;
+    this.batchTimer = batchTimer;
+  }
+
+  /**
+   * Creates a batch execution running the requests of a batch serially, without metrics.
+   *
+   * @param config the JSON-RPC configuration, for its batch cost limit
+   * @return the serial batch execution
+   */
+  public static JsonRpcBatchExecution serial(final JsonRpcConfiguration config) {
+    return new JsonRpcBatchExecution(
+        config,
+        Optional.empty(),
+        NoOpMetricsSystem.NO_OP_HISTOGRAM,
+        NoOpMetricsSystem.NO_OP_OPERATION_TIMER);
+  }
+
+  public Optional<ExecutorService> getExecutor() {
+    return parallelism > 1 ? executor : Optional.empty();
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public Histogram getBatchSize() {
+    return batchSize;
+  }
+
+  public OperationTimer getBatchTimer() {
+    return batchTimer;
+  }
+
+  /**
+   * Whether the total cost of the requests of the batch is within the configured limit.
+   *
+   * @param batch the batch of requests
+   * @return true if the batch can be executed
+   */
+  public boolean isBatchCostValid(final JsonArray batch) {
+    if (maxBatchCost == -1) {
+      return true;
+    }
+    long cost = 0;
+    for (int i = 0; i < batch.size() && cost <= maxBatchCost; i++) {
+      cost += requestCost(batch.getValue(i));
+    }
+    return cost <= maxBatchCost;
+  }
+
+  /**
+   * The cost of a request of a batch: requests executing transactions or scanning logs cost more
+   * than simple lookups, and requests replaying blocks cost the most.
+   *
+   * @param maybeRequest the object that might be a request
+   * @return the cost of the request
+   */
+  static int requestCost(final Object maybeRequest) {
+    if (!(maybeRequest instanceof JsonObject request)
+        || !(request.getValue("method") instanceof String method)) {
+      return DEFAULT_COST;
+    }
+    if (method.startsWith("trace_") || method.startsWith("debug_trace")) {
+      return REPLAY_COST;
+    }
+    return SIMULATION_METHODS.contains(method) ? SIMULATION_COST : DEFAULT_COST;
+  }
+}
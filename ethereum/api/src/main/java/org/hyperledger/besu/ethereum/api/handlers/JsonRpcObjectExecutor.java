@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -74,9 +75,12 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
       response.end();
     } else {
       try (final JsonResponseStreamer streamer =
-          new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
+          new JsonResponseStreamer(
+              response,
+              ctx.request().remoteAddress(),
+              Duration.ofSeconds(jsonRpcConfiguration.getHttpTimeoutSec()))) {
         // underlying output stream lifecycle is managed by the json object writer
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
+        traceResponse(jsonRpcResponse);
         jsonObjectWriter.writeValue(streamer, jsonRpcResponse);
       }
     }
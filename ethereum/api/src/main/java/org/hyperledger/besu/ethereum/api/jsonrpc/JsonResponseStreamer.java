@@ -16,8 +16,14 @@ package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
+import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.net.SocketAddress;
@@ -30,19 +36,33 @@ public class JsonResponseStreamer extends OutputStream {
 
   private final HttpServerResponse response;
   private final SocketAddress remoteAddress;
+  private final long deadlineNanos;
   private final byte[] singleByteBuf = new byte[1];
   private boolean chunked = false;
   private boolean closed = false;
   private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final AtomicReference<CompletableFuture<Void>> pendingDrain = new AtomicReference<>();
 
+  /**
+   * Instantiates a new Json response streamer.
+   *
+   * @param response the response written to
+   * @param socketAddress the remote address, for logging
+   * @param timeout the max time spent writing the response, bounding the wait for the client to
+   *     read it
+   */
   public JsonResponseStreamer(
-      final HttpServerResponse response, final SocketAddress socketAddress) {
+      final HttpServerResponse response,
+      final SocketAddress socketAddress,
+      final Duration timeout) {
     this.response = response;
     this.remoteAddress = socketAddress;
+    this.deadlineNanos = System.nanoTime() + timeout.toNanos();
     this.response.exceptionHandler(
         event -> {
           LOG.debug("Write to remote address {} failed", remoteAddress, event);
           failure.set(event);
+          wakeUpDrainWaiter();
         });
   }
 
@@ -64,6 +84,7 @@ public class JsonResponseStreamer extends OutputStream {
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
+    awaitDrain();
   }
 
   @Override
@@ -86,8 +107,52 @@ public class JsonResponseStreamer extends OutputStream {
     }
   }
 
+  /**
+   * Blocks a worker thread while the write queue of the response is full, so that a response
+   * written while it is produced does not buffer faster than the client reads it. The wait ends
+   * when the queue is drained, the write fails or the connection is closed, and fails when the
+   * response timeout expires. The event loop is never blocked.
+   */
+  private void awaitDrain() throws IOException {
+    if (!response.writeQueueFull() || Context.isOnEventLoopThread()) {
+      return;
+    }
+    final CompletableFuture<Void> drained = new CompletableFuture<>();
+    pendingDrain.set(drained);
+    response.drainHandler(event -> drained.complete(null));
+    response.closeHandler(event -> drained.complete(null));
+    try {
+      // the queue could have been drained, or the response closed, before the handlers were set
+      if (response.writeQueueFull() && !response.closed() && failure.get() == null) {
+        drained.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+    } catch (final TimeoutException e) {
+      throw new IOException(
+          "Timeout waiting for remote address " + remoteAddress + " to read the response");
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (final ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      pendingDrain.set(null);
+    }
+    stopOnFailureOrClosed();
+    if (response.closed()) {
+      throw new IOException("Connection to remote address " + remoteAddress + " closed");
+    }
+  }
+
+  private void wakeUpDrainWaiter() {
+    final CompletableFuture<Void> drained = pendingDrain.get();
+    if (drained != null) {
+      drained.complete(null);
+    }
+  }
+
   private void handleFailure(final Throwable t) {
     LOG.debug("Write to remote address {} failed", remoteAddress, t);
     failure.set(t);
+    wakeUpDrainWaiter();
   }
 }
@@ -37,6 +37,8 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_ENGINE_JSON_RPC_PORT = 8551;
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_BATCH_PARALLELISM = 1;
+  public static final int DEFAULT_MAX_BATCH_COST = -1;
   public static final long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 128 * 1024 * 1024; // 128MB
   public static final boolean DEFAULT_PRETTY_JSON_ENABLED = false;
 
@@ -55,6 +57,8 @@ public class JsonRpcConfiguration {
   private long httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
   private int maxActiveConnections;
   private int maxBatchSize;
+  private int batchParallelism;
+  private int maxBatchCost;
   private long maxRequestContentLength;
   private boolean prettyJsonEnabled;
 
@@ -67,6 +71,8 @@ public class JsonRpcConfiguration {
     config.httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
+    config.setBatchParallelism(DEFAULT_BATCH_PARALLELISM);
+    config.setMaxBatchCost(DEFAULT_MAX_BATCH_COST);
     config.setMaxRequestContentLength(DEFAULT_MAX_REQUEST_CONTENT_LENGTH);
     config.setPrettyJsonEnabled(DEFAULT_PRETTY_JSON_ENABLED);
     return config;
@@ -223,6 +229,8 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("batchParallelism", batchParallelism)
+        .add("maxBatchCost", maxBatchCost)
         .toString();
   }
 
@@ -244,7 +252,9 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && batchParallelism == that.batchParallelism
+        && maxBatchCost == that.maxBatchCost;
   }
 
   @Override
@@ -259,7 +269,9 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        batchParallelism,
+        maxBatchCost);
   }
 
   public int getMaxActiveConnections() {
@@ -278,6 +290,22 @@ public class JsonRpcConfiguration {
     this.maxBatchSize = maxBatchSize;
   }
 
+  public int getBatchParallelism() {
+    return batchParallelism;
+  }
+
+  public void setBatchParallelism(final int batchParallelism) {
+    this.batchParallelism = batchParallelism;
+  }
+
+  public int getMaxBatchCost() {
+    return maxBatchCost;
+  }
+
+  public void setMaxBatchCost(final int maxBatchCost) {
+    this.maxBatchCost = maxBatchCost;
+  }
+
   public long getMaxRequestContentLength() {
     return maxRequestContentLength;
   }
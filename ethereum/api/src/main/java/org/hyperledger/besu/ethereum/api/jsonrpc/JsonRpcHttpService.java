@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.tuweni.net.tls.VertxTrustOptions.allowlistClients;
 
 import org.hyperledger.besu.ethereum.api.handlers.HandlerFactory;
+import org.hyperledger.besu.ethereum.api.handlers.JsonRpcBatchExecution;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthenticationService;
@@ -39,6 +40,7 @@ import org.hyperledger.besu.nat.core.domain.NatServiceType;
 import org.hyperledger.besu.nat.core.domain.NetworkProtocol;
 import org.hyperledger.besu.nat.upnp.UpnpNatManager;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.util.ExceptionUtils;
@@ -50,10 +52,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
 import io.opentelemetry.api.trace.Span;
@@ -124,6 +129,9 @@ public class JsonRpcHttpService {
   private final NatService natService;
   private final Path dataDir;
   private final LabelledMetric<OperationTimer> requestTimer;
+  private final Histogram batchSizeHistogram;
+  private final OperationTimer batchTimer;
+  private Optional<ExecutorService> batchExecutor = Optional.empty();
   private TracerProvider tracerProvider;
   private Tracer tracer;
   private final int maxActiveConnections;
@@ -186,6 +194,17 @@ public class JsonRpcHttpService {
             "request_time",
             "Time taken to process a JSON-RPC request",
             "methodName");
+    batchSizeHistogram =
+        metricsSystem.createHistogram(
+            BesuMetricCategory.RPC,
+            "batch_request_size",
+            "Number of requests in a JSON-RPC batch request",
+            JsonRpcBatchExecution.BATCH_SIZE_BUCKETS);
+    batchTimer =
+        metricsSystem.createTimer(
+            BesuMetricCategory.RPC,
+            "batch_request_time",
+            "Time taken to process a JSON-RPC batch request");
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.RPC,
@@ -228,6 +247,17 @@ public class JsonRpcHttpService {
     final CompletableFuture<?> resultFuture = new CompletableFuture<>();
     try {
 
+      if (config.getBatchParallelism() > 1) {
+        batchExecutor =
+            Optional.of(
+                Executors.newFixedThreadPool(
+                    config.getBatchParallelism(),
+                    new ThreadFactoryBuilder()
+                        .setNameFormat("JsonRpcBatch-%d")
+                        .setDaemon(true)
+                        .build()));
+      }
+
       // Create the HTTP server and a router object.
       httpServer = vertx.createHttpServer(getHttpServerOptions());
 
@@ -341,6 +371,8 @@ public class JsonRpcHttpService {
         .handler(HandlerFactory.jsonRpcParser())
         .handler(
             HandlerFactory.timeout(new TimeoutOptions(config.getHttpTimeoutSec()), rpcMethods));
+    final JsonRpcBatchExecution batchExecution =
+        new JsonRpcBatchExecution(config, batchExecutor, batchSizeHistogram, batchTimer);
     if (authenticationService.isPresent()) {
       mainRoute.blockingHandler(
           HandlerFactory.jsonRpcExecutor(
@@ -353,7 +385,8 @@ public class JsonRpcHttpService {
                       config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchExecution),
           false);
     } else {
       mainRoute.blockingHandler(
@@ -364,7 +397,8 @@ public class JsonRpcHttpService {
                       requestTimer),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchExecution),
           false);
     }
 
@@ -532,6 +566,8 @@ public class JsonRpcHttpService {
   }
 
   public CompletableFuture<?> stop() {
+    batchExecutor.ifPresent(ExecutorService::shutdownNow);
+    batchExecutor = Optional.empty();
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
     }
@@ -43,6 +43,7 @@ public class JsonRpcRequest {
   private final Object[] params;
   private final String version;
   private boolean isNotification = true;
+  private boolean isStreamedResponseSupported = false;
 
   @JsonCreator
   public JsonRpcRequest(
@@ -84,6 +85,22 @@ public class JsonRpcRequest {
     return isNotification;
   }
 
+  /**
+   * Whether the transport of the request writes the response while it is serialized, on a thread
+   * that may block, so that the result can be produced during the serialization.
+   *
+   * @return true if the response can be streamed
+   */
+  @JsonIgnore
+  public boolean isStreamedResponseSupported() {
+    return isStreamedResponseSupported;
+  }
+
+  @JsonIgnore
+  public void setStreamedResponseSupported(final boolean isStreamedResponseSupported) {
+    this.isStreamedResponseSupported = isStreamedResponseSupported;
+  }
+
   @JsonIgnore
   public int getParamLength() {
     return hasParams() ? params.length : 0;
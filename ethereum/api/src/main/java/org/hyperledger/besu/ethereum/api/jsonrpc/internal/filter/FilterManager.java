@@ -15,12 +15,12 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.filter;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.util.stream.Collectors.toUnmodifiableList;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
 import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -28,7 +28,9 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -138,24 +140,29 @@ public class FilterManager extends AbstractVerticle {
         });
 
     final List<LogWithMetadata> logsWithMetadata = event.getLogsWithMetadata();
-    filterRepository.getFiltersOfType(LogFilter.class).stream()
-        .filter(
-            // Only keep filters where the "to" block could include the block in the event
-            filter -> {
-              final Optional<Long> maybeToBlockNumber = filter.getToBlock().getNumber();
-              return maybeToBlockNumber.isEmpty()
-                  || maybeToBlockNumber.get() >= event.getHeader().getNumber();
-            })
-        .forEach(
-            filter -> {
-              final LogsQuery logsQuery = filter.getLogsQuery();
-              filter.addLogs(
-                  // We need to use privacy queries for private log filters but for regular
-                  // log filters we already have all the info in the event
-                  logsWithMetadata.stream()
-                      .filter(logsQuery::matches)
-                      .collect(toUnmodifiableList()));
-            });
+    if (logsWithMetadata.isEmpty()) {
+      return;
+    }
+    final LogsQueryIndex<LogFilter> logFilters =
+        LogsQueryIndex.create(
+            filterRepository.getFiltersOfType(LogFilter.class).stream()
+                .filter(
+                    // Only keep filters where the "to" block could include the block in the event
+                    filter -> {
+                      final Optional<Long> maybeToBlockNumber = filter.getToBlock().getNumber();
+                      return maybeToBlockNumber.isEmpty()
+                          || maybeToBlockNumber.get() >= event.getHeader().getNumber();
+                    })
+                .toList(),
+            LogFilter::getLogsQuery);
+    // route each log of the event to the filters it could match, keeping the order of the logs
+    final Map<LogFilter, List<LogWithMetadata>> matchingLogs = new LinkedHashMap<>();
+    logsWithMetadata.forEach(
+        log ->
+            logFilters.forEachMatch(
+                log,
+                filter -> matchingLogs.computeIfAbsent(filter, f -> new ArrayList<>()).add(log)));
+    matchingLogs.forEach(LogFilter::addLogs);
   }
 
   @VisibleForTesting
@@ -16,16 +16,21 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 
 import static org.hyperledger.besu.services.pipeline.PipelineBuilder.createPipelineFrom;
 
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelBlockReplay;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedArrayResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceResultCache;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.debug.OpCodeTracerConfig;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
@@ -44,11 +49,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.base.Suppliers;
 
 public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
+  // sorts the map entries, also of the nested maps, to give a canonical form of the tracer config
+  private static final ObjectMapper TRACE_OPTIONS_KEY_MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
 
   private final ProtocolSchedule protocolSchedule;
   private final LabelledMetric<Counter> outputCounter;
@@ -97,10 +109,109 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
     return traceOptions;
   }
 
+  protected Object getTracesResult(
+      final JsonRpcRequestContext requestContext,
+      final TraceOptions traceOptions,
+      final Optional<Block> maybeBlock) {
+    return getCachedOrStreamedTraces(
+        getBlockchainQueries(),
+        requestContext,
+        traceOptions,
+        maybeBlock,
+        results -> traceBlock(traceOptions, maybeBlock, results));
+  }
+
   protected Collection<DebugTraceTransactionResult> getTraces(
       final JsonRpcRequestContext requestContext,
       final TraceOptions traceOptions,
       final Optional<Block> maybeBlock) {
+    return collectTraces(results -> traceBlock(traceOptions, maybeBlock, results));
+  }
+
+  /**
+   * Returns the traces of a block from the trace result cache when it is enabled, otherwise streams
+   * them when the response supports it, or collects them all.
+   *
+   * @param blockchainQueries the blockchain queries
+   * @param requestContext the request context
+   * @param traceOptions the trace options
+   * @param maybeBlock the block to trace
+   * @param blockTracer traces the block
+   * @return the traces result, or null when the block cannot be traced
+   */
+  static Object getCachedOrStreamedTraces(
+      final BlockchainQueries blockchainQueries,
+      final JsonRpcRequestContext requestContext,
+      final TraceOptions traceOptions,
+      final Optional<Block> maybeBlock,
+      final BlockTracer blockTracer) {
+    final Optional<TraceResultCache> traceResultCache = blockchainQueries.getTraceResultCache();
+    if (traceResultCache.isPresent() && maybeBlock.isPresent()) {
+      return traceResultCache
+          .get()
+          .getOrCompute(
+              maybeBlock.get().getHeader(),
+              RpcMethod.DEBUG_TRACE_BLOCK.getMethodName(),
+              traceOptionsKey(traceOptions),
+              () -> collectTraces(blockTracer));
+    }
+    if (blockchainQueries.isStreamedTraceResponsesEnabled()
+        && requestContext.getRequest().isStreamedResponseSupported()
+        && maybeBlock.isPresent()
+        && Tracer.isTraceable(blockchainQueries, maybeBlock.get().getHeader())) {
+      // each transaction trace is written as soon as it is available, while the response is
+      // serialized, instead of holding the traces of the whole block
+      return new StreamedArrayResult(
+          requestContext::isAlive, sink -> blockTracer.traceBlock(sink::accept));
+    }
+    return collectTraces(blockTracer);
+  }
+
+  /**
+   * Returns the canonical form of the trace options, used to key the cached results, so equal
+   * options always give the same key whatever the order of the tracer config entries.
+   *
+   * @param traceOptions the trace options
+   * @return the canonical form of the trace options
+   */
+  static String traceOptionsKey(final TraceOptions traceOptions) {
+    final OpCodeTracerConfig opCodeTracerConfig = traceOptions.opCodeTracerConfig();
+    try {
+      return String.join(
+          ",",
+          traceOptions.tracerType().name(),
+          "storage=" + opCodeTracerConfig.traceStorage(),
+          "memory=" + opCodeTracerConfig.traceMemory(),
+          "stack=" + opCodeTracerConfig.traceStack(),
+          "config=" + TRACE_OPTIONS_KEY_MAPPER.writeValueAsString(traceOptions.tracerConfig()));
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Invalid tracer config", e);
+    }
+  }
+
+  private static Collection<DebugTraceTransactionResult> collectTraces(
+      final BlockTracer blockTracer) {
+    final List<DebugTraceTransactionResult> tracesList =
+        Collections.synchronizedList(new ArrayList<>());
+    return blockTracer.traceBlock(tracesList::add) ? tracesList : null;
+  }
+
+  /** Traces a block, passing each transaction trace to the results consumer in order. */
+  @FunctionalInterface
+  interface BlockTracer {
+    /**
+     * Traces the block.
+     *
+     * @param results the consumer of the transaction traces
+     * @return false when the block or its world state is not available
+     */
+    boolean traceBlock(Consumer<DebugTraceTransactionResult> results);
+  }
+
+  private boolean traceBlock(
+      final TraceOptions traceOptions,
+      final Optional<Block> maybeBlock,
+      final Consumer<DebugTraceTransactionResult> results) {
     return maybeBlock
         .flatMap(
             block ->
@@ -108,8 +219,6 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
                     getBlockchainQueries(),
                     Optional.of(block.getHeader()),
                     traceableState -> {
-                      List<DebugTraceTransactionResult> tracesList =
-                          Collections.synchronizedList(new ArrayList<>());
                       final ProtocolSpec protocolSpec =
                           protocolSchedule.getByBlockHeader(block.getHeader());
                       final MainnetTransactionProcessor transactionProcessor =
@@ -120,6 +229,15 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
                       TransactionSource transactionSource = new TransactionSource(block);
                       DebugOperationTracer debugOperationTracer =
                           new DebugOperationTracer(traceOptions.opCodeTracerConfig(), true);
+                      final Optional<ParallelBlockReplay> parallelBlockReplay =
+                          ParallelBlockReplay.start(
+                              getBlockchainQueries(),
+                              protocolSpec,
+                              block,
+                              traceableState,
+                              traceOptions.opCodeTracerConfig(),
+                              true,
+                              ethScheduler);
                       ExecuteTransactionStep executeTransactionStep =
                           new ExecuteTransactionStep(
                               chainUpdater,
@@ -127,7 +245,8 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
                               getBlockchainQueries().getBlockchain(),
                               debugOperationTracer,
                               protocolSpec,
-                              block);
+                              block,
+                              parallelBlockReplay);
 
                       Pipeline<TransactionTrace> traceBlockPipeline =
                           createPipelineFrom(
@@ -143,15 +262,17 @@ public abstract class AbstractDebugTraceBlock implements JsonRpcMethod {
                                   DebugTraceTransactionStepFactory.createAsync(
                                       traceOptions.tracerType()),
                                   4)
-                              .andFinishWith("collect_results", tracesList::add);
+                              .andFinishWith("collect_results", results::accept);
 
                       try {
                         ethScheduler.startPipeline(traceBlockPipeline).get();
                       } catch (InterruptedException | ExecutionException e) {
                         throw new RuntimeException(e);
+                      } finally {
+                        parallelBlockReplay.ifPresent(ParallelBlockReplay::cancel);
                       }
-                      return Optional.of(tracesList);
+                      return Optional.of(true);
                     }))
-        .orElse(null);
+        .orElse(false);
   }
 }
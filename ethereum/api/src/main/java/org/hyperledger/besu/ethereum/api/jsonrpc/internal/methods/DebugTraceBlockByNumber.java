@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.TransactionTraceParams;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelBlockReplay;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
@@ -40,11 +41,9 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
 
@@ -108,6 +107,18 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
     Optional<Block> maybeBlock =
         getBlockchainQueries().getBlockchain().getBlockByNumber(blockNumber);
 
+    return AbstractDebugTraceBlock.getCachedOrStreamedTraces(
+        getBlockchainQueries(),
+        request,
+        traceOptions,
+        maybeBlock,
+        results -> traceBlock(maybeBlock, traceOptions, results));
+  }
+
+  private boolean traceBlock(
+      final Optional<Block> maybeBlock,
+      final TraceOptions traceOptions,
+      final Consumer<DebugTraceTransactionResult> results) {
     return maybeBlock
         .flatMap(
             block ->
@@ -115,8 +126,6 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
                     getBlockchainQueries(),
                     Optional.of(block.getHeader()),
                     traceableState -> {
-                      List<DebugTraceTransactionResult> tracesList =
-                          Collections.synchronizedList(new ArrayList<>());
                       final ProtocolSpec protocolSpec =
                           protocolSchedule.getByBlockHeader(block.getHeader());
                       final MainnetTransactionProcessor transactionProcessor =
@@ -127,6 +136,15 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
                       TransactionSource transactionSource = new TransactionSource(block);
                       DebugOperationTracer debugOperationTracer =
                           new DebugOperationTracer(traceOptions.opCodeTracerConfig(), true);
+                      final Optional<ParallelBlockReplay> parallelBlockReplay =
+                          ParallelBlockReplay.start(
+                              getBlockchainQueries(),
+                              protocolSpec,
+                              block,
+                              traceableState,
+                              traceOptions.opCodeTracerConfig(),
+                              true,
+                              ethScheduler);
                       ExecuteTransactionStep executeTransactionStep =
                           new ExecuteTransactionStep(
                               chainUpdater,
@@ -134,7 +152,8 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
                               getBlockchainQueries().getBlockchain(),
                               debugOperationTracer,
                               protocolSpec,
-                              block);
+                              block,
+                              parallelBlockReplay);
 
                       Pipeline<TransactionTrace> traceBlockPipeline =
                           createPipelineFrom(
@@ -150,15 +169,17 @@ public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
                                   DebugTraceTransactionStepFactory.createAsync(
                                       traceOptions.tracerType()),
                                   4)
-                              .andFinishWith("collect_results", tracesList::add);
+                              .andFinishWith("collect_results", results::accept);
 
                       try {
                         ethScheduler.startPipeline(traceBlockPipeline).get();
                       } catch (InterruptedException | ExecutionException e) {
                         throw new RuntimeException(e);
+                      } finally {
+                        parallelBlockReplay.ifPresent(ParallelBlockReplay::cancel);
                       }
-                      return Optional.of(tracesList);
+                      return Optional.of(true);
                     }))
-        .orElse(null);
+        .orElse(false);
   }
 }
@@ -25,9 +25,11 @@ import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
+import org.hyperledger.besu.ethereum.vm.EstimateGasOperationTracer;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,9 +74,10 @@ public class EthEstimateGas extends AbstractEstimateGas {
       return Quantity.create(minTxCost);
     }
 
+    final EstimateGasOperationTracer estimateGasTracer = new EstimateGasOperationTracer();
     final var maybeResult =
         simulationFunction.simulate(
-            overrideGasLimit(callParams, gasLimitUpperBound), OperationTracer.NO_TRACING);
+            overrideGasLimit(callParams, gasLimitUpperBound), estimateGasTracer);
 
     final Optional<JsonRpcErrorResponse> maybeErrorResponse =
         validateSimulationResult(requestContext, maybeResult);
@@ -87,17 +90,33 @@ public class EthEstimateGas extends AbstractEstimateGas {
     long mid;
 
     long low = result.result().getEstimateGasUsedByTransaction() - 1;
-    var optimisticGasLimit = processEstimateGas(result);
-
-    final var optimisticResult =
-        simulationFunction.simulate(
-            overrideGasLimit(callParams, optimisticGasLimit), OperationTracer.NO_TRACING);
-
-    if (optimisticResult.isPresent() && optimisticResult.get().isSuccessful()) {
-      high = optimisticGasLimit;
+    final OptionalLong tracedGasLimit = estimateGasTracer.estimateGasLimit();
+    if (tracedGasLimit.isPresent()) {
+      // the gas left by each frame of the execution gives a tight candidate, so the binary
+      // search is only needed when the execution depends on the gas left
+      final long candidateGasLimit = Math.min(Math.max(tracedGasLimit.getAsLong(), low + 1), high);
+      if (candidateGasLimit < high
+          && !isSuccessful(simulationFunction, callParams, candidateGasLimit)) {
+        low = candidateGasLimit;
+      } else {
+        high = candidateGasLimit;
+        // the candidate is exact unless one gas less also succeeds
+        if (estimateGasToleranceRatio > 0
+            || high <= low + 1
+            || !isSuccessful(simulationFunction, callParams, high - 1)) {
+          return Quantity.create(high);
+        }
+        high = high - 1;
+      }
     } else {
-      low = optimisticGasLimit;
+      final var optimisticGasLimit = processEstimateGas(result);
+      if (isSuccessful(simulationFunction, callParams, optimisticGasLimit)) {
+        high = optimisticGasLimit;
+      } else {
+        low = optimisticGasLimit;
+      }
     }
+    LOG.debug("Falling back to a binary search of the gas limit between {} and {}", low, high);
 
     while (low + 1 < high) {
       // check if we are close enough
@@ -120,6 +139,16 @@ public class EthEstimateGas extends AbstractEstimateGas {
     return Quantity.create(high);
   }
 
+  private boolean isSuccessful(
+      final TransactionSimulationFunction simulationFunction,
+      final CallParameter callParams,
+      final long gasLimit) {
+    final var maybeResult =
+        simulationFunction.simulate(
+            overrideGasLimit(callParams, gasLimit), OperationTracer.NO_TRACING);
+    return maybeResult.isPresent() && maybeResult.get().isSuccessful();
+  }
+
   private Optional<JsonRpcErrorResponse> validateSimulationResult(
       final JsonRpcRequestContext requestContext,
       final Optional<TransactionSimulatorResult> maybeResult) {
@@ -32,6 +32,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.FeeHistory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.ImmutableFeeHistory;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.BlockFeeSummary;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -223,6 +224,21 @@ public class EthFeeHistory implements JsonRpcMethod {
   private Optional<List<Wei>> calculateBlockHeaderReward(
       final List<Double> sortedPercentiles, final BlockHeader blockHeader, final Wei nextBaseFee) {
 
+    // Use the precomputed fee summary of the block when there is one
+    final Optional<List<Wei>> summaryRewards =
+        blockchainQueries
+            .getBlockFeeSummaryCache()
+            .flatMap(summaries -> summaries.getOrCompute(blockHeader))
+            .map(
+                summary -> {
+                  final List<Wei> rewards = summary.getRewards(sortedPercentiles);
+                  // like computeRewards, the zero rewards of an empty block are not bounded
+                  return summary.hasTransactions() ? limitRewards(rewards, nextBaseFee) : rewards;
+                });
+    if (summaryRewards.isPresent()) {
+      return summaryRewards;
+    }
+
     // Create a new key for the reward cache
     final RewardCacheKey key = new RewardCacheKey(blockHeader.getBlockHash(), sortedPercentiles);
 
@@ -259,6 +275,10 @@ public class EthFeeHistory implements JsonRpcMethod {
 
     var realRewards = calculateRewards(rewardPercentiles, block, transactionsInfo);
 
+    return limitRewards(realRewards, nextBaseFee);
+  }
+
+  private List<Wei> limitRewards(final List<Wei> realRewards, final Wei nextBaseFee) {
     // If the priority fee boundary is set, return the bounded rewards. Otherwise, return the real
     // rewards.
     if (apiConfiguration.isGasAndPriorityFeeLimitingEnabled()) {
@@ -393,7 +413,15 @@ public class EthFeeHistory implements JsonRpcMethod {
     return baseFeesPerBlobGas;
   }
 
+  private Optional<BlockFeeSummary> getCachedFeeSummary(final BlockHeader header) {
+    return blockchainQueries.getBlockFeeSummaryCache().flatMap(summaries -> summaries.get(header));
+  }
+
   private Wei getBlobGasFee(final BlockHeader header) {
+    final Optional<BlockFeeSummary> summary = getCachedFeeSummary(header);
+    if (summary.isPresent()) {
+      return summary.get().getBaseFeePerBlobGas();
+    }
     return blockchain
         .getBlockHeader(header.getParentHash())
         .map(parent -> getBlobGasFee(protocolSchedule.getByBlockHeader(header), parent))
@@ -429,6 +457,10 @@ public class EthFeeHistory implements JsonRpcMethod {
   }
 
   private double calculateBlobGasUsedRatio(final BlockHeader blockHeader) {
+    final Optional<BlockFeeSummary> summary = getCachedFeeSummary(blockHeader);
+    if (summary.isPresent()) {
+      return summary.get().getBlobGasUsedRatio();
+    }
     ProtocolSpec spec = protocolSchedule.getByBlockHeader(blockHeader);
     long blobGasUsed = blockHeader.getBlobGasUsed().orElse(0L);
     double currentBlobGasLimit = spec.getGasLimitCalculator().currentBlobGasLimit();
@@ -18,6 +18,7 @@ import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalcu
 
 import org.hyperledger.besu.datatypes.BlobGas;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelBlockReplay;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -41,6 +42,8 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
   private final Blockchain blockchain;
   private final ProtocolSpec protocolSpec;
   private final Block block;
+  private final Optional<ParallelBlockReplay> parallelBlockReplay;
+  private int transactionLocation;
 
   public ExecuteTransactionStep(
       final TraceBlock.ChainUpdater chainUpdater,
@@ -48,13 +51,32 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
       final Blockchain blockchain,
       final DebugOperationTracer tracer,
       final ProtocolSpec protocolSpec,
-      final Block block) {
+      final Block block,
+      final Optional<ParallelBlockReplay> parallelBlockReplay) {
     this.chainUpdater = chainUpdater;
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.tracer = tracer;
     this.protocolSpec = protocolSpec;
     this.block = block;
+    this.parallelBlockReplay = parallelBlockReplay;
+  }
+
+  public ExecuteTransactionStep(
+      final TraceBlock.ChainUpdater chainUpdater,
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final DebugOperationTracer tracer,
+      final ProtocolSpec protocolSpec,
+      final Block block) {
+    this(
+        chainUpdater,
+        transactionProcessor,
+        blockchain,
+        tracer,
+        protocolSpec,
+        block,
+        Optional.empty());
   }
 
   public ExecuteTransactionStep(
@@ -84,6 +106,13 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
     TransactionProcessingResult result = null;
     // If it is not a reward Block trace
     if (transactionTrace.getTransaction() != null) {
+      final int location = transactionLocation++;
+      final Optional<TransactionTrace> parallelTrace =
+          parallelBlockReplay.flatMap(
+              replay -> replay.confirm(location, transactionTrace.getTransaction()));
+      if (parallelTrace.isPresent()) {
+        return parallelTrace.get();
+      }
       BlockHeader header = block.getHeader();
       final Optional<BlockHeader> maybeParentHeader =
           blockchain.getBlockHeader(header.getParentHash());
@@ -98,13 +127,16 @@ public class ExecuteTransactionStep implements Function<TransactionTrace, Transa
           protocolSpec.getPreExecutionProcessor().createBlockHashLookup(blockchain, header);
       result =
           transactionProcessor.processTransaction(
-              chainUpdater.getNextUpdater(),
+              parallelBlockReplay
+                  .map(ParallelBlockReplay::getBlockUpdater)
+                  .orElseGet(chainUpdater::getNextUpdater),
               header,
               transactionTrace.getTransaction(),
               header.getCoinbase(),
               tracer,
               blockHashLookup,
               blobGasPrice);
+      parallelBlockReplay.ifPresent(ParallelBlockReplay::commitTransaction);
 
       traceFrames = tracer.copyTraceFrames();
       tracer.reset();
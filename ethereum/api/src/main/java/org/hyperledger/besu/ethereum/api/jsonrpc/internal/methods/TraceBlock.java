@@ -22,9 +22,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.ParallelBlockReplay;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.Tracer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamedArrayResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.tracing.flat.RewardTraceGenerator;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.util.ArrayNodeWrapper;
@@ -46,6 +48,7 @@ import org.hyperledger.besu.services.pipeline.Pipeline;
 
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -102,69 +105,123 @@ public class TraceBlock extends AbstractBlockParameterMethod {
     return getBlockchainQueries()
         .getBlockchain()
         .getBlockByNumber(blockNumber)
-        .map(block -> traceBlock(block, Optional.empty()))
-        .map(ArrayNodeWrapper::getArrayNode)
+        .map(
+            block ->
+                getBlockchainQueries()
+                    .getTraceResultCache()
+                    .map(
+                        cache ->
+                            cache.getOrCompute(
+                                block.getHeader(),
+                                RpcMethod.TRACE_BLOCK.getMethodName(),
+                                "",
+                                () -> traceBlockArray(block)))
+                    .orElseGet(
+                        () ->
+                            isStreamed(request, block)
+                                ? new StreamedArrayResult(
+                                    request::isAlive, sink -> traceBlockToSink(block, sink))
+                                : traceBlockArray(block)))
         .orElse(null);
   }
 
+  private boolean isStreamed(final JsonRpcRequestContext request, final Block block) {
+    return getBlockchainQueries().isStreamedTraceResponsesEnabled()
+        && request.getRequest().isStreamedResponseSupported()
+        && Tracer.isTraceable(getBlockchainQueries(), block.getHeader());
+  }
+
+  private Object traceBlockArray(final Block block) {
+    return traceBlock(block, Optional.empty()).getArrayNode();
+  }
+
+  private void traceBlockToSink(final Block block, final Consumer<Object> sink) {
+    // the traces are written to the response as they are added, instead of to the array node
+    traceBlock(
+        block,
+        Optional.empty(),
+        new ArrayNodeWrapper(MAPPER.createArrayNode()) {
+          @Override
+          public void addPOJO(final Object object) {
+            sink.accept(object);
+          }
+        });
+  }
+
   protected ArrayNodeWrapper traceBlock(
       final Block block, final Optional<FilterParameter> filterParameter) {
 
     if (block == null) {
       return emptyResult();
     }
+    return traceBlock(block, filterParameter, emptyResult()).orElse(emptyResult());
+  }
+
+  private Optional<ArrayNodeWrapper> traceBlock(
+      final Block block,
+      final Optional<FilterParameter> filterParameter,
+      final ArrayNodeWrapper resultArrayNode) {
     final BlockHeader header = block.getHeader();
 
     return Tracer.processTracing(
-            getBlockchainQueries(),
-            Optional.of(header),
-            traceableState -> {
-              ArrayNodeWrapper resultArrayNode = new ArrayNodeWrapper(MAPPER.createArrayNode());
-              final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
-              final MainnetTransactionProcessor transactionProcessor =
-                  protocolSpec.getTransactionProcessor();
-              final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
-
-              TransactionSource transactionSource = new TransactionSource(block);
-              DebugOperationTracer debugOperationTracer =
-                  new DebugOperationTracer(new OpCodeTracerConfig(false, false, true), false);
-              ExecuteTransactionStep executeTransactionStep =
-                  new ExecuteTransactionStep(
-                      chainUpdater,
-                      transactionProcessor,
-                      getBlockchainQueries().getBlockchain(),
-                      debugOperationTracer,
-                      protocolSpec,
-                      block);
-              TraceFlatTransactionStep traceFlatTransactionStep =
-                  new TraceFlatTransactionStep(protocolSchedule, block, filterParameter);
-              BuildArrayNodeCompleterStep buildArrayNodeStep =
-                  new BuildArrayNodeCompleterStep(resultArrayNode);
-              Pipeline<TransactionTrace> traceBlockPipeline =
-                  createPipelineFrom(
-                          "getTransactions",
-                          transactionSource,
-                          4,
-                          outputCounter,
-                          false,
-                          "trace_block_transactions")
-                      .thenProcess("executeTransaction", executeTransactionStep)
-                      .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
-                      .andFinishWith(
-                          "buildArrayNode",
-                          traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
-
-              try {
-                ethScheduler.startPipeline(traceBlockPipeline).get();
-              } catch (InterruptedException | ExecutionException e) {
-                throw new RuntimeException(e);
-              }
-
-              resultArrayNode = buildArrayNodeStep.getResultArrayNode();
-              generateRewardsFromBlock(filterParameter, block, resultArrayNode);
-              return Optional.of(resultArrayNode);
-            })
-        .orElse(emptyResult());
+        getBlockchainQueries(),
+        Optional.of(header),
+        traceableState -> {
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+          final MainnetTransactionProcessor transactionProcessor =
+              protocolSpec.getTransactionProcessor();
+          final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
+
+          TransactionSource transactionSource = new TransactionSource(block);
+          DebugOperationTracer debugOperationTracer =
+              new DebugOperationTracer(new OpCodeTracerConfig(false, false, true), false);
+          final Optional<ParallelBlockReplay> parallelBlockReplay =
+              ParallelBlockReplay.start(
+                  getBlockchainQueries(),
+                  protocolSpec,
+                  block,
+                  traceableState,
+                  new OpCodeTracerConfig(false, false, true),
+                  false,
+                  ethScheduler);
+          ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  chainUpdater,
+                  transactionProcessor,
+                  getBlockchainQueries().getBlockchain(),
+                  debugOperationTracer,
+                  protocolSpec,
+                  block,
+                  parallelBlockReplay);
+          TraceFlatTransactionStep traceFlatTransactionStep =
+              new TraceFlatTransactionStep(protocolSchedule, block, filterParameter);
+          BuildArrayNodeCompleterStep buildArrayNodeStep =
+              new BuildArrayNodeCompleterStep(resultArrayNode);
+          Pipeline<TransactionTrace> traceBlockPipeline =
+              createPipelineFrom(
+                      "getTransactions",
+                      transactionSource,
+                      4,
+                      outputCounter,
+                      false,
+                      "trace_block_transactions")
+                  .thenProcess("executeTransaction", executeTransactionStep)
+                  .thenProcessAsyncOrdered("traceFlatTransaction", traceFlatTransactionStep, 4)
+                  .andFinishWith(
+                      "buildArrayNode",
+                      traceStream -> traceStream.forEachOrdered(buildArrayNodeStep));
+
+          try {
+            ethScheduler.startPipeline(traceBlockPipeline).get();
+          } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+          } finally {
+            parallelBlockReplay.ifPresent(ParallelBlockReplay::cancel);
+          }
+
+          generateRewardsFromBlock(filterParameter, block, resultArrayNode);
+          return Optional.of(resultArrayNode);
+        });
   }
 
   protected void generateRewardsFromBlock(
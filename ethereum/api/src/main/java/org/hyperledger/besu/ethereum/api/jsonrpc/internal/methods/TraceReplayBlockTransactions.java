@@ -48,6 +48,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -94,7 +95,7 @@ public class TraceReplayBlockTransactions extends AbstractBlockParameterMethod {
   }
 
   @Override
-  protected ArrayNode resultByBlockNumber(
+  protected Object resultByBlockNumber(
       final JsonRpcRequestContext request, final long blockNumber) {
     final TraceTypeParameter traceTypeParameter;
     try {
@@ -118,10 +119,28 @@ public class TraceReplayBlockTransactions extends AbstractBlockParameterMethod {
     return getBlockchainQueries()
         .getBlockchain()
         .getBlockByNumber(blockNumber)
-        .map(block -> traceBlock(block, traceTypeParameter))
+        .map(
+            block ->
+                getBlockchainQueries()
+                    .getTraceResultCache()
+                    .map(
+                        cache ->
+                            cache.getOrCompute(
+                                block.getHeader(),
+                                RpcMethod.TRACE_REPLAY_BLOCK_TRANSACTIONS.getMethodName(),
+                                traceTypesKey(traceTypeParameter),
+                                () -> traceBlock(block, traceTypeParameter)))
+                    .orElseGet(() -> traceBlock(block, traceTypeParameter)))
         .orElse(null);
   }
 
+  private static String traceTypesKey(final TraceTypeParameter traceTypeParameter) {
+    return traceTypeParameter.getTraceTypes().stream()
+        .map(Enum::name)
+        .sorted()
+        .collect(Collectors.joining(","));
+  }
+
   private ArrayNode traceBlock(final Block block, final TraceTypeParameter traceTypeParameter) {
 
     if (block == null) {
@@ -0,0 +1,298 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
+
+import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.debug.OpCodeTracerConfig;
+import org.hyperledger.besu.ethereum.debug.TraceFrame;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Traces the transactions of a block in parallel, each one on its own copy of the parent state of
+ * the block, and confirms the traces in block order.
+ *
+ * <p>A trace is only valid if the transaction read nothing written by the previous transactions of
+ * the block, which is checked with the collision detection of the parallel block import. When it
+ * is, the state changes of the transaction are imported in the block state and its trace is used,
+ * otherwise the transaction is traced again on the block state. Like the block import, the
+ * transactions are applied to the accumulator of the block state rather than to nested updaters.
+ *
+ * <p>Each parallel execution resolves its copy of the parent state through the world state
+ * archive, like the sequential tracing does, so any block whose parent state is available can be
+ * traced in parallel. The copies are cheap for the recent blocks whose state is cached by the
+ * archive, older ones are rolled back from the nearest cached state.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ParallelBlockReplay {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelBlockReplay.class);
+  private static final int PENDING = 0;
+  private static final int STARTED = 1;
+  private static final int SKIPPED = 2;
+
+  private final BlockchainQueries blockchainQueries;
+  private final ProtocolSpec protocolSpec;
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Block block;
+  private final BlockHeader parentHeader;
+  private final PathBasedWorldStateUpdateAccumulator blockAccumulator;
+  private final Wei blobGasPrice;
+  private final OpCodeTracerConfig tracerConfig;
+  private final boolean recordChildCallGas;
+  private final TransactionCollisionDetector collisionDetector = new TransactionCollisionDetector();
+  private final Map<Integer, SpeculativeTrace> speculativeTraces = new ConcurrentHashMap<>();
+  private final List<CompletableFuture<Void>> replays = new ArrayList<>();
+  private final AtomicIntegerArray replayStates;
+
+  private ParallelBlockReplay(
+      final BlockchainQueries blockchainQueries,
+      final ProtocolSpec protocolSpec,
+      final Block block,
+      final BlockHeader parentHeader,
+      final PathBasedWorldStateUpdateAccumulator blockAccumulator,
+      final OpCodeTracerConfig tracerConfig,
+      final boolean recordChildCallGas) {
+    this.blockchainQueries = blockchainQueries;
+    this.protocolSpec = protocolSpec;
+    this.transactionProcessor = protocolSpec.getTransactionProcessor();
+    this.block = block;
+    this.parentHeader = parentHeader;
+    this.blockAccumulator = blockAccumulator;
+    this.blobGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .blobGasPricePerGas(calculateExcessBlobGasForParent(protocolSpec, parentHeader));
+    this.tracerConfig = tracerConfig;
+    this.recordChildCallGas = recordChildCallGas;
+    this.replayStates = new AtomicIntegerArray(block.getBody().getTransactions().size());
+  }
+
+  /**
+   * Starts tracing the transactions of a block in parallel, when the parallel block replay is
+   * enabled and the world state is path based.
+   *
+   * @param blockchainQueries the blockchain queries
+   * @param protocolSpec the protocol spec of the block
+   * @param block the traced block
+   * @param blockState the parent state of the block, on which the transactions are applied
+   * @param tracerConfig the configuration of the transaction tracers
+   * @param recordChildCallGas whether the tracers record the gas of the child calls
+   * @param ethScheduler the scheduler running the transactions
+   * @return the started replay, or empty if the block is traced sequentially
+   */
+  public static Optional<ParallelBlockReplay> start(
+      final BlockchainQueries blockchainQueries,
+      final ProtocolSpec protocolSpec,
+      final Block block,
+      final MutableWorldState blockState,
+      final OpCodeTracerConfig tracerConfig,
+      final boolean recordChildCallGas,
+      final EthScheduler ethScheduler) {
+    if (!blockchainQueries.isParallelBlockReplayEnabled()
+        || !(blockchainQueries.getWorldStateArchive() instanceof PathBasedWorldStateProvider)
+        || !(blockState.updater() instanceof PathBasedWorldStateUpdateAccumulator blockAccumulator)
+        || block.getBody().getTransactions().size() < 2) {
+      return Optional.empty();
+    }
+    final Optional<BlockHeader> maybeParentHeader =
+        blockchainQueries.getBlockchain().getBlockHeader(block.getHeader().getParentHash());
+    if (maybeParentHeader.isEmpty()) {
+      return Optional.empty();
+    }
+    final ParallelBlockReplay replay =
+        new ParallelBlockReplay(
+            blockchainQueries,
+            protocolSpec,
+            block,
+            maybeParentHeader.get(),
+            blockAccumulator,
+            tracerConfig,
+            recordChildCallGas);
+    final List<Transaction> transactions = block.getBody().getTransactions();
+    for (int i = 0; i < transactions.size(); i++) {
+      final int location = i;
+      replay.replays.add(
+          ethScheduler.scheduleComputationTask(
+              () -> {
+                replay.trace(location, transactions.get(location));
+                return null;
+              }));
+    }
+    return Optional.of(replay);
+  }
+
+  /**
+   * Returns the trace of a transaction from its parallel execution if it is valid on the block
+   * state, and then imports the state changes of the transaction in the block state.
+   *
+   * @param location the index of the transaction in the block
+   * @param transaction the transaction
+   * @return the trace of the transaction, or empty if it must be traced on the block state
+   */
+  public Optional<TransactionTrace> confirm(final int location, final Transaction transaction) {
+    // a replay that has not started is skipped, rather than waited for
+    if (!replayStates.compareAndSet(location, PENDING, SKIPPED)) {
+      replays.get(location).exceptionally(error -> null).join();
+    }
+    final SpeculativeTrace speculativeTrace = speculativeTraces.remove(location);
+    if (speculativeTrace == null) {
+      return Optional.empty();
+    }
+    final ParallelizedTransactionContext context = speculativeTrace.context();
+    final Address miningBeneficiary = block.getHeader().getCoinbase();
+    if (!context.transactionProcessingResult().isSuccessful()
+        || collisionDetector.hasCollision(
+            transaction, miningBeneficiary, context, blockAccumulator)) {
+      blockAccumulator.importPriorStateFromSource(context.transactionAccumulator());
+      return Optional.empty();
+    }
+    final Wei reward = context.miningBeneficiaryReward();
+    if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
+      blockAccumulator.getOrCreate(miningBeneficiary).incrementBalance(reward);
+    }
+    blockAccumulator.importStateChangesFromSource(context.transactionAccumulator());
+    commitTransaction();
+    return Optional.of(
+        new TransactionTrace(
+            transaction,
+            context.transactionProcessingResult(),
+            speculativeTrace.traceFrames(),
+            Optional.of(block)));
+  }
+
+  /**
+   * Returns the updater of the block state, to trace a transaction that could not be confirmed.
+   *
+   * @return the updater of the block state
+   */
+  public WorldUpdater getBlockUpdater() {
+    return blockAccumulator;
+  }
+
+  /** Commits the transaction traced with the updater of the block state. */
+  public void commitTransaction() {
+    blockAccumulator.commit();
+    blockAccumulator.markTransactionBoundary();
+  }
+
+  /**
+   * Cancels the parallel traces that have not started, when the block is no longer traced because
+   * its tracing failed or timed out.
+   */
+  public void cancel() {
+    for (int location = 0; location < replayStates.length(); location++) {
+      replayStates.compareAndSet(location, PENDING, SKIPPED);
+    }
+    replays.forEach(replay -> replay.cancel(false));
+    speculativeTraces.clear();
+  }
+
+  private void trace(final int location, final Transaction transaction) {
+    if (!replayStates.compareAndSet(location, PENDING, STARTED)) {
+      return;
+    }
+    final BlockHeader header = block.getHeader();
+    try (MutableWorldState worldState =
+        blockchainQueries
+            .getWorldStateArchive()
+            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(parentHeader))
+            .orElse(null)) {
+      if (!(worldState instanceof PathBasedWorldState pathBasedWorldState)) {
+        return;
+      }
+      if (pathBasedWorldState instanceof BonsaiWorldState bonsaiWorldState) {
+        bonsaiWorldState.disableCacheMerkleTrieLoader();
+      }
+      final PathBasedWorldStateUpdateAccumulator<?> accumulator =
+          pathBasedWorldState.getAccumulator();
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final DebugOperationTracer tracer =
+          new DebugOperationTracer(tracerConfig, recordChildCallGas) {
+            @Override
+            public void traceBeforeRewardTransaction(
+                final WorldView worldView,
+                final org.hyperledger.besu.datatypes.Transaction tx,
+                final Wei miningReward) {
+              // like the parallel block import, the mining beneficiary is only a collision if the
+              // transaction accessed it before its reward
+              if (collisionDetector
+                  .getAddressesTouchedByTransaction(transaction, Optional.of(accumulator))
+                  .contains(header.getCoinbase())) {
+                contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+              }
+              contextBuilder.miningBeneficiaryReward(miningReward);
+            }
+          };
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              accumulator,
+              header,
+              transaction.detachedCopy(),
+              header.getCoinbase(),
+              tracer,
+              protocolSpec
+                  .getPreExecutionProcessor()
+                  .createBlockHashLookup(blockchainQueries.getBlockchain(), header),
+              blobGasPrice);
+      accumulator.commit();
+      final ParallelizedTransactionContext context =
+          contextBuilder
+              .transactionAccumulator(accumulator)
+              .transactionProcessingResult(result)
+              .build();
+      if (!context.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        accumulator.getAccountsToUpdate().remove(header.getCoinbase());
+      }
+      speculativeTraces.put(location, new SpeculativeTrace(context, tracer.copyTraceFrames()));
+    } catch (final Exception e) {
+      LOG.debug("Failed to trace transaction {} in parallel", transaction.getHash(), e);
+    }
+  }
+
+  private record SpeculativeTrace(
+      ParallelizedTransactionContext context, List<TraceFrame> traceFrames) {}
+}
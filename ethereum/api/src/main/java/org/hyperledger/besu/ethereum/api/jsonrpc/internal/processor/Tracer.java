@@ -51,6 +51,25 @@ public class Tracer {
                     mutableWorldState -> mapper.apply(new TraceableState(mutableWorldState))));
   }
 
+  /**
+   * Whether the state before the block is available, so that {@link #processTracing} can trace it.
+   *
+   * @param blockchainQueries the blockchain queries
+   * @param blockHeader the header of the block to trace
+   * @return true if the block can be traced
+   */
+  public static boolean isTraceable(
+      final BlockchainQueries blockchainQueries, final BlockHeader blockHeader) {
+    return blockchainQueries
+        .getBlockHeaderByHash(blockHeader.getParentHash())
+        .map(
+            parent ->
+                blockchainQueries
+                    .getWorldStateArchive()
+                    .isWorldStateAvailable(parent.getStateRoot(), parent.getHash()))
+        .orElse(false);
+  }
+
   /**
    * This class force the use of the processTracing method to do tracing. processTracing allows you
    * to cleanly manage the worldstate, to close it etc
@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.handlers.RpcMethodTimeoutException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * A JSON array result whose elements are produced while it is serialized, each one written as
+ * soon as it is produced, so that a large result is never held in memory.
+ *
+ * <p>Only returned to the transports that write the response while it is serialized, on a thread
+ * that may block; see {@link
+ * org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest#isStreamedResponseSupported()}.
+ * A failure while producing the elements can only abort the response, which is already partially
+ * written. The production stops, with a {@link RpcMethodTimeoutException}, at the first element
+ * produced once the request is no longer alive, e.g. after it timed out.
+ */
+public class StreamedArrayResult implements JsonSerializable {
+  private final Supplier<Boolean> isAlive;
+  private final Consumer<Consumer<Object>> producer;
+
+  /**
+   * Creates a streamed array result.
+   *
+   * @param isAlive whether the request is still alive
+   * @param producer produces the elements, passing each one to the given consumer in order
+   */
+  public StreamedArrayResult(
+      final Supplier<Boolean> isAlive, final Consumer<Consumer<Object>> producer) {
+    this.isAlive = isAlive;
+    this.producer = producer;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    generator.writeStartArray();
+    try {
+      producer.accept(
+          element -> {
+            if (!isAlive.get()) {
+              // fails the producer, e.g. aborts the tracing pipeline, instead of producing the
+              // remaining elements for a response nobody reads
+              throw new RpcMethodTimeoutException();
+            }
+            try {
+              serializers.defaultSerializeValue(element, generator);
+            } catch (final IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+    generator.writeEndArray();
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+}
@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.JsonRpcResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscribeRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.UnsubscribeRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SerializedResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.response.SubscriptionResponse;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -25,6 +26,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,6 +52,7 @@ public class SubscriptionManager extends AbstractVerticle {
       "SubscriptionManager::removeSubscriptions";
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
+  private final AtomicLong subscriptionsVersion = new AtomicLong(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final LabelledMetric<Counter> subscribeCounter;
@@ -88,6 +91,7 @@ public class SubscriptionManager extends AbstractVerticle {
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    subscriptionsVersion.incrementAndGet();
 
     return subscription.getSubscriptionId();
   }
@@ -111,6 +115,7 @@ public class SubscriptionManager extends AbstractVerticle {
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
     if (removed != null) {
+      subscriptionsVersion.incrementAndGet();
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
     }
   }
@@ -132,6 +137,16 @@ public class SubscriptionManager extends AbstractVerticle {
     return subscriptions.get(subscriptionId);
   }
 
+  /**
+   * A version of the subscriptions, changed each time a subscription is added or removed, to know
+   * when the data derived from the subscriptions must be updated.
+   *
+   * @return the version of the subscriptions
+   */
+  public long getSubscriptionsVersion() {
+    return subscriptionsVersion.get();
+  }
+
   public <T> List<T> subscriptionsOfType(final SubscriptionType type, final Class<T> clazz) {
     return subscriptions.values().stream()
         .filter(subscription -> subscription.isType(type))
@@ -148,6 +163,21 @@ public class SubscriptionManager extends AbstractVerticle {
     }
   }
 
+  /**
+   * Sends the same message to several subscriptions, serializing it only once.
+   *
+   * @param subscriptionIds the ids of the subscriptions
+   * @param msg the message to send
+   */
+  public void sendMessageToSubscriptions(
+      final Collection<Long> subscriptionIds, final JsonRpcResult msg) {
+    if (subscriptionIds.isEmpty()) {
+      return;
+    }
+    final JsonRpcResult serializedMsg = new SerializedResult(Json.encode(msg));
+    subscriptionIds.forEach(subscriptionId -> sendMessage(subscriptionId, serializedMsg));
+  }
+
   public <T> void notifySubscribersOnWorkerThread(
       final SubscriptionType subscriptionType,
       final Class<T> clazz,
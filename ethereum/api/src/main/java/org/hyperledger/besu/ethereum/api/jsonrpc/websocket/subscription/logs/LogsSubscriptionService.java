@@ -18,14 +18,19 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParam
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
+import org.hyperledger.besu.ethereum.api.query.LogsQueryIndex;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   private final SubscriptionManager subscriptionManager;
+  // the logs subscriptions indexed by their query, rebuilt when the subscriptions change
+  private volatile IndexedSubscriptions indexedSubscriptions;
 
   public LogsSubscriptionService(final SubscriptionManager subscriptionManager) {
     this.subscriptionManager = subscriptionManager;
@@ -33,25 +38,45 @@ public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   @Override
   public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
-        .filter(
+    final long blockNumber = logWithMetadata.getBlockNumber();
+    final List<Long> subscriptionIds = new ArrayList<>();
+    subscriptionsIndex()
+        .forEachMatch(
+            logWithMetadata,
             logsSubscription -> {
               final FilterParameter filterParameter = logsSubscription.getFilterParameter();
-              final long blockNumber = logWithMetadata.getBlockNumber();
-              return filterParameter
+              if (filterParameter
                           .getFromBlock()
                           .getNumber()
                           .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
                       <= blockNumber
-                  && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
-                  && filterParameter.getLogsQuery().matches(logWithMetadata);
-            })
-        .forEach(logsSubscription -> sendLogToSubscription(logWithMetadata, logsSubscription));
+                  && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE)
+                      >= blockNumber) {
+                subscriptionIds.add(logsSubscription.getSubscriptionId());
+              }
+            });
+    if (!subscriptionIds.isEmpty()) {
+      subscriptionManager.sendMessageToSubscriptions(
+          subscriptionIds, new LogResult(logWithMetadata));
+    }
   }
 
-  private void sendLogToSubscription(
-      final LogWithMetadata logWithMetadata, final LogsSubscription subscription) {
-    subscriptionManager.sendMessage(
-        subscription.getSubscriptionId(), new LogResult(logWithMetadata));
+  private LogsQueryIndex<LogsSubscription> subscriptionsIndex() {
+    // read the version first, a subscription changed meanwhile rebuilds the index on the next log
+    final long version = subscriptionManager.getSubscriptionsVersion();
+    IndexedSubscriptions current = indexedSubscriptions;
+    if (current == null || current.version() != version) {
+      current =
+          new IndexedSubscriptions(
+              version,
+              LogsQueryIndex.create(
+                  subscriptionManager.subscriptionsOfType(
+                      SubscriptionType.LOGS, LogsSubscription.class),
+                  logsSubscription -> logsSubscription.getFilterParameter().getLogsQuery()));
+      indexedSubscriptions = current;
+    }
+    return current.index();
   }
+
+  private record IndexedSubscriptions(long version, LogsQueryIndex<LogsSubscription> index) {}
 }
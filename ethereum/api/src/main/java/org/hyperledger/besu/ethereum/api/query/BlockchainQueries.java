@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.api.query;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOOM_BITS_LENGTH;
 import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
 import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
 
@@ -24,8 +25,14 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.BlockFeeSummary;
+import org.hyperledger.besu.ethereum.api.query.cache.BlockFeeSummaryCache;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomMask;
+import org.hyperledger.besu.ethereum.api.query.cache.LogIndex;
+import org.hyperledger.besu.ethereum.api.query.cache.TraceResultCache;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.IndexedTransactionReceipt;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
@@ -43,14 +50,15 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
-import org.hyperledger.besu.evm.log.LogsBloomFilter;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -77,6 +85,9 @@ public class BlockchainQueries {
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<LogIndex> logIndex;
+  private final Optional<TraceResultCache> traceResultCache;
+  private final Optional<BlockFeeSummaryCache> blockFeeSummaryCache;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
   private final MiningConfiguration miningConfiguration;
@@ -145,6 +156,27 @@ public class BlockchainQueries {
             ? Optional.of(
                 new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
             : Optional.empty();
+    this.logIndex =
+        cachePath
+            .filter(path -> apiConfig.isLogIndexEnabled())
+            .map(path -> new LogIndex(blockchain, path.resolve(LogIndex.INDEX_DIR)));
+    this.traceResultCache =
+        cachePath
+            .filter(path -> apiConfig.getTraceCacheMaxSize() > 0)
+            .map(
+                path ->
+                    new TraceResultCache(
+                        blockchain,
+                        path.resolve(TraceResultCache.CACHE_DIR),
+                        apiConfig.getTraceCacheMaxSize()));
+    traceResultCache.ifPresent(cache -> blockchain.observeBlockAdded(cache::onBlockAdded));
+    this.blockFeeSummaryCache =
+        apiConfig.getFeeSummaryCacheSize() > 0
+            ? Optional.of(
+                new BlockFeeSummaryCache(
+                    protocolSchedule, blockchain, scheduler, apiConfig.getFeeSummaryCacheSize()))
+            : Optional.empty();
+    blockFeeSummaryCache.ifPresent(cache -> blockchain.observeBlockAdded(cache::onBlockAdded));
     this.apiConfig = apiConfig;
     this.miningConfiguration = miningConfiguration;
   }
@@ -161,6 +193,26 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<LogIndex> getLogIndex() {
+    return logIndex;
+  }
+
+  public Optional<TraceResultCache> getTraceResultCache() {
+    return traceResultCache;
+  }
+
+  public Optional<BlockFeeSummaryCache> getBlockFeeSummaryCache() {
+    return blockFeeSummaryCache;
+  }
+
+  public boolean isParallelBlockReplayEnabled() {
+    return apiConfig.isParallelBlockReplayEnabled();
+  }
+
+  public boolean isStreamedTraceResponsesEnabled() {
+    return apiConfig.isStreamedTraceResponsesEnabled();
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -716,19 +768,11 @@ public class BlockchainQueries {
     final Transaction transaction = block.getBody().getTransactions().get(transactionIndex);
 
     final BlockHeader header = block.getHeader();
-    final List<TransactionReceipt> transactionReceipts =
-        blockchain.getTxReceipts(blockhash).orElseThrow();
-    final TransactionReceipt transactionReceipt = transactionReceipts.get(transactionIndex);
-
-    long gasUsed = transactionReceipt.getCumulativeGasUsed();
-    int logIndexOffset = 0;
-    if (transactionIndex > 0) {
-      gasUsed -= transactionReceipts.get(transactionIndex - 1).getCumulativeGasUsed();
-      logIndexOffset =
-          IntStream.range(0, transactionIndex)
-              .map(i -> transactionReceipts.get(i).getLogsList().size())
-              .sum();
-    }
+    final IndexedTransactionReceipt indexedReceipt =
+        blockchain.getTxReceipt(blockhash, transactionIndex).orElseThrow();
+    final TransactionReceipt transactionReceipt = indexedReceipt.receipt();
+    final long gasUsed = indexedReceipt.gasUsed();
+    final int logIndexOffset = indexedReceipt.logIndexOffset();
 
     Optional<Long> maybeBlobGasUsed =
         getBlobGasUsed(transaction, protocolSchedule.getByBlockHeader(header));
@@ -818,42 +862,96 @@ public class BlockchainQueries {
       final long toBlockNumber,
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
+    if (logIndex.isPresent() && LogIndex.canNarrow(query)) {
+      return matchingLogsIndexed(
+          fromBlockNumber, toBlockNumber, query, logIndex.get(), isQueryAlive);
+    }
+    return matchingLogsFromBlooms(fromBlockNumber, toBlockNumber, query, isQueryAlive);
+  }
+
+  private List<LogWithMetadata> matchingLogsIndexed(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final LogIndex logIndex,
+      final Supplier<Boolean> isQueryAlive) {
+    final List<LogWithMetadata> result = new ArrayList<>();
+    final long indexedToBlockNumber = Math.min(toBlockNumber, logIndex.getIndexedHead());
+    long segmentStart = fromBlockNumber;
+    while (segmentStart <= indexedToBlockNumber) {
+      try {
+        BackendQuery.stopIfExpired(isQueryAlive);
+      } catch (final Exception e) {
+        throw new IllegalStateException("Error retrieving matching logs", e);
+      }
+      final long segmentEnd = Math.min(indexedToBlockNumber, LogIndex.segmentEnd(segmentStart));
+      final Optional<List<Long>> matchingBlocks =
+          logIndex.matchingBlocks(segmentStart, segmentEnd, query);
+      if (matchingBlocks.isPresent()) {
+        for (final long blockNumber : matchingBlocks.get()) {
+          blockchain
+              .getBlockHashByNumber(blockNumber)
+              .ifPresent(hash -> result.addAll(matchingLogs(hash, query, isQueryAlive)));
+        }
+      } else {
+        // segments not indexed yet are read like without the index
+        result.addAll(matchingLogsFromBlooms(segmentStart, segmentEnd, query, isQueryAlive));
+      }
+      segmentStart = segmentEnd + 1;
+    }
+    if (segmentStart <= toBlockNumber) {
+      result.addAll(matchingLogsFromBlooms(segmentStart, toBlockNumber, query, isQueryAlive));
+    }
+    return result;
+  }
+
+  private List<LogWithMetadata> matchingLogsFromBlooms(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
     try {
-      final List<LogWithMetadata> result = new ArrayList<>();
+      final LogBloomMask bloomMask = LogBloomMask.of(query);
       final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
       final long endSegment = toBlockNumber / BLOCKS_PER_BLOOM_CACHE;
-      long currentStep = fromBlockNumber;
+      // the cached blooms of all the segments are scanned in parallel, then the logs read in order
+      final List<Optional<CachedBloomScan>> cachedBloomScans =
+          LongStream.rangeClosed(startSegment, endSegment)
+              .parallel()
+              .mapToObj(
+                  segment ->
+                      scanCachedBlooms(
+                          segment,
+                          Math.max(fromBlockNumber, segment * BLOCKS_PER_BLOOM_CACHE),
+                          Math.min(toBlockNumber, (segment + 1) * BLOCKS_PER_BLOOM_CACHE - 1),
+                          bloomMask))
+              .toList();
+      final List<LogWithMetadata> result = new ArrayList<>();
       for (long segment = startSegment; segment <= endSegment; segment++) {
-        final long thisSegment = segment;
-        final long thisStep = currentStep;
-        final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
         BackendQuery.stopIfExpired(isQueryAlive);
-        result.addAll(
-            cachePath
-                .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
-                .filter(Files::isRegularFile)
-                .map(
-                    cacheFile -> {
-                      try {
-                        return matchingLogsCached(
-                            thisSegment * BLOCKS_PER_BLOOM_CACHE,
-                            thisStep % BLOCKS_PER_BLOOM_CACHE,
-                            Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE,
-                            query,
-                            cacheFile,
-                            isQueryAlive);
-                      } catch (final Exception e) {
-                        throw new RuntimeException(e);
-                      }
-                    })
-                .orElseGet(
-                    () ->
-                        matchingLogsUncached(
-                            thisStep,
-                            Math.min(toBlockNumber, Math.min(toBlockNumber, nextStep - 1)),
-                            query,
-                            isQueryAlive)));
-        currentStep = nextStep;
+        final long segmentFrom = Math.max(fromBlockNumber, segment * BLOCKS_PER_BLOOM_CACHE);
+        final long segmentTo = Math.min(toBlockNumber, (segment + 1) * BLOCKS_PER_BLOOM_CACHE - 1);
+        final Optional<CachedBloomScan> cachedBloomScan =
+            cachedBloomScans.get((int) (segment - startSegment));
+        if (cachedBloomScan.isEmpty()) {
+          result.addAll(matchingLogsUncached(segmentFrom, segmentTo, query, isQueryAlive));
+          continue;
+        }
+        final BitSet matchingBlocks = cachedBloomScan.get().matchingBlocks();
+        for (int i = matchingBlocks.nextSetBit(0); i >= 0; i = matchingBlocks.nextSetBit(i + 1)) {
+          BackendQuery.stopIfExpired(isQueryAlive);
+          result.addAll(
+              matchingLogs(
+                  blockchain.getBlockHashByNumber(segmentFrom + i).orElseThrow(),
+                  query,
+                  isQueryAlive));
+        }
+        // the blooms of the last blocks may not be cached yet
+        final long lastScannedBlock = cachedBloomScan.get().lastScannedBlock();
+        if (lastScannedBlock < segmentTo) {
+          result.addAll(
+              matchingLogsUncached(lastScannedBlock + 1, segmentTo, query, isQueryAlive));
+        }
       }
       return result;
     } catch (final Exception e) {
@@ -879,45 +977,46 @@ public class BlockchainQueries {
         .collect(Collectors.toList());
   }
 
-  private List<LogWithMetadata> matchingLogsCached(
-      final long segmentStart,
-      final long offset,
-      final long endOffset,
-      final LogsQuery query,
-      final Path cacheFile,
-      final Supplier<Boolean> isQueryAlive)
-      throws Exception {
-    final List<LogWithMetadata> results = new ArrayList<>();
-    try (final RandomAccessFile raf = new RandomAccessFile(cacheFile.toFile(), "r")) {
-      raf.seek(offset * 256);
-      final byte[] bloomBuff = new byte[256];
-      final Bytes bytesValue = Bytes.wrap(bloomBuff);
-      for (long pos = offset; pos <= endOffset; pos++) {
-        BackendQuery.stopIfExpired(isQueryAlive);
-        try {
-          raf.readFully(bloomBuff);
-        } catch (final EOFException e) {
-          results.addAll(
-              matchingLogsUncached(
-                  segmentStart + pos, segmentStart + endOffset, query, isQueryAlive));
-          break;
-        }
-        final LogsBloomFilter logsBloom = new LogsBloomFilter(bytesValue);
-        if (query.couldMatch(logsBloom)) {
-          results.addAll(
-              matchingLogs(
-                  blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
-                  query,
-                  isQueryAlive));
-        }
+  private Optional<CachedBloomScan> scanCachedBlooms(
+      final long segment,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogBloomMask bloomMask) {
+    final Optional<Path> cacheFile =
+        cachePath
+            .map(path -> path.resolve("logBloom-" + segment + ".cache"))
+            .filter(Files::isRegularFile);
+    if (cacheFile.isEmpty()) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(cacheFile.get(), StandardOpenOption.READ)) {
+      final ByteBuffer blooms = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      final long segmentStart = segment * BLOCKS_PER_BLOOM_CACHE;
+      final long cachedToBlockNumber =
+          Math.min(toBlockNumber, segmentStart + blooms.capacity() / BLOOM_BITS_LENGTH - 1);
+      if (cachedToBlockNumber < fromBlockNumber) {
+        return Optional.of(new CachedBloomScan(new BitSet(), fromBlockNumber - 1));
       }
+      final BitSet matchingBlocks =
+          bloomMask.matchingBlooms(
+              blooms,
+              (int) (fromBlockNumber - segmentStart) * BLOOM_BITS_LENGTH,
+              (int) (cachedToBlockNumber - fromBlockNumber + 1));
+      return Optional.of(new CachedBloomScan(matchingBlocks, cachedToBlockNumber));
     } catch (final IOException e) {
-      e.printStackTrace(System.out);
       LOG.error("Error reading cached log blooms", e);
+      return Optional.empty();
     }
-    return results;
   }
 
+  /**
+   * The blocks of a segment whose cached bloom could match a query.
+   *
+   * @param matchingBlocks the matching blocks, from the first scanned block
+   * @param lastScannedBlock the last block whose bloom was cached
+   */
+  private record CachedBloomScan(BitSet matchingBlocks, long lastScannedBlock) {}
+
   public List<LogWithMetadata> matchingLogs(
       final Hash blockHash, final LogsQuery query, final Supplier<Boolean> isQueryAlive) {
     try {
@@ -1052,45 +1151,59 @@ public class BlockchainQueries {
   }
 
   public Wei gasPrice() {
-    final Block chainHeadBlock = blockchain.getChainHeadBlock();
-    final var chainHeadHeader = chainHeadBlock.getHeader();
-    final long blockHeight = chainHeadHeader.getNumber();
+    final BlockHeader chainHeadHeader;
+    final Optional<Wei> gasPrice;
+    if (blockFeeSummaryCache.isPresent()) {
+      chainHeadHeader = blockchain.getChainHeadHeader();
+      gasPrice =
+          BlockFeeSummary.gasPriceAt(
+              blockFeeSummaryCache.get().getChain(chainHeadHeader, apiConfig.getGasPriceBlocks()),
+              apiConfig.getGasPriceFraction());
+    } else {
+      final Block chainHeadBlock = blockchain.getChainHeadBlock();
+      chainHeadHeader = chainHeadBlock.getHeader();
+      gasPrice =
+          valueAtGasPriceFraction(recentTransactions(chainHeadBlock), Transaction::getGasPrice);
+    }
 
     final var nextBlockProtocolSpec =
         protocolSchedule.getForNextBlockHeader(chainHeadHeader, System.currentTimeMillis());
     final var nextBlockFeeMarket = nextBlockProtocolSpec.getFeeMarket();
+    final Wei lowerBound = gasPriceLowerBound(chainHeadHeader, nextBlockFeeMarket);
 
-    final Wei[] gasCollection =
-        Stream.concat(
-                LongStream.range(
-                        Math.max(0, blockHeight - apiConfig.getGasPriceBlocks() + 1), blockHeight)
-                    .mapToObj(
-                        l ->
-                            blockchain
-                                .getBlockByNumber(l)
-                                .orElseThrow(
-                                    () ->
-                                        new IllegalStateException(
-                                            "Could not retrieve block #" + l))),
-                Stream.of(chainHeadBlock))
-            .map(Block::getBody)
-            .map(BlockBody::getTransactions)
-            .flatMap(Collection::stream)
-            .filter(t -> t.getGasPrice().isPresent())
-            .map(t -> t.getGasPrice().get())
-            .sorted()
-            .toArray(Wei[]::new);
+    return gasPrice
+        .map(price -> UInt256s.max(lowerBound, UInt256s.min(apiConfig.getGasPriceMax(), price)))
+        .orElse(lowerBound);
+  }
+
+  private Stream<Transaction> recentTransactions(final Block chainHeadBlock) {
+    final long blockHeight = chainHeadBlock.getHeader().getNumber();
+    return Stream.concat(
+            LongStream.range(
+                    Math.max(0, blockHeight - apiConfig.getGasPriceBlocks() + 1), blockHeight)
+                .mapToObj(
+                    l ->
+                        blockchain
+                            .getBlockByNumber(l)
+                            .orElseThrow(
+                                () -> new IllegalStateException("Could not retrieve block #" + l))),
+            Stream.of(chainHeadBlock))
+        .map(Block::getBody)
+        .map(BlockBody::getTransactions)
+        .flatMap(Collection::stream);
+  }
 
+  private Optional<Wei> valueAtGasPriceFraction(
+      final Stream<Transaction> transactions, final Function<Transaction, Optional<Wei>> value) {
+    final Wei[] gasCollection =
+        transactions.map(value).flatMap(Optional::stream).sorted().toArray(Wei[]::new);
     return gasCollection.length == 0
-        ? gasPriceLowerBound(chainHeadHeader, nextBlockFeeMarket)
-        : UInt256s.max(
-            gasPriceLowerBound(chainHeadHeader, nextBlockFeeMarket),
-            UInt256s.min(
-                apiConfig.getGasPriceMax(),
-                gasCollection[
-                    Math.min(
-                        gasCollection.length - 1,
-                        (int) ((gasCollection.length) * apiConfig.getGasPriceFraction()))]));
+        ? Optional.empty()
+        : Optional.of(
+            gasCollection[
+                Math.min(
+                    gasCollection.length - 1,
+                    (int) ((gasCollection.length) * apiConfig.getGasPriceFraction()))]);
   }
 
   /**
@@ -1121,38 +1234,20 @@ public class BlockchainQueries {
   }
 
   public Wei gasPriorityFee() {
-    final Block chainHeadBlock = blockchain.getChainHeadBlock();
-    final long blockHeight = chainHeadBlock.getHeader().getNumber();
-
-    final Wei[] gasCollection =
-        Stream.concat(
-                LongStream.range(
-                        Math.max(0, blockHeight - apiConfig.getGasPriceBlocks() + 1), blockHeight)
-                    .mapToObj(
-                        l ->
-                            blockchain
-                                .getBlockByNumber(l)
-                                .orElseThrow(
-                                    () ->
-                                        new IllegalStateException(
-                                            "Could not retrieve block #" + l))),
-                Stream.of(chainHeadBlock))
-            .map(Block::getBody)
-            .map(BlockBody::getTransactions)
-            .flatMap(Collection::stream)
-            .filter(t -> t.getMaxPriorityFeePerGas().isPresent())
-            .map(t -> t.getMaxPriorityFeePerGas().get())
-            .sorted()
-            .toArray(Wei[]::new);
-
-    return gasCollection.length == 0
-        ? miningConfiguration.getMinPriorityFeePerGas()
-        : UInt256s.max(
-            miningConfiguration.getMinPriorityFeePerGas(),
-            gasCollection[
-                Math.min(
-                    gasCollection.length - 1,
-                    (int) ((gasCollection.length) * apiConfig.getGasPriceFraction()))]);
+    final Optional<Wei> priorityFee =
+        blockFeeSummaryCache.isPresent()
+            ? BlockFeeSummary.maxPriorityFeePerGasAt(
+                blockFeeSummaryCache
+                    .get()
+                    .getChain(blockchain.getChainHeadHeader(), apiConfig.getGasPriceBlocks()),
+                apiConfig.getGasPriceFraction())
+            : valueAtGasPriceFraction(
+                recentTransactions(blockchain.getChainHeadBlock()),
+                Transaction::getMaxPriorityFeePerGas);
+
+    return priorityFee
+        .map(fee -> UInt256s.max(miningConfiguration.getMinPriorityFeePerGas(), fee))
+        .orElse(miningConfiguration.getMinPriorityFeePerGas());
   }
 
   /**
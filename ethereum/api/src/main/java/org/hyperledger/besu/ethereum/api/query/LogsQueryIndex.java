@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Routes logs to the items, like subscriptions or filters, whose {@link LogsQuery} they match,
+ * testing each log only against the items that could match it instead of against all of them.
+ *
+ * <p>An item is indexed by the addresses of its query when it has some, else by the values of its
+ * first topic when they do not include a wildcard, else it is tested against every log. The
+ * candidates found are still checked with {@link LogsQuery#matches(Log)}.
+ *
+ * @param <T> the type of the indexed items
+ */
+public final class LogsQueryIndex<T> {
+  private final Map<Address, List<Entry<T>>> byAddress = new HashMap<>();
+  private final Map<LogTopic, List<Entry<T>>> byFirstTopic = new HashMap<>();
+  private final List<Entry<T>> unindexed = new ArrayList<>();
+
+  private LogsQueryIndex() {}
+
+  /**
+   * Indexes items by their logs query.
+   *
+   * @param items the items to index
+   * @param queryOf returns the logs query of an item
+   * @return the index of the items
+   * @param <T> the type of the items
+   */
+  public static <T> LogsQueryIndex<T> create(
+      final Collection<? extends T> items, final Function<? super T, LogsQuery> queryOf) {
+    final LogsQueryIndex<T> index = new LogsQueryIndex<>();
+    items.forEach(item -> index.add(item, queryOf.apply(item)));
+    return index;
+  }
+
+  private void add(final T item, final LogsQuery query) {
+    final Entry<T> entry = new Entry<>(item, query);
+    if (!query.getAddresses().isEmpty()) {
+      query.getAddresses().stream()
+          .filter(Objects::nonNull)
+          .distinct()
+          .forEach(
+              address -> byAddress.computeIfAbsent(address, k -> new ArrayList<>()).add(entry));
+      return;
+    }
+    final List<LogTopic> firstTopics =
+        query.getTopics().isEmpty() ? List.of() : query.getTopics().get(0);
+    if (!firstTopics.isEmpty() && !firstTopics.contains(null)) {
+      firstTopics.stream()
+          .distinct()
+          .forEach(
+              topic -> byFirstTopic.computeIfAbsent(topic, k -> new ArrayList<>()).add(entry));
+      return;
+    }
+    unindexed.add(entry);
+  }
+
+  /**
+   * Passes each item whose query matches the log to the consumer, once.
+   *
+   * @param log the log to route
+   * @param consumer receives the matching items
+   */
+  public void forEachMatch(final Log log, final Consumer<? super T> consumer) {
+    forEachMatch(byAddress.get(log.getLogger()), log, consumer);
+    if (!log.getTopics().isEmpty()) {
+      forEachMatch(byFirstTopic.get(log.getTopics().get(0)), log, consumer);
+    }
+    forEachMatch(unindexed, log, consumer);
+  }
+
+  private static <T> void forEachMatch(
+      final List<Entry<T>> candidates, final Log log, final Consumer<? super T> consumer) {
+    if (candidates == null) {
+      return;
+    }
+    for (final Entry<T> candidate : candidates) {
+      if (candidate.query().matches(log)) {
+        consumer.accept(candidate.item());
+      }
+    }
+  }
+
+  private record Entry<T>(T item, LogsQuery query) {}
+}
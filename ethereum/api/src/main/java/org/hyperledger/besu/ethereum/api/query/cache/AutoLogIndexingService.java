@@ -0,0 +1,67 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link LogIndex} up to date with the canonical chain, and generates the missing
+ * segments of the blocks imported before it was enabled.
+ */
+public class AutoLogIndexingService {
+  private static final Logger LOG = LoggerFactory.getLogger(AutoLogIndexingService.class);
+  private final Blockchain blockchain;
+  private final LogIndex logIndex;
+  private final EthScheduler scheduler;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+
+  public AutoLogIndexingService(
+      final Blockchain blockchain, final LogIndex logIndex, final EthScheduler scheduler) {
+    this.blockchain = blockchain;
+    this.logIndex = logIndex;
+    this.scheduler = scheduler;
+  }
+
+  public void start() {
+    LOG.info("Starting auto log indexing service.");
+    blockAddedSubscriptionId =
+        OptionalLong.of(blockchain.observeBlockAdded(logIndex::onBlockAdded));
+    // run long tasks in the computation executor
+    scheduler.scheduleComputationTask(
+        () -> {
+          try {
+            logIndex.initialize();
+            final int generated =
+                logIndex.generateMissingSegments(0, blockchain.getChainHeadBlockNumber());
+            LOG.info("Generated {} missing log index segments", generated);
+          } catch (final IOException e) {
+            LOG.error("Unhandled log indexing exception.", e);
+          }
+          return null;
+        });
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto log indexing service.");
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+  }
+}
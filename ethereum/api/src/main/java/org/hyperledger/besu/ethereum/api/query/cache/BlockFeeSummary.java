@@ -0,0 +1,242 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The fee data of a block needed by the fee history and the gas price oracles, computed once from
+ * its transactions and receipts, so that they can be answered without decoding the transactions
+ * again.
+ *
+ * <p>The effective priority fees are kept sorted with the cumulative gas used up to each of them,
+ * so that any reward percentile can be computed exactly. The gas prices and max priority fees of
+ * the transactions are kept sorted with the number of transactions having each of them. The
+ * transactions of a block share few distinct values, so this is much smaller than the block.
+ */
+public final class BlockFeeSummary {
+  private final Hash blockHash;
+  private final long gasUsed;
+  private final Wei baseFeePerBlobGas;
+  private final double blobGasUsedRatio;
+  private final Wei[] rewards;
+  private final long[] rewardsCumulativeGasUsed;
+  private final ValueCounts gasPrices;
+  private final ValueCounts maxPriorityFeesPerGas;
+
+  private BlockFeeSummary(
+      final Hash blockHash,
+      final long gasUsed,
+      final Wei baseFeePerBlobGas,
+      final double blobGasUsedRatio,
+      final Wei[] rewards,
+      final long[] rewardsCumulativeGasUsed,
+      final ValueCounts gasPrices,
+      final ValueCounts maxPriorityFeesPerGas) {
+    this.blockHash = blockHash;
+    this.gasUsed = gasUsed;
+    this.baseFeePerBlobGas = baseFeePerBlobGas;
+    this.blobGasUsedRatio = blobGasUsedRatio;
+    this.rewards = rewards;
+    this.rewardsCumulativeGasUsed = rewardsCumulativeGasUsed;
+    this.gasPrices = gasPrices;
+    this.maxPriorityFeesPerGas = maxPriorityFeesPerGas;
+  }
+
+  /**
+   * Summarizes a block.
+   *
+   * @param block the block
+   * @param receipts the receipts of the transactions of the block
+   * @param baseFeePerBlobGas the blob base fee of the block
+   * @param blobGasUsedRatio the ratio of the blob gas used by the block to its limit
+   * @return the summary of the block
+   */
+  public static BlockFeeSummary create(
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final Wei baseFeePerBlobGas,
+      final double blobGasUsedRatio) {
+    final BlockHeader header = block.getHeader();
+    final List<Transaction> transactions = block.getBody().getTransactions();
+    final Optional<Wei> baseFee = header.getBaseFee();
+
+    // effective priority fee and gas used of each transaction, by increasing fee
+    final TreeMap<Wei, Long> gasUsedByReward = new TreeMap<>();
+    long cumulativeGasUsed = 0L;
+    for (int i = 0; i < transactions.size(); i++) {
+      final long transactionGasUsed = receipts.get(i).getCumulativeGasUsed() - cumulativeGasUsed;
+      cumulativeGasUsed = receipts.get(i).getCumulativeGasUsed();
+      final Wei reward = transactions.get(i).getEffectivePriorityFeePerGas(baseFee);
+      gasUsedByReward.merge(reward, transactionGasUsed, Long::sum);
+    }
+    final Wei[] rewards = gasUsedByReward.keySet().toArray(Wei[]::new);
+    final long[] rewardsCumulativeGasUsed = new long[rewards.length];
+    long rewardsGasUsed = 0L;
+    for (int i = 0; i < rewards.length; i++) {
+      rewardsGasUsed += gasUsedByReward.get(rewards[i]);
+      rewardsCumulativeGasUsed[i] = rewardsGasUsed;
+    }
+
+    return new BlockFeeSummary(
+        block.getHash(),
+        header.getGasUsed(),
+        baseFeePerBlobGas,
+        blobGasUsedRatio,
+        rewards,
+        rewardsCumulativeGasUsed,
+        ValueCounts.of(transactions, Transaction::getGasPrice),
+        ValueCounts.of(transactions, Transaction::getMaxPriorityFeePerGas));
+  }
+
+  public Hash getBlockHash() {
+    return blockHash;
+  }
+
+  public Wei getBaseFeePerBlobGas() {
+    return baseFeePerBlobGas;
+  }
+
+  public double getBlobGasUsedRatio() {
+    return blobGasUsedRatio;
+  }
+
+  /**
+   * Whether the block has transactions.
+   *
+   * @return true if the block has at least one transaction
+   */
+  public boolean hasTransactions() {
+    return rewards.length > 0;
+  }
+
+  /**
+   * Computes the rewards of the block at the given percentiles of its gas used, the same way as
+   * {@code eth_feeHistory} does from the transactions of the block.
+   *
+   * @param sortedPercentiles the percentiles, in increasing order
+   * @return the effective priority fee at each percentile, zero for an empty block
+   */
+  public List<Wei> getRewards(final List<Double> sortedPercentiles) {
+    final List<Wei> result = new ArrayList<>(sortedPercentiles.size());
+    if (rewards.length == 0) {
+      sortedPercentiles.forEach(percentile -> result.add(Wei.ZERO));
+      return result;
+    }
+    int index = 0;
+    for (final double percentile : sortedPercentiles) {
+      final double thresholdGasUsed = percentile * gasUsed / 100;
+      while (rewardsCumulativeGasUsed[index] < thresholdGasUsed && index < rewards.length - 1) {
+        index++;
+      }
+      result.add(rewards[index]);
+    }
+    return result;
+  }
+
+  /**
+   * The gas price at the given fraction of the gas prices of the transactions of the blocks, in
+   * increasing order, like {@code eth_gasPrice} computes it from the transactions.
+   *
+   * @param summaries the summaries of the blocks
+   * @param fraction the fraction of the transactions with a lower gas price
+   * @return the gas price, empty if no transaction of the blocks has a gas price
+   */
+  public static Optional<Wei> gasPriceAt(
+      final List<BlockFeeSummary> summaries, final double fraction) {
+    return ValueCounts.valueAt(summaries.stream().map(s -> s.gasPrices).toList(), fraction);
+  }
+
+  /**
+   * The max priority fee per gas at the given fraction of the max priority fees of the transactions
+   * of the blocks, in increasing order, like {@code eth_maxPriorityFeePerGas} computes it from the
+   * transactions.
+   *
+   * @param summaries the summaries of the blocks
+   * @param fraction the fraction of the transactions with a lower max priority fee
+   * @return the max priority fee, empty if no transaction of the blocks has one
+   */
+  public static Optional<Wei> maxPriorityFeePerGasAt(
+      final List<BlockFeeSummary> summaries, final double fraction) {
+    return ValueCounts.valueAt(
+        summaries.stream().map(s -> s.maxPriorityFeesPerGas).toList(), fraction);
+  }
+
+  private static final class ValueCounts {
+    private final Wei[] values;
+    private final int[] counts;
+
+    private ValueCounts(final Wei[] values, final int[] counts) {
+      this.values = values;
+      this.counts = counts;
+    }
+
+    static ValueCounts of(
+        final List<Transaction> transactions, final Function<Transaction, Optional<Wei>> value) {
+      final TreeMap<Wei, Integer> countByValue = new TreeMap<>();
+      transactions.stream()
+          .map(value)
+          .flatMap(Optional::stream)
+          .forEach(v -> countByValue.merge(v, 1, Integer::sum));
+      return new ValueCounts(
+          countByValue.keySet().toArray(Wei[]::new),
+          countByValue.values().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    static Optional<Wei> valueAt(final List<ValueCounts> valueCounts, final double fraction) {
+      final List<Integer> runs = new ArrayList<>();
+      final List<Wei> runValues = new ArrayList<>();
+      int total = 0;
+      for (final ValueCounts counts : valueCounts) {
+        for (int i = 0; i < counts.values.length; i++) {
+          runValues.add(counts.values[i]);
+          runs.add(counts.counts[i]);
+          total += counts.counts[i];
+        }
+      }
+      if (total == 0) {
+        return Optional.empty();
+      }
+      final List<Integer> order = new ArrayList<>(runValues.size());
+      for (int i = 0; i < runValues.size(); i++) {
+        order.add(i);
+      }
+      order.sort(Comparator.comparing(runValues::get));
+
+      // the value at this index of all the values sorted
+      final int index = Math.min(total - 1, (int) (total * fraction));
+      int seen = 0;
+      for (final int run : order) {
+        seen += runs.get(run);
+        if (seen > index) {
+          return Optional.of(runValues.get(run));
+        }
+      }
+      throw new IllegalStateException("Index " + index + " out of " + total + " values");
+    }
+  }
+}
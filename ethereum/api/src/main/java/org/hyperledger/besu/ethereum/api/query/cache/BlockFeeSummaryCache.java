@@ -0,0 +1,173 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the {@link BlockFeeSummary} of the recent blocks in a ring buffer indexed by block number.
+ *
+ * <p>While the node is in sync, the summary of each new canonical head is computed in the
+ * background when it is added, from the receipts of the block added event. The blocks imported
+ * while syncing are not summarized. The summaries are checked against the hash of the requested
+ * block, so the ones of the blocks dropped by a reorg are never returned, and the missing ones are
+ * computed on demand.
+ */
+public class BlockFeeSummaryCache {
+  private final ProtocolSchedule protocolSchedule;
+  private final Blockchain blockchain;
+  private final Optional<EthScheduler> scheduler;
+  private final AtomicReferenceArray<BlockFeeSummary> summaries;
+  private volatile boolean inSync = false;
+
+  public BlockFeeSummaryCache(
+      final ProtocolSchedule protocolSchedule,
+      final Blockchain blockchain,
+      final Optional<EthScheduler> scheduler,
+      final int size) {
+    this.protocolSchedule = protocolSchedule;
+    this.blockchain = blockchain;
+    this.scheduler = scheduler;
+    this.summaries = new AtomicReferenceArray<>(size);
+  }
+
+  public void inSyncChanged(final boolean inSync) {
+    this.inSync = inSync;
+  }
+
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!inSync || !event.isNewCanonicalHead()) {
+      return;
+    }
+    // the block of a sync event is only read from the storage when it is requested
+    scheduler.ifPresentOrElse(
+        ethScheduler ->
+            ethScheduler.scheduleComputationTask(
+                () -> {
+                  summarize(event.getBlock(), event.getTransactionReceipts());
+                  return null;
+                }),
+        () -> summarize(event.getBlock(), event.getTransactionReceipts()));
+  }
+
+  /**
+   * Returns the summary of a block if it is in the cache.
+   *
+   * @param header the header of the block
+   * @return the summary of the block, empty if it is not in the cache
+   */
+  public Optional<BlockFeeSummary> get(final BlockHeader header) {
+    return Optional.ofNullable(summaries.get(slot(header.getNumber())))
+        .filter(summary -> summary.getBlockHash().equals(header.getHash()));
+  }
+
+  /**
+   * Returns the summary of a block, computing it if it is not in the cache.
+   *
+   * @param header the header of the block
+   * @return the summary of the block, empty if the block or its receipts are not available
+   */
+  public Optional<BlockFeeSummary> getOrCompute(final BlockHeader header) {
+    return get(header)
+        .or(
+            () ->
+                blockchain
+                    .getBlockByHash(header.getHash())
+                    .flatMap(
+                        block ->
+                            blockchain
+                                .getTxReceipts(block.getHash())
+                                .flatMap(receipts -> summarize(block, receipts))));
+  }
+
+  /**
+   * Returns the summaries of the chain of blocks ending with the given one.
+   *
+   * @param header the header of the last block
+   * @param count the number of blocks, including the last one
+   * @return the summaries, from the last block back to its ancestors, down to the genesis block if
+   *     the chain is shorter than the count
+   * @throws IllegalStateException if a block or its receipts can not be retrieved
+   */
+  public List<BlockFeeSummary> getChain(final BlockHeader header, final long count) {
+    final List<BlockFeeSummary> chain = new ArrayList<>();
+    BlockHeader current = header;
+    while (true) {
+      final long number = current.getNumber();
+      chain.add(
+          getOrCompute(current)
+              .orElseThrow(() -> new IllegalStateException("Could not retrieve block #" + number)));
+      if (chain.size() >= count || number == 0) {
+        return chain;
+      }
+      current =
+          blockchain
+              .getBlockHeader(current.getParentHash())
+              .orElseThrow(
+                  () -> new IllegalStateException("Could not retrieve block #" + (number - 1)));
+    }
+  }
+
+  private Optional<BlockFeeSummary> summarize(
+      final Block block, final List<TransactionReceipt> receipts) {
+    if (receipts.size() != block.getBody().getTransactions().size()) {
+      return Optional.empty();
+    }
+    final BlockHeader header = block.getHeader();
+    final ProtocolSpec spec = protocolSchedule.getByBlockHeader(header);
+    final BlockFeeSummary summary =
+        BlockFeeSummary.create(
+            block, receipts, getBaseFeePerBlobGas(spec, header), getBlobGasUsedRatio(spec, header));
+    summaries.set(slot(header.getNumber()), summary);
+    return Optional.of(summary);
+  }
+
+  private Wei getBaseFeePerBlobGas(final ProtocolSpec spec, final BlockHeader header) {
+    return blockchain
+        .getBlockHeader(header.getParentHash())
+        .map(
+            parent ->
+                spec.getFeeMarket()
+                    .blobGasPricePerGas(calculateExcessBlobGasForParent(spec, parent)))
+        .orElse(Wei.ZERO);
+  }
+
+  private static double getBlobGasUsedRatio(final ProtocolSpec spec, final BlockHeader header) {
+    final double currentBlobGasLimit = spec.getGasLimitCalculator().currentBlobGasLimit();
+    if (currentBlobGasLimit == 0) {
+      return 0;
+    }
+    return header.getBlobGasUsed().orElse(0L) / currentBlobGasLimit;
+  }
+
+  private int slot(final long blockNumber) {
+    return (int) (blockNumber % summaries.length());
+  }
+}
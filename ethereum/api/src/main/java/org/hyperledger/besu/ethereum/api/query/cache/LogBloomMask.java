@@ -0,0 +1,138 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A logs query precomputed as bit masks over the 64 bit words of a log bloom, to test raw blooms
+ * without creating a {@link LogsBloomFilter} for each of them.
+ *
+ * <p>The query matches a bloom when, for its address constraint and for each of its topic
+ * constraints, one of the accepted values has all its bits set in the bloom, like {@link
+ * LogsQuery#couldMatch(LogsBloomFilter)}. A value only sets three bits of the bloom, so it is kept
+ * as the few words holding them and their masks.
+ */
+public final class LogBloomMask {
+  private static final int WORDS = LogsBloomFilter.BYTE_SIZE / Long.BYTES;
+
+  // for each constraint, the accepted values, each as word indexes and masks
+  private final List<Alternative[]> constraints = new ArrayList<>();
+
+  private LogBloomMask() {}
+
+  public static LogBloomMask of(final LogsQuery query) {
+    final LogBloomMask mask = new LogBloomMask();
+    if (!query.getAddresses().isEmpty()) {
+      mask.addConstraint(query.getAddresses());
+    }
+    for (final List<? extends Bytes> topics : query.getTopics()) {
+      final List<? extends Bytes> values = topics.stream().filter(Objects::nonNull).toList();
+      if (!values.isEmpty()) {
+        mask.addConstraint(values);
+      }
+    }
+    return mask;
+  }
+
+  private void addConstraint(final List<? extends Bytes> values) {
+    constraints.add(
+        values.stream()
+            .map(value -> LogsBloomFilter.builder().insertBytes(value).build())
+            .map(Alternative::of)
+            .toArray(Alternative[]::new));
+  }
+
+  /**
+   * Whether the bloom at the given position of the buffer could contain logs matching the query.
+   *
+   * @param blooms the buffer holding the blooms, in big endian order
+   * @param position the position of the bloom in the buffer
+   * @return true if the bloom could contain matching logs
+   */
+  public boolean couldMatch(final ByteBuffer blooms, final int position) {
+    for (final Alternative[] alternatives : constraints) {
+      boolean matched = false;
+      for (int i = 0; i < alternatives.length && !matched; i++) {
+        matched = alternatives[i].isContainedIn(blooms, position);
+      }
+      if (!matched) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests consecutive blooms of a buffer.
+   *
+   * @param blooms the buffer holding the blooms, in big endian order
+   * @param position the position of the first bloom to test
+   * @param count the number of blooms to test
+   * @return the indexes, from the first tested bloom, of the blooms that could match
+   */
+  public BitSet matchingBlooms(final ByteBuffer blooms, final int position, final int count) {
+    final BitSet matching = new BitSet(count);
+    for (int i = 0; i < count; i++) {
+      if (couldMatch(blooms, position + i * LogsBloomFilter.BYTE_SIZE)) {
+        matching.set(i);
+      }
+    }
+    return matching;
+  }
+
+  private static final class Alternative {
+    private final int[] wordOffsets;
+    private final long[] masks;
+
+    private Alternative(final int[] wordOffsets, final long[] masks) {
+      this.wordOffsets = wordOffsets;
+      this.masks = masks;
+    }
+
+    static Alternative of(final LogsBloomFilter bloom) {
+      final ByteBuffer bloomBytes = ByteBuffer.wrap(bloom.toArrayUnsafe());
+      final TreeMap<Integer, Long> masksByWord = new TreeMap<>();
+      for (int word = 0; word < WORDS; word++) {
+        final long mask = bloomBytes.getLong(word * Long.BYTES);
+        if (mask != 0) {
+          masksByWord.put(word * Long.BYTES, mask);
+        }
+      }
+      return new Alternative(
+          masksByWord.keySet().stream().mapToInt(Integer::intValue).toArray(),
+          masksByWord.values().stream().mapToLong(Long::longValue).toArray());
+    }
+
+    boolean isContainedIn(final ByteBuffer blooms, final int position) {
+      for (int i = 0; i < wordOffsets.length; i++) {
+        if ((blooms.getLong(position + wordOffsets[i]) & masks[i]) != masks[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,732 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An inverted index of the logs of the canonical chain, from the log address and from each topic
+ * position to the blocks containing a log with them.
+ *
+ * <p>The chain is split in segments of {@link #BLOCKS_PER_SEGMENT} blocks. The segments close to
+ * the head are kept in memory and updated with every new canonical block, including the reorgs.
+ * Once a segment is {@link #SEAL_DISTANCE} blocks below the head it is written to a file, with its
+ * keys sorted so they can be binary searched in the memory mapped file. Like in roaring bitmaps,
+ * the blocks of a key are stored as a sorted array of offsets in the segment when there are few of
+ * them, and as a bitmap of the segment otherwise.
+ *
+ * <p>The canonical blocks following the indexed head are appended by the block added handler. The
+ * blocks missed by the handler are read from the chain, and the segments are written, on a
+ * background executor, so the block imports never wait for them.
+ *
+ * <p>The index only narrows down the blocks to read: a block is returned when each constraint of
+ * the query is matched by one of its logs, so the logs of the returned blocks must still be
+ * matched against the query.
+ */
+public class LogIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(LogIndex.class);
+
+  public static final String INDEX_DIR = "logIndex";
+  public static final int BLOCKS_PER_SEGMENT = 4096;
+  public static final int SEAL_DISTANCE = 128;
+
+  private static final int FILE_VERSION = 1;
+  private static final int ADDRESS_POSITION = 0;
+  private static final int KEY_LENGTH = 1 + Bytes32.SIZE;
+  private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+  private static final int ENTRY_LENGTH = KEY_LENGTH + 2 * Integer.BYTES;
+  private static final int BITMAP_LENGTH = BLOCKS_PER_SEGMENT / Byte.SIZE;
+  // above this count an array of short offsets is larger than the bitmap of the segment
+  private static final int MAX_ARRAY_POSTINGS = BITMAP_LENGTH / Short.BYTES;
+
+  private final Blockchain blockchain;
+  private final Path indexDir;
+  private final Executor maintenanceExecutor;
+  private final Map<Long, ByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+  private final AtomicBoolean maintenanceScheduled = new AtomicBoolean(false);
+
+  // segments not written yet, by segment number, guarded by this
+  private final NavigableMap<Long, Map<Bytes, PostingList>> unsealedSegments = new TreeMap<>();
+  private long indexedHead = -1;
+  private long rewinds = 0;
+  private boolean initialized = false;
+
+  public LogIndex(final Blockchain blockchain, final Path indexDir) {
+    this(blockchain, indexDir, newMaintenanceExecutor());
+  }
+
+  @VisibleForTesting
+  LogIndex(final Blockchain blockchain, final Path indexDir, final Executor maintenanceExecutor) {
+    this.blockchain = blockchain;
+    this.indexDir = indexDir;
+    this.maintenanceExecutor = maintenanceExecutor;
+  }
+
+  private static Executor newMaintenanceExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("log-index-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  public Path getIndexDir() {
+    return indexDir;
+  }
+
+  public static long segmentOf(final long blockNumber) {
+    return blockNumber / BLOCKS_PER_SEGMENT;
+  }
+
+  public static long segmentEnd(final long blockNumber) {
+    return (segmentOf(blockNumber) + 1) * BLOCKS_PER_SEGMENT - 1;
+  }
+
+  /**
+   * Whether the index can narrow down the blocks matching the query, which requires an address or
+   * a topic position without wildcard.
+   *
+   * @param query the logs query
+   * @return true if the query has a constraint the index can use
+   */
+  public static boolean canNarrow(final LogsQuery query) {
+    return !query.getAddresses().isEmpty()
+        || query.getTopics().stream()
+            .anyMatch(topics -> !topics.isEmpty() && !topics.contains(null));
+  }
+
+  /**
+   * The last block of the index. All the blocks up to it are indexed, except the ones of the
+   * written segments whose file is missing.
+   *
+   * @return the last indexed block number, -1 until the index is initialized
+   */
+  public synchronized long getIndexedHead() {
+    return initialized ? indexedHead : -1;
+  }
+
+  /**
+   * Indexes the segments close to the head of the chain, to follow it from now on.
+   *
+   * @throws IOException if the index directory cannot be created
+   */
+  public void initialize() throws IOException {
+    Files.createDirectories(indexDir);
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    final Optional<Hash> chainHeadHash = blockchain.getBlockHashByNumber(chainHead);
+    final long firstUnsealedSegment = firstUnsealedSegment(chainHead);
+    // the written segments above the head are from a chain that has been rewound
+    deleteSegmentFilesFrom(firstUnsealedSegment);
+    // the blocks are read before taking the lock so the imports are not blocked meanwhile
+    final NavigableMap<Long, Map<Bytes, PostingList>> segments = new TreeMap<>();
+    long lastBlock = firstUnsealedSegment * BLOCKS_PER_SEGMENT - 1;
+    for (long blockNumber = lastBlock + 1; blockNumber <= chainHead; blockNumber++) {
+      final Optional<List<TransactionReceipt>> receipts = readReceipts(blockNumber);
+      if (receipts.isEmpty()) {
+        break;
+      }
+      addBlock(segments, blockNumber, receipts.get());
+      lastBlock = blockNumber;
+    }
+    synchronized (this) {
+      unsealedSegments.clear();
+      initialized = true;
+      if (chainHeadHash.equals(blockchain.getBlockHashByNumber(chainHead))) {
+        unsealedSegments.putAll(segments);
+        indexedHead = lastBlock;
+      } else {
+        // a reorg happened while reading the blocks, which are read again
+        indexedHead = firstUnsealedSegment * BLOCKS_PER_SEGMENT - 1;
+      }
+    }
+    catchUp();
+    sealSegments();
+    LOG.info("Log index initialized up to block {}", getIndexedHead());
+  }
+
+  /**
+   * Updates the index with a block added to the chain. Only the block following the indexed head
+   * is appended here, catching up with the chain and writing the segments are left to the
+   * maintenance executor.
+   *
+   * @param event the block added event
+   */
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    synchronized (this) {
+      if (!initialized) {
+        return;
+      }
+      final BlockHeader header = event.getHeader();
+      final long commonAncestor =
+          blockchain
+              .getBlockHeader(event.getCommonAncestorHash())
+              .map(BlockHeader::getNumber)
+              .orElse(header.getNumber() - 1);
+      if (commonAncestor < indexedHead) {
+        rewindTo(commonAncestor);
+      }
+      if (header.getNumber() == indexedHead + 1 && commonAncestor == indexedHead) {
+        addBlock(unsealedSegments, header.getNumber(), event.getTransactionReceipts());
+        indexedHead = header.getNumber();
+        if (!hasSealableSegment()) {
+          return;
+        }
+      }
+    }
+    scheduleMaintenance();
+  }
+
+  /**
+   * Finds the blocks of a segment that may contain logs matching the query.
+   *
+   * @param fromBlock the first block, inclusive
+   * @param toBlock the last block, inclusive, in the same segment and not above the indexed head
+   * @param query the logs query, for which {@link #canNarrow(LogsQuery)} is true
+   * @return the matching block numbers in ascending order, empty if the segment is not indexed
+   */
+  public Optional<List<Long>> matchingBlocks(
+      final long fromBlock, final long toBlock, final LogsQuery query) {
+    final long segment = segmentOf(fromBlock);
+    final Optional<BitSet> offsets;
+    synchronized (this) {
+      if (!initialized || toBlock > indexedHead || segmentOf(toBlock) != segment) {
+        return Optional.empty();
+      }
+      final Map<Bytes, PostingList> unsealedSegment = unsealedSegments.get(segment);
+      if (unsealedSegment != null) {
+        offsets =
+            Optional.of(
+                matchingOffsets(
+                    query,
+                    key ->
+                        Optional.ofNullable(unsealedSegment.get(key))
+                            .map(PostingList::toBitSet)
+                            .orElseGet(BitSet::new)));
+      } else if (segment >= firstUnsealedSegment()) {
+        return Optional.empty();
+      } else {
+        offsets = Optional.empty();
+      }
+    }
+    final Optional<BitSet> matchingOffsets =
+        offsets.or(
+            () ->
+                mappedSegment(segment)
+                    .map(buffer -> matchingOffsets(query, key -> readPostings(buffer, key))));
+    final long segmentStart = segment * BLOCKS_PER_SEGMENT;
+    return matchingOffsets.map(
+        bits ->
+            bits.stream()
+                .mapToLong(offset -> segmentStart + offset)
+                .filter(blockNumber -> blockNumber >= fromBlock && blockNumber <= toBlock)
+                .boxed()
+                .toList());
+  }
+
+  /**
+   * Writes the missing segment files of a range of blocks, reading their receipts from the chain.
+   * Only the segments at least {@link #SEAL_DISTANCE} blocks below the head are written, and the
+   * segments with missing receipts are skipped.
+   *
+   * @param fromBlock the first block of the range
+   * @param toBlock the last block of the range
+   * @return the number of segment files written
+   * @throws IOException if the index directory cannot be created
+   */
+  public int generateMissingSegments(final long fromBlock, final long toBlock) throws IOException {
+    Files.createDirectories(indexDir);
+    int written = 0;
+    for (long segment = segmentOf(fromBlock); segment <= segmentOf(toBlock); segment++) {
+      if (!isSealable(segment) || Files.exists(segmentFile(segment))) {
+        continue;
+      }
+      final Optional<Map<Bytes, PostingList>> postings = readSegment(segment);
+      if (postings.isEmpty()) {
+        LOG.debug("Skipping log index segment {} with missing receipts", segment);
+        continue;
+      }
+      final Optional<Path> tempFile = writeTempSegmentFile(segment, encodeSegment(postings.get()));
+      if (tempFile.isEmpty()) {
+        continue;
+      }
+      synchronized (this) {
+        if (isSealable(segment) && !Files.exists(segmentFile(segment))) {
+          moveSegmentFile(segment, tempFile.get());
+          written++;
+        } else {
+          deleteTempFile(tempFile.get());
+        }
+      }
+      if (written > 0 && written % 100 == 0) {
+        LOG.info("Log index generated up to block {}", segmentEnd(segment * BLOCKS_PER_SEGMENT));
+      }
+    }
+    return written;
+  }
+
+  private synchronized boolean isSealable(final long segment) {
+    return segment
+        < (initialized
+            ? firstUnsealedSegment()
+            : firstUnsealedSegment(blockchain.getChainHeadBlockNumber()));
+  }
+
+  private static long firstUnsealedSegment(final long chainHead) {
+    return segmentOf(Math.max(0, chainHead - SEAL_DISTANCE + 1));
+  }
+
+  private long firstUnsealedSegment() {
+    return unsealedSegments.isEmpty() ? segmentOf(indexedHead + 1) : unsealedSegments.firstKey();
+  }
+
+  private void scheduleMaintenance() {
+    if (maintenanceScheduled.compareAndSet(false, true)) {
+      maintenanceExecutor.execute(this::maintain);
+    }
+  }
+
+  private void maintain() {
+    // the blocks added from now on schedule another run
+    maintenanceScheduled.set(false);
+    try {
+      catchUp();
+      sealSegments();
+    } catch (final RuntimeException e) {
+      LOG.error("Unable to update the log index", e);
+    }
+  }
+
+  /**
+   * Indexes the canonical blocks following the indexed head. The receipts are read without holding
+   * the lock, and a block is only added if it is still canonical and follows the indexed head.
+   */
+  private void catchUp() {
+    while (true) {
+      final long blockNumber;
+      synchronized (this) {
+        if (!initialized) {
+          return;
+        }
+        blockNumber = indexedHead + 1;
+      }
+      final Optional<BlockHeader> header = blockchain.getBlockHeader(blockNumber);
+      if (header.isEmpty()) {
+        return;
+      }
+      final Optional<List<TransactionReceipt>> receipts = readReceipts(header.get());
+      if (receipts.isEmpty()) {
+        return;
+      }
+      synchronized (this) {
+        if (indexedHead == blockNumber - 1
+            && blockchain
+                .getBlockHashByNumber(blockNumber)
+                .equals(Optional.of(header.get().getHash()))) {
+          addBlock(unsealedSegments, blockNumber, receipts.get());
+          indexedHead = blockNumber;
+        }
+      }
+    }
+  }
+
+  private void rewindTo(final long blockNumber) {
+    final long firstRewoundSegment = segmentOf(blockNumber + 1);
+    if (firstRewoundSegment < firstUnsealedSegment()) {
+      // the reorg reaches a written segment, which is indexed again from its start
+      LOG.info("Rewinding log index to segment {} after a reorg", firstRewoundSegment);
+      deleteSegmentFilesFrom(firstRewoundSegment);
+      rewinds++;
+      unsealedSegments.clear();
+      indexedHead = firstRewoundSegment * BLOCKS_PER_SEGMENT - 1;
+      return;
+    }
+    rewinds++;
+    unsealedSegments.tailMap(firstRewoundSegment, false).clear();
+    final Map<Bytes, PostingList> segment = unsealedSegments.get(firstRewoundSegment);
+    if (segment != null) {
+      final int lastOffset = (int) (blockNumber - firstRewoundSegment * BLOCKS_PER_SEGMENT);
+      segment.values().removeIf(postings -> postings.truncate(lastOffset));
+    }
+    indexedHead = blockNumber;
+  }
+
+  private boolean hasSealableSegment() {
+    return !unsealedSegments.isEmpty()
+        && segmentEnd(unsealedSegments.firstKey() * BLOCKS_PER_SEGMENT)
+            <= indexedHead - SEAL_DISTANCE;
+  }
+
+  /**
+   * Writes the segments that are far enough below the indexed head. A segment is encoded while
+   * holding the lock, written without holding it, and only moved in place if no reorg happened
+   * meanwhile. It is kept in memory until then, so the queries can still use it.
+   */
+  private void sealSegments() {
+    while (true) {
+      final long segment;
+      final ByteBuffer encodedSegment;
+      final long rewindsBeforeWrite;
+      synchronized (this) {
+        if (!hasSealableSegment()) {
+          return;
+        }
+        segment = unsealedSegments.firstKey();
+        encodedSegment = encodeSegment(unsealedSegments.firstEntry().getValue());
+        rewindsBeforeWrite = rewinds;
+      }
+      final Optional<Path> tempFile = writeTempSegmentFile(segment, encodedSegment);
+      synchronized (this) {
+        if (rewinds != rewindsBeforeWrite
+            || unsealedSegments.isEmpty()
+            || unsealedSegments.firstKey() != segment) {
+          // the segment may have changed while it was written, it is checked again
+          tempFile.ifPresent(LogIndex::deleteTempFile);
+          continue;
+        }
+        unsealedSegments.pollFirstEntry();
+        tempFile.ifPresent(file -> moveSegmentFile(segment, file));
+      }
+    }
+  }
+
+  private Optional<List<TransactionReceipt>> readReceipts(final long blockNumber) {
+    return blockchain.getBlockHeader(blockNumber).flatMap(this::readReceipts);
+  }
+
+  private Optional<List<TransactionReceipt>> readReceipts(final BlockHeader header) {
+    if (header.getLogsBloom().equals(LogsBloomFilter.empty())) {
+      return Optional.of(List.of());
+    }
+    return blockchain.getTxReceipts(header.getHash());
+  }
+
+  private Optional<Map<Bytes, PostingList>> readSegment(final long segment) {
+    final NavigableMap<Long, Map<Bytes, PostingList>> segments = new TreeMap<>();
+    segments.put(segment, new HashMap<>());
+    final long segmentStart = segment * BLOCKS_PER_SEGMENT;
+    for (long blockNumber = segmentStart;
+        blockNumber < segmentStart + BLOCKS_PER_SEGMENT;
+        blockNumber++) {
+      final Optional<List<TransactionReceipt>> receipts = readReceipts(blockNumber);
+      if (receipts.isEmpty()) {
+        return Optional.empty();
+      }
+      addBlock(segments, blockNumber, receipts.get());
+    }
+    return Optional.of(segments.get(segment));
+  }
+
+  private static void addBlock(
+      final NavigableMap<Long, Map<Bytes, PostingList>> segments,
+      final long blockNumber,
+      final List<TransactionReceipt> receipts) {
+    final Map<Bytes, PostingList> segment =
+        segments.computeIfAbsent(segmentOf(blockNumber), number -> new HashMap<>());
+    final int offset = (int) (blockNumber % BLOCKS_PER_SEGMENT);
+    for (final TransactionReceipt receipt : receipts) {
+      for (final Log log : receipt.getLogs()) {
+        segment
+            .computeIfAbsent(key(ADDRESS_POSITION, log.getLogger()), key -> new PostingList())
+            .add(offset);
+        final List<LogTopic> topics = log.getTopics();
+        for (int i = 0; i < topics.size(); i++) {
+          segment.computeIfAbsent(key(i + 1, topics.get(i)), key -> new PostingList()).add(offset);
+        }
+      }
+    }
+  }
+
+  private static Bytes key(final int position, final Bytes value) {
+    return Bytes.concatenate(Bytes.of(position), Bytes32.leftPad(value));
+  }
+
+  private static BitSet matchingOffsets(
+      final LogsQuery query, final Function<Bytes, BitSet> postings) {
+    BitSet matching = null;
+    if (!query.getAddresses().isEmpty()) {
+      matching = union(query.getAddresses(), ADDRESS_POSITION, postings);
+    }
+    final List<List<LogTopic>> topics = query.getTopics();
+    for (int i = 0; i < topics.size(); i++) {
+      if (topics.get(i).isEmpty() || topics.get(i).contains(null)) {
+        continue;
+      }
+      final BitSet topicMatching = union(topics.get(i), i + 1, postings);
+      if (matching == null) {
+        matching = topicMatching;
+      } else {
+        matching.and(topicMatching);
+      }
+    }
+    return matching == null ? new BitSet() : matching;
+  }
+
+  private static BitSet union(
+      final List<? extends Bytes> values,
+      final int position,
+      final Function<Bytes, BitSet> postings) {
+    final BitSet union = new BitSet(BLOCKS_PER_SEGMENT);
+    values.stream()
+        .filter(Objects::nonNull)
+        .forEach(value -> union.or(postings.apply(key(position, value))));
+    return union;
+  }
+
+  private Path segmentFile(final long segment) {
+    return indexDir.resolve("logIndex-" + segment + ".index");
+  }
+
+  private static ByteBuffer encodeSegment(final Map<Bytes, PostingList> postings) {
+    final List<Map.Entry<Bytes, PostingList>> entries = new ArrayList<>(postings.entrySet());
+    entries.sort(
+        (a, b) -> Arrays.compareUnsigned(a.getKey().toArrayUnsafe(), b.getKey().toArrayUnsafe()));
+    int length = HEADER_LENGTH + entries.size() * ENTRY_LENGTH;
+    for (final Map.Entry<Bytes, PostingList> entry : entries) {
+      length += entry.getValue().encodedLength();
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    buffer.putInt(FILE_VERSION).putInt(entries.size());
+    int postingsPosition = HEADER_LENGTH + entries.size() * ENTRY_LENGTH;
+    for (final Map.Entry<Bytes, PostingList> entry : entries) {
+      buffer.put(entry.getKey().toArrayUnsafe());
+      buffer.putInt(postingsPosition).putInt(entry.getValue().size());
+      postingsPosition += entry.getValue().encodedLength();
+    }
+    entries.forEach(entry -> entry.getValue().encodeTo(buffer));
+    buffer.flip();
+    return buffer;
+  }
+
+  private Optional<Path> writeTempSegmentFile(final long segment, final ByteBuffer buffer) {
+    Path tempFile = null;
+    try {
+      tempFile = Files.createTempFile(indexDir, "logIndex-" + segment + "-", ".tmp");
+      try (final FileChannel channel =
+          FileChannel.open(
+              tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      return Optional.of(tempFile);
+    } catch (final IOException e) {
+      LOG.error("Unable to write log index segment {}", segment, e);
+      if (tempFile != null) {
+        deleteTempFile(tempFile);
+      }
+      return Optional.empty();
+    }
+  }
+
+  private void moveSegmentFile(final long segment, final Path tempFile) {
+    try {
+      Files.move(tempFile, segmentFile(segment), StandardCopyOption.REPLACE_EXISTING);
+      mappedSegments.remove(segment);
+    } catch (final IOException e) {
+      LOG.error("Unable to write log index segment {}", segment, e);
+      deleteTempFile(tempFile);
+    }
+  }
+
+  private static void deleteTempFile(final Path tempFile) {
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (final IOException e) {
+      LOG.warn("Unable to delete log index file {}", tempFile, e);
+    }
+  }
+
+  private void deleteSegmentFilesFrom(final long firstSegment) {
+    try (final Stream<Path> files = Files.list(indexDir)) {
+      for (final Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+        final Path file = it.next();
+        final String name = file.getFileName().toString();
+        if (name.startsWith("logIndex-") && name.endsWith(".index")) {
+          final long segment = Long.parseLong(name.substring(9, name.length() - 6));
+          if (segment >= firstSegment) {
+            mappedSegments.remove(segment);
+            Files.deleteIfExists(file);
+          }
+        }
+      }
+    } catch (final IOException | NumberFormatException e) {
+      LOG.warn("Unable to delete the rewound log index segments", e);
+    }
+  }
+
+  private Optional<ByteBuffer> mappedSegment(final long segment) {
+    final ByteBuffer mapped = mappedSegments.get(segment);
+    if (mapped != null) {
+      return Optional.of(mapped);
+    }
+    final Path file = segmentFile(segment);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.capacity() < HEADER_LENGTH || buffer.getInt(0) != FILE_VERSION) {
+        LOG.warn("Ignoring log index segment {} with an unknown format", segment);
+        return Optional.empty();
+      }
+      mappedSegments.put(segment, buffer);
+      return Optional.of(buffer);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static BitSet readPostings(final ByteBuffer segment, final Bytes key) {
+    final byte[] searchedKey = key.toArrayUnsafe();
+    final byte[] entryKey = new byte[KEY_LENGTH];
+    int low = 0;
+    int high = segment.getInt(Integer.BYTES) - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final int entryPosition = HEADER_LENGTH + middle * ENTRY_LENGTH;
+      segment.get(entryPosition, entryKey);
+      final int comparison = Arrays.compareUnsigned(entryKey, searchedKey);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return PostingList.decode(
+            segment,
+            segment.getInt(entryPosition + KEY_LENGTH),
+            segment.getInt(entryPosition + KEY_LENGTH + Integer.BYTES));
+      }
+    }
+    return new BitSet();
+  }
+
+  /** The ascending offsets in a segment of the blocks containing a key. */
+  static class PostingList {
+    private short[] offsets = new short[4];
+    private int size = 0;
+
+    void add(final int offset) {
+      if (size > 0 && offsets[size - 1] == (short) offset) {
+        return;
+      }
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      offsets[size++] = (short) offset;
+    }
+
+    /**
+     * Removes the offsets above the given one.
+     *
+     * @return true if the list is empty afterwards
+     */
+    boolean truncate(final int lastOffset) {
+      while (size > 0 && Short.toUnsignedInt(offsets[size - 1]) > lastOffset) {
+        size--;
+      }
+      return size == 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    BitSet toBitSet() {
+      final BitSet bits = new BitSet(BLOCKS_PER_SEGMENT);
+      for (int i = 0; i < size; i++) {
+        bits.set(Short.toUnsignedInt(offsets[i]));
+      }
+      return bits;
+    }
+
+    int encodedLength() {
+      return size > MAX_ARRAY_POSTINGS ? BITMAP_LENGTH : size * Short.BYTES;
+    }
+
+    void encodeTo(final ByteBuffer buffer) {
+      if (size > MAX_ARRAY_POSTINGS) {
+        buffer.put(Arrays.copyOf(toBitSet().toByteArray(), BITMAP_LENGTH));
+      } else {
+        for (int i = 0; i < size; i++) {
+          buffer.putShort(offsets[i]);
+        }
+      }
+    }
+
+    static BitSet decode(final ByteBuffer segment, final int position, final int size) {
+      if (size > MAX_ARRAY_POSTINGS) {
+        final byte[] bitmap = new byte[BITMAP_LENGTH];
+        segment.get(position, bitmap);
+        return BitSet.valueOf(bitmap);
+      }
+      final BitSet bits = new BitSet(BLOCKS_PER_SEGMENT);
+      for (int i = 0; i < size; i++) {
+        bits.set(Short.toUnsignedInt(segment.getShort(position + i * Short.BYTES)));
+      }
+      return bits;
+    }
+  }
+}
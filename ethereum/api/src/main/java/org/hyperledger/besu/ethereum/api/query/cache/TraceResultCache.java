@@ -0,0 +1,255 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.handlers.AbstractJsonRpcExecutor;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A size bounded on disk cache of the block trace results, filled lazily by the trace and debug
+ * methods.
+ *
+ * <p>A result is kept gzipped in the directory of its block, named by the block number and hash,
+ * in a file named by the hash of the tracing method and tracer configuration. The least recently
+ * used results are removed when the cache exceeds its size, and the results of the blocks that are
+ * no longer canonical and not finalized are removed when the chain reorganizes.
+ */
+public class TraceResultCache {
+  private static final Logger LOG = LoggerFactory.getLogger(TraceResultCache.class);
+  public static final String CACHE_DIR = "traces";
+  private static final String SUFFIX = ".json.gz";
+
+  private final Blockchain blockchain;
+  private final Path cacheDir;
+  private final long maxSize;
+  // guarded by this, the cached files in least recently used first order, and their sizes
+  private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+
+  public TraceResultCache(final Blockchain blockchain, final Path cacheDir, final long maxSize) {
+    this.blockchain = blockchain;
+    this.cacheDir = cacheDir;
+    this.maxSize = maxSize;
+    loadEntries();
+  }
+
+  /**
+   * Returns the cached result of tracing a block, or computes and caches it.
+   *
+   * @param header the header of the traced block
+   * @param method the name of the tracing method, shared by the methods with the same results
+   * @param config the canonical form of the tracer configuration
+   * @param tracing computes the result
+   * @return the cached result as a json node, or the computed result
+   */
+  public Object getOrCompute(
+      final BlockHeader header,
+      final String method,
+      final String config,
+      final Supplier<Object> tracing) {
+    final Path file = resultFile(header, method, config);
+    final Optional<JsonNode> cached = get(file);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+    final Object result = tracing.get();
+    if (!isEmpty(result)) {
+      put(file, result);
+    }
+    return result;
+  }
+
+  // empty results are cheap to compute again, and are also returned when the state is missing
+  private static boolean isEmpty(final Object result) {
+    return result == null
+        || (result instanceof Collection<?> collection && collection.isEmpty())
+        || (result instanceof JsonNode node && node.isEmpty());
+  }
+
+  /**
+   * Removes the results of the blocks that are no longer canonical when the chain reorganizes,
+   * except for the finalized blocks.
+   *
+   * @param event the block added event
+   */
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (event.getEventType() != BlockAddedEvent.EventType.CHAIN_REORG) {
+      return;
+    }
+    final long finalizedNumber =
+        blockchain
+            .getFinalized()
+            .flatMap(blockchain::getBlockHeader)
+            .map(BlockHeader::getNumber)
+            .orElse(-1L);
+    final List<Path> removed = new ArrayList<>();
+    synchronized (this) {
+      final Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Map.Entry<Path, Long> entry = iterator.next();
+        if (!isCanonicalOrFinalized(entry.getKey().getParent(), finalizedNumber)) {
+          size -= entry.getValue();
+          iterator.remove();
+          removed.add(entry.getKey());
+        }
+      }
+    }
+    removed.forEach(this::delete);
+  }
+
+  public synchronized long size() {
+    return size;
+  }
+
+  private boolean isCanonicalOrFinalized(final Path blockDir, final long finalizedNumber) {
+    final String[] name = blockDir.getFileName().toString().split("_", 2);
+    final long number = Long.parseLong(name[0]);
+    return number <= finalizedNumber
+        || blockchain
+            .getBlockHashByNumber(number)
+            .map(hash -> hash.toHexString().equals(name[1]))
+            .orElse(false);
+  }
+
+  private Path resultFile(final BlockHeader header, final String method, final String config) {
+    final Hash key = Hash.hash(Bytes.wrap((method + '\n' + config).getBytes(UTF_8)));
+    return cacheDir
+        .resolve(header.getNumber() + "_" + header.getHash().toHexString())
+        .resolve(key.toUnprefixedHexString() + SUFFIX);
+  }
+
+  private Optional<JsonNode> get(final Path file) {
+    synchronized (this) {
+      if (entries.get(file) == null) {
+        return Optional.empty();
+      }
+    }
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      // read and written with the mapper of the responses, so that a cached result is
+      // serialized as the computed one
+      return Optional.of(AbstractJsonRpcExecutor.getJsonObjectMapper().readTree(in));
+    } catch (final IOException e) {
+      LOG.debug("Unable to read the cached trace result {}", file, e);
+      remove(file);
+      return Optional.empty();
+    }
+  }
+
+  private void put(final Path file, final Object result) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      try (OutputStream out = new GZIPOutputStream(bytes)) {
+        AbstractJsonRpcExecutor.getJsonObjectMapper().writeValue(out, result);
+      }
+      if (bytes.size() > maxSize) {
+        return;
+      }
+      Files.createDirectories(file.getParent());
+      final Path tmpFile = Files.createTempFile(file.getParent(), null, null);
+      Files.write(tmpFile, bytes.toByteArray());
+      Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      LOG.debug("Unable to cache the trace result {}", file, e);
+      return;
+    }
+    final List<Path> evicted = new ArrayList<>();
+    synchronized (this) {
+      final Long previous = entries.put(file, (long) bytes.size());
+      size += bytes.size() - (previous == null ? 0 : previous);
+      final Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+      while (size > maxSize && iterator.hasNext()) {
+        final Map.Entry<Path, Long> entry = iterator.next();
+        size -= entry.getValue();
+        iterator.remove();
+        evicted.add(entry.getKey());
+      }
+    }
+    evicted.forEach(this::delete);
+  }
+
+  private void remove(final Path file) {
+    synchronized (this) {
+      final Long removed = entries.remove(file);
+      if (removed == null) {
+        return;
+      }
+      size -= removed;
+    }
+    delete(file);
+  }
+
+  private void delete(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+      try (Stream<Path> remaining = Files.list(file.getParent())) {
+        if (remaining.findAny().isEmpty()) {
+          Files.deleteIfExists(file.getParent());
+        }
+      }
+    } catch (final IOException e) {
+      LOG.debug("Unable to delete the cached trace result {}", file, e);
+    }
+  }
+
+  private void loadEntries() {
+    if (!Files.isDirectory(cacheDir)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(cacheDir, 2)) {
+      files
+          .filter(file -> cacheDir.relativize(file).getNameCount() == 2)
+          .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+          .sorted(Comparator.comparingLong(TraceResultCache::lastModified))
+          .forEach(file -> entries.put(file, file.toFile().length()));
+    } catch (final IOException e) {
+      LOG.warn("Unable to load the trace result cache", e);
+    }
+    size = entries.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  private static long lastModified(final Path file) {
+    return file.toFile().lastModified();
+  }
+}
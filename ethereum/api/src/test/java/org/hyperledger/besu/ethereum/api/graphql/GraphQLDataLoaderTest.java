@@ -0,0 +1,134 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.BlockWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.TransactionReceiptWithMetadata;
+import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import graphql.GraphQLContext;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GraphQLDataLoaderTest {
+  private static final Hash BLOCK_HASH = Hash.hash(Bytes.of(1));
+  private static final Address ADDRESS = Address.fromHexString("0xdeadbeef");
+
+  @Mock private BlockchainQueries query;
+  @Mock private ProtocolSchedule protocolSchedule;
+
+  @Test
+  void blocksAreLoadedOncePerRequest() {
+    final BlockWithMetadata<TransactionWithMetadata, Hash> block =
+        new BlockWithMetadata<>(null, null, null, null, 0);
+    when(query.blockByHash(BLOCK_HASH)).thenReturn(Optional.of(block));
+    final GraphQLDataLoader dataLoader = new GraphQLDataLoader(query);
+
+    assertThat(dataLoader.blockByHash(BLOCK_HASH)).containsSame(block);
+    assertThat(dataLoader.blockByHash(BLOCK_HASH)).containsSame(block);
+    verify(query, times(1)).blockByHash(BLOCK_HASH);
+  }
+
+  @Test
+  void receiptsAreServedFromTheLoadedReceiptsOfTheirBlock() {
+    final TransactionReceiptWithMetadata first = mock(TransactionReceiptWithMetadata.class);
+    final TransactionReceiptWithMetadata second = mock(TransactionReceiptWithMetadata.class);
+    when(query.transactionReceiptsByBlockHash(BLOCK_HASH, protocolSchedule))
+        .thenReturn(Optional.of(List.of(first, second)));
+    final GraphQLDataLoader dataLoader = new GraphQLDataLoader(query);
+
+    dataLoader.transactionReceipts(BLOCK_HASH, protocolSchedule);
+    final TransactionWithMetadata transaction =
+        new TransactionWithMetadata(mock(Transaction.class), 1, Optional.empty(), BLOCK_HASH, 1);
+
+    assertThat(dataLoader.transactionReceipt(transaction, protocolSchedule)).containsSame(second);
+    verify(query, never()).transactionReceiptByTransactionHash(any(), any());
+  }
+
+  @Test
+  void receiptsOfBlocksNotLoadedAreLoadedOncePerTransaction() {
+    final Transaction transaction = mock(Transaction.class);
+    final Hash transactionHash = Hash.hash(Bytes.of(2));
+    when(transaction.getHash()).thenReturn(transactionHash);
+    final TransactionReceiptWithMetadata receipt = mock(TransactionReceiptWithMetadata.class);
+    when(query.transactionReceiptByTransactionHash(transactionHash, protocolSchedule))
+        .thenReturn(Optional.of(receipt));
+    final GraphQLDataLoader dataLoader = new GraphQLDataLoader(query);
+    final TransactionWithMetadata transactionWithMetadata =
+        new TransactionWithMetadata(transaction, 1, Optional.empty(), BLOCK_HASH, 0);
+
+    assertThat(dataLoader.transactionReceipt(transactionWithMetadata, protocolSchedule))
+        .containsSame(receipt);
+    assertThat(dataLoader.transactionReceipt(transactionWithMetadata, protocolSchedule))
+        .containsSame(receipt);
+    verify(query, times(1)).transactionReceiptByTransactionHash(transactionHash, protocolSchedule);
+  }
+
+  @Test
+  void accountsAreLoadedOncePerBlockAndAddress() {
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+    final Account account = mock(Account.class);
+    when(worldState.get(ADDRESS)).thenReturn(account);
+    when(query.getAndMapWorldState(eq(1L), any()))
+        .thenAnswer(
+            invocation ->
+                invocation
+                    .<Function<MutableWorldState, Optional<?>>>getArgument(1)
+                    .apply(worldState));
+    final GraphQLDataLoader dataLoader = new GraphQLDataLoader(query);
+
+    assertThat(dataLoader.getAndMapAccount(1L, ADDRESS, Optional::ofNullable))
+        .containsSame(account);
+    assertThat(dataLoader.getAndMapAccount(1L, ADDRESS, Optional::of)).containsSame(account);
+    verify(query, times(1)).getAndMapWorldState(eq(1L), any());
+  }
+
+  @Test
+  void usesTheDataLoaderOfTheContext() {
+    final GraphQLDataLoader dataLoader = new GraphQLDataLoader(query);
+
+    assertThat(
+            GraphQLDataLoader.of(
+                GraphQLContext.newContext().of(GraphQLContextType.DATA_LOADER, dataLoader).build()))
+        .isSameAs(dataLoader);
+    final GraphQLContext context =
+        GraphQLContext.newContext().of(GraphQLContextType.BLOCKCHAIN_QUERIES, query).build();
+    assertThat(GraphQLDataLoader.of(context)).isNotSameAs(dataLoader);
+  }
+}
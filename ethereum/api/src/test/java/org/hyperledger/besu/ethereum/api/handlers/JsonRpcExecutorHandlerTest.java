@@ -17,9 +17,11 @@ package org.hyperledger.besu.ethereum.api.handlers;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,8 +32,12 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.opentelemetry.api.trace.Tracer;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpConnection;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -92,6 +98,37 @@ class JsonRpcExecutorHandlerTest {
     verify(mockVertx, times(1)).cancelTimer(1L);
   }
 
+  @Test
+  void testTimeoutHandlingOfStreamedResponse() {
+    // Arrange
+    Handler<RoutingContext> handler =
+        JsonRpcExecutorHandler.handler(mockExecutor, mockTracer, mockConfig);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+    HttpServerRequest mockRequest = mock(HttpServerRequest.class);
+    HttpConnection mockConnection = mock(HttpConnection.class);
+
+    when(mockContext.get(eq(ContextKey.REQUEST_BODY_AS_JSON_OBJECT.name()))).thenReturn("{}");
+    when(mockVertx.setTimer(anyLong(), timerHandlerCaptor.capture())).thenReturn(1L);
+    when(mockContext.get("timerId")).thenReturn(1L);
+    when(mockContext.request()).thenReturn(mockRequest);
+    when(mockRequest.connection()).thenReturn(mockConnection);
+    when(mockResponse.write(any(Buffer.class))).thenReturn(Future.succeededFuture());
+
+    // Act
+    handler.handle(mockContext);
+
+    // Simulate timeout once the status and part of the streamed result are written
+    when(mockResponse.headWritten()).thenReturn(true);
+    timerHandlerCaptor.getValue().handle(1L);
+
+    // Verify the streamed response is terminated with the error and its connection closed
+    verify(mockResponse, never()).setStatusCode(eq(HttpResponseStatus.REQUEST_TIMEOUT.code()));
+    verify(mockResponse, times(1))
+        .write(argThat((Buffer buffer) -> buffer.toString().contains("Timeout expired")));
+    verify(mockConnection, times(1)).close();
+  }
+
   @Test
   void testCancelTimerOnSuccessfulExecution() {
     // Arrange
@@ -138,6 +138,10 @@ public abstract class AbstractJsonRpcHttpServiceTest {
     return ImmutableApiConfiguration.builder().gasCap(0L).build();
   }
 
+  protected Optional<Path> getCachePath() {
+    return Optional.empty();
+  }
+
   protected Map<String, JsonRpcMethod> getRpcMethods(
       final JsonRpcConfiguration config, final BlockchainSetupUtil blockchainSetupUtil) {
     final ProtocolContext protocolContext = mock(ProtocolContext.class);
@@ -160,6 +164,9 @@ public abstract class AbstractJsonRpcHttpServiceTest {
             blockchainSetupUtil.getProtocolSchedule(),
             blockchainSetupUtil.getBlockchain(),
             blockchainSetupUtil.getWorldArchive(),
+            getCachePath(),
+            Optional.empty(),
+            apiConfiguration,
             miningConfiguration);
     final FilterIdGenerator filterIdGenerator = mock(FilterIdGenerator.class);
     final FilterRepository filterRepository = new FilterRepository();
@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchJsonRpcHttpServiceTest extends JsonRpcHttpServiceTestBase {
+
+  private void initBatchExecution(final int rpcBatchParallelism, final int rpcMaxBatchCost)
+      throws Exception {
+    maxBatchSize = -1;
+    batchParallelism = rpcBatchParallelism;
+    maxBatchCost = rpcMaxBatchCost;
+    initServerAndClient();
+  }
+
+  @AfterEach
+  public void resetBatchExecution() {
+    service.stop().join();
+    maxBatchSize = 10;
+    batchParallelism = JsonRpcConfiguration.DEFAULT_BATCH_PARALLELISM;
+    maxBatchCost = JsonRpcConfiguration.DEFAULT_MAX_BATCH_COST;
+  }
+
+  @Test
+  public void shouldReturnResponsesInRequestOrderWhenExecutedConcurrently() throws Exception {
+    initBatchExecution(4, -1);
+
+    final int batchSize = 50;
+    final RequestBody body =
+        RequestBody.create(
+            IntStream.range(0, batchSize)
+                .mapToObj(
+                    id -> "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"net_version\"}")
+                .collect(Collectors.joining(",", "[", "]")),
+            JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(batchSize);
+      for (int i = 0; i < batchSize; i++) {
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(i), i);
+        assertThat(json.getJsonObject(i).getString("result")).isEqualTo(CHAIN_ID.toString());
+      }
+    }
+  }
+
+  @Test
+  public void shouldReturnErrorWhenBatchCostGreaterThanConfig() throws Exception {
+    initBatchExecution(1, 10);
+
+    // two calls cost 20
+    final RequestBody body =
+        RequestBody.create(
+            "["
+                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"eth_call\"},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"eth_call\"}"
+                + "]",
+            JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonObject json = new JsonObject(resp.body().string());
+      final RpcErrorType expectedError = RpcErrorType.EXCEEDS_RPC_MAX_BATCH_COST;
+      testHelper.assertValidJsonRpcError(
+          json, null, expectedError.getCode(), expectedError.getMessage());
+    }
+  }
+
+  @Test
+  public void shouldExecuteBatchWithinCostLimit() throws Exception {
+    initBatchExecution(1, 10);
+
+    // ten lookups cost 10
+    final RequestBody body =
+        RequestBody.create(
+            IntStream.range(0, 10)
+                .mapToObj(
+                    id -> "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"net_version\"}")
+                .collect(Collectors.joining(",", "[", "]")),
+            JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(10);
+    }
+  }
+}
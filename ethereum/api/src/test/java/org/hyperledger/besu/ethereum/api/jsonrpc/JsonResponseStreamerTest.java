@@ -23,7 +23,10 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.vertx.core.Handler;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.impl.future.FailedFuture;
@@ -41,6 +44,7 @@ import org.mockito.quality.Strictness;
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 public class JsonResponseStreamerTest {
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
   private final SocketAddress testAddress = SocketAddress.domainSocketAddress("test");
 
   @Mock private HttpServerResponse httpResponse;
@@ -56,7 +60,7 @@ public class JsonResponseStreamerTest {
 
   @Test
   public void writeSingleChar() throws IOException {
-    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress, TIMEOUT);
     streamer.write('x');
 
     verify(httpResponse).write(argThat(bufferContains("x")));
@@ -64,7 +68,7 @@ public class JsonResponseStreamerTest {
 
   @Test
   public void writeString() throws IOException {
-    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress, TIMEOUT);
     streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
 
     verify(httpResponse).write(argThat(bufferContains("xyz")));
@@ -72,7 +76,7 @@ public class JsonResponseStreamerTest {
 
   @Test
   public void writeSubString() throws IOException {
-    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress, TIMEOUT);
     streamer.write("abcxyz".getBytes(StandardCharsets.UTF_8), 1, 3);
 
     verify(httpResponse).write(argThat(bufferContains("bcx")));
@@ -80,7 +84,7 @@ public class JsonResponseStreamerTest {
 
   @Test
   public void writeTwice() throws IOException {
-    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress);
+    JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress, TIMEOUT);
     streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
     streamer.write('\n');
 
@@ -90,7 +94,8 @@ public class JsonResponseStreamerTest {
 
   @Test
   public void writeStringAndClose() throws IOException {
-    try (JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress)) {
+    try (JsonResponseStreamer streamer =
+        new JsonResponseStreamer(httpResponse, testAddress, TIMEOUT)) {
       streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
     }
 
@@ -100,7 +105,8 @@ public class JsonResponseStreamerTest {
 
   @Test
   public void stopOnError() throws IOException {
-    try (JsonResponseStreamer streamer = new JsonResponseStreamer(failedResponse, testAddress)) {
+    try (JsonResponseStreamer streamer =
+        new JsonResponseStreamer(failedResponse, testAddress, TIMEOUT)) {
       streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
       assertThatThrownBy(() -> streamer.write("abc".getBytes(StandardCharsets.UTF_8)))
           .isInstanceOf(IOException.class);
@@ -111,6 +117,41 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  public void stopWhenTheClientDoesNotReadBeforeTheTimeout() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    try (JsonResponseStreamer streamer =
+        new JsonResponseStreamer(httpResponse, testAddress, Duration.ofMillis(10))) {
+      assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("Timeout");
+    }
+
+    verify(httpResponse).write(argThat(bufferContains("xyz")));
+    verify(httpResponse).end();
+  }
+
+  @Test
+  public void stopWaitingWhenTheConnectionIsClosed() throws IOException {
+    final AtomicBoolean closed = new AtomicBoolean(false);
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    when(httpResponse.closed()).thenAnswer(invocation -> closed.get());
+    when(httpResponse.closeHandler(any()))
+        .then(
+            invocation -> {
+              // the connection closes while the write queue is full
+              closed.set(true);
+              invocation.<Handler<Void>>getArgument(0).handle(null);
+              return httpResponse;
+            });
+    try (JsonResponseStreamer streamer =
+        new JsonResponseStreamer(httpResponse, testAddress, TIMEOUT)) {
+      assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("closed");
+    }
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
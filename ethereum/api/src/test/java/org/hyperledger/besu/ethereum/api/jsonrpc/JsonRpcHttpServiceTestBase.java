@@ -100,6 +100,8 @@ public class JsonRpcHttpServiceTestBase {
   protected static final NatService natService = new NatService(Optional.empty());
   protected static int maxConnections = 80;
   protected static int maxBatchSize = 10;
+  protected static int batchParallelism = JsonRpcConfiguration.DEFAULT_BATCH_PARALLELISM;
+  protected static int maxBatchCost = JsonRpcConfiguration.DEFAULT_MAX_BATCH_COST;
 
   public static void initServerAndClient() throws Exception {
     peerDiscoveryMock = mock(P2PNetwork.class);
@@ -198,6 +200,8 @@ public class JsonRpcHttpServiceTestBase {
     config.setHostsAllowlist(Collections.singletonList("*"));
     config.setMaxActiveConnections(maxConnections);
     config.setMaxBatchSize(maxBatchSize);
+    config.setBatchParallelism(batchParallelism);
+    config.setMaxBatchCost(maxBatchCost);
     return config;
   }
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.ApiConfiguration;
+import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.AbstractJsonRpcHttpBySpecTest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.AbstractJsonRpcHttpServiceTest;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class TraceResultCacheBySpecTest extends AbstractJsonRpcHttpServiceTest {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir private Path cacheDir;
+
+  @Override
+  @BeforeEach
+  public void setup() throws Exception {
+    setupBonsaiBlockchain();
+    startService();
+  }
+
+  @Override
+  protected BlockchainSetupUtil getBlockchainSetupUtil(final DataStorageFormat storageFormat) {
+    return createBlockchainSetupUtil(
+        "trace/chain-data/genesis.json", "trace/chain-data/blocks.bin", storageFormat);
+  }
+
+  @Override
+  protected ApiConfiguration createApiConfiguration() {
+    return ImmutableApiConfiguration.builder().gasCap(0L).traceCacheMaxSize(100_000_000L).build();
+  }
+
+  @Override
+  protected Optional<Path> getCachePath() {
+    return Optional.of(cacheDir);
+  }
+
+  public static Object[][] specs() {
+    return AbstractJsonRpcHttpBySpecTest.findSpecFiles(new String[] {"trace/specs/trace-block"});
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("specs")
+  public void cachedResultShouldMatchTheComputedResult(final String specName, final URL specURL)
+      throws IOException {
+    final String request =
+        objectMapper
+            .readTree(Resources.toString(specURL, StandardCharsets.UTF_8))
+            .get("request")
+            .toString();
+
+    final JsonNode computed = call(request);
+    final JsonNode cached = call(request);
+
+    assertThat(cached).isEqualTo(computed);
+    // empty results are not cached
+    final JsonNode result = computed.get("result");
+    assertThat(hasCachedResult()).isEqualTo(result != null && !result.isEmpty());
+  }
+
+  private JsonNode call(final String request) throws IOException {
+    final RequestBody requestBody = RequestBody.create(request, JSON);
+    try (final Response response =
+        client.newCall(new Request.Builder().post(requestBody).url(baseUrl).build()).execute()) {
+      assertThat(response.code()).isEqualTo(200);
+      return objectMapper.readTree(Objects.requireNonNull(response.body()).string());
+    }
+  }
+
+  private boolean hasCachedResult() throws IOException {
+    try (final Stream<Path> files = Files.walk(cacheDir)) {
+      return files.anyMatch(Files::isRegularFile);
+    }
+  }
+}
@@ -33,6 +33,9 @@ import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.debug.OpCodeTracerConfig;
+import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.debug.TracerType;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
@@ -40,8 +43,11 @@ import org.hyperledger.besu.testutil.DeterministicEthScheduler;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -132,4 +138,32 @@ public class DebugTraceBlockByHashTest {
         .isInstanceOf(InvalidJsonRpcParameters.class)
         .hasMessageContaining("Invalid block hash parameter");
   }
+
+  @Test
+  public void traceOptionsKeyShouldNotDependOnTheTracerConfigOrder() {
+    final OpCodeTracerConfig opCodeTracerConfig = new OpCodeTracerConfig(true, false, true);
+    final Map<String, Object> tracerConfig = new LinkedHashMap<>();
+    tracerConfig.put("onlyTopCall", true);
+    tracerConfig.put("withLog", Map.of("a", 1, "b", 2));
+    final Map<String, Object> reorderedTracerConfig = new LinkedHashMap<>();
+    reorderedTracerConfig.put("withLog", new TreeMap<>(Map.of("b", 2, "a", 1)).descendingMap());
+    reorderedTracerConfig.put("onlyTopCall", true);
+
+    assertThat(
+            AbstractDebugTraceBlock.traceOptionsKey(
+                new TraceOptions(TracerType.CALL_TRACER, opCodeTracerConfig, tracerConfig)))
+        .isEqualTo(
+            AbstractDebugTraceBlock.traceOptionsKey(
+                new TraceOptions(
+                    TracerType.CALL_TRACER, opCodeTracerConfig, reorderedTracerConfig)));
+    assertThat(
+            AbstractDebugTraceBlock.traceOptionsKey(
+                new TraceOptions(TracerType.CALL_TRACER, opCodeTracerConfig, tracerConfig)))
+        .isNotEqualTo(
+            AbstractDebugTraceBlock.traceOptionsKey(
+                new TraceOptions(
+                    TracerType.CALL_TRACER,
+                    new OpCodeTracerConfig(true, true, true),
+                    reorderedTracerConfig)));
+  }
 }
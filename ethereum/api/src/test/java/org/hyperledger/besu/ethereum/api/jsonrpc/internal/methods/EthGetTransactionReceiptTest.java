@@ -302,6 +302,7 @@ public class EthGetTransactionReceiptTest {
     var hash = Hash.wrap(Bytes32.random());
     mockBlockWithBlobTransaction(hash, 1L);
     when(blockchain.getTxReceipts(hash)).thenReturn(Optional.of(List.of(statusReceipt)));
+    when(blockchain.getTxReceipt(hash, 0)).thenCallRealMethod();
     // Call the real method to get the transaction receipt by transaction hash
     when(blockchainQueries.transactionReceiptByTransactionHash(receiptHash, protocolSchedule))
         .thenCallRealMethod();
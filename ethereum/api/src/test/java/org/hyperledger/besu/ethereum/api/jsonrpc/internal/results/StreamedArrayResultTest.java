@@ -0,0 +1,90 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.api.handlers.RpcMethodTimeoutException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+public class StreamedArrayResultTest {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void shouldSerializeTheProducedElementsInOrder() throws JsonProcessingException {
+    final StreamedArrayResult result =
+        new StreamedArrayResult(
+            () -> true,
+            sink -> {
+              sink.accept(Map.of("a", 1));
+              sink.accept("b");
+              sink.accept(List.of(2, 3));
+            });
+
+    assertThat(mapper.writeValueAsString(new JsonRpcSuccessResponse(1, result)))
+        .isEqualTo(
+            mapper.writeValueAsString(
+                new JsonRpcSuccessResponse(1, List.of(Map.of("a", 1), "b", List.of(2, 3)))));
+  }
+
+  @Test
+  public void shouldSerializeAnEmptyArray() throws JsonProcessingException {
+    assertThat(mapper.writeValueAsString(new StreamedArrayResult(() -> true, sink -> {})))
+        .isEqualTo("[]");
+  }
+
+  @Test
+  public void shouldProduceTheElementsOnlyWhenSerialized() throws JsonProcessingException {
+    final AtomicInteger produced = new AtomicInteger();
+    final StreamedArrayResult result =
+        new StreamedArrayResult(() -> true, sink -> sink.accept(produced.incrementAndGet()));
+    assertThat(produced).hasValue(0);
+
+    assertThat(mapper.writeValueAsString(result)).isEqualTo("[1]");
+    assertThat(produced).hasValue(1);
+  }
+
+  @Test
+  public void shouldStopProducingOnceTheRequestIsNoLongerAlive() {
+    final AtomicBoolean alive = new AtomicBoolean(true);
+    final AtomicInteger produced = new AtomicInteger();
+    final StreamedArrayResult result =
+        new StreamedArrayResult(
+            alive::get,
+            sink -> {
+              sink.accept(produced.incrementAndGet());
+              alive.set(false);
+              sink.accept(produced.incrementAndGet());
+              sink.accept(produced.incrementAndGet());
+            });
+
+    // depending on where it is thrown, the serializer may wrap the failure
+    assertThatThrownBy(() -> mapper.writeValueAsString(result))
+        .satisfiesAnyOf(
+            e -> assertThat(e).isInstanceOf(RpcMethodTimeoutException.class),
+            e -> assertThat(e).hasRootCauseInstanceOf(RpcMethodTimeoutException.class));
+    assertThat(produced).hasValue(2);
+  }
+}
@@ -16,9 +16,9 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Address;
@@ -90,10 +90,7 @@ public class LogsSubscriptionServiceTest {
     registerSubscriptions(subscription);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager).sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     assertThat(logResults).hasSize(1);
     final LogResult result = logResults.get(0);
@@ -124,11 +121,7 @@ public class LogsSubscriptionServiceTest {
       blockchain.appendBlock(newBlock.getBlock(), newBlock.getReceipts());
     }
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(2))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     assertThat(logResults).hasSize(2);
     final LogResult firstLog = logResults.get(0);
@@ -169,11 +162,7 @@ public class LogsSubscriptionServiceTest {
     // Sanity check
     assertThat(blockchain.getChainHeadHash()).isEqualTo(newBlockWithLog.getBlock().getHash());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(3))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     assertThat(logResults).hasSize(3);
     final LogResult originalLog = logResults.get(0);
@@ -207,10 +196,7 @@ public class LogsSubscriptionServiceTest {
       blockchain.appendBlock(otherBlock.getBlock(), otherBlock.getReceipts());
     }
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(targetBlocks.size() * txCount))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     // Verify all logs are emitted
     assertThat(logResults).hasSize(targetBlocks.size() * txCount);
@@ -251,11 +237,7 @@ public class LogsSubscriptionServiceTest {
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
     for (LogsSubscription subscription : subscriptions) {
-      final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-      verify(subscriptionManager)
-          .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-      final List<LogResult> logResults = captor.getAllValues();
+      final List<LogResult> logResults = sentLogResults(subscription);
 
       assertThat(logResults).hasSize(1);
       final LogResult result = logResults.get(0);
@@ -263,6 +245,33 @@ public class LogsSubscriptionServiceTest {
     }
   }
 
+  @Test
+  public void subscriptionsByTopicOnlyReceiveMatchingLogs() {
+    final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
+    final Block block = blockWithReceipts.getBlock();
+    final List<TransactionReceipt> receipts = blockWithReceipts.getReceipts();
+    final Log targetLog = receipts.get(0).getLogsList().get(1);
+    final LogTopic firstTopic = targetLog.getTopics().get(0);
+    final LogTopic secondTopic = targetLog.getTopics().get(1);
+
+    final LogsSubscription firstTopicSubscription =
+        createSubscription(List.of(), List.of(List.of(firstTopic)));
+    final LogsSubscription secondTopicSubscription =
+        createSubscription(List.of(), List.of(List.of(), List.of(secondTopic)));
+    final LogsSubscription otherTopicSubscription =
+        createSubscription(List.of(), List.of(List.of(secondTopic)));
+    registerSubscriptions(firstTopicSubscription, secondTopicSubscription, otherTopicSubscription);
+    blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
+
+    for (final LogsSubscription subscription :
+        List.of(firstTopicSubscription, secondTopicSubscription)) {
+      final List<LogResult> logResults = sentLogResults(subscription);
+      assertThat(logResults).hasSize(1);
+      assertLogResultMatches(logResults.get(0), block, receipts, 0, 1, 1, false);
+    }
+    assertThat(sentLogResults(otherTopicSubscription)).isEmpty();
+  }
+
   @Test
   public void noLogsEmitted() {
     final Address address = Address.fromHexString("0x0");
@@ -272,9 +281,7 @@ public class LogsSubscriptionServiceTest {
     final BlockWithReceipts blockWithReceipts = generateBlock(2, 0, 0);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    assertThat(sentLogResults(subscription)).isEmpty();
   }
 
   @Test
@@ -286,9 +293,16 @@ public class LogsSubscriptionServiceTest {
     final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
+    assertThat(sentLogResults(subscription)).isEmpty();
+  }
+
+  private List<LogResult> sentLogResults(final LogsSubscription subscription) {
     final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    verify(subscriptionManager, atLeast(0))
+        .sendMessageToSubscriptions(
+            argThat(subscriptionIds -> subscriptionIds.contains(subscription.getSubscriptionId())),
+            captor.capture());
+    return captor.getAllValues();
   }
 
   private void assertLogResultMatches(
@@ -386,5 +400,8 @@ public class LogsSubscriptionServiceTest {
     lenient()
         .when(subscriptionManager.subscriptionsOfType(any(), any()))
         .thenReturn(Lists.newArrayList(subscriptions));
+    lenient()
+        .when(subscriptionManager.getSubscriptionsVersion())
+        .thenReturn(nextSubscriptionId.get());
   }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class LogsQueryIndexTest {
+  private static final Address ADDRESS_A = Address.fromHexString("0xaa");
+  private static final Address ADDRESS_B = Address.fromHexString("0xbb");
+  private static final LogTopic TOPIC_1 = LogTopic.of(Bytes.fromHexString("0x01"));
+  private static final LogTopic TOPIC_2 = LogTopic.of(Bytes.fromHexString("0x02"));
+
+  private static final List<Log> LOGS =
+      List.of(
+          new Log(ADDRESS_A, Bytes.EMPTY, List.of()),
+          new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_1)),
+          new Log(ADDRESS_B, Bytes.EMPTY, List.of(TOPIC_2, TOPIC_1)),
+          new Log(ADDRESS_B, Bytes.EMPTY, List.of(TOPIC_1, TOPIC_2)));
+
+  private static final List<LogsQuery> QUERIES =
+      List.of(
+          new LogsQuery(List.of(), List.of()),
+          new LogsQuery(List.of(ADDRESS_A), List.of()),
+          new LogsQuery(List.of(ADDRESS_A, ADDRESS_B, ADDRESS_A), List.of(List.of(TOPIC_2))),
+          new LogsQuery(List.of(), List.of(List.of(TOPIC_1, TOPIC_2, TOPIC_1))),
+          new LogsQuery(List.of(), List.of(List.of(TOPIC_1), List.of(TOPIC_2))),
+          new LogsQuery(List.of(), List.of(Arrays.asList(null, TOPIC_2))),
+          new LogsQuery(List.of(), List.of(List.of(), List.of(TOPIC_1))));
+
+  @Test
+  public void shouldRouteEachLogToTheMatchingQueriesOnce() {
+    final LogsQueryIndex<Integer> index =
+        LogsQueryIndex.create(IntStream.range(0, QUERIES.size()).boxed().toList(), QUERIES::get);
+
+    for (final Log log : LOGS) {
+      final List<Integer> matching = new ArrayList<>();
+      index.forEachMatch(log, matching::add);
+
+      assertThat(matching)
+          .describedAs("%s", log)
+          .containsExactlyInAnyOrderElementsOf(
+              IntStream.range(0, QUERIES.size())
+                  .filter(i -> QUERIES.get(i).matches(log))
+                  .boxed()
+                  .toList());
+    }
+  }
+
+  @Test
+  public void shouldRouteNothingWithoutQueries() {
+    final LogsQueryIndex<LogsQuery> index = LogsQueryIndex.create(List.of(), query -> query);
+    final List<LogsQuery> matching = new ArrayList<>();
+
+    LOGS.forEach(log -> index.forEachMatch(log, matching::add));
+
+    assertThat(matching).isEmpty();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.ApiConfiguration;
+import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.handlers.AbstractJsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthFeeHistory;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthGasPrice;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthMaxPriorityFeePerGas;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.core.MiningConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class BlockFeeSummaryCacheTest {
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final ProtocolSchedule protocolSchedule =
+      mock(ProtocolSchedule.class, RETURNS_DEEP_STUBS);
+  private final Blockchain blockchain = mock(Blockchain.class);
+
+  @Test
+  public void shouldEvictTheSummaryOfTheBlockInTheSameSlot() {
+    final BlockFeeSummaryCache cache = createCache(2);
+    final Block block1 = block(1);
+    final Block block2 = block(2);
+    final Block block3 = block(3);
+
+    cache.onBlockAdded(headAdvancement(block1));
+    cache.onBlockAdded(headAdvancement(block2));
+    assertThat(cache.get(block1.getHeader())).isPresent();
+
+    cache.onBlockAdded(headAdvancement(block3));
+    assertThat(cache.get(block1.getHeader())).isEmpty();
+    assertThat(cache.get(block2.getHeader()).map(BlockFeeSummary::getBlockHash))
+        .contains(block2.getHash());
+    assertThat(cache.get(block3.getHeader()).map(BlockFeeSummary::getBlockHash))
+        .contains(block3.getHash());
+  }
+
+  @Test
+  public void shouldNotReturnTheSummaryOfABlockDroppedByAReorg() {
+    final BlockFeeSummaryCache cache = createCache(4);
+    final Block dropped = block(5);
+    final Block canonical = block(5);
+    cache.onBlockAdded(headAdvancement(dropped));
+
+    assertThat(cache.get(canonical.getHeader())).isEmpty();
+
+    // the summary of the block now at this height is computed on demand
+    when(blockchain.getBlockByHash(canonical.getHash())).thenReturn(Optional.of(canonical));
+    when(blockchain.getTxReceipts(canonical.getHash()))
+        .thenReturn(Optional.of(gen.receipts(canonical)));
+    assertThat(cache.getOrCompute(canonical.getHeader()).map(BlockFeeSummary::getBlockHash))
+        .contains(canonical.getHash());
+    assertThat(cache.get(dropped.getHeader())).isEmpty();
+  }
+
+  @Test
+  public void shouldOnlySummarizeTheNewHeadsWhileInSync() {
+    final BlockFeeSummaryCache cache =
+        new BlockFeeSummaryCache(protocolSchedule, blockchain, Optional.empty(), 8);
+    final Block syncing = block(1);
+    final Block inSync = block(2);
+    final Block fork = block(3);
+
+    cache.onBlockAdded(headAdvancement(syncing));
+    cache.inSyncChanged(true);
+    cache.onBlockAdded(headAdvancement(inSync));
+    cache.onBlockAdded(BlockAddedEvent.createForFork(fork));
+
+    assertThat(cache.get(syncing.getHeader())).isEmpty();
+    assertThat(cache.get(inSync.getHeader())).isPresent();
+    assertThat(cache.get(fork.getHeader())).isEmpty();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void feeMethodsShouldReturnTheSameResultsWithAndWithoutTheCache(
+      final boolean gasAndPriorityFeeLimitingEnabled) throws JsonProcessingException {
+    final BlockchainSetupUtil blockchainSetupUtil =
+        BlockchainSetupUtil.forHiveTesting(DataStorageFormat.BONSAI);
+    blockchainSetupUtil.importAllBlocks();
+    // with limiting enabled, a non zero min priority fee gives a non zero lower bound
+    final Wei minPriorityFee = gasAndPriorityFeeLimitingEnabled ? Wei.of(7) : Wei.ZERO;
+    final ApiConfiguration apiConfiguration =
+        ImmutableApiConfiguration.builder()
+            .isGasAndPriorityFeeLimitingEnabled(gasAndPriorityFeeLimitingEnabled)
+            .lowerBoundGasAndPriorityFeeCoefficient(200L)
+            .upperBoundGasAndPriorityFeeCoefficient(500L)
+            .build();
+    final List<JsonRpcMethod> withoutCache =
+        feeMethods(blockchainSetupUtil, apiConfiguration, minPriorityFee);
+    final List<JsonRpcMethod> withCache =
+        feeMethods(
+            blockchainSetupUtil,
+            ImmutableApiConfiguration.copyOf(apiConfiguration).withFeeSummaryCacheSize(8),
+            minPriorityFee);
+    final List<JsonRpcRequestContext> requests =
+        List.of(
+            request("eth_feeHistory", "0x2", "latest", new double[] {0.0, 100.0, 4.0}),
+            request("eth_feeHistory", "0x10", "latest", new double[] {10.0, 50.0, 90.0}),
+            request("eth_feeHistory", "0x5", "0x10", new double[] {25.0, 75.0}),
+            request("eth_feeHistory", "0x4", "latest"),
+            request("eth_gasPrice"),
+            request("eth_maxPriorityFeePerGas"));
+
+    for (final JsonRpcRequestContext request : requests) {
+      final String method = request.getRequest().getMethod();
+      assertThat(response(withCache, method, request))
+          .as(method)
+          .isEqualTo(response(withoutCache, method, request));
+    }
+  }
+
+  private BlockFeeSummaryCache createCache(final int size) {
+    final BlockFeeSummaryCache cache =
+        new BlockFeeSummaryCache(protocolSchedule, blockchain, Optional.empty(), size);
+    cache.inSyncChanged(true);
+    return cache;
+  }
+
+  private Block block(final long number) {
+    return gen.block(BlockOptions.create().setBlockNumber(number));
+  }
+
+  private BlockAddedEvent headAdvancement(final Block block) {
+    return BlockAddedEvent.createForHeadAdvancement(block, List.of(), gen.receipts(block));
+  }
+
+  private static List<JsonRpcMethod> feeMethods(
+      final BlockchainSetupUtil blockchainSetupUtil,
+      final ApiConfiguration apiConfiguration,
+      final Wei minPriorityFee) {
+    final BlockchainQueries blockchainQueries =
+        new BlockchainQueries(
+            blockchainSetupUtil.getProtocolSchedule(),
+            blockchainSetupUtil.getBlockchain(),
+            blockchainSetupUtil.getWorldArchive(),
+            Optional.empty(),
+            Optional.empty(),
+            apiConfiguration,
+            MiningConfiguration.newDefault());
+    final MiningCoordinator miningCoordinator = mock(MiningCoordinator.class);
+    when(miningCoordinator.getMinPriorityFeePerGas()).thenReturn(minPriorityFee);
+    return List.of(
+        new EthFeeHistory(
+            blockchainSetupUtil.getProtocolSchedule(),
+            blockchainQueries,
+            miningCoordinator,
+            apiConfiguration),
+        new EthGasPrice(blockchainQueries, apiConfiguration),
+        new EthMaxPriorityFeePerGas(blockchainQueries));
+  }
+
+  private static JsonRpcRequestContext request(final String method, final Object... params) {
+    return new JsonRpcRequestContext(new JsonRpcRequest("2.0", method, params));
+  }
+
+  private static String response(
+      final List<JsonRpcMethod> methods, final String method, final JsonRpcRequestContext request)
+      throws JsonProcessingException {
+    final JsonRpcMethod jsonRpcMethod =
+        methods.stream().filter(m -> m.getName().equals(method)).findFirst().orElseThrow();
+    return AbstractJsonRpcExecutor.getJsonObjectMapper()
+        .writeValueAsString(jsonRpcMethod.response(request));
+  }
+}
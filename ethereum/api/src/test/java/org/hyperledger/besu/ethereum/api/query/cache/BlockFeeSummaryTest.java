@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockFeeSummaryTest {
+
+  @Test
+  public void shouldComputeTheRewardsAtTheGasUsedPercentiles() {
+    // gas used and effective priority fee of each transaction, out of order and with a repeated fee
+    final BlockFeeSummary summary =
+        summarize(
+            new long[][] {{200, 5}, {100, 1}, {450, 6}, {150, 2}, {800, 7}, {100, 4}, {200, 3}});
+
+    assertThat(summary.getRewards(List.of(0.0, 5.0, 10.0, 27.5, 31.0, 59.0, 60.0, 61.0, 100.0)))
+        .isEqualTo(Stream.of(1, 1, 2, 4, 5, 6, 6, 7, 7).map(Wei::of).toList());
+    assertThat(
+            summarize(new long[][] {{100, 2}, {300, 1}, {100, 2}})
+                .getRewards(List.of(50.0, 80.0)))
+        .containsExactly(Wei.of(1), Wei.of(2));
+  }
+
+  @Test
+  public void shouldReturnZeroRewardsForAnEmptyBlock() {
+    assertThat(summarize(new long[0][]).getRewards(List.of(10.0, 90.0)))
+        .containsExactly(Wei.ZERO, Wei.ZERO);
+  }
+
+  @Test
+  public void shouldComputeTheGasPriceAtTheFractionOfAllTheBlocks() {
+    final List<BlockFeeSummary> summaries =
+        List.of(withGasPrices(3, 1, 3), withGasPrices(), withGasPrices(2, 5, 3, 4));
+
+    // 1, 2, 3, 3, 3, 4, 5
+    assertThat(BlockFeeSummary.gasPriceAt(summaries, 0.0)).contains(Wei.of(1));
+    assertThat(BlockFeeSummary.gasPriceAt(summaries, 0.3)).contains(Wei.of(3));
+    assertThat(BlockFeeSummary.gasPriceAt(summaries, 0.6)).contains(Wei.of(3));
+    assertThat(BlockFeeSummary.gasPriceAt(summaries, 0.8)).contains(Wei.of(4));
+    assertThat(BlockFeeSummary.gasPriceAt(summaries, 1.0)).contains(Wei.of(5));
+    assertThat(BlockFeeSummary.gasPriceAt(List.of(withGasPrices()), 0.5)).isEmpty();
+    assertThat(BlockFeeSummary.maxPriorityFeePerGasAt(summaries, 0.5)).isEmpty();
+  }
+
+  private static BlockFeeSummary summarize(final long[][] gasUsedAndFees) {
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<TransactionReceipt> receipts = new ArrayList<>();
+    long cumulativeGasUsed = 0;
+    for (final long[] gasUsedAndFee : gasUsedAndFees) {
+      final Transaction transaction = mock(Transaction.class);
+      when(transaction.getEffectivePriorityFeePerGas(any())).thenReturn(Wei.of(gasUsedAndFee[1]));
+      transactions.add(transaction);
+      cumulativeGasUsed += gasUsedAndFee[0];
+      final TransactionReceipt receipt = mock(TransactionReceipt.class);
+      when(receipt.getCumulativeGasUsed()).thenReturn(cumulativeGasUsed);
+      receipts.add(receipt);
+    }
+    final Block block = mockBlock(transactions, cumulativeGasUsed);
+    return BlockFeeSummary.create(block, receipts, Wei.ZERO, 0);
+  }
+
+  private static BlockFeeSummary withGasPrices(final long... gasPrices) {
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<TransactionReceipt> receipts = new ArrayList<>();
+    for (final long gasPrice : gasPrices) {
+      final Transaction transaction = mock(Transaction.class);
+      when(transaction.getGasPrice()).thenReturn(Optional.of(Wei.of(gasPrice)));
+      when(transaction.getEffectivePriorityFeePerGas(any())).thenReturn(Wei.ZERO);
+      transactions.add(transaction);
+      receipts.add(mock(TransactionReceipt.class));
+    }
+    return BlockFeeSummary.create(mockBlock(transactions, 0), receipts, Wei.ZERO, 0);
+  }
+
+  private static Block mockBlock(final List<Transaction> transactions, final long gasUsed) {
+    final Block block = mock(Block.class);
+    final BlockHeader header = mock(BlockHeader.class);
+    final BlockBody body = mock(BlockBody.class);
+    when(block.getHash()).thenReturn(Hash.ZERO);
+    when(block.getHeader()).thenReturn(header);
+    when(block.getBody()).thenReturn(body);
+    when(header.getGasUsed()).thenReturn(gasUsed);
+    when(body.getTransactions()).thenReturn(transactions);
+    return block;
+  }
+}
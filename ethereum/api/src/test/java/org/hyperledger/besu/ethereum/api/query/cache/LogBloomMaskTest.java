@@ -0,0 +1,87 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class LogBloomMaskTest {
+  private static final Address ADDRESS_A = Address.fromHexString("0xaa");
+  private static final Address ADDRESS_B = Address.fromHexString("0xbb");
+  private static final LogTopic TOPIC_1 = LogTopic.of(Bytes.fromHexString("0x01"));
+  private static final LogTopic TOPIC_2 = LogTopic.of(Bytes.fromHexString("0x02"));
+
+  private static final List<LogsBloomFilter> BLOOMS =
+      List.of(
+          LogsBloomFilter.empty(),
+          bloom(new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_1))),
+          bloom(new Log(ADDRESS_B, Bytes.EMPTY, List.of(TOPIC_2, TOPIC_1))),
+          bloom(
+              new Log(ADDRESS_A, Bytes.EMPTY, List.of(TOPIC_2)),
+              new Log(ADDRESS_B, Bytes.EMPTY, List.of())));
+
+  private static final List<LogsQuery> QUERIES =
+      List.of(
+          new LogsQuery(List.of(), List.of()),
+          new LogsQuery(List.of(ADDRESS_A), List.of()),
+          new LogsQuery(List.of(ADDRESS_A, ADDRESS_B), List.of(List.of(TOPIC_2))),
+          new LogsQuery(List.of(), List.of(List.of(TOPIC_1, TOPIC_2), List.of(TOPIC_1))),
+          new LogsQuery(List.of(ADDRESS_B), List.of(Arrays.asList(null, TOPIC_2))),
+          new LogsQuery(List.of(), List.of(List.of(), List.of(TOPIC_2))));
+
+  @Test
+  public void shouldMatchLikeTheLogsQuery() {
+    final ByteBuffer blooms = ByteBuffer.allocate(BLOOMS.size() * LogsBloomFilter.BYTE_SIZE);
+    BLOOMS.forEach(bloom -> blooms.put(bloom.toArrayUnsafe()));
+
+    for (final LogsQuery query : QUERIES) {
+      final LogBloomMask mask = LogBloomMask.of(query);
+      for (int i = 0; i < BLOOMS.size(); i++) {
+        assertThat(mask.couldMatch(blooms, i * LogsBloomFilter.BYTE_SIZE))
+            .describedAs("%s on bloom %s", query, i)
+            .isEqualTo(query.couldMatch(BLOOMS.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void shouldReturnTheMatchingBloomsOfARange() {
+    final ByteBuffer blooms = ByteBuffer.allocate(BLOOMS.size() * LogsBloomFilter.BYTE_SIZE);
+    BLOOMS.forEach(bloom -> blooms.put(bloom.toArrayUnsafe()));
+    final LogBloomMask mask = LogBloomMask.of(new LogsQuery(List.of(ADDRESS_A), List.of()));
+
+    assertThat(mask.matchingBlooms(blooms, 0, BLOOMS.size()).stream()).containsExactly(1, 3);
+    assertThat(
+            mask.matchingBlooms(blooms, LogsBloomFilter.BYTE_SIZE * 2, BLOOMS.size() - 2)
+                .stream())
+        .containsExactly(1);
+  }
+
+  private static LogsBloomFilter bloom(final Log... logs) {
+    return LogsBloomFilter.builder().insertLogs(List.of(logs)).build();
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.query.cache.LogIndex.BLOCKS_PER_SEGMENT;
+import static org.hyperledger.besu.ethereum.api.query.cache.LogIndex.SEAL_DISTANCE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LogIndexTest {
+  private static final Address ADDRESS_A = Address.fromHexString("0xaa");
+  private static final Address ADDRESS_B = Address.fromHexString("0xbb");
+  private static final LogTopic TOPIC_1 = LogTopic.of(Bytes.fromHexString("0x01"));
+  private static final LogTopic TOPIC_2 = LogTopic.of(Bytes.fromHexString("0x02"));
+
+  @TempDir private Path indexDir;
+  @Mock private MutableBlockchain blockchain;
+
+  private final List<Block> chain = new ArrayList<>();
+  private final Map<Hash, List<TransactionReceipt>> receipts = new HashMap<>();
+  private LogIndex logIndex;
+
+  @BeforeEach
+  public void setUp() {
+    when(blockchain.getChainHeadBlockNumber()).thenAnswer(invocation -> (long) chain.size() - 1);
+    when(blockchain.getBlockHeader(anyLong()))
+        .thenAnswer(invocation -> block(invocation.getArgument(0)).map(Block::getHeader));
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(invocation -> block(invocation.getArgument(0)).map(Block::getHash));
+    when(blockchain.getBlockHeader(any(Hash.class)))
+        .thenAnswer(
+            invocation ->
+                chain.stream()
+                    .filter(block -> block.getHash().equals(invocation.getArgument(0)))
+                    .findFirst()
+                    .map(Block::getHeader));
+    when(blockchain.getTxReceipts(any(Hash.class)))
+        .thenAnswer(invocation -> Optional.ofNullable(receipts.get(invocation.getArgument(0))));
+    // the maintenance runs on the calling thread, unless a test queues it
+    logIndex = new LogIndex(blockchain, indexDir, Runnable::run);
+  }
+
+  @Test
+  public void shouldFindBlocksMatchingAllTheQueryConstraints() throws IOException {
+    appendBlocks(3);
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    appendBlocks(1);
+    appendBlock(log(ADDRESS_B, TOPIC_1));
+    appendBlocks(1);
+    appendBlock(log(ADDRESS_A, TOPIC_2), log(ADDRESS_B, TOPIC_1));
+    appendBlocks(3);
+    logIndex.initialize();
+
+    assertThat(logIndex.getIndexedHead()).isEqualTo(10);
+    assertThat(matchingBlocks(0, 10, ADDRESS_A, List.of())).containsExactly(3L, 7L);
+    assertThat(matchingBlocks(0, 10, null, List.of(List.of(TOPIC_1)))).containsExactly(3L, 5L, 7L);
+    // the address and the topic are in different logs of block 7
+    assertThat(matchingBlocks(0, 10, ADDRESS_A, List.of(List.of(TOPIC_1))))
+        .containsExactly(3L, 7L);
+    assertThat(matchingBlocks(0, 10, ADDRESS_A, List.of(List.of(TOPIC_2)))).containsExactly(7L);
+    assertThat(matchingBlocks(4, 10, ADDRESS_B, List.of())).containsExactly(5L, 7L);
+    assertThat(matchingBlocks(0, 10, null, List.of(List.of(), List.of(TOPIC_1)))).isEmpty();
+  }
+
+  @Test
+  public void shouldOnlyNarrowQueriesWithAddressOrTopicConstraints() {
+    assertThat(LogIndex.canNarrow(query(ADDRESS_A, List.of()))).isTrue();
+    assertThat(LogIndex.canNarrow(query(null, List.of(List.of(), List.of(TOPIC_1))))).isTrue();
+    assertThat(LogIndex.canNarrow(query(null, List.of()))).isFalse();
+    assertThat(LogIndex.canNarrow(query(null, List.of(Arrays.asList(TOPIC_1, null))))).isFalse();
+  }
+
+  @Test
+  public void shouldWriteSegmentsBelowSealDistanceAndReadThemFromFile() throws IOException {
+    appendBlocks(100);
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    // more blocks than an array of offsets holds, stored as a bitmap
+    for (int i = 0; i < 300; i++) {
+      appendBlock(log(ADDRESS_B, TOPIC_2));
+    }
+    logIndex.initialize();
+    while (chain.size() < BLOCKS_PER_SEGMENT + SEAL_DISTANCE) {
+      appendBlocks(1);
+      logIndex.onBlockAdded(headAdvanced(chain.get(chain.size() - 1)));
+    }
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    logIndex.onBlockAdded(headAdvanced(chain.get(chain.size() - 1)));
+
+    assertThat(indexDir.resolve("logIndex-0.index")).exists();
+    assertThat(indexDir.resolve("logIndex-1.index")).doesNotExist();
+    final long lastBlock = BLOCKS_PER_SEGMENT + SEAL_DISTANCE;
+    assertThat(matchingBlocks(0, BLOCKS_PER_SEGMENT - 1, ADDRESS_A, List.of()))
+        .containsExactly(100L);
+    assertThat(matchingBlocks(BLOCKS_PER_SEGMENT, lastBlock, ADDRESS_A, List.of()))
+        .containsExactly(lastBlock);
+    assertThat(matchingBlocks(0, BLOCKS_PER_SEGMENT - 1, ADDRESS_B, List.of(List.of(TOPIC_2))))
+        .containsExactlyElementsOf(LongStream.range(101, 401).boxed().toList());
+    assertThat(matchingBlocks(150, 160, ADDRESS_B, List.of()))
+        .containsExactlyElementsOf(LongStream.rangeClosed(150, 160).boxed().toList());
+  }
+
+  @Test
+  public void shouldFollowTheChainAndRewindOnReorg() throws IOException {
+    appendBlocks(5);
+    logIndex.initialize();
+
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    logIndex.onBlockAdded(headAdvanced(chain.get(5)));
+    appendBlock(log(ADDRESS_A, TOPIC_2));
+    logIndex.onBlockAdded(headAdvanced(chain.get(6)));
+    assertThat(matchingBlocks(0, 6, ADDRESS_A, List.of())).containsExactly(5L, 6L);
+
+    // block 6 is replaced by two blocks, the new head being block 7
+    final Hash commonAncestor = chain.get(5).getHash();
+    chain.remove(6);
+    appendBlocks(1);
+    appendBlock(log(ADDRESS_B, TOPIC_2));
+    final Block newHead = chain.get(7);
+    logIndex.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            newHead,
+            List.of(),
+            List.of(),
+            receipts.get(newHead.getHash()),
+            List.of(),
+            commonAncestor));
+
+    assertThat(logIndex.getIndexedHead()).isEqualTo(7);
+    assertThat(matchingBlocks(0, 7, ADDRESS_A, List.of())).containsExactly(5L);
+    assertThat(matchingBlocks(0, 7, null, List.of(List.of(TOPIC_2)))).containsExactly(7L);
+  }
+
+  @Test
+  public void shouldOnlyAppendTheNextBlockOnTheImportThread() throws IOException {
+    final List<Runnable> maintenanceTasks = new ArrayList<>();
+    logIndex = new LogIndex(blockchain, indexDir, maintenanceTasks::add);
+    appendBlocks(5);
+    logIndex.initialize();
+
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    logIndex.onBlockAdded(headAdvanced(chain.get(5)));
+    assertThat(logIndex.getIndexedHead()).isEqualTo(5);
+    assertThat(maintenanceTasks).isEmpty();
+
+    // the blocks missed by the handler are caught up by the maintenance task
+    appendBlock(log(ADDRESS_A, TOPIC_2));
+    appendBlock(log(ADDRESS_B, TOPIC_1));
+    logIndex.onBlockAdded(headAdvanced(chain.get(7)));
+    appendBlocks(1);
+    logIndex.onBlockAdded(headAdvanced(chain.get(8)));
+    assertThat(logIndex.getIndexedHead()).isEqualTo(5);
+    assertThat(maintenanceTasks).hasSize(1);
+
+    maintenanceTasks.getFirst().run();
+
+    assertThat(logIndex.getIndexedHead()).isEqualTo(8);
+    assertThat(matchingBlocks(0, 8, ADDRESS_A, List.of())).containsExactly(5L, 6L);
+    assertThat(matchingBlocks(0, 8, null, List.of(List.of(TOPIC_1)))).containsExactly(5L, 7L);
+  }
+
+  @Test
+  public void shouldWriteSegmentsOnTheMaintenanceExecutor() throws IOException {
+    final List<Runnable> maintenanceTasks = new ArrayList<>();
+    logIndex = new LogIndex(blockchain, indexDir, maintenanceTasks::add);
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    logIndex.initialize();
+    while (chain.size() < BLOCKS_PER_SEGMENT + SEAL_DISTANCE) {
+      appendBlocks(1);
+      logIndex.onBlockAdded(headAdvanced(chain.get(chain.size() - 1)));
+    }
+
+    assertThat(indexDir.resolve("logIndex-0.index")).doesNotExist();
+    assertThat(maintenanceTasks).hasSize(1);
+    // the segment is kept in memory until it is written
+    assertThat(matchingBlocks(0, BLOCKS_PER_SEGMENT - 1, ADDRESS_A, List.of()))
+        .containsExactly(0L);
+
+    maintenanceTasks.getFirst().run();
+
+    assertThat(indexDir.resolve("logIndex-0.index")).exists();
+    assertThat(matchingBlocks(0, BLOCKS_PER_SEGMENT - 1, ADDRESS_A, List.of()))
+        .containsExactly(0L);
+  }
+
+  @Test
+  public void shouldNotAnswerAboveTheIndexedHead() throws IOException {
+    appendBlocks(5);
+    logIndex.initialize();
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+
+    assertThat(logIndex.matchingBlocks(0, 5, query(ADDRESS_A, List.of()))).isEmpty();
+  }
+
+  @Test
+  public void shouldGenerateMissingSegmentFiles() throws IOException {
+    appendBlocks(10);
+    appendBlock(log(ADDRESS_A, TOPIC_1));
+    appendBlocks(2 * BLOCKS_PER_SEGMENT + SEAL_DISTANCE - chain.size());
+    // only the segments close to the head are indexed when the index is initialized
+    logIndex.initialize();
+
+    assertThat(logIndex.matchingBlocks(0, 100, query(ADDRESS_A, List.of()))).isEmpty();
+    assertThat(logIndex.generateMissingSegments(0, chain.size() - 1)).isEqualTo(2);
+    assertThat(indexDir.resolve("logIndex-1.index")).exists();
+    assertThat(matchingBlocks(0, 100, ADDRESS_A, List.of())).containsExactly(10L);
+    assertThat(logIndex.generateMissingSegments(0, chain.size() - 1)).isZero();
+  }
+
+  private List<Long> matchingBlocks(
+      final long fromBlock,
+      final long toBlock,
+      final Address address,
+      final List<List<LogTopic>> topics) {
+    return logIndex.matchingBlocks(fromBlock, toBlock, query(address, topics)).orElseThrow();
+  }
+
+  private static LogsQuery query(final Address address, final List<List<LogTopic>> topics) {
+    return new LogsQuery.Builder().address(address).topics(topics).build();
+  }
+
+  private static Log log(final Address address, final LogTopic topic) {
+    return new Log(address, Bytes.EMPTY, List.of(topic));
+  }
+
+  private Optional<Block> block(final long number) {
+    return number >= 0 && number < chain.size()
+        ? Optional.of(chain.get((int) number))
+        : Optional.empty();
+  }
+
+  private void appendBlocks(final int count) {
+    for (int i = 0; i < count; i++) {
+      appendBlock();
+    }
+  }
+
+  private void appendBlock(final Log... logs) {
+    final BlockHeaderTestFixture headerFixture =
+        new BlockHeaderTestFixture()
+            .number(chain.size())
+            .logsBloom(LogsBloomFilter.builder().insertLogs(List.of(logs)).build());
+    if (!chain.isEmpty()) {
+      headerFixture.parentHash(chain.get(chain.size() - 1).getHash());
+    }
+    final BlockHeader header = headerFixture.buildHeader();
+    chain.add(new Block(header, BlockBody.empty()));
+    receipts.put(
+        header.getHash(),
+        logs.length == 0
+            ? List.of()
+            : List.of(new TransactionReceipt(1, 21_000, List.of(logs), Optional.empty())));
+  }
+
+  private BlockAddedEvent headAdvanced(final Block block) {
+    return BlockAddedEvent.createForHeadAdvancement(
+        block, List.of(), receipts.get(block.getHash()));
+  }
+}
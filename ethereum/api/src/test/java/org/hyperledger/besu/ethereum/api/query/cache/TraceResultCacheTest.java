@@ -0,0 +1,178 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class TraceResultCacheTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final List<Map<String, Object>> RESULT =
+      List.of(Map.of("gas", 21000, "failed", false, "structLogs", List.of()));
+
+  @TempDir private Path cacheDir;
+  @Mock private Blockchain blockchain;
+
+  private final Map<Long, Hash> canonicalHashes = new HashMap<>();
+  private final AtomicInteger tracings = new AtomicInteger();
+
+  @BeforeEach
+  public void setUp() {
+    when(blockchain.getBlockHashByNumber(anyLong()))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(canonicalHashes.get(invocation.getArgument(0))));
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+  }
+
+  @Test
+  public void shouldReturnTheCachedResult() {
+    final TraceResultCache cache = new TraceResultCache(blockchain, cacheDir, 1_000_000);
+    final BlockHeader header = header(1);
+
+    assertThat(trace(cache, header, "config")).isEqualTo(RESULT);
+    assertThat(trace(cache, header, "config")).isEqualTo(MAPPER.valueToTree(RESULT));
+    assertThat(tracings).hasValue(1);
+
+    trace(cache, header, "other config");
+    trace(cache, header(2), "config");
+    assertThat(tracings).hasValue(3);
+  }
+
+  @Test
+  public void shouldLoadTheCachedResultsFromDisk() {
+    final BlockHeader header = header(1);
+    trace(new TraceResultCache(blockchain, cacheDir, 1_000_000), header, "config");
+
+    final TraceResultCache cache = new TraceResultCache(blockchain, cacheDir, 1_000_000);
+
+    assertThat(cache.size()).isPositive();
+    assertThat(trace(cache, header, "config")).isEqualTo(MAPPER.valueToTree(RESULT));
+    assertThat(tracings).hasValue(1);
+  }
+
+  @Test
+  public void shouldNotCacheEmptyResults() {
+    final TraceResultCache cache = new TraceResultCache(blockchain, cacheDir, 1_000_000);
+    final BlockHeader header = header(1);
+
+    cache.getOrCompute(header, "debug_traceBlock", "config", this::emptyTracing);
+    cache.getOrCompute(header, "debug_traceBlock", "config", this::emptyTracing);
+
+    assertThat(tracings).hasValue(2);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldEvictTheLeastRecentlyUsedResults() {
+    final BlockHeader header = header(1);
+    final TraceResultCache sizing = new TraceResultCache(blockchain, cacheDir.resolve("a"), 1000);
+    trace(sizing, header, "config");
+    final long resultSize = sizing.size();
+
+    final TraceResultCache cache =
+        new TraceResultCache(blockchain, cacheDir.resolve("b"), resultSize * 2);
+    trace(cache, header, "first");
+    trace(cache, header, "second");
+    trace(cache, header, "first");
+    trace(cache, header, "third");
+    tracings.set(0);
+
+    trace(cache, header, "first");
+    trace(cache, header, "third");
+    assertThat(tracings).hasValue(0);
+    trace(cache, header, "second");
+    assertThat(tracings).hasValue(1);
+    assertThat(cache.size()).isEqualTo(resultSize * 2);
+  }
+
+  @Test
+  public void shouldRemoveTheResultsOfTheReorganizedBlocks() {
+    final TraceResultCache cache = new TraceResultCache(blockchain, cacheDir, 1_000_000);
+    final BlockHeader finalized = header(1);
+    final BlockHeader reorganized = header(2);
+    final BlockHeader canonical = header(3);
+    canonicalHashes.put(3L, canonical.getHash());
+    when(blockchain.getFinalized()).thenReturn(Optional.of(finalized.getHash()));
+    when(blockchain.getBlockHeader(finalized.getHash())).thenReturn(Optional.of(finalized));
+    trace(cache, finalized, "config");
+    trace(cache, reorganized, "config");
+    trace(cache, canonical, "config");
+
+    cache.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            new Block(header(4), BlockBody.empty()),
+            List.of(),
+            List.of(),
+            List.of(),
+            List.of(),
+            finalized.getHash()));
+    tracings.set(0);
+
+    trace(cache, finalized, "config");
+    trace(cache, canonical, "config");
+    assertThat(tracings).hasValue(0);
+    trace(cache, reorganized, "config");
+    assertThat(tracings).hasValue(1);
+  }
+
+  private Object trace(
+      final TraceResultCache cache, final BlockHeader header, final String config) {
+    return cache.getOrCompute(
+        header,
+        "debug_traceBlock",
+        config,
+        () -> {
+          tracings.incrementAndGet();
+          return RESULT;
+        });
+  }
+
+  private Object emptyTracing() {
+    tracings.incrementAndGet();
+    return List.of();
+  }
+
+  private static BlockHeader header(final long number) {
+    return new BlockHeaderTestFixture().number(number).buildHeader();
+  }
+}
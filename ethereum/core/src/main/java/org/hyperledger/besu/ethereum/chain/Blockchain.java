@@ -192,6 +192,21 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Given a block's hash and the index of one of its transactions, returns the receipt of this
+   * transaction. Associated block is not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @param transactionIndex The index of the transaction in the block.
+   * @return The transaction receipt with its gas used and log index offset in the block.
+   */
+  default Optional<IndexedTransactionReceipt> getTxReceipt(
+      final Hash blockHeaderHash, final int transactionIndex) {
+    return getTxReceipts(blockHeaderHash)
+        .flatMap(
+            receipts -> IndexedTransactionReceipt.fromBlockReceipts(receipts, transactionIndex));
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -41,6 +41,13 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  default Optional<IndexedTransactionReceipt> getTransactionReceipt(
+      final Hash blockHash, final int transactionIndex) {
+    return getTransactionReceipts(blockHash)
+        .flatMap(
+            receipts -> IndexedTransactionReceipt.fromBlockReceipts(receipts, transactionIndex));
+  }
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<Difficulty> getTotalDifficulty(Hash blockHash);
@@ -73,6 +73,21 @@ public class ChainDataPruner implements BlockAddedObserver {
     }
   }
 
+  /**
+   * Returns the lowest block number whose chain data is not pruned once the chain head reaches the
+   * given block number.
+   *
+   * @param chainHeadNumber the chain head block number
+   * @return the lowest retained block number
+   */
+  public long getLowestRetainedBlockNumber(final long chainHeadNumber) {
+    return switch (mode) {
+      case CHAIN_PRUNING ->
+          Math.max(prunerStorage.getPruningMark().orElse(0L), chainHeadNumber - blocksToRetain);
+      case PRE_MERGE_PRUNING -> mergeBlock;
+    };
+  }
+
   private void chainPrunerAction(final BlockAddedEvent event) {
     final long blockNumber = event.getHeader().getNumber();
     final long storedPruningMark = prunerStorage.getPruningMark().orElse(blockNumber);
@@ -83,6 +83,8 @@ public class DefaultBlockchain implements MutableBlockchain {
   private final Optional<Cache<Hash, BlockHeader>> blockHeadersCache;
   private final Optional<Cache<Hash, BlockBody>> blockBodiesCache;
   private final Optional<Cache<Hash, List<TransactionReceipt>>> transactionReceiptsCache;
+  private final Optional<Cache<TransactionLocation, IndexedTransactionReceipt>>
+      transactionReceiptCache;
   private final Optional<Cache<Hash, Difficulty>> totalDifficultyCache;
 
   private Counter gasUsedCounter = NoOpMetricsSystem.NO_OP_COUNTER;
@@ -137,6 +139,9 @@ public class DefaultBlockchain implements MutableBlockchain {
       transactionReceiptsCache =
           Optional.of(
               CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
+      transactionReceiptCache =
+          Optional.of(
+              CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
       totalDifficultyCache =
           Optional.of(
               CacheBuilder.newBuilder().recordStats().maximumSize(numberOfBlocksToCache).build());
@@ -144,12 +149,15 @@ public class DefaultBlockchain implements MutableBlockchain {
       metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "blockBodies", blockBodiesCache.get());
       metricsSystem.createGuavaCacheCollector(
           BLOCKCHAIN, "transactionReceipts", transactionReceiptsCache.get());
+      metricsSystem.createGuavaCacheCollector(
+          BLOCKCHAIN, "transactionReceipt", transactionReceiptCache.get());
       metricsSystem.createGuavaCacheCollector(
           BLOCKCHAIN, "totalDifficulty", totalDifficultyCache.get());
     } else {
       blockHeadersCache = Optional.empty();
       blockBodiesCache = Optional.empty();
       transactionReceiptsCache = Optional.empty();
+      transactionReceiptCache = Optional.empty();
       totalDifficultyCache = Optional.empty();
     }
 
@@ -384,6 +392,31 @@ public class DefaultBlockchain implements MutableBlockchain {
         .orElseGet(() -> blockchainStorage.getTransactionReceipts(blockHeaderHash));
   }
 
+  @Override
+  public Optional<IndexedTransactionReceipt> getTxReceipt(
+      final Hash blockHeaderHash, final int transactionIndex) {
+    final Optional<List<TransactionReceipt>> cachedBlockReceipts =
+        transactionReceiptsCache.map(cache -> cache.getIfPresent(blockHeaderHash));
+    if (cachedBlockReceipts.isPresent()) {
+      return IndexedTransactionReceipt.fromBlockReceipts(
+          cachedBlockReceipts.get(), transactionIndex);
+    }
+    if (transactionReceiptCache.isEmpty()) {
+      return blockchainStorage.getTransactionReceipt(blockHeaderHash, transactionIndex);
+    }
+    final Cache<TransactionLocation, IndexedTransactionReceipt> cache =
+        transactionReceiptCache.get();
+    final TransactionLocation location = new TransactionLocation(blockHeaderHash, transactionIndex);
+    final IndexedTransactionReceipt cachedReceipt = cache.getIfPresent(location);
+    if (cachedReceipt != null) {
+      return Optional.of(cachedReceipt);
+    }
+    final Optional<IndexedTransactionReceipt> receipt =
+        blockchainStorage.getTransactionReceipt(blockHeaderHash, transactionIndex);
+    receipt.ifPresent(r -> cache.put(location, r));
+    return receipt;
+  }
+
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
     return blockchainStorage.getBlockHash(number);
@@ -0,0 +1,229 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.util.era1.Era1ExecutionBlockBody;
+import org.hyperledger.besu.util.era1.Era1ExecutionBlockHeader;
+import org.hyperledger.besu.util.era1.Era1ExecutionBlockReceipts;
+import org.hyperledger.besu.util.era1.Era1MappedReader;
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A blockchain storage reading the block bodies and the transaction receipts missing from the
+ * underlying storage, like the pruned pre-merge history, from local era1 archives.
+ *
+ * <p>The archived entries are found by the number of the block, from its header that is still
+ * kept in the underlying storage, and are only used when the archived header has the requested
+ * hash. Everything else, including all the writes, goes to the underlying storage.
+ */
+public class Era1HistoryBlockchainStorage implements BlockchainStorage {
+  private static final Logger LOG = LoggerFactory.getLogger(Era1HistoryBlockchainStorage.class);
+  private static final String ERA1_FILE_SUFFIX = ".era1";
+
+  private final BlockchainStorage storage;
+  private final NavigableMap<Long, Era1MappedReader> archivesByFirstBlock;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+
+  /**
+   * Creates a blockchain storage reading the missing history from the supplied archives
+   *
+   * @param storage the underlying storage
+   * @param archives the era1 archives
+   * @param blockHeaderFunctions the block header functions
+   */
+  public Era1HistoryBlockchainStorage(
+      final BlockchainStorage storage,
+      final Collection<Era1MappedReader> archives,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this.storage = storage;
+    this.archivesByFirstBlock = new TreeMap<>();
+    archives.forEach(
+        archive -> archivesByFirstBlock.put(archive.getBlockIndex().startingBlockIndex(), archive));
+    this.blockHeaderFunctions = blockHeaderFunctions;
+  }
+
+  /**
+   * Creates a blockchain storage reading the missing history from the era1 files of a directory
+   *
+   * @param storage the underlying storage
+   * @param era1Directory the directory containing the era1 files
+   * @param blockHeaderFunctions the block header functions
+   * @return the blockchain storage
+   * @throws IOException If the directory or one of its era1 files cannot be read
+   */
+  public static Era1HistoryBlockchainStorage fromDirectory(
+      final BlockchainStorage storage,
+      final Path era1Directory,
+      final BlockHeaderFunctions blockHeaderFunctions)
+      throws IOException {
+    final SnappyFactory snappyFactory = new SnappyFactory();
+    final List<Path> era1Files;
+    try (final Stream<Path> files = Files.list(era1Directory)) {
+      era1Files =
+          files.filter(file -> file.getFileName().toString().endsWith(ERA1_FILE_SUFFIX)).toList();
+    }
+    final List<Era1MappedReader> archives = new ArrayList<>(era1Files.size());
+    for (final Path era1File : era1Files) {
+      archives.add(new Era1MappedReader(era1File, snappyFactory));
+    }
+    LOG.info(
+        "Serving missing block history from {} era1 files in {}", archives.size(), era1Directory);
+    return new Era1HistoryBlockchainStorage(storage, archives, blockHeaderFunctions);
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return storage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return storage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return storage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return storage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return storage.getBlockHeader(blockHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    final Optional<BlockBody> blockBody = storage.getBlockBody(blockHash);
+    if (blockBody.isPresent()) {
+      return blockBody;
+    }
+    return readArchivedEntry(blockHash, ArchivedEntry.BODY)
+        .map(
+            body ->
+                BlockBody.readWrappedBodyFrom(
+                    new BytesValueRLPInput(Bytes.wrap(body), false), blockHeaderFunctions, true));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    final Optional<List<TransactionReceipt>> receipts = storage.getTransactionReceipts(blockHash);
+    if (receipts.isPresent()) {
+      return receipts;
+    }
+    return readArchivedEntry(blockHash, ArchivedEntry.RECEIPTS)
+        .map(
+            archivedReceipts ->
+                new BytesValueRLPInput(Bytes.wrap(archivedReceipts), false)
+                    .readList(input -> TransactionReceiptDecoder.readFrom(input, false)));
+  }
+
+  @Override
+  public Optional<IndexedTransactionReceipt> getTransactionReceipt(
+      final Hash blockHash, final int transactionIndex) {
+    return storage
+        .getTransactionReceipt(blockHash, transactionIndex)
+        .or(() -> BlockchainStorage.super.getTransactionReceipt(blockHash, transactionIndex));
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return storage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return storage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return storage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return storage.updater();
+  }
+
+  private Optional<byte[]> readArchivedEntry(final Hash blockHash, final ArchivedEntry entry) {
+    final Optional<BlockHeader> header = storage.getBlockHeader(blockHash);
+    if (header.isEmpty()) {
+      return Optional.empty();
+    }
+    final long blockNumber = header.get().getNumber();
+    final Optional<Era1MappedReader> archive =
+        Optional.ofNullable(archivesByFirstBlock.floorEntry(blockNumber))
+            .map(Map.Entry::getValue)
+            .filter(reader -> reader.containsBlock(blockNumber));
+    if (archive.isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      final Optional<byte[]> archivedHeader =
+          archive.get().readExecutionBlockHeader(blockNumber).map(Era1ExecutionBlockHeader::header);
+      // the archives only hold the canonical chain, not the other blocks with the same number
+      if (archivedHeader.isEmpty()
+          || !Hash.hash(Bytes.wrap(archivedHeader.get())).equals(blockHash)) {
+        return Optional.empty();
+      }
+      return switch (entry) {
+        case BODY ->
+            archive.get().readExecutionBlockBody(blockNumber).map(Era1ExecutionBlockBody::block);
+        case RECEIPTS ->
+            archive
+                .get()
+                .readExecutionBlockReceipts(blockNumber)
+                .map(Era1ExecutionBlockReceipts::receipts);
+      };
+    } catch (final IOException e) {
+      LOG.warn("Unable to read block {} from era1 archive", blockNumber, e);
+      return Optional.empty();
+    }
+  }
+
+  private enum ArchivedEntry {
+    BODY,
+    RECEIPTS
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The receipt of a transaction with the values that depend on the receipts of the transactions
+ * before it in the block.
+ *
+ * @param receipt the receipt of the transaction
+ * @param gasUsed the gas used by the transaction alone
+ * @param logIndexOffset the number of logs of the transactions before it in the block
+ */
+public record IndexedTransactionReceipt(
+    TransactionReceipt receipt, long gasUsed, int logIndexOffset) {
+
+  /**
+   * Creates the indexed receipt of a transaction from all the receipts of its block.
+   *
+   * @param receipts the receipts of the block
+   * @param transactionIndex the index of the transaction in the block
+   * @return the indexed receipt, empty if the block has no such transaction
+   */
+  public static Optional<IndexedTransactionReceipt> fromBlockReceipts(
+      final List<TransactionReceipt> receipts, final int transactionIndex) {
+    if (transactionIndex < 0 || transactionIndex >= receipts.size()) {
+      return Optional.empty();
+    }
+    final TransactionReceipt receipt = receipts.get(transactionIndex);
+    long gasUsed = receipt.getCumulativeGasUsed();
+    int logIndexOffset = 0;
+    if (transactionIndex > 0) {
+      gasUsed -= receipts.get(transactionIndex - 1).getCumulativeGasUsed();
+      for (int i = 0; i < transactionIndex; i++) {
+        logIndexOffset += receipts.get(i).getLogsList().size();
+      }
+    }
+    return Optional.of(new IndexedTransactionReceipt(receipt, gasUsed, logIndexOffset));
+  }
+}
@@ -30,7 +30,8 @@ public interface VariablesStorage {
     FINALIZED_BLOCK_HASH("finalizedBlockHash"),
     SAFE_BLOCK_HASH("safeBlockHash"),
     SEQ_NO_STORE("local-enr-seqno"),
-    GENESIS_STATE_HASH("genesisStateHash");
+    GENESIS_STATE_HASH("genesisStateHash"),
+    INDEXED_RECEIPTS_MIGRATION_MARK("indexedReceiptsMigrationMark");
 
     private final String key;
     private final byte[] byteArray;
@@ -68,6 +69,8 @@ public interface VariablesStorage {
 
   Optional<Hash> getGenesisStateHash();
 
+  Optional<Long> getIndexedReceiptsMigrationMark();
+
   Updater updater();
 
   interface Updater {
@@ -84,6 +87,8 @@ public interface VariablesStorage {
 
     void setGenesisStateHash(Hash genesisStateHash);
 
+    void setIndexedReceiptsMigrationMark(long blockNumber);
+
     void removeAll();
 
     void commit();
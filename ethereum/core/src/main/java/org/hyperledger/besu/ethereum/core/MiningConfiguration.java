@@ -333,6 +333,7 @@ public abstract class MiningConfiguration {
     int DEFAULT_MAX_OMMERS_DEPTH = 8;
     long DEFAULT_POS_BLOCK_CREATION_MAX_TIME = Duration.ofSeconds(12).toMillis();
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
+    boolean DEFAULT_POS_SELECTION_REUSE_ENABLED = false;
 
     MiningConfiguration.Unstable DEFAULT = ImmutableMiningConfiguration.Unstable.builder().build();
 
@@ -365,5 +366,10 @@ public abstract class MiningConfiguration {
     default long getPosBlockCreationRepetitionMinDuration() {
       return DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
     }
+
+    @Value.Default
+    default boolean isPosSelectionReuseEnabled() {
+      return DEFAULT_POS_SELECTION_REUSE_ENABLED;
+    }
   }
 }
@@ -48,6 +48,27 @@ public final class BlobProofBundle {
       final KZGCommitment kzgCommitment,
       final List<KZGProof> kzgProof,
       final VersionedHash versionedHash) {
+    this(blobType, blob, kzgCommitment, kzgProof, versionedHash, computeCells(blob, blobType));
+  }
+
+  /**
+   * Creates a bundle reusing cells that were already computed for the blob, for example when
+   * reading back a bundle that was previously persisted, to avoid computing them again.
+   *
+   * @param blobType the type of the blob
+   * @param blob the blob being proven.
+   * @param kzgCommitment the KZG commitment for the blob.
+   * @param kzgProof the KZG proof for the blob.
+   * @param versionedHash the versioned hash of the blob.
+   * @param blobCells the cells of the blob, only present for {@link BlobType#KZG_CELL_PROOFS}
+   */
+  public BlobProofBundle(
+      final BlobType blobType,
+      final Blob blob,
+      final KZGCommitment kzgCommitment,
+      final List<KZGProof> kzgProof,
+      final VersionedHash versionedHash,
+      final Bytes blobCells) {
     checkArgument(kzgCommitment != null, "kzgCommitment must not be empty");
     checkArgument(versionedHash != null, "versionedHash must not be empty");
     checkArgument(blob != null, "blob must not be empty");
@@ -71,11 +92,11 @@ public final class BlobProofBundle {
     this.kzgCommitment = kzgCommitment;
     this.kzgProof = kzgProof;
     this.versionedHash = versionedHash;
-    this.blobCells = computeCells(blob, blobType);
+    this.blobCells = blobCells;
   }
 
-  private Bytes computeCells(final Blob blob, final BlobType blobType) {
-    if (blobType == BlobType.KZG_CELL_PROOFS) {
+  private static Bytes computeCells(final Blob blob, final BlobType blobType) {
+    if (blobType == BlobType.KZG_CELL_PROOFS && blob != null) {
       return CKZG4844Helper.computeCells(blob);
     }
     return null;
@@ -0,0 +1,117 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.ethereum.chain.IndexedTransactionReceipt;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Encoding of the receipts of a block that can be read one receipt at a time.
+ *
+ * <p>The value starts with a format byte, that cannot be the first byte of the legacy RLP list of
+ * the receipts, then the number of receipts and, for each of them, the end of its encoding, the
+ * number of logs before it and the gas used by its transaction alone. The encodings follow, each
+ * receipt as a RLP list of one element so that typed receipts decode like in the legacy list.
+ */
+final class IndexedTransactionReceiptsEncoding {
+  static final byte FORMAT = 0x01;
+  private static final int HEADER_SIZE = 1 + Integer.BYTES;
+  private static final int ENTRY_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+  private IndexedTransactionReceiptsEncoding() {}
+
+  static boolean isIndexed(final Bytes bytes) {
+    return !bytes.isEmpty() && bytes.get(0) == FORMAT;
+  }
+
+  static Bytes encode(
+      final List<TransactionReceipt> receipts,
+      final TransactionReceiptEncodingConfiguration options) {
+    final List<Bytes> encodedReceipts = new ArrayList<>(receipts.size());
+    int dataSize = 0;
+    for (final TransactionReceipt receipt : receipts) {
+      final Bytes encoded =
+          RLP.encode(
+              out ->
+                  out.writeList(
+                      List.of(receipt),
+                      (r, rlpOutput) -> TransactionReceiptEncoder.writeTo(r, rlpOutput, options)));
+      encodedReceipts.add(encoded);
+      dataSize += encoded.size();
+    }
+
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(HEADER_SIZE + receipts.size() * ENTRY_SIZE + dataSize);
+    buffer.put(FORMAT).putInt(receipts.size());
+    int end = 0;
+    int logIndexOffset = 0;
+    long previousCumulativeGasUsed = 0;
+    for (int i = 0; i < receipts.size(); i++) {
+      final TransactionReceipt receipt = receipts.get(i);
+      end += encodedReceipts.get(i).size();
+      buffer
+          .putInt(end)
+          .putInt(logIndexOffset)
+          .putLong(receipt.getCumulativeGasUsed() - previousCumulativeGasUsed);
+      logIndexOffset += receipt.getLogsList().size();
+      previousCumulativeGasUsed = receipt.getCumulativeGasUsed();
+    }
+    encodedReceipts.forEach(encoded -> buffer.put(encoded.toArrayUnsafe()));
+    return Bytes.wrap(buffer.array());
+  }
+
+  static List<TransactionReceipt> decodeAll(final Bytes bytes) {
+    final int count = bytes.getInt(1);
+    final List<TransactionReceipt> receipts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      receipts.add(decodeReceipt(bytes, count, i));
+    }
+    return receipts;
+  }
+
+  static Optional<IndexedTransactionReceipt> decode(final Bytes bytes, final int index) {
+    final int count = bytes.getInt(1);
+    if (index < 0 || index >= count) {
+      return Optional.empty();
+    }
+    final int entry = HEADER_SIZE + index * ENTRY_SIZE;
+    return Optional.of(
+        new IndexedTransactionReceipt(
+            decodeReceipt(bytes, count, index),
+            bytes.getLong(entry + 2 * Integer.BYTES),
+            bytes.getInt(entry + Integer.BYTES)));
+  }
+
+  private static TransactionReceipt decodeReceipt(
+      final Bytes bytes, final int count, final int index) {
+    final int dataStart = HEADER_SIZE + count * ENTRY_SIZE;
+    final int start = index == 0 ? 0 : bytes.getInt(HEADER_SIZE + (index - 1) * ENTRY_SIZE);
+    final int end = bytes.getInt(HEADER_SIZE + index * ENTRY_SIZE);
+    return RLP.input(bytes.slice(dataStart + start, end - start))
+        .readList(in -> TransactionReceiptDecoder.readFrom(in, true))
+        .get(0);
+  }
+}
@@ -22,6 +22,7 @@ import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.SEQ_NO_S
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.IndexedTransactionReceipt;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage;
 import org.hyperledger.besu.ethereum.core.BlockBody;
@@ -40,6 +41,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongUnaryOperator;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -64,16 +66,27 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   final VariablesStorage variablesStorage;
   final BlockHeaderFunctions blockHeaderFunctions;
   final boolean receiptCompaction;
+  final boolean indexedReceipts;
 
   public KeyValueStoragePrefixedKeyBlockchainStorage(
       final KeyValueStorage blockchainStorage,
       final VariablesStorage variablesStorage,
       final BlockHeaderFunctions blockHeaderFunctions,
       final boolean receiptCompaction) {
+    this(blockchainStorage, variablesStorage, blockHeaderFunctions, receiptCompaction, false);
+  }
+
+  public KeyValueStoragePrefixedKeyBlockchainStorage(
+      final KeyValueStorage blockchainStorage,
+      final VariablesStorage variablesStorage,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final boolean receiptCompaction,
+      final boolean indexedReceipts) {
     this.blockchainStorage = blockchainStorage;
     this.variablesStorage = variablesStorage;
     this.blockHeaderFunctions = blockHeaderFunctions;
     this.receiptCompaction = receiptCompaction;
+    this.indexedReceipts = indexedReceipts;
     migrateVariables();
   }
 
@@ -111,7 +124,19 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
   @Override
   public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
-    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::decodeTransactionReceipts);
+  }
+
+  @Override
+  public Optional<IndexedTransactionReceipt> getTransactionReceipt(
+      final Hash blockHash, final int transactionIndex) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash)
+        .flatMap(
+            bytes ->
+                IndexedTransactionReceiptsEncoding.isIndexed(bytes)
+                    ? IndexedTransactionReceiptsEncoding.decode(bytes, transactionIndex)
+                    : IndexedTransactionReceipt.fromBlockReceipts(
+                        rlpDecodeTransactionReceipts(bytes), transactionIndex));
   }
 
   @Override
@@ -133,7 +158,76 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   @Override
   public Updater updater() {
     return new Updater(
-        blockchainStorage.startTransaction(), variablesStorage.updater(), receiptCompaction);
+        blockchainStorage.startTransaction(),
+        variablesStorage.updater(),
+        receiptCompaction,
+        indexedReceipts);
+  }
+
+  /**
+   * Rewrites the receipts of the canonical blocks still stored as a single RLP list in the encoding
+   * that can be read one receipt at a time, from the chain head down to the genesis block.
+   *
+   * <p>Does nothing unless the indexed receipts are enabled. The blocks are rewritten in batches,
+   * each one committed with the lowest migrated block number in the variables storage, so an
+   * interrupted migration resumes below it: the higher blocks are migrated, and the ones added
+   * since are stored in the indexed encoding. Blocks added while the indexed receipts were disabled
+   * are left in the legacy encoding, which is still read.
+   *
+   * <p>The migration stops above the blocks whose data may be removed by the chain pruner before a
+   * batch is committed, since their receipts would otherwise be written back once pruned.
+   *
+   * @param batchSize the number of blocks to rewrite in a single transaction
+   * @param lowestRetainedBlockNumber the lowest block number whose data is retained once the chain
+   *     head reaches a given block number
+   * @return the number of blocks whose receipts were rewritten
+   */
+  public long migrateToIndexedReceipts(
+      final int batchSize, final LongUnaryOperator lowestRetainedBlockNumber) {
+    if (!indexedReceipts) {
+      return 0;
+    }
+    final long chainHeadNumber = getChainHeadNumber();
+    long number =
+        variablesStorage
+            .getIndexedReceiptsMigrationMark()
+            .map(mark -> Math.min(mark - 1, chainHeadNumber))
+            .orElse(chainHeadNumber);
+    long migrated = 0;
+    while (number >= 0 && !Thread.currentThread().isInterrupted()) {
+      final long lowestNumber =
+          Math.max(0, lowestRetainedBlockNumber.applyAsLong(getChainHeadNumber() + batchSize));
+      if (number < lowestNumber) {
+        break;
+      }
+      final Updater updater = updater();
+      for (int batched = 0;
+          batched < batchSize && number >= lowestNumber && !Thread.currentThread().isInterrupted();
+          batched++, number--) {
+        final Optional<Hash> blockHash = getBlockHash(number);
+        final Optional<Bytes> receipts =
+            blockHash.flatMap(hash -> get(TRANSACTION_RECEIPTS_PREFIX, hash));
+        if (receipts.isEmpty() || IndexedTransactionReceiptsEncoding.isIndexed(receipts.get())) {
+          continue;
+        }
+        updater.putTransactionReceipts(
+            blockHash.get(), rlpDecodeTransactionReceipts(receipts.get()));
+        migrated++;
+      }
+      updater.setIndexedReceiptsMigrationMark(number + 1);
+      updater.commit();
+    }
+    return migrated;
+  }
+
+  private long getChainHeadNumber() {
+    return getChainHead().flatMap(this::getBlockHeader).map(BlockHeader::getNumber).orElse(-1L);
+  }
+
+  private List<TransactionReceipt> decodeTransactionReceipts(final Bytes bytes) {
+    return IndexedTransactionReceiptsEncoding.isIndexed(bytes)
+        ? IndexedTransactionReceiptsEncoding.decodeAll(bytes)
+        : rlpDecodeTransactionReceipts(bytes);
   }
 
   private List<TransactionReceipt> rlpDecodeTransactionReceipts(final Bytes bytes) {
@@ -262,14 +356,17 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     private final KeyValueStorageTransaction blockchainTransaction;
     private final VariablesStorage.Updater variablesUpdater;
     private final boolean receiptCompaction;
+    private final boolean indexedReceipts;
 
     Updater(
         final KeyValueStorageTransaction blockchainTransaction,
         final VariablesStorage.Updater variablesUpdater,
-        final boolean receiptCompaction) {
+        final boolean receiptCompaction,
+        final boolean indexedReceipts) {
       this.blockchainTransaction = blockchainTransaction;
       this.variablesUpdater = variablesUpdater;
       this.receiptCompaction = receiptCompaction;
+      this.indexedReceipts = indexedReceipts;
     }
 
     @Override
@@ -296,7 +393,12 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     @Override
     public void putTransactionReceipts(
         final Hash blockHash, final List<TransactionReceipt> transactionReceipts) {
-      set(TRANSACTION_RECEIPTS_PREFIX, blockHash, rlpEncode(transactionReceipts));
+      set(
+          TRANSACTION_RECEIPTS_PREFIX,
+          blockHash,
+          indexedReceipts
+              ? IndexedTransactionReceiptsEncoding.encode(transactionReceipts, encodingOptions())
+              : rlpEncode(transactionReceipts));
     }
 
     @Override
@@ -329,6 +431,10 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
       variablesUpdater.setSafeBlock(blockHash);
     }
 
+    void setIndexedReceiptsMigrationMark(final long blockNumber) {
+      variablesUpdater.setIndexedReceiptsMigrationMark(blockNumber);
+    }
+
     @Override
     public void removeBlockHash(final long blockNumber) {
       remove(BLOCK_HASH_PREFIX, UInt256.valueOf(blockNumber));
@@ -385,13 +491,14 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
           o ->
               o.writeList(
                   receipts,
-                  (r, rlpOutput) -> {
-                    var options =
-                        receiptCompaction
-                            ? TransactionReceiptEncodingConfiguration.STORAGE_WITH_COMPACTION
-                            : TransactionReceiptEncodingConfiguration.STORAGE_WITHOUT_COMPACTION;
-                    TransactionReceiptEncoder.writeTo(r, rlpOutput, options);
-                  }));
+                  (r, rlpOutput) ->
+                      TransactionReceiptEncoder.writeTo(r, rlpOutput, encodingOptions())));
+    }
+
+    private TransactionReceiptEncodingConfiguration encodingOptions() {
+      return receiptCompaction
+          ? TransactionReceiptEncodingConfiguration.STORAGE_WITH_COMPACTION
+          : TransactionReceiptEncodingConfiguration.STORAGE_WITHOUT_COMPACTION;
     }
 
     private void removeVariables() {
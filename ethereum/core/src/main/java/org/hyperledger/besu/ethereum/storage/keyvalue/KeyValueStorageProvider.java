@@ -75,7 +75,8 @@ public class KeyValueStorageProvider implements StorageProvider {
         getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.BLOCKCHAIN),
         variablesStorage,
         ScheduleBasedBlockHeaderFunctions.create(protocolSchedule),
-        dataStorageConfiguration.getReceiptCompactionEnabled());
+        dataStorageConfiguration.getReceiptCompactionEnabled(),
+        dataStorageConfiguration.getIndexedReceiptsEnabled());
   }
 
   @Override
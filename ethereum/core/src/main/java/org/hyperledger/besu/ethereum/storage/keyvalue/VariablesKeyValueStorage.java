@@ -32,6 +32,7 @@ import java.util.Optional;
 import com.google.common.collect.Lists;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
 
 public class VariablesKeyValueStorage implements VariablesStorage {
   final KeyValueStorage variables;
@@ -72,6 +73,13 @@ public class VariablesKeyValueStorage implements VariablesStorage {
     return getVariable(Keys.GENESIS_STATE_HASH).map(this::bytesToHash);
   }
 
+  @Override
+  public Optional<Long> getIndexedReceiptsMigrationMark() {
+    return getVariable(Keys.INDEXED_RECEIPTS_MIGRATION_MARK)
+        .map(UInt256::fromBytes)
+        .map(UInt256::toLong);
+  }
+
   @Override
   public Updater updater() {
     return new Updater(variables.startTransaction());
@@ -125,6 +133,11 @@ public class VariablesKeyValueStorage implements VariablesStorage {
       setVariable(Keys.GENESIS_STATE_HASH, genesisStateHash);
     }
 
+    @Override
+    public void setIndexedReceiptsMigrationMark(final long blockNumber) {
+      setVariable(Keys.INDEXED_RECEIPTS_MIGRATION_MARK, UInt256.valueOf(blockNumber));
+    }
+
     @Override
     public void removeAll() {
       removeVariable(CHAIN_HEAD_HASH);
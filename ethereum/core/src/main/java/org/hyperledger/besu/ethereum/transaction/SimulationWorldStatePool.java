@@ -0,0 +1,180 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.transaction;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares one frozen world state per block between the concurrent simulations at that block, so
+ * that they reuse its setup and the accounts, storage and code its accumulator already loaded.
+ *
+ * <p>The simulations must only read the shared world state, through updaters of their own that
+ * are never committed to it. The world states are retired when the chain head moves, and closed
+ * once the simulations still using them are done.
+ */
+public class SimulationWorldStatePool {
+  private static final Logger LOG = LoggerFactory.getLogger(SimulationWorldStatePool.class);
+  @VisibleForTesting static final int MAX_SHARED_WORLD_STATES = 16;
+
+  private final Function<BlockHeader, Optional<MutableWorldState>> worldStateProvider;
+  // guarded by this
+  private final Map<Hash, SharedWorldState> worldStates = new HashMap<>();
+
+  public SimulationWorldStatePool(
+      final Function<BlockHeader, Optional<MutableWorldState>> worldStateProvider) {
+    this.worldStateProvider = worldStateProvider;
+  }
+
+  /**
+   * Acquires the shared world state of the block, creating it for the first simulation.
+   *
+   * @param header the header of the block
+   * @return a lease on the shared world state to close when the simulation is done, or empty if
+   *     the world state is not available or too many blocks are already shared
+   */
+  public Optional<Lease> acquire(final BlockHeader header) {
+    final SharedWorldState shared;
+    synchronized (this) {
+      final SharedWorldState existing = worldStates.get(header.getHash());
+      if (existing != null) {
+        shared = existing;
+      } else if (worldStates.size() < MAX_SHARED_WORLD_STATES) {
+        shared = new SharedWorldState(Suppliers.memoize(() -> worldStateProvider.apply(header)));
+        worldStates.put(header.getHash(), shared);
+      } else {
+        return Optional.empty();
+      }
+      shared.references++;
+    }
+
+    final Optional<MutableWorldState> maybeWorldState;
+    try {
+      // the first simulation creates the world state, the others wait for it
+      maybeWorldState = shared.worldState.get();
+    } catch (final RuntimeException e) {
+      release(header.getHash(), shared, true);
+      throw e;
+    }
+    if (maybeWorldState.isEmpty()) {
+      release(header.getHash(), shared, true);
+      return Optional.empty();
+    }
+    shared.created = maybeWorldState.get();
+    return Optional.of(new Lease(header.getHash(), shared, maybeWorldState.get()));
+  }
+
+  /**
+   * Retires the shared world states when the chain head moves.
+   *
+   * @param event the block added event
+   */
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (event.isNewCanonicalHead()) {
+      retireAll();
+    }
+  }
+
+  public synchronized void retireAll() {
+    worldStates.values().forEach(this::retire);
+    worldStates.clear();
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return worldStates.size();
+  }
+
+  private void retire(final SharedWorldState shared) {
+    shared.retired = true;
+    if (shared.references == 0) {
+      shared.close();
+    }
+  }
+
+  private synchronized void release(
+      final Hash blockHash, final SharedWorldState shared, final boolean failed) {
+    shared.references--;
+    if (failed && worldStates.get(blockHash) == shared) {
+      // let the next simulation try again
+      worldStates.remove(blockHash);
+      shared.retired = true;
+    }
+    if (shared.retired && shared.references == 0) {
+      shared.close();
+    }
+  }
+
+  private static final class SharedWorldState {
+    private final Supplier<Optional<MutableWorldState>> worldState;
+    private volatile MutableWorldState created;
+    private int references;
+    private boolean retired;
+
+    private SharedWorldState(final Supplier<Optional<MutableWorldState>> worldState) {
+      this.worldState = worldState;
+    }
+
+    private void close() {
+      if (created != null) {
+        try {
+          created.close();
+        } catch (final Exception e) {
+          LOG.warn("Failed to close the shared simulation world state", e);
+        }
+      }
+    }
+  }
+
+  /** A simulation's use of a shared world state, to close when the simulation is done. */
+  public final class Lease implements AutoCloseable {
+    private final Hash blockHash;
+    private final SharedWorldState shared;
+    private final MutableWorldState worldState;
+    private boolean closed;
+
+    private Lease(
+        final Hash blockHash, final SharedWorldState shared, final MutableWorldState worldState) {
+      this.blockHash = blockHash;
+      this.shared = shared;
+      this.worldState = worldState;
+    }
+
+    public MutableWorldState worldState() {
+      return worldState;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        release(blockHash, shared, false);
+      }
+    }
+  }
+}
@@ -42,6 +42,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
@@ -96,6 +97,7 @@ public class TransactionSimulator {
   private final MiningConfiguration miningConfiguration;
   private final SimulationTransactionProcessorFactory simulationTransactionProcessorFactory;
   private final long rpcGasCap;
+  private final Optional<SimulationWorldStatePool> simulationWorldStatePool;
 
   public TransactionSimulator(
       final Blockchain blockchain,
@@ -103,6 +105,27 @@ public class TransactionSimulator {
       final ProtocolSchedule protocolSchedule,
       final MiningConfiguration miningConfiguration,
       final long rpcGasCap) {
+    this(blockchain, worldStateArchive, protocolSchedule, miningConfiguration, rpcGasCap, false);
+  }
+
+  /**
+   * Creates a transaction simulator.
+   *
+   * @param blockchain the blockchain
+   * @param worldStateArchive the world state archive
+   * @param protocolSchedule the protocol schedule
+   * @param miningConfiguration the mining configuration
+   * @param rpcGasCap the gas cap of the simulations
+   * @param sharedWorldStateEnabled whether the concurrent simulations at the same block share one
+   *     frozen world state, only supported by the path based world states
+   */
+  public TransactionSimulator(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ProtocolSchedule protocolSchedule,
+      final MiningConfiguration miningConfiguration,
+      final long rpcGasCap,
+      final boolean sharedWorldStateEnabled) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.protocolSchedule = protocolSchedule;
@@ -110,6 +133,20 @@ public class TransactionSimulator {
     this.rpcGasCap = rpcGasCap;
     this.simulationTransactionProcessorFactory =
         new SimulationTransactionProcessorFactory(protocolSchedule);
+    if (sharedWorldStateEnabled && worldStateArchive instanceof PathBasedWorldStateProvider) {
+      final SimulationWorldStatePool pool =
+          new SimulationWorldStatePool(
+              header -> {
+                final Optional<MutableWorldState> maybeWorldState =
+                    worldStateArchive.getWorldState(withBlockHeaderAndNoUpdateNodeHead(header));
+                maybeWorldState.ifPresent(TransactionSimulator::disableCacheMerkleTrieLoader);
+                return maybeWorldState;
+              });
+      blockchain.observeBlockAdded(pool::onBlockAdded);
+      this.simulationWorldStatePool = Optional.of(pool);
+    } else {
+      this.simulationWorldStatePool = Optional.empty();
+    }
   }
 
   public Optional<TransactionSimulatorResult> process(
@@ -290,40 +327,88 @@ public class TransactionSimulator {
       return Optional.empty();
     }
 
+    final Optional<SimulationWorldStatePool.Lease> maybeLease =
+        operationTracer instanceof DebugOperationTracer
+            ? Optional.empty()
+            : simulationWorldStatePool.flatMap(pool -> pool.acquire(header));
+    if (maybeLease.isPresent()) {
+      try (final SimulationWorldStatePool.Lease lease = maybeLease.get()) {
+        final MutableWorldState ws = lease.worldState();
+        // the world state is shared with the concurrent simulations at this block, so the
+        // simulation only writes to an updater of its own that is never committed to it
+        final WorldUpdater updater = getEffectiveWorldStateUpdater(ws).updater().updater();
+        return process(
+            callParams,
+            maybeStateOverrides,
+            transactionValidationParams,
+            operationTracer,
+            preWorldStateCloseGuard,
+            header,
+            ws,
+            updater);
+      } catch (final Exception e) {
+        return Optional.empty();
+      }
+    }
+
     try (final MutableWorldState ws = getWorldState(header)) {
 
       WorldUpdater updater = getEffectiveWorldStateUpdater(ws);
-      if (ws instanceof BonsaiWorldState bonsaiWorldState) {
-        bonsaiWorldState.disableCacheMerkleTrieLoader();
-      }
+      disableCacheMerkleTrieLoader(ws);
       // in order to trace the state diff we need to make sure that
       // the world updater always has a parent
       if (operationTracer instanceof DebugOperationTracer) {
         updater = updater.parentUpdater().isPresent() ? updater : updater.updater();
       }
 
-      final var miningBeneficiary =
-          protocolSchedule
-              .getByBlockHeader(header)
-              .getMiningBeneficiaryCalculator()
-              .calculateBeneficiary(header);
-
-      return preWorldStateCloseGuard.apply(
+      return process(
+          callParams,
+          maybeStateOverrides,
+          transactionValidationParams,
+          operationTracer,
+          preWorldStateCloseGuard,
+          header,
           ws,
-          processWithWorldUpdater(
-              callParams,
-              maybeStateOverrides,
-              transactionValidationParams,
-              operationTracer,
-              header,
-              updater,
-              miningBeneficiary));
+          updater);
 
     } catch (final Exception e) {
       return Optional.empty();
     }
   }
 
+  private <U> Optional<U> process(
+      final CallParameter callParams,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final TransactionValidationParams transactionValidationParams,
+      final OperationTracer operationTracer,
+      final PreCloseStateHandler<U> preWorldStateCloseGuard,
+      final BlockHeader header,
+      final MutableWorldState ws,
+      final WorldUpdater updater) {
+    final var miningBeneficiary =
+        protocolSchedule
+            .getByBlockHeader(header)
+            .getMiningBeneficiaryCalculator()
+            .calculateBeneficiary(header);
+
+    return preWorldStateCloseGuard.apply(
+        ws,
+        processWithWorldUpdater(
+            callParams,
+            maybeStateOverrides,
+            transactionValidationParams,
+            operationTracer,
+            header,
+            updater,
+            miningBeneficiary));
+  }
+
+  private static void disableCacheMerkleTrieLoader(final MutableWorldState ws) {
+    if (ws instanceof BonsaiWorldState bonsaiWorldState) {
+      bonsaiWorldState.disableCacheMerkleTrieLoader();
+    }
+  }
+
   public Optional<TransactionSimulatorResult> process(
       final CallParameter callParams, final Hash blockHeaderHash) {
     final BlockHeader header = blockchain.getBlockHeader(blockHeaderHash).orElse(null);
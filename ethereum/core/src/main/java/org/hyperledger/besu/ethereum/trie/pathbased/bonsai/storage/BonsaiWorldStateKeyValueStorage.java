@@ -37,12 +37,15 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -50,7 +53,13 @@ import org.apache.tuweni.bytes.Bytes32;
 
 public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValueStorage
     implements WorldStateKeyValueStorage {
+  // only the flat database is bulk loaded: the trie nodes are read back while the ranges are
+  // downloaded, and flat data lost if the node stops before a flush can be rebuilt from the trie
+  private static final Set<SegmentIdentifier> BULK_LOADED_SEGMENTS =
+      Set.of(ACCOUNT_INFO_STATE, ACCOUNT_STORAGE_STORAGE);
+
   protected final BonsaiFlatDbStrategyProvider flatDbStrategyProvider;
+  private final AtomicBoolean bulkLoadEnabled = new AtomicBoolean(false);
 
   public BonsaiWorldStateKeyValueStorage(
       final StorageProvider provider,
@@ -182,10 +191,34 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
         flatDbStrategyProvider.getFlatDbStrategy(composedWorldStateStorage);
   }
 
+  /**
+   * Enable or disable the bulk load mode. While enabled, the updaters write the flat account and
+   * storage data with bulk load transactions, which only make it readable once the mode is
+   * disabled, and the compactions of these segments are deferred. This is only suitable for loading
+   * the world state downloaded during a sync.
+   *
+   * @param enabled whether the bulk load mode should be enabled
+   */
+  public void setBulkLoadEnabled(final boolean enabled) {
+    if (bulkLoadEnabled.compareAndSet(!enabled, enabled)) {
+      if (!enabled) {
+        composedWorldStateStorage.flushBulkLoad();
+      }
+      BULK_LOADED_SEGMENTS.forEach(
+          segment -> composedWorldStateStorage.setBackgroundCompactionEnabled(segment, !enabled));
+    }
+  }
+
+  public boolean isBulkLoadEnabled() {
+    return bulkLoadEnabled.get();
+  }
+
   @Override
   public Updater updater() {
     return new Updater(
-        composedWorldStateStorage.startTransaction(),
+        bulkLoadEnabled.get()
+            ? composedWorldStateStorage.startBulkLoadTransaction(BULK_LOADED_SEGMENTS)
+            : composedWorldStateStorage.startTransaction(),
         trieLogStorage.startTransaction(),
         getFlatDbStrategy(),
         composedWorldStateStorage);
@@ -0,0 +1,127 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.operation.SStoreOperation;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.OptionalLong;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Records, for each successful message frame of a transaction, the least gas it had left during
+ * its execution, to derive how much the gas limit of the transaction could be lowered without any
+ * of these frames running out of gas.
+ *
+ * <p>Lowering the gas limit by some amount lowers the gas left in the top level frame by the same
+ * amount, but a frame at depth d, which was given all but one 64th of the gas of its caller, only
+ * loses about (63/64)^d of it. The spare gas of a frame at depth d therefore allows to lower the
+ * gas limit by its (64/63)^d multiple, and the gas limit can be lowered by the least of these
+ * allowances. The gas left before an SSTORE must also stay above the EIP-2200 stipend.
+ *
+ * <p>The estimate is not exact for code that depends on the gas left, or for calls given less gas
+ * than their caller had, and must be confirmed by executing the transaction with it.
+ */
+public class EstimateGasOperationTracer implements OperationTracer {
+  private static final double SUB_CALL_REMAINING_GAS_RATIO = 64D / 63D;
+  private static final int SSTORE_OPCODE = 0x55;
+
+  private final Deque<long[]> leastGasLeftByFrame = new ArrayDeque<>();
+  private long gasLimit;
+  private long allowance = Long.MAX_VALUE;
+  private boolean observed;
+
+  @Override
+  public void traceStartTransaction(final WorldView worldView, final Transaction transaction) {
+    gasLimit = transaction.getGasLimit();
+  }
+
+  @Override
+  public void traceContextEnter(final MessageFrame frame) {
+    observed = true;
+    leastGasLeftByFrame.push(new long[] {frame.getRemainingGas()});
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    if (frame.getCurrentOperation() != null
+        && frame.getCurrentOperation().getOpcode() == SSTORE_OPCODE) {
+      recordGasLeft(frame.getRemainingGas() - SStoreOperation.EIP_1706_MINIMUM - 1);
+    }
+  }
+
+  @Override
+  public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
+    // the gas given to a child frame is accounted by the child
+    if (frame.getState() != MessageFrame.State.CODE_SUSPENDED) {
+      recordGasLeft(frame.getRemainingGas());
+    }
+  }
+
+  @Override
+  public void tracePrecompileCall(
+      final MessageFrame frame, final long gasRequirement, final Bytes output) {
+    recordGasLeft(frame.getRemainingGas());
+  }
+
+  @Override
+  public void traceContextExit(final MessageFrame frame) {
+    if (leastGasLeftByFrame.isEmpty()) {
+      return;
+    }
+    // the code deposit of a contract creation is charged before the frame completes
+    recordGasLeft(frame.getRemainingGas());
+    final long leastGasLeft = leastGasLeftByFrame.pop()[0];
+    // a frame failing with all the gas fails the same way with less
+    if (frame.getState() == MessageFrame.State.COMPLETED_SUCCESS) {
+      allowance = Math.min(allowance, frameAllowance(leastGasLeft, frame.getDepth()));
+    }
+  }
+
+  /**
+   * The gas limit below which some frame of the traced transaction would run out of gas.
+   *
+   * @return the estimated minimal gas limit, or empty if no execution was traced
+   */
+  public OptionalLong estimateGasLimit() {
+    if (!observed || gasLimit == 0) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(gasLimit - Math.min(allowance, gasLimit));
+  }
+
+  private void recordGasLeft(final long gasLeft) {
+    final long[] leastGasLeft = leastGasLeftByFrame.peek();
+    if (leastGasLeft != null && gasLeft < leastGasLeft[0]) {
+      leastGasLeft[0] = gasLeft;
+    }
+  }
+
+  static long frameAllowance(final long leastGasLeft, final int depth) {
+    // one gas of rounding per level of the 63/64 rule
+    final long spareGas = leastGasLeft - depth;
+    if (spareGas <= 0) {
+      return 0;
+    }
+    return (long) (spareGas * Math.pow(SUB_CALL_REMAINING_GAS_RATIO, depth));
+  }
+}
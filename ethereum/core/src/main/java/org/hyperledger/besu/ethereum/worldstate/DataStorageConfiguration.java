@@ -17,6 +17,9 @@ package org.hyperledger.besu.ethereum.worldstate;
 import org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 import org.immutables.value.Value;
 
 @Value.Immutable
@@ -25,6 +28,7 @@ public interface DataStorageConfiguration {
 
   boolean DEFAULT_RECEIPT_COMPACTION_ENABLED = true;
   boolean DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED = false;
+  boolean DEFAULT_INDEXED_RECEIPTS_ENABLED = false;
 
   DataStorageConfiguration DEFAULT_CONFIG =
       ImmutableDataStorageConfiguration.builder()
@@ -70,4 +74,23 @@ public interface DataStorageConfiguration {
   default boolean getHistoryExpiryPruneEnabled() {
     return DEFAULT_HISTORY_EXPIRY_PRUNE_ENABLED;
   }
+
+  /**
+   * Whether to store the receipts of a block in an encoding that can be read one receipt at a time,
+   * and to migrate the receipts already stored. Older versions cannot read this encoding.
+   *
+   * @return true to store the receipts in the indexed encoding
+   */
+  @Value.Default
+  default boolean getIndexedReceiptsEnabled() {
+    return DEFAULT_INDEXED_RECEIPTS_ENABLED;
+  }
+
+  /**
+   * A directory of era1 files to read the block bodies and receipts missing from the database
+   * from, like the pruned pre-merge history.
+   *
+   * @return the era1 directory, empty to only read the history from the database
+   */
+  Optional<Path> getEra1HistoryDirectory();
 }
@@ -199,6 +199,43 @@ public class ChainDataPrunerTest {
     }
   }
 
+  @Test
+  public void lowestRetainedBlockNumberIsTheLowestBlockNotPruned() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions(),
+            false);
+    final ChainDataPruner chainDataPruner =
+        new ChainDataPruner(
+            blockchainStorage,
+            () -> {},
+            new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
+            0,
+            ChainDataPruner.Mode.CHAIN_PRUNING,
+            512,
+            0,
+            0,
+            new BlockingExecutor());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(chainDataPruner);
+    assertThat(chainDataPruner.getLowestRetainedBlockNumber(0)).isZero();
+
+    gen.blockSequence(genesisBlock, 1000)
+        .forEach(blk -> blockchain.appendBlock(blk, gen.receipts(blk)));
+
+    assertThat(chainDataPruner.getLowestRetainedBlockNumber(1000)).isEqualTo(489);
+    assertThat(blockchain.getBlockHeader(488)).isEmpty();
+    assertThat(blockchain.getBlockHeader(489)).isPresent();
+    // the blocks the pruner removes once the chain head advances
+    assertThat(chainDataPruner.getLowestRetainedBlockNumber(1100)).isEqualTo(588);
+  }
+
   protected static class BlockingExecutor extends AbstractExecutorService {
     @Override
     public void shutdown() {}
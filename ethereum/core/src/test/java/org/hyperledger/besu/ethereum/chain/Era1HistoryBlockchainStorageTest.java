@@ -0,0 +1,201 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncoder;
+import org.hyperledger.besu.ethereum.core.encoding.receipt.TransactionReceiptEncodingConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.era1.Era1Type;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+public class Era1HistoryBlockchainStorageTest {
+  private static final long ARCHIVED_BLOCK_NUMBER = 100;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final BlockchainStorage storage = mock(BlockchainStorage.class);
+
+  @TempDir private Path era1Directory;
+  private Block archivedBlock;
+  private List<TransactionReceipt> archivedReceipts;
+  private Era1HistoryBlockchainStorage era1Storage;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    archivedBlock =
+        gen.block(new BlockDataGenerator.BlockOptions().setBlockNumber(ARCHIVED_BLOCK_NUMBER));
+    archivedReceipts = gen.receipts(archivedBlock);
+    writeEra1File(archivedBlock, archivedReceipts);
+    // files that are not era1 files are ignored
+    Files.writeString(era1Directory.resolve("README.md"), "era1 archives");
+
+    era1Storage =
+        Era1HistoryBlockchainStorage.fromDirectory(
+            storage, era1Directory, new MainnetBlockHeaderFunctions());
+    when(storage.getBlockHeader(archivedBlock.getHash()))
+        .thenReturn(Optional.of(archivedBlock.getHeader()));
+  }
+
+  @Test
+  public void shouldReadPrunedBodyAndReceiptsFromEra1() {
+    when(storage.getBlockBody(archivedBlock.getHash())).thenReturn(Optional.empty());
+    when(storage.getTransactionReceipts(archivedBlock.getHash())).thenReturn(Optional.empty());
+    when(storage.getTransactionReceipt(archivedBlock.getHash(), 0)).thenReturn(Optional.empty());
+
+    assertThat(era1Storage.getBlockBody(archivedBlock.getHash())).contains(archivedBlock.getBody());
+    assertThat(era1Storage.getTransactionReceipts(archivedBlock.getHash()))
+        .contains(archivedReceipts);
+    assertThat(era1Storage.getTransactionReceipt(archivedBlock.getHash(), 0))
+        .contains(IndexedTransactionReceipt.fromBlockReceipts(archivedReceipts, 0).orElseThrow());
+  }
+
+  @Test
+  public void shouldReadFromTheDatabaseFirst() {
+    final BlockBody storedBody = BlockBody.empty();
+    final List<TransactionReceipt> storedReceipts = List.of();
+    when(storage.getBlockBody(archivedBlock.getHash())).thenReturn(Optional.of(storedBody));
+    when(storage.getTransactionReceipts(archivedBlock.getHash()))
+        .thenReturn(Optional.of(storedReceipts));
+
+    assertThat(era1Storage.getBlockBody(archivedBlock.getHash())).containsSame(storedBody);
+    assertThat(era1Storage.getTransactionReceipts(archivedBlock.getHash()))
+        .containsSame(storedReceipts);
+  }
+
+  @Test
+  public void shouldNotReadEra1ForABlockOnAnotherFork() {
+    final BlockHeader forkHeader = gen.header(ARCHIVED_BLOCK_NUMBER);
+    when(storage.getBlockHeader(forkHeader.getHash())).thenReturn(Optional.of(forkHeader));
+    when(storage.getBlockBody(forkHeader.getHash())).thenReturn(Optional.empty());
+    when(storage.getTransactionReceipts(forkHeader.getHash())).thenReturn(Optional.empty());
+
+    assertThat(era1Storage.getBlockBody(forkHeader.getHash())).isEmpty();
+    assertThat(era1Storage.getTransactionReceipts(forkHeader.getHash())).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReadEra1ForABlockOutsideTheArchives() {
+    final BlockHeader header = gen.header(ARCHIVED_BLOCK_NUMBER + 1);
+    when(storage.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+    when(storage.getBlockBody(header.getHash())).thenReturn(Optional.empty());
+
+    assertThat(era1Storage.getBlockBody(header.getHash())).isEmpty();
+  }
+
+  @Test
+  public void shouldNotReadEra1ForAnUnknownBlock() {
+    final Hash unknownHash = gen.hash();
+    when(storage.getBlockHeader(unknownHash)).thenReturn(Optional.empty());
+    when(storage.getBlockBody(unknownHash)).thenReturn(Optional.empty());
+
+    assertThat(era1Storage.getBlockBody(unknownHash)).isEmpty();
+  }
+
+  @Test
+  public void shouldDelegateEverythingElseToTheDatabase() {
+    final Hash chainHead = gen.hash();
+    when(storage.getChainHead()).thenReturn(Optional.of(chainHead));
+    when(storage.getBlockHash(ARCHIVED_BLOCK_NUMBER))
+        .thenReturn(Optional.of(archivedBlock.getHash()));
+
+    assertThat(era1Storage.getChainHead()).contains(chainHead);
+    assertThat(era1Storage.getBlockHash(ARCHIVED_BLOCK_NUMBER)).contains(archivedBlock.getHash());
+    assertThat(era1Storage.getBlockHeader(archivedBlock.getHash()))
+        .contains(archivedBlock.getHeader());
+  }
+
+  private void writeEra1File(final Block block, final List<TransactionReceipt> receipts)
+      throws IOException {
+    final ByteArrayOutputStream file = new ByteArrayOutputStream();
+    writeEntry(file, Era1Type.VERSION, new byte[0]);
+    final long blockPosition = file.size();
+    writeEntry(
+        file,
+        Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER,
+        compress(RLP.encode(block.getHeader()::writeTo).toArrayUnsafe()));
+    writeEntry(
+        file,
+        Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY,
+        compress(RLP.encode(block.getBody()::writeWrappedBodyTo).toArrayUnsafe()));
+    writeEntry(
+        file,
+        Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS,
+        compress(
+            RLP.encode(
+                    out ->
+                        out.writeList(
+                            receipts,
+                            (receipt, receiptOutput) ->
+                                TransactionReceiptEncoder.writeTo(
+                                    receipt,
+                                    receiptOutput,
+                                    TransactionReceiptEncodingConfiguration
+                                        .DEFAULT_NETWORK_CONFIGURATION)))
+                .toArrayUnsafe()));
+    writeEntry(file, Era1Type.TOTAL_DIFFICULTY, new byte[32]);
+    writeEntry(file, Era1Type.ACCUMULATOR, new byte[32]);
+
+    final long blockIndexPosition = file.size();
+    final ByteBuffer blockIndex =
+        ByteBuffer.allocate(3 * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    blockIndex.putLong(block.getHeader().getNumber());
+    blockIndex.putLong(blockPosition - blockIndexPosition);
+    blockIndex.putLong(1);
+    writeEntry(file, Era1Type.BLOCK_INDEX, blockIndex.array());
+
+    Files.write(era1Directory.resolve("test-00000-00000000.era1"), file.toByteArray());
+  }
+
+  private static void writeEntry(
+      final ByteArrayOutputStream file, final Era1Type type, final byte[] data) {
+    file.writeBytes(type.getTypeCode());
+    final ByteBuffer length = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    length.putLong(data.length);
+    file.write(length.array(), 0, 6);
+    file.writeBytes(data);
+  }
+
+  private static byte[] compress(final byte[] data) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (final SnappyFramedOutputStream compressionStream =
+        new SnappyFramedOutputStream(compressed)) {
+      compressionStream.write(data);
+    }
+    return compressed.toByteArray();
+  }
+}
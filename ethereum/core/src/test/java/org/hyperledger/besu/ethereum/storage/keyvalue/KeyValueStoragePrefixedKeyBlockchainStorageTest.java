@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.storage.keyvalue;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.CHAIN_HEAD_HASH;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.FINALIZED_BLOCK_HASH;
 import static org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys.SAFE_BLOCK_HASH;
@@ -27,19 +28,29 @@ import static org.hyperledger.besu.ethereum.core.VariablesStorageHelper.populate
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.IndexedTransactionReceipt;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage;
 import org.hyperledger.besu.ethereum.chain.VariablesStorage.Keys;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.LongUnaryOperator;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 public class KeyValueStoragePrefixedKeyBlockchainStorageTest {
+  private static final Bytes TRANSACTION_RECEIPTS_PREFIX = Bytes.of(4);
+  private static final LongUnaryOperator NO_PRUNING = chainHeadNumber -> 0;
   private final BlockHeaderFunctions blockHeaderFunctions = mock(BlockHeaderFunctions.class);
   private KeyValueStorage kvBlockchain;
   private KeyValueStorage kvVariables;
@@ -116,4 +127,117 @@ public class KeyValueStoragePrefixedKeyBlockchainStorageTest {
             new KeyValueStoragePrefixedKeyBlockchainStorage(
                 kvBlockchain, variablesStorage, blockHeaderFunctions, false));
   }
+
+  @Test
+  public void indexedReceiptsCanBeReadOneByOne() {
+    final var blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, true, true);
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final Hash blockHash = gen.hash();
+    final List<TransactionReceipt> receipts =
+        List.of(gen.receipt(21_000L), gen.receipt(50_000L), gen.receipt(90_000L));
+    final var updater = blockchainStorage.updater();
+    updater.putTransactionReceipts(blockHash, receipts);
+    updater.commit();
+
+    assertThat(blockchainStorage.getTransactionReceipts(blockHash)).contains(receipts);
+    assertThat(blockchainStorage.getTransactionReceipt(blockHash, 2))
+        .contains(new IndexedTransactionReceipt(receipts.get(2), 40_000L, 4));
+    for (int i = 0; i < receipts.size(); i++) {
+      assertThat(blockchainStorage.getTransactionReceipt(blockHash, i))
+          .isEqualTo(IndexedTransactionReceipt.fromBlockReceipts(receipts, i));
+    }
+    assertThat(blockchainStorage.getTransactionReceipt(blockHash, receipts.size())).isEmpty();
+  }
+
+  @Test
+  public void legacyReceiptsAreMigratedToIndexedReceipts() {
+    final var legacyStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, true, false);
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockHeader header = gen.header(1L);
+    final List<TransactionReceipt> receipts = List.of(gen.receipt(21_000L), gen.receipt(50_000L));
+    final var updater = legacyStorage.updater();
+    updater.putBlockHeader(header.getHash(), header);
+    updater.putBlockHash(header.getNumber(), header.getHash());
+    updater.putTransactionReceipts(header.getHash(), receipts);
+    updater.setChainHead(header.getHash());
+    updater.commit();
+    assertThat(legacyStorage.migrateToIndexedReceipts(10, NO_PRUNING)).isZero();
+
+    final var indexedStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, true, true);
+    assertThat(indexedStorage.migrateToIndexedReceipts(10, NO_PRUNING)).isEqualTo(1);
+    assertThat(indexedStorage.migrateToIndexedReceipts(10, NO_PRUNING)).isZero();
+
+    assertThat(indexedStorage.getTransactionReceipts(header.getHash())).contains(receipts);
+    assertThat(indexedStorage.getTransactionReceipt(header.getHash(), 1))
+        .contains(new IndexedTransactionReceipt(receipts.get(1), 29_000L, 2));
+  }
+
+  @Test
+  public void indexedReceiptsMigrationResumesBelowTheMigrationMark() {
+    final List<Hash> blockHashes = storeLegacyReceipts(6);
+    final var variablesUpdater = variablesStorage.updater();
+    variablesUpdater.setIndexedReceiptsMigrationMark(3);
+    variablesUpdater.commit();
+
+    final var indexedStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, true, true);
+    assertThat(indexedStorage.migrateToIndexedReceipts(2, NO_PRUNING)).isEqualTo(3);
+    assertThat(variablesStorage.getIndexedReceiptsMigrationMark()).contains(0L);
+    assertThat(indexedStorage.migrateToIndexedReceipts(2, NO_PRUNING)).isZero();
+
+    // the blocks above the mark are not read again
+    for (int number = 0; number < blockHashes.size(); number++) {
+      assertThat(isIndexed(indexedStorage, blockHashes.get(number))).isEqualTo(number < 3);
+    }
+  }
+
+  @Test
+  public void indexedReceiptsMigrationSkipsTheBlocksThePrunerMayRemove() {
+    final List<Hash> blockHashes = storeLegacyReceipts(6);
+    final var indexedStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, true, true);
+
+    // the blocks more than 4 blocks below the chain head are pruned, and the chain head may
+    // advance by a batch of 2 blocks before it is committed
+    assertThat(indexedStorage.migrateToIndexedReceipts(2, chainHeadNumber -> chainHeadNumber - 4))
+        .isEqualTo(3);
+    for (int number = 0; number < blockHashes.size(); number++) {
+      assertThat(isIndexed(indexedStorage, blockHashes.get(number))).isEqualTo(number >= 3);
+    }
+  }
+
+  private List<Hash> storeLegacyReceipts(final int blockCount) {
+    final var legacyStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            kvBlockchain, variablesStorage, blockHeaderFunctions, true, false);
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Hash> blockHashes = new ArrayList<>();
+    final var updater = legacyStorage.updater();
+    for (long number = 0; number < blockCount; number++) {
+      final BlockHeader header = gen.header(number);
+      updater.putBlockHeader(header.getHash(), header);
+      updater.putBlockHash(number, header.getHash());
+      updater.putTransactionReceipts(header.getHash(), List.of(gen.receipt(21_000L)));
+      updater.setChainHead(header.getHash());
+      blockHashes.add(header.getHash());
+    }
+    updater.commit();
+    return blockHashes;
+  }
+
+  private static boolean isIndexed(
+      final KeyValueStoragePrefixedKeyBlockchainStorage storage, final Hash blockHash) {
+    return storage
+        .get(TRANSACTION_RECEIPTS_PREFIX, blockHash)
+        .map(IndexedTransactionReceiptsEncoding::isIndexed)
+        .orElseThrow();
+  }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SimulationWorldStatePoolTest {
+  private final BlockHeader header = new BlockHeaderTestFixture().number(1).buildHeader();
+  private final List<MutableWorldState> created = new ArrayList<>();
+  private final SimulationWorldStatePool pool =
+      new SimulationWorldStatePool(
+          blockHeader -> {
+            final MutableWorldState worldState = mock(MutableWorldState.class);
+            created.add(worldState);
+            return Optional.of(worldState);
+          });
+
+  @Test
+  public void shouldShareTheWorldStateOfABlock() throws Exception {
+    try (final SimulationWorldStatePool.Lease first = pool.acquire(header).orElseThrow();
+        final SimulationWorldStatePool.Lease second = pool.acquire(header).orElseThrow()) {
+      assertThat(first.worldState()).isSameAs(second.worldState());
+    }
+    assertThat(created).hasSize(1);
+    verify(created.get(0), never()).close();
+  }
+
+  @Test
+  public void shouldCloseTheRetiredWorldStateOnceReleased() throws Exception {
+    final SimulationWorldStatePool.Lease lease = pool.acquire(header).orElseThrow();
+    pool.onBlockAdded(headAdvanced());
+
+    assertThat(pool.size()).isZero();
+    verify(created.get(0), never()).close();
+
+    lease.close();
+    verify(created.get(0)).close();
+
+    try (final SimulationWorldStatePool.Lease next = pool.acquire(header).orElseThrow()) {
+      assertThat(next.worldState()).isNotSameAs(lease.worldState());
+    }
+  }
+
+  @Test
+  public void shouldIsolateTheConcurrentSimulationsSharingAWorldState() throws Exception {
+    final int simulations = 8;
+    final Address sharedAddress = Address.fromHexString("0x1000");
+    final MutableWorldState headWorldState =
+        InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive(
+                mock(Blockchain.class))
+            .getWorldState();
+    final WorldUpdater setup = headWorldState.updater();
+    setup.createAccount(sharedAddress, 0, Wei.of(100));
+    setup.commit();
+    final AtomicInteger createdWorldStates = new AtomicInteger();
+    final SimulationWorldStatePool sharedPool =
+        new SimulationWorldStatePool(
+            blockHeader -> {
+              createdWorldStates.incrementAndGet();
+              return Optional.of(headWorldState.freezeStorage());
+            });
+
+    final CyclicBarrier barrier = new CyclicBarrier(simulations);
+    final ExecutorService executor = Executors.newFixedThreadPool(simulations);
+    try {
+      final List<Future<MutableWorldState>> results = new ArrayList<>();
+      for (int i = 0; i < simulations; i++) {
+        final int simulation = i;
+        results.add(
+            executor.submit(
+                () -> {
+                  try (final SimulationWorldStatePool.Lease lease =
+                      sharedPool.acquire(header).orElseThrow()) {
+                    // the same updaters as the transaction simulator
+                    final WorldUpdater updater = lease.worldState().updater().updater().updater();
+                    updater.getAccount(sharedAddress).setBalance(Wei.of(simulation));
+                    updater.createAccount(simulationAddress(simulation), 0, Wei.ONE);
+                    barrier.await(10, TimeUnit.SECONDS);
+
+                    assertThat(updater.get(sharedAddress).getBalance())
+                        .isEqualTo(Wei.of(simulation));
+                    for (int other = 0; other < simulations; other++) {
+                      if (other != simulation) {
+                        assertThat(updater.get(simulationAddress(other))).isNull();
+                      }
+                    }
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return lease.worldState();
+                  }
+                }));
+      }
+      for (final Future<MutableWorldState> result : results) {
+        assertThat(result.get(30, TimeUnit.SECONDS)).isSameAs(headWorldState);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(createdWorldStates).hasValue(1);
+
+    // the next simulation sees none of the writes of the returned ones
+    try (final SimulationWorldStatePool.Lease next = sharedPool.acquire(header).orElseThrow()) {
+      final WorldUpdater updater = next.worldState().updater().updater().updater();
+      assertThat(updater.get(sharedAddress).getBalance()).isEqualTo(Wei.of(100));
+      for (int simulation = 0; simulation < simulations; simulation++) {
+        assertThat(updater.get(simulationAddress(simulation))).isNull();
+      }
+    }
+    assertThat(createdWorldStates).hasValue(1);
+  }
+
+  @Test
+  public void shouldNotShareMoreThanTheMaximumNumberOfBlocks() {
+    for (int i = 0; i < SimulationWorldStatePool.MAX_SHARED_WORLD_STATES; i++) {
+      assertThat(pool.acquire(new BlockHeaderTestFixture().number(i + 2).buildHeader()))
+          .isPresent();
+    }
+    assertThat(pool.acquire(header)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotKeepUnavailableWorldStates() {
+    final SimulationWorldStatePool unavailable =
+        new SimulationWorldStatePool(blockHeader -> Optional.empty());
+
+    assertThat(unavailable.acquire(header)).isEmpty();
+    assertThat(unavailable.size()).isZero();
+  }
+
+  private static Address simulationAddress(final int simulation) {
+    return Address.fromHexString(String.format("0x%04x", 0x2000 + simulation));
+  }
+
+  private static BlockAddedEvent headAdvanced() {
+    final BlockAddedEvent event = mock(BlockAddedEvent.class);
+    when(event.isNewCanonicalHead()).thenReturn(true);
+    return event;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.frame.MessageFrame.State;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import org.junit.jupiter.api.Test;
+
+public class EstimateGasOperationTracerTest {
+  private static final long GAS_LIMIT = 100_000L;
+
+  private final EstimateGasOperationTracer tracer = new EstimateGasOperationTracer();
+
+  @Test
+  public void shouldNotEstimateWithoutExecution() {
+    assertThat(tracer.estimateGasLimit()).isEmpty();
+  }
+
+  @Test
+  public void shouldLowerTheGasLimitByTheSpareGasOfTheTopLevelFrame() {
+    startTransaction();
+    tracer.traceContextEnter(frame(0, 79_000L, State.CODE_EXECUTING));
+    tracer.tracePostExecution(frame(0, 50_000L, State.CODE_EXECUTING), null);
+    tracer.tracePostExecution(frame(0, 45_000L, State.CODE_EXECUTING), null);
+    tracer.traceContextExit(frame(0, 45_000L, State.COMPLETED_SUCCESS));
+
+    assertThat(tracer.estimateGasLimit()).hasValue(GAS_LIMIT - 45_000L);
+  }
+
+  @Test
+  public void shouldScaleTheSpareGasOfSubCalls() {
+    startTransaction();
+    tracer.traceContextEnter(frame(0, 79_000L, State.CODE_EXECUTING));
+    tracer.tracePostExecution(frame(0, 70_000L, State.CODE_EXECUTING), null);
+    // the gas given to the child is not spare gas of the caller
+    tracer.tracePostExecution(frame(0, 1_000L, State.CODE_SUSPENDED), null);
+    tracer.traceContextEnter(frame(1, 68_000L, State.CODE_EXECUTING));
+    tracer.tracePostExecution(frame(1, 30_001L, State.CODE_EXECUTING), null);
+    tracer.traceContextExit(frame(1, 30_001L, State.COMPLETED_SUCCESS));
+    tracer.tracePostExecution(frame(0, 40_000L, State.CODE_EXECUTING), null);
+    tracer.traceContextExit(frame(0, 40_000L, State.COMPLETED_SUCCESS));
+
+    // 30_000 * 64 / 63 = 30_476.19
+    assertThat(tracer.estimateGasLimit()).hasValue(GAS_LIMIT - 30_476L);
+  }
+
+  @Test
+  public void shouldIgnoreFailedSubCalls() {
+    startTransaction();
+    tracer.traceContextEnter(frame(0, 79_000L, State.CODE_EXECUTING));
+    tracer.traceContextEnter(frame(1, 10_000L, State.CODE_EXECUTING));
+    tracer.tracePostExecution(frame(1, 0L, State.EXCEPTIONAL_HALT), null);
+    tracer.traceContextExit(frame(1, 0L, State.COMPLETED_FAILED));
+    tracer.tracePostExecution(frame(0, 60_000L, State.CODE_EXECUTING), null);
+    tracer.traceContextExit(frame(0, 60_000L, State.COMPLETED_SUCCESS));
+
+    assertThat(tracer.estimateGasLimit()).hasValue(GAS_LIMIT - 60_000L);
+  }
+
+  @Test
+  public void shouldNotLowerTheGasLimitBelowTheGasUsed() {
+    assertThat(EstimateGasOperationTracer.frameAllowance(0L, 0)).isZero();
+    assertThat(EstimateGasOperationTracer.frameAllowance(1L, 2)).isZero();
+    assertThat(EstimateGasOperationTracer.frameAllowance(6_300L, 0)).isEqualTo(6_300L);
+  }
+
+  private void startTransaction() {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getGasLimit()).thenReturn(GAS_LIMIT);
+    tracer.traceStartTransaction(mock(WorldView.class), transaction);
+  }
+
+  private static MessageFrame frame(final int depth, final long remainingGas, final State state) {
+    final MessageFrame frame = mock(MessageFrame.class);
+    when(frame.getDepth()).thenReturn(depth);
+    when(frame.getRemainingGas()).thenReturn(remainingGas);
+    when(frame.getState()).thenReturn(state);
+    return frame;
+  }
+}
@@ -99,6 +99,7 @@ public class EthPeer implements Comparable<EthPeer> {
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final PeerResponseStatistics responseStatistics = new PeerResponseStatistics();
   private final Map<PeerValidator, Boolean> validationStatus = new ConcurrentHashMap<>();
   private final Bytes id;
   private boolean isServingSnap = false;
@@ -490,6 +491,26 @@ public class EthPeer implements Comparable<EthPeer> {
     return reputation;
   }
 
+  /**
+   * Records the time the peer took to answer a request
+   *
+   * @param requestCode the code of the request message
+   * @param latencyMillis the time between sending the request and receiving the response
+   * @param responseBytes the size of the response
+   */
+  public void recordResponseTime(
+      final int requestCode, final long latencyMillis, final int responseBytes) {
+    responseStatistics.recordResponse(requestCode, latencyMillis, responseBytes);
+  }
+
+  public Optional<Double> getEstimatedThroughput() {
+    return responseStatistics.getThroughput();
+  }
+
+  public Optional<Long> getSlowResponseThresholdMillis(final int requestCode) {
+    return responseStatistics.getSlowResponseThresholdMillis(requestCode);
+  }
+
   void handleDisconnect() {
     LOG.trace("handleDisconnect - EthPeer {}", this);
 
@@ -86,6 +86,17 @@ public class EthPeers implements PeerSelector {
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
+
+  // peers without responses yet are tried first, to learn how fast they are
+  public static final Comparator<EthPeer> FASTEST_TO_SLOWEST =
+      Comparator.comparing(
+          (final EthPeer p) -> p.getEstimatedThroughput().orElse(Double.MAX_VALUE),
+          Comparator.reverseOrder());
+
+  public static final Comparator<EthPeer> LEAST_BUSY_THEN_FASTEST =
+      Comparator.comparing(EthPeer::outstandingRequests)
+          .thenComparing(FASTEST_TO_SLOWEST)
+          .thenComparing(EthPeer::getLastRequestTimestamp);
   public static final int NODE_ID_LENGTH = 64;
   public static final int USEFULL_PEER_SCORE_THRESHOLD = 102;
 
@@ -494,7 +505,7 @@ public class EthPeers implements PeerSelector {
         .filter(filter)
         .filter(EthPeer::hasAvailableRequestCapacity)
         .filter(EthPeer::isFullyValidated)
-        .min(LEAST_TO_MOST_BUSY);
+        .min(LEAST_BUSY_THEN_FASTEST);
   }
 
   // Part of the PeerSelector interface, to be split apart later
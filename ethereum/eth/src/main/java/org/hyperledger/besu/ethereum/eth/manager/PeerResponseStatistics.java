@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moving estimates of how fast a peer answers requests, used to prefer the fastest peers and to
+ * detect the requests that take abnormally long.
+ *
+ * <p>The latency is estimated per request code, the way TCP estimates the round trip time: a
+ * smoothed mean and a smoothed mean deviation, whose sum with four deviations is rarely exceeded by
+ * a normal response. The throughput is estimated across all the requests, in response bytes per
+ * millisecond.
+ */
+public class PeerResponseStatistics {
+  static final double LATENCY_GAIN = 1.0 / 8;
+  static final double DEVIATION_GAIN = 1.0 / 4;
+  static final double THROUGHPUT_GAIN = 1.0 / 8;
+  static final int DEVIATION_MULTIPLIER = 4;
+
+  private final Map<Integer, LatencyEstimate> latencyByRequestCode = new ConcurrentHashMap<>();
+  private double throughput = 0;
+  private boolean hasThroughput = false;
+
+  /**
+   * Records a response received from the peer.
+   *
+   * @param requestCode the code of the request message
+   * @param latencyMillis the time between sending the request and receiving the response
+   * @param responseBytes the size of the response
+   */
+  public void recordResponse(
+      final int requestCode, final long latencyMillis, final int responseBytes) {
+    final long latency = Math.max(1, latencyMillis);
+    latencyByRequestCode
+        .computeIfAbsent(requestCode, code -> new LatencyEstimate())
+        .record(latency);
+    synchronized (this) {
+      final double sample = (double) responseBytes / latency;
+      throughput = hasThroughput ? throughput + THROUGHPUT_GAIN * (sample - throughput) : sample;
+      hasThroughput = true;
+    }
+  }
+
+  /**
+   * The estimated throughput of the peer, in response bytes per millisecond.
+   *
+   * @return the throughput, empty when no response has been recorded yet
+   */
+  public synchronized Optional<Double> getThroughput() {
+    return hasThroughput ? Optional.of(throughput) : Optional.empty();
+  }
+
+  /**
+   * The smoothed latency of the responses to the given request.
+   *
+   * @param requestCode the code of the request message
+   * @return the latency in milliseconds, empty when no response has been recorded yet
+   */
+  public Optional<Long> getLatencyMillis(final int requestCode) {
+    return Optional.ofNullable(latencyByRequestCode.get(requestCode))
+        .map(estimate -> Math.round(estimate.getMean()));
+  }
+
+  /**
+   * The latency above which a response to the given request is late compared to the previous ones.
+   *
+   * @param requestCode the code of the request message
+   * @return the threshold in milliseconds, empty when no response has been recorded yet
+   */
+  public Optional<Long> getSlowResponseThresholdMillis(final int requestCode) {
+    return Optional.ofNullable(latencyByRequestCode.get(requestCode))
+        .map(LatencyEstimate::getSlowResponseThreshold);
+  }
+
+  private static class LatencyEstimate {
+    private double mean;
+    private double deviation;
+    private boolean hasSample = false;
+
+    synchronized void record(final long latency) {
+      if (!hasSample) {
+        mean = latency;
+        deviation = latency / 2.0;
+        hasSample = true;
+      } else {
+        deviation += DEVIATION_GAIN * (Math.abs(latency - mean) - deviation);
+        mean += LATENCY_GAIN * (latency - mean);
+      }
+    }
+
+    synchronized double getMean() {
+      return mean;
+    }
+
+    synchronized long getSlowResponseThreshold() {
+      return Math.round(mean + DEVIATION_MULTIPLIER * deviation);
+    }
+  }
+}
@@ -77,6 +77,17 @@ public interface PeerTask<T> {
     return Duration.ofSeconds(1);
   }
 
+  /**
+   * Whether the request may also be sent to a second peer when the first one is slower than usual
+   * to answer, the first valid response being used. A request sent to a second peer is not retried
+   * against the first one.
+   *
+   * @return true if the request may be sent to a second peer
+   */
+  default boolean isHedgingAllowed() {
+    return false;
+  }
+
   /**
    * Gets a Predicate that checks if an EthPeer is suitable for this PeerTask
    *
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.manager.peertask;
 
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.SubProtocol;
@@ -29,9 +30,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +47,9 @@ import org.slf4j.LoggerFactory;
 public class PeerTaskExecutor {
   private static final Logger LOG = LoggerFactory.getLogger(PeerTaskExecutor.class);
 
+  /** Min time to wait for the response of a peer before hedging the request to another one */
+  static final long MIN_HEDGE_DELAY_MILLIS = 200;
+
   private final PeerSelector peerSelector;
   private final PeerTaskRequestSender requestSender;
 
@@ -47,8 +57,10 @@ public class PeerTaskExecutor {
   private final LabelledMetric<Counter> timeoutCounter;
   private final LabelledMetric<Counter> invalidResponseCounter;
   private final LabelledMetric<Counter> internalExceptionCounter;
+  private final LabelledMetric<Counter> hedgedRequestCounter;
   private final LabelledSuppliedMetric inflightRequestGauge;
   private final Map<String, AtomicInteger> inflightRequestCountByClassName;
+  private final ExecutorService responseHandlerExecutor;
 
   public PeerTaskExecutor(
       final PeerSelector peerSelector,
@@ -80,6 +92,12 @@ public class PeerTaskExecutor {
             "internal_exception_total",
             "Counter of the number of internal exceptions occurred",
             "taskName");
+    hedgedRequestCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.PEERS,
+            "hedged_request_total",
+            "Counter of the number of requests also sent to a second peer because the first one was slower than usual to answer",
+            "taskName");
     inflightRequestGauge =
         metricsSystem.createLabelledSuppliedGauge(
             BesuMetricCategory.PEERS,
@@ -87,6 +105,8 @@ public class PeerTaskExecutor {
             "Gauge of the number of inflight requests",
             "taskName");
     inflightRequestCountByClassName = new ConcurrentHashMap<>();
+    responseHandlerExecutor =
+        MonitoredExecutors.newCachedThreadPool("peer-task-response-handler", metricsSystem);
   }
 
   public <T> PeerTaskExecutorResult<T> execute(final PeerTask<T> peerTask) {
@@ -106,7 +126,10 @@ public class PeerTaskExecutor {
         break;
       }
       usedEthPeers.add(peer.get());
-      executorResult = executeAgainstPeer(peerTask, peer.get());
+      executorResult =
+          peerTask.isHedgingAllowed()
+              ? executeHedgedAgainstPeer(peerTask, peer.get(), usedEthPeers)
+              : executeAgainstPeer(peerTask, peer.get());
     } while (retriesRemaining-- > 0
         && executorResult.responseCode() != PeerTaskExecutorResponseCode.SUCCESS);
 
@@ -117,90 +140,245 @@ public class PeerTaskExecutor {
   public <T> PeerTaskExecutorResult<T> executeAgainstPeer(
       final PeerTask<T> peerTask, final EthPeer peer) {
     String taskClassName = peerTask.getClass().getSimpleName();
-    AtomicInteger inflightRequestCountForThisTaskClass =
-        inflightRequestCountByClassName.computeIfAbsent(
-            taskClassName,
-            (k) -> {
-              AtomicInteger inflightRequests = new AtomicInteger(0);
-              inflightRequestGauge.labels(inflightRequests::get, taskClassName);
-              return inflightRequests;
-            });
+    AtomicInteger inflightRequestCountForThisTaskClass = getInflightRequestCount(taskClassName);
     MessageData requestMessageData = peerTask.getRequestMessage();
     SubProtocol peerTaskSubProtocol = peerTask.getSubProtocol();
     PeerTaskExecutorResult<T> executorResult;
     int retriesRemaining = peerTask.getRetriesWithSamePeer();
     do {
-      try {
-        T result;
-        try (final OperationTimer.TimingContext ignored =
-            requestTimer.labels(taskClassName).startTimer()) {
-          inflightRequestCountForThisTaskClass.incrementAndGet();
+      final long requestStartMillis = System.currentTimeMillis();
+      MessageData responseMessageData = null;
+      Exception requestException = null;
+      try (final OperationTimer.TimingContext ignored =
+          requestTimer.labels(taskClassName).startTimer()) {
+        inflightRequestCountForThisTaskClass.incrementAndGet();
+
+        responseMessageData =
+            requestSender.sendRequest(peerTaskSubProtocol, requestMessageData, peer);
+      } catch (PeerNotConnected
+          | ExecutionException
+          | InterruptedException
+          | TimeoutException
+          | RuntimeException e) {
+        requestException = e;
+      } finally {
+        inflightRequestCountForThisTaskClass.decrementAndGet();
+      }
+      executorResult =
+          handleResponse(
+              peerTask,
+              peer,
+              requestMessageData,
+              requestStartMillis,
+              responseMessageData,
+              requestException);
+    } while (retriesRemaining-- > 0
+        && executorResult.responseCode() != PeerTaskExecutorResponseCode.SUCCESS
+        && executorResult.responseCode() != PeerTaskExecutorResponseCode.PEER_DISCONNECTED
+        && sleepBetweenRetries(peerTask));
 
-          MessageData responseMessageData =
-              requestSender.sendRequest(peerTaskSubProtocol, requestMessageData, peer);
+    return executorResult;
+  }
 
-          if (responseMessageData == null) {
-            throw new InvalidPeerTaskResponseException();
-          }
+  /**
+   * Sends the request to the peer and, if it does not answer within its usual latency, also to
+   * another suitable peer, retrying with the same peer like {@link #executeAgainstPeer} if none of
+   * them succeeds.
+   */
+  private <T> PeerTaskExecutorResult<T> executeHedgedAgainstPeer(
+      final PeerTask<T> peerTask, final EthPeer peer, final List<EthPeer> usedEthPeers) {
+    final Optional<Long> hedgeDelayMillis =
+        peer.getSlowResponseThresholdMillis(peerTask.getRequestMessage().getCode())
+            .map(threshold -> Math.max(threshold, MIN_HEDGE_DELAY_MILLIS))
+            .filter(delay -> delay < requestSender.getTimeoutMs());
+    if (hedgeDelayMillis.isEmpty()) {
+      // nothing is known yet about the latency of this peer
+      return executeAgainstPeer(peerTask, peer);
+    }
 
-          result = peerTask.processResponse(responseMessageData);
-        } finally {
+    PeerTaskExecutorResult<T> executorResult;
+    int retriesRemaining = peerTask.getRetriesWithSamePeer();
+    do {
+      executorResult = executeHedgedRequest(peerTask, peer, hedgeDelayMillis.get(), usedEthPeers);
+    } while (retriesRemaining-- > 0
+        && executorResult.responseCode() != PeerTaskExecutorResponseCode.SUCCESS
+        && executorResult.responseCode() != PeerTaskExecutorResponseCode.PEER_DISCONNECTED
+        && sleepBetweenRetries(peerTask));
+
+    return executorResult;
+  }
+
+  private <T> PeerTaskExecutorResult<T> executeHedgedRequest(
+      final PeerTask<T> peerTask,
+      final EthPeer peer,
+      final long hedgeDelayMillis,
+      final List<EthPeer> usedEthPeers) {
+    final HedgedRequest<T> hedgedRequest = new HedgedRequest<>();
+    sendHedgedRequest(peerTask, peer, hedgedRequest);
+    try {
+      return hedgedRequest.result.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+    } catch (final TimeoutException e) {
+      // the peer is slower than usual, the request is hedged below
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new PeerTaskExecutorResult<>(
+          Optional.empty(), PeerTaskExecutorResponseCode.TIMEOUT, List.of(peer));
+    } catch (final ExecutionException e) {
+      // the result future handles all the errors, so this is not expected
+      return new PeerTaskExecutorResult<>(
+          Optional.empty(), PeerTaskExecutorResponseCode.INTERNAL_SERVER_ERROR, List.of(peer));
+    }
+
+    final Optional<EthPeer> hedgePeer =
+        peerSelector.getPeer(
+            (candidatePeer) ->
+                peerTask.getPeerRequirementFilter().test(candidatePeer)
+                    && !usedEthPeers.contains(candidatePeer));
+    if (hedgePeer.isPresent() && sendHedgedRequest(peerTask, hedgePeer.get(), hedgedRequest)) {
+      LOG.atTrace()
+          .setMessage("Hedged {} from slow peer {} to peer {}")
+          .addArgument(() -> peerTask.getClass().getSimpleName())
+          .addArgument(peer::getLoggableId)
+          .addArgument(() -> hedgePeer.get().getLoggableId())
+          .log();
+      usedEthPeers.add(hedgePeer.get());
+      hedgedRequestCounter.labels(peerTask.getClass().getSimpleName()).inc();
+    }
+    return hedgedRequest.result.join();
+  }
+
+  /**
+   * Sends the request to the peer as part of the hedged request, unless it already has a result.
+   * The response is handled on the response handler pool rather than on the thread that received
+   * it.
+   */
+  private <T> boolean sendHedgedRequest(
+      final PeerTask<T> peerTask, final EthPeer peer, final HedgedRequest<T> hedgedRequest) {
+    if (!hedgedRequest.addRequest()) {
+      return false;
+    }
+    final String taskClassName = peerTask.getClass().getSimpleName();
+    final AtomicInteger inflightRequestCountForThisTaskClass =
+        getInflightRequestCount(taskClassName);
+    final MessageData requestMessageData = peerTask.getRequestMessage();
+    final long requestStartMillis = System.currentTimeMillis();
+    final OperationTimer.TimingContext timingContext =
+        requestTimer.labels(taskClassName).startTimer();
+    inflightRequestCountForThisTaskClass.incrementAndGet();
+    CompletableFuture<MessageData> responseFuture;
+    try {
+      responseFuture =
+          requestSender.sendRequestAsync(peerTask.getSubProtocol(), requestMessageData, peer);
+    } catch (PeerNotConnected e) {
+      responseFuture = CompletableFuture.failedFuture(e);
+    }
+    responseFuture.handleAsync(
+        (responseMessageData, error) -> {
+          timingContext.stopTimer();
           inflightRequestCountForThisTaskClass.decrementAndGet();
-        }
-
-        PeerTaskValidationResponse validationResponse = peerTask.validateResult(result);
-        if (validationResponse == PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD) {
-          peer.recordUsefulResponse();
-          executorResult =
-              new PeerTaskExecutorResult<>(
-                  Optional.ofNullable(result), PeerTaskExecutorResponseCode.SUCCESS, List.of(peer));
-          peerTask.postProcessResult(executorResult);
-        } else {
-          LOG.debug(
-              "Invalid response found for {} from peer {}", taskClassName, peer.getLoggableId());
-          validationResponse.getDisconnectReason().ifPresent(peer::disconnect);
-          executorResult =
-              new PeerTaskExecutorResult<>(
-                  Optional.ofNullable(result),
-                  PeerTaskExecutorResponseCode.INVALID_RESPONSE,
-                  List.of(peer));
-        }
-
-      } catch (PeerNotConnected e) {
-        executorResult =
-            new PeerTaskExecutorResult<>(
-                Optional.empty(), PeerTaskExecutorResponseCode.PEER_DISCONNECTED, List.of(peer));
+          hedgedRequest.onResponse(
+              () ->
+                  handleResponse(
+                      peerTask,
+                      peer,
+                      requestMessageData,
+                      requestStartMillis,
+                      responseMessageData,
+                      error == null ? null : asException(error)));
+          return null;
+        },
+        responseHandlerExecutor);
+    return true;
+  }
 
-      } catch (InterruptedException | TimeoutException e) {
-        peer.recordRequestTimeout(peerTaskSubProtocol.getName(), requestMessageData.getCode());
-        timeoutCounter.labels(taskClassName).inc();
-        executorResult =
-            new PeerTaskExecutorResult<>(
-                Optional.empty(), PeerTaskExecutorResponseCode.TIMEOUT, List.of(peer));
+  private static Exception asException(final Throwable error) {
+    final Throwable cause =
+        error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+    return cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+  }
 
-      } catch (InvalidPeerTaskResponseException e) {
-        peer.recordUselessResponse(e.getMessage());
-        invalidResponseCounter.labels(taskClassName).inc();
-        LOG.debug(
-            "Invalid response found for {} from peer {}", taskClassName, peer.getLoggableId(), e);
+  private AtomicInteger getInflightRequestCount(final String taskClassName) {
+    return inflightRequestCountByClassName.computeIfAbsent(
+        taskClassName,
+        (k) -> {
+          AtomicInteger inflightRequests = new AtomicInteger(0);
+          inflightRequestGauge.labels(inflightRequests::get, taskClassName);
+          return inflightRequests;
+        });
+  }
+
+  private <T> PeerTaskExecutorResult<T> handleResponse(
+      final PeerTask<T> peerTask,
+      final EthPeer peer,
+      final MessageData requestMessageData,
+      final long requestStartMillis,
+      final MessageData responseMessageData,
+      final Exception requestException) {
+    String taskClassName = peerTask.getClass().getSimpleName();
+    PeerTaskExecutorResult<T> executorResult;
+    try {
+      if (requestException != null) {
+        throw requestException;
+      }
+      if (responseMessageData == null) {
+        throw new InvalidPeerTaskResponseException();
+      }
+
+      T result = peerTask.processResponse(responseMessageData);
+
+      PeerTaskValidationResponse validationResponse = peerTask.validateResult(result);
+      if (validationResponse == PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD) {
+        peer.recordUsefulResponse();
+        peer.recordResponseTime(
+            requestMessageData.getCode(),
+            System.currentTimeMillis() - requestStartMillis,
+            responseMessageData.getSize());
         executorResult =
             new PeerTaskExecutorResult<>(
-                Optional.empty(), PeerTaskExecutorResponseCode.INVALID_RESPONSE, List.of(peer));
-
-      } catch (Exception e) {
-        internalExceptionCounter.labels(taskClassName).inc();
-        LOG.error("Server error found for {} from peer {}", taskClassName, peer.getLoggableId(), e);
+                Optional.ofNullable(result), PeerTaskExecutorResponseCode.SUCCESS, List.of(peer));
+        peerTask.postProcessResult(executorResult);
+      } else {
+        LOG.debug(
+            "Invalid response found for {} from peer {}", taskClassName, peer.getLoggableId());
+        validationResponse.getDisconnectReason().ifPresent(peer::disconnect);
         executorResult =
             new PeerTaskExecutorResult<>(
-                Optional.empty(),
-                PeerTaskExecutorResponseCode.INTERNAL_SERVER_ERROR,
+                Optional.ofNullable(result),
+                PeerTaskExecutorResponseCode.INVALID_RESPONSE,
                 List.of(peer));
       }
-    } while (retriesRemaining-- > 0
-        && executorResult.responseCode() != PeerTaskExecutorResponseCode.SUCCESS
-        && executorResult.responseCode() != PeerTaskExecutorResponseCode.PEER_DISCONNECTED
-        && sleepBetweenRetries(peerTask));
 
+    } catch (PeerNotConnected e) {
+      executorResult =
+          new PeerTaskExecutorResult<>(
+              Optional.empty(), PeerTaskExecutorResponseCode.PEER_DISCONNECTED, List.of(peer));
+
+    } catch (InterruptedException | TimeoutException e) {
+      peer.recordRequestTimeout(
+          peerTask.getSubProtocol().getName(), requestMessageData.getCode());
+      timeoutCounter.labels(taskClassName).inc();
+      executorResult =
+          new PeerTaskExecutorResult<>(
+              Optional.empty(), PeerTaskExecutorResponseCode.TIMEOUT, List.of(peer));
+
+    } catch (InvalidPeerTaskResponseException e) {
+      peer.recordUselessResponse(e.getMessage());
+      invalidResponseCounter.labels(taskClassName).inc();
+      LOG.debug(
+          "Invalid response found for {} from peer {}", taskClassName, peer.getLoggableId(), e);
+      executorResult =
+          new PeerTaskExecutorResult<>(
+              Optional.empty(), PeerTaskExecutorResponseCode.INVALID_RESPONSE, List.of(peer));
+
+    } catch (Exception e) {
+      internalExceptionCounter.labels(taskClassName).inc();
+      LOG.error("Server error found for {} from peer {}", taskClassName, peer.getLoggableId(), e);
+      executorResult =
+          new PeerTaskExecutorResult<>(
+              Optional.empty(), PeerTaskExecutorResponseCode.INTERNAL_SERVER_ERROR, List.of(peer));
+    }
     return executorResult;
   }
 
@@ -212,4 +390,35 @@ public class PeerTaskExecutor {
       return false;
     }
   }
+
+  /**
+   * Result of a request sent to several peers. Responses are handled one at a time, and once one of
+   * them succeeded the others are dropped without being processed, so the task state is only
+   * updated with the winning response.
+   */
+  private static class HedgedRequest<T> {
+    private final CompletableFuture<PeerTaskExecutorResult<T>> result = new CompletableFuture<>();
+    private int pendingRequests;
+
+    synchronized boolean addRequest() {
+      if (result.isDone()) {
+        return false;
+      }
+      pendingRequests++;
+      return true;
+    }
+
+    synchronized void onResponse(final Supplier<PeerTaskExecutorResult<T>> responseHandler) {
+      pendingRequests--;
+      if (result.isDone()) {
+        return;
+      }
+      final PeerTaskExecutorResult<T> executorResult = responseHandler.get();
+      // the last failure is returned if none of the requests succeeds
+      if (executorResult.responseCode() == PeerTaskExecutorResponseCode.SUCCESS
+          || pendingRequests == 0) {
+        result.complete(executorResult);
+      }
+    }
+  }
 }
@@ -44,6 +44,33 @@ public class PeerTaskRequestSender {
           ExecutionException,
           InterruptedException,
           TimeoutException {
+    return send(subProtocol, requestMessageData, ethPeer).get(timeoutMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Sends the request without waiting for the response
+   *
+   * @param subProtocol the SubProtocol of the request
+   * @param requestMessageData the request to send
+   * @param ethPeer the EthPeer to send the request to
+   * @return a future completed with the response, or with a TimeoutException if the peer does not
+   *     answer in time
+   * @throws PeerConnection.PeerNotConnected if the peer is disconnected
+   */
+  public CompletableFuture<MessageData> sendRequestAsync(
+      final SubProtocol subProtocol, final MessageData requestMessageData, final EthPeer ethPeer)
+      throws PeerConnection.PeerNotConnected {
+    return send(subProtocol, requestMessageData, ethPeer)
+        .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+  }
+
+  public long getTimeoutMs() {
+    return timeoutMs;
+  }
+
+  private CompletableFuture<MessageData> send(
+      final SubProtocol subProtocol, final MessageData requestMessageData, final EthPeer ethPeer)
+      throws PeerConnection.PeerNotConnected {
     ResponseStream responseStream =
         ethPeer.send(requestMessageData, subProtocol.getName(), ethPeer.getConnection());
     final CompletableFuture<MessageData> responseMessageDataFuture = new CompletableFuture<>();
@@ -51,6 +78,6 @@ public class PeerTaskRequestSender {
         (boolean streamClosed, MessageData message, EthPeer peer) -> {
           responseMessageDataFuture.complete(message);
         });
-    return responseMessageDataFuture.get(timeoutMs, TimeUnit.MILLISECONDS);
+    return responseMessageDataFuture;
   }
 }
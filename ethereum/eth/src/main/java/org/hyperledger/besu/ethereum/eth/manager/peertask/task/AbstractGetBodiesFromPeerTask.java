@@ -76,6 +76,11 @@ public abstract class AbstractGetBodiesFromPeerTask<T> implements PeerTask<List<
     return allowedRetriesAgainstOtherPeers;
   }
 
+  @Override
+  public boolean isHedgingAllowed() {
+    return true;
+  }
+
   @Override
   public Predicate<EthPeer> getPeerRequirementFilter() {
     return (ethPeer) ->
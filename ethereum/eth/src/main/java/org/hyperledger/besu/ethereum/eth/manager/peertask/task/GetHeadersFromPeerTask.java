@@ -244,6 +244,11 @@ public class GetHeadersFromPeerTask implements PeerTask<List<BlockHeader>> {
     return Duration.ZERO;
   }
 
+  @Override
+  public boolean isHedgingAllowed() {
+    return true;
+  }
+
   public Long getBlockNumber() {
     return blockNumber;
   }
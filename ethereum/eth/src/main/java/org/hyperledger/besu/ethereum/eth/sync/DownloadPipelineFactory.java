@@ -17,12 +17,33 @@ package org.hyperledger.besu.ethereum.eth.sync;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncState;
 import org.hyperledger.besu.ethereum.eth.sync.state.SyncTarget;
+import org.hyperledger.besu.services.pipeline.AdaptiveConcurrencyLimit;
+import org.hyperledger.besu.services.pipeline.ConcurrencyLimit;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 
 import java.util.concurrent.CompletionStage;
 
 public interface DownloadPipelineFactory {
 
+  /**
+   * The limit of concurrent requests of a download stage. It is fixed to the downloader
+   * parallelism unless adaptive parallelism is enabled, in which case it starts from the
+   * downloader parallelism and moves between 1 and 4 times it.
+   *
+   * @param syncConfig the synchronizer configuration
+   * @param stageName the name of the download stage
+   * @return the concurrency limit for the stage
+   */
+  static ConcurrencyLimit createDownloaderConcurrencyLimit(
+      final SynchronizerConfiguration syncConfig, final String stageName) {
+    final int downloaderParallelism = syncConfig.getDownloaderParallelism();
+    if (!syncConfig.isDownloaderAdaptiveParallelismEnabled()) {
+      return ConcurrencyLimit.fixed(downloaderParallelism);
+    }
+    return new AdaptiveConcurrencyLimit(
+        stageName, downloaderParallelism, 1, downloaderParallelism * 4);
+  }
+
   /**
    * Create a pipeline that, when started, will download and import blocks using the specified sync
    * target.
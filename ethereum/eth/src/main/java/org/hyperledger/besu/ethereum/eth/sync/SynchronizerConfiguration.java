@@ -44,6 +44,7 @@ public class SynchronizerConfiguration {
   public static final int DEFAULT_DOWNLOADER_CHECKPOINT_TIMEOUTS_PERMITTED = 5;
   public static final int DEFAULT_DOWNLOADER_CHAIN_SEGMENT_SIZE = 200;
   public static final int DEFAULT_DOWNLOADER_PARALLELISM = 8;
+  public static final boolean DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED = false;
   public static final int DEFAULT_TRANSACTIONS_PARALLELISM = 4;
   public static final int DEFAULT_COMPUTATION_PARALLELISM = 2;
   public static final int DEFAULT_WORLD_STATE_TASK_CACHE_SIZE =
@@ -85,6 +86,7 @@ public class SynchronizerConfiguration {
   private final int downloaderCheckpointRetries;
   private final int downloaderChainSegmentSize;
   private final int downloaderParallelism;
+  private final boolean downloaderAdaptiveParallelismEnabled;
   private final int transactionsParallelism;
   private final int computationParallelism;
   private final int maxTrailingPeers;
@@ -116,6 +118,7 @@ public class SynchronizerConfiguration {
       final int downloaderCheckpointRetries,
       final int downloaderChainSegmentSize,
       final int downloaderParallelism,
+      final boolean downloaderAdaptiveParallelismEnabled,
       final int transactionsParallelism,
       final int computationParallelism,
       final int maxTrailingPeers,
@@ -143,6 +146,7 @@ public class SynchronizerConfiguration {
     this.downloaderCheckpointRetries = downloaderCheckpointRetries;
     this.downloaderChainSegmentSize = downloaderChainSegmentSize;
     this.downloaderParallelism = downloaderParallelism;
+    this.downloaderAdaptiveParallelismEnabled = downloaderAdaptiveParallelismEnabled;
     this.transactionsParallelism = transactionsParallelism;
     this.computationParallelism = computationParallelism;
     this.maxTrailingPeers = maxTrailingPeers;
@@ -227,6 +231,10 @@ public class SynchronizerConfiguration {
     return downloaderParallelism;
   }
 
+  public boolean isDownloaderAdaptiveParallelismEnabled() {
+    return downloaderAdaptiveParallelismEnabled;
+  }
+
   public int getTransactionsParallelism() {
     return transactionsParallelism;
   }
@@ -312,6 +320,8 @@ public class SynchronizerConfiguration {
     private SnapSyncConfiguration snapSyncConfiguration = SnapSyncConfiguration.getDefault();
     private int downloaderChainSegmentSize = DEFAULT_DOWNLOADER_CHAIN_SEGMENT_SIZE;
     private int downloaderParallelism = DEFAULT_DOWNLOADER_PARALLELISM;
+    private boolean downloaderAdaptiveParallelismEnabled =
+        DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED;
     private int transactionsParallelism = DEFAULT_TRANSACTIONS_PARALLELISM;
     private int computationParallelism = DEFAULT_COMPUTATION_PARALLELISM;
     private int syncPivotDistance = DEFAULT_PIVOT_DISTANCE_FROM_HEAD;
@@ -396,6 +406,12 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder downloaderAdaptiveParallelismEnabled(
+        final boolean downloaderAdaptiveParallelismEnabled) {
+      this.downloaderAdaptiveParallelismEnabled = downloaderAdaptiveParallelismEnabled;
+      return this;
+    }
+
     public Builder transactionsParallelism(final int transactionsParallelism) {
       this.transactionsParallelism = transactionsParallelism;
       return this;
@@ -499,6 +515,7 @@ public class SynchronizerConfiguration {
           downloaderCheckpointRetries,
           downloaderChainSegmentSize,
           downloaderParallelism,
+          downloaderAdaptiveParallelismEnabled,
           transactionsParallelism,
           computationParallelism,
           maxTrailingPeers,
@@ -26,7 +26,9 @@ import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 
@@ -147,6 +149,42 @@ public class BackwardChain {
     updateFirstStoredAncestor(Optional.of(blockHeader));
   }
 
+  /**
+   * Prepends several ancestors at once, writing their headers and their links in one transaction
+   * per storage instead of one per header.
+   *
+   * @param blockHeaders the headers to prepend, each one being the parent of the previous one
+   */
+  public synchronized void prependAncestorsHeaders(final List<BlockHeader> blockHeaders) {
+    if (blockHeaders.isEmpty()) {
+      return;
+    }
+    final Map<Hash, BlockHeader> newHeaders = new LinkedHashMap<>();
+    final Map<Hash, Hash> newLinks = new LinkedHashMap<>();
+    Optional<BlockHeader> firstHeader = firstStoredAncestor;
+    for (final BlockHeader blockHeader : blockHeaders) {
+      newHeaders.put(blockHeader.getHash(), blockHeader);
+      if (firstHeader.isPresent()) {
+        newLinks.put(blockHeader.getHash(), firstHeader.get().getHash());
+      }
+      firstHeader = Optional.of(blockHeader);
+    }
+    headers.putAll(newHeaders);
+    if (!newLinks.isEmpty()) {
+      chainStorage.putAll(newLinks);
+    }
+    if (firstStoredAncestor.isEmpty()) {
+      updateLastStoredPivot(Optional.of(blockHeaders.get(0)));
+    }
+    LOG.atDebug()
+        .setMessage("Added headers {} to {} to backward chain led by pivot {}")
+        .addArgument(() -> blockHeaders.get(0).getNumber())
+        .addArgument(() -> blockHeaders.get(blockHeaders.size() - 1).getNumber())
+        .addArgument(() -> lastStoredPivot.orElseThrow().toLogString())
+        .log();
+    updateFirstStoredAncestor(firstHeader);
+  }
+
   private void updateFirstStoredAncestor(final Optional<BlockHeader> maybeHeader) {
     maybeHeader.ifPresentOrElse(
         header -> sessionDataStorage.put(FIRST_STORED_ANCESTOR_KEY, header),
@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 public class BackwardSyncContext {
   private static final Logger LOG = LoggerFactory.getLogger(BackwardSyncContext.class);
   public static final int BATCH_SIZE = 200;
+  private static final int MAX_DOWNLOAD_PARALLELISM = 4;
   private static final int DEFAULT_MAX_RETRIES = 2;
   private static final long MILLIS_DELAY_BETWEEN_PROGRESS_LOG = 10_000L;
   private static final long DEFAULT_MILLIS_BETWEEN_RETRIES = 5000;
@@ -319,6 +320,16 @@ public class BackwardSyncContext {
     return batchSize;
   }
 
+  /**
+   * The number of batches of headers or blocks to download concurrently, one per peer at most
+   *
+   * @return the number of concurrent downloads, at least 1
+   */
+  public int getDownloadParallelism() {
+    return Math.max(
+        1, Math.min(MAX_DOWNLOAD_PARALLELISM, getEthContext().getEthPeers().peerCount()));
+  }
+
   public void halveBatchSize() {
     this.batchSize = batchSize / 2 + 1;
   }
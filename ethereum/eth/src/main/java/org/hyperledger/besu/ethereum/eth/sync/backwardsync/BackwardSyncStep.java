@@ -15,13 +15,17 @@
 package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorResponseCode;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutorResult;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.task.GetHeadersFromPeerTask;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.task.GetHeadersFromPeerTask.Direction;
+import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerTask;
+import org.hyperledger.besu.ethereum.eth.manager.task.GetHeadersFromPeerByNumberTask;
 import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetHeadersEndingAtFromPeerByHashTask;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -43,7 +47,7 @@ public class BackwardSyncStep {
   public CompletableFuture<Void> executeAsync(final BlockHeader firstHeader) {
     return CompletableFuture.supplyAsync(() -> firstHeader)
         .thenApply(this::possibleRestoreOldNodes)
-        .thenCompose(this::requestHeaders)
+        .thenCompose(this::requestHeaderRanges)
         .thenApply(this::saveHeaders);
   }
 
@@ -59,6 +63,69 @@ public class BackwardSyncStep {
     return lastHash;
   }
 
+  /**
+   * Requests the headers ending at the given hash and, when several peers are available, the
+   * following ranges down to the local chain head by number at the same time. The ranges requested
+   * by number are only kept as far as their headers link to the ones ending at the hash.
+   *
+   * @param hash the hash of the highest header to request
+   * @return the linked headers, from the highest to the lowest
+   */
+  @VisibleForTesting
+  protected CompletableFuture<List<BlockHeader>> requestHeaderRanges(final Hash hash) {
+    final int parallelism = context.getDownloadParallelism();
+    final MutableBlockchain blockchain = context.getProtocolContext().getBlockchain();
+    final Optional<BlockHeader> child =
+        backwardChain
+            .getFirstAncestorHeader()
+            .filter(header -> header.getParentHash().equals(hash));
+    if (parallelism <= 1 || child.isEmpty() || blockchain.getBlockHeader(hash).isPresent()) {
+      return requestHeaders(hash);
+    }
+
+    final int batchSize = context.getBatchSize();
+    final long lowestUnknownNumber = blockchain.getChainHeadBlockNumber() + 1;
+    final List<CompletableFuture<List<BlockHeader>>> ranges = new ArrayList<>(parallelism);
+    ranges.add(requestHeaders(hash));
+    for (int i = 1; i < parallelism; i++) {
+      final long rangeStart = child.get().getNumber() - 1 - (long) i * batchSize;
+      final long count = Math.min(batchSize, rangeStart - lowestUnknownNumber + 1);
+      if (count <= 0) {
+        break;
+      }
+      ranges.add(
+          requestHeaders(rangeStart, (int) count)
+              .exceptionally(
+                  error -> {
+                    LOG.atDebug()
+                        .setMessage("Failed to get headers ending at {}: {}")
+                        .addArgument(rangeStart)
+                        .addArgument(error::getMessage)
+                        .log();
+                    return List.of();
+                  }));
+    }
+    return CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new))
+        .thenApply(
+            unused ->
+                linkedHeaders(
+                    hash, ranges.stream().flatMap(range -> range.join().stream()).toList()));
+  }
+
+  @VisibleForTesting
+  static List<BlockHeader> linkedHeaders(final Hash hash, final List<BlockHeader> blockHeaders) {
+    final List<BlockHeader> linkedHeaders = new ArrayList<>(blockHeaders.size());
+    Hash expectedHash = hash;
+    for (final BlockHeader blockHeader : blockHeaders) {
+      if (!blockHeader.getHash().equals(expectedHash)) {
+        break;
+      }
+      linkedHeaders.add(blockHeader);
+      expectedHash = blockHeader.getParentHash();
+    }
+    return linkedHeaders;
+  }
+
   @VisibleForTesting
   protected CompletableFuture<List<BlockHeader>> requestHeaders(final Hash hash) {
     final Optional<BlockHeader> blockHeader =
@@ -126,6 +193,48 @@ public class BackwardSyncStep {
         });
   }
 
+  private CompletableFuture<List<BlockHeader>> requestHeaders(
+      final long blockNumber, final int count) {
+    LOG.trace("Requesting {} headers ending at block {}", count, blockNumber);
+    if (context.getSynchronizerConfiguration().isPeerTaskSystemEnabled()) {
+      return context
+          .getEthContext()
+          .getScheduler()
+          .scheduleServiceTask(
+              () -> {
+                GetHeadersFromPeerTask task =
+                    new GetHeadersFromPeerTask(
+                        blockNumber,
+                        count,
+                        0,
+                        Direction.REVERSE,
+                        context.getEthContext().getEthPeers().peerCount(),
+                        context.getProtocolSchedule());
+                PeerTaskExecutorResult<List<BlockHeader>> taskResult =
+                    context.getEthContext().getPeerTaskExecutor().execute(task);
+                if (taskResult.responseCode() != PeerTaskExecutorResponseCode.SUCCESS
+                    || taskResult.result().isEmpty()) {
+                  throw new RuntimeException("Unable to retrieve headers");
+                }
+                return CompletableFuture.completedFuture(taskResult.result().get());
+              });
+    }
+    return context
+        .getEthContext()
+        .getScheduler()
+        .scheduleSyncWorkerTask(
+            () ->
+                GetHeadersFromPeerByNumberTask.endingAtNumber(
+                        context.getProtocolSchedule(),
+                        context.getEthContext(),
+                        blockNumber,
+                        count,
+                        0,
+                        context.getMetricsSystem())
+                    .run())
+        .thenApply(AbstractPeerTask.PeerTaskResult::getResult);
+  }
+
   @VisibleForTesting
   protected Void saveHeader(final BlockHeader blockHeader) {
     backwardChain.prependAncestorsHeader(blockHeader);
@@ -134,9 +243,7 @@ public class BackwardSyncStep {
 
   @VisibleForTesting
   protected Void saveHeaders(final List<BlockHeader> blockHeaders) {
-    for (BlockHeader blockHeader : blockHeaders) {
-      saveHeader(blockHeader);
-    }
+    backwardChain.prependAncestorsHeaders(blockHeaders);
 
     if (!blockHeaders.isEmpty()) {
       logProgress(blockHeaders.get(blockHeaders.size() - 1).getNumber());
@@ -25,9 +25,11 @@ import org.hyperledger.besu.ethereum.eth.manager.task.RetryingGetBlocksFromPeers
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,9 +45,104 @@ public class ForwardSyncStep {
   }
 
   public CompletableFuture<Void> executeAsync() {
+    final int batchSize = context.getBatchSize();
+    final int parallelism = Math.max(1, context.getDownloadParallelism());
     return CompletableFuture.supplyAsync(
-            () -> backwardChain.getFirstNAncestorHeaders(context.getBatchSize()))
-        .thenCompose(this::possibleRequestBodies);
+            () -> backwardChain.getFirstNAncestorHeaders(batchSize * parallelism))
+        .thenCompose(
+            blockHeaders ->
+                blockHeaders.size() <= batchSize
+                    ? possibleRequestBodies(blockHeaders)
+                    : requestAndImportBatches(Lists.partition(blockHeaders, batchSize)));
+  }
+
+  /**
+   * Requests the bodies of all the batches at the same time and imports each batch as soon as its
+   * bodies and the ones of the previous batches are received, so the import of a batch overlaps
+   * the download of the following ones. If some bodies of a batch are missing, the import stops at
+   * the first missing block, which is requested again by the next step with the same batch size,
+   * and the downloads of the following batches are cancelled.
+   *
+   * @param batches the headers of the consecutive batches, from the lowest to the highest
+   * @return a future completing once all the batches are imported or one of them failed
+   */
+  @VisibleForTesting
+  protected CompletableFuture<Void> requestAndImportBatches(
+      final List<List<BlockHeader>> batches) {
+    LOG.atDebug()
+        .setMessage("Requesting {} batches of blocks {}->{}")
+        .addArgument(batches::size)
+        .addArgument(() -> batches.getFirst().getFirst().getNumber())
+        .addArgument(() -> batches.getLast().getLast().getNumber())
+        .log();
+    final List<CompletableFuture<List<Block>>> bodies =
+        batches.stream().map(this::requestBodies).toList();
+    CompletableFuture<Boolean> imported = CompletableFuture.completedFuture(true);
+    for (int i = 0; i < batches.size(); i++) {
+      final List<BlockHeader> batch = batches.get(i);
+      final CompletableFuture<List<Block>> batchBodies = bodies.get(i);
+      imported =
+          imported.thenCompose(
+              previousImported ->
+                  previousImported
+                      ? batchBodies.thenApply(blocks -> importBatch(batch, blocks))
+                      : CompletableFuture.completedFuture(false));
+    }
+    return imported
+        .<Void>thenApply(
+            allImported -> {
+              if (!allImported) {
+                cancelDownloads(bodies);
+              }
+              return null;
+            })
+        .exceptionally(
+            throwable -> {
+              cancelDownloads(bodies);
+              context.halveBatchSize();
+              LOG.atDebug()
+                  .setMessage(
+                      "Getting {} batches of blocks from peers failed with reason {}, reducing batch size to {}")
+                  .addArgument(batches::size)
+                  .addArgument(throwable::getMessage)
+                  .addArgument(context::getBatchSize)
+                  .log();
+              return null;
+            });
+  }
+
+  /**
+   * Imports the blocks of a batch up to the first block whose body was not received.
+   *
+   * @param batch the headers of the batch
+   * @param blocks the blocks received for the batch, sorted by number
+   * @return true if the whole batch was imported, so that the next one can be imported too
+   */
+  private boolean importBatch(final List<BlockHeader> batch, final List<Block> blocks) {
+    int received = 0;
+    while (received < batch.size()
+        && received < blocks.size()
+        && blocks.get(received).getHash().equals(batch.get(received).getHash())) {
+      received++;
+    }
+    if (received == 0 || received == batch.size()) {
+      return importBlocks(blocks.subList(0, received));
+    }
+    // not a failure of the batch size, the missing blocks are requested again by the next step
+    LOG.atDebug()
+        .setMessage("Received {} of the {} blocks {}->{}, importing up to the first missing block")
+        .addArgument(received)
+        .addArgument(batch::size)
+        .addArgument(() -> batch.getFirst().getNumber())
+        .addArgument(() -> batch.getLast().getNumber())
+        .log();
+    importBlocks(blocks.subList(0, received));
+    return false;
+  }
+
+  private static void cancelDownloads(final List<CompletableFuture<List<Block>>> downloads) {
+    // completed downloads are not affected
+    downloads.forEach(download -> download.cancel(false));
   }
 
   @VisibleForTesting
@@ -114,20 +211,34 @@ public class ForwardSyncStep {
       blocksFuture =
           getBodiesFromPeerTask.run().thenApply(AbstractPeerTask.PeerTaskResult::getResult);
     }
-    return blocksFuture.thenApply(
-        blocks -> {
-          LOG.debug("Got {} blocks from peers", blocks.size());
-          blocks.sort(Comparator.comparing(block -> block.getHeader().getNumber()));
-          return blocks;
+    final CompletableFuture<List<Block>> sortedBlocksFuture =
+        blocksFuture.thenApply(
+            blocks -> {
+              LOG.debug("Got {} blocks from peers", blocks.size());
+              blocks.sort(Comparator.comparing(block -> block.getHeader().getNumber()));
+              return blocks;
+            });
+    // cancelling the returned future cancels the download
+    sortedBlocksFuture.whenComplete(
+        (blocks, throwable) -> {
+          if (throwable instanceof CancellationException) {
+            blocksFuture.cancel(false);
+          }
         });
+    return sortedBlocksFuture;
   }
 
   @VisibleForTesting
   protected Void saveBlocks(final List<Block> blocks) {
+    importBlocks(blocks);
+    return null;
+  }
+
+  private boolean importBlocks(final List<Block> blocks) {
     if (blocks.isEmpty()) {
       context.halveBatchSize();
       LOG.debug("No blocks to save, reducing batch size to {}", context.getBatchSize());
-      return null;
+      return false;
     }
 
     for (Block block : blocks) {
@@ -146,7 +257,7 @@ public class ForwardSyncStep {
             .addArgument(block::toLogString)
             .addArgument(context::getBatchSize)
             .log();
-        return null;
+        return false;
       } else {
         context.saveBlock(block);
       }
@@ -156,6 +267,6 @@ public class ForwardSyncStep {
       // reset the batch size only if we got a full batch
       context.resetBatchSize();
     }
-    return null;
+    return true;
   }
 }
@@ -43,6 +43,8 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.services.pipeline.ConcurrencyLimit;
+import org.hyperledger.besu.services.pipeline.PipeMetrics;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
@@ -62,6 +64,11 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
   protected final MetricsSystem metricsSystem;
   protected final FastSyncValidationPolicy detachedValidationPolicy;
   protected final ValidationPolicy downloadHeaderValidation;
+  // kept across sync targets so adaptive limits do not start over with each pipeline
+  private final ConcurrencyLimit downloadHeadersConcurrencyLimit;
+  private final ConcurrencyLimit downloadBodiesConcurrencyLimit;
+  private final ConcurrencyLimit downloadReceiptsConcurrencyLimit;
+  private final PipeMetrics pipeMetrics;
 
   public FastSyncDownloadPipelineFactory(
       final SynchronizerConfiguration syncConfig,
@@ -76,6 +83,8 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
     this.ethContext = ethContext;
     this.fastSyncState = fastSyncState;
     this.metricsSystem = metricsSystem;
+    this.pipeMetrics =
+        new PipeMetrics(metricsSystem, BesuMetricCategory.SYNCHRONIZER, "chain_download_pipeline");
     final LabelledMetric<Counter> fastSyncValidationCounter =
         metricsSystem.createLabelledCounter(
             BesuMetricCategory.SYNCHRONIZER,
@@ -94,6 +103,12 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
     if (fastSyncState.isSourceTrusted()) {
       LOG.trace("Pivot block is from trusted source, skipping header validation");
     }
+    downloadHeadersConcurrencyLimit =
+        DownloadPipelineFactory.createDownloaderConcurrencyLimit(syncConfig, "downloadHeaders");
+    downloadBodiesConcurrencyLimit =
+        DownloadPipelineFactory.createDownloaderConcurrencyLimit(syncConfig, "downloadSyncBodies");
+    downloadReceiptsConcurrencyLimit =
+        DownloadPipelineFactory.createDownloaderConcurrencyLimit(syncConfig, "downloadReceipts");
   }
 
   @Override
@@ -161,15 +176,18 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
                 "step",
                 "action"),
             true,
-            "fastSync")
-        .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
+            "fastSync",
+            false,
+            pipeMetrics)
+        .thenProcessAsyncOrdered(
+            "downloadHeaders", downloadHeadersStep, downloadHeadersConcurrencyLimit)
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .thenFlatMap("savePreMergeHeadersStep", savePreMergeHeadersStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
         .thenProcessAsyncOrdered(
-            "downloadSyncBodies", downloadSyncBodiesStep, downloaderParallelism)
+            "downloadSyncBodies", downloadSyncBodiesStep, downloadBodiesConcurrencyLimit)
         .thenProcessAsyncOrdered(
-            "downloadReceipts", downloadSyncReceiptsStep, downloaderParallelism)
+            "downloadReceipts", downloadSyncReceiptsStep, downloadReceiptsConcurrencyLimit)
         .andFinishWith("importBlock", importSyncBlocksStep);
   }
 
@@ -33,6 +33,8 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.services.pipeline.ConcurrencyLimit;
+import org.hyperledger.besu.services.pipeline.PipeMetrics;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
@@ -53,6 +55,10 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
       () -> HeaderValidationMode.DETACHED_ONLY;
   private final BetterSyncTargetEvaluator betterSyncTargetEvaluator;
   private final SyncTerminationCondition fullSyncTerminationCondition;
+  // kept across sync targets so adaptive limits do not start over with each pipeline
+  private final ConcurrencyLimit downloadHeadersConcurrencyLimit;
+  private final ConcurrencyLimit downloadBodiesConcurrencyLimit;
+  private final PipeMetrics pipeMetrics;
 
   public FullSyncDownloadPipelineFactory(
       final SynchronizerConfiguration syncConfig,
@@ -66,9 +72,15 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
     this.protocolContext = protocolContext;
     this.ethContext = ethContext;
     this.metricsSystem = metricsSystem;
+    this.pipeMetrics =
+        new PipeMetrics(metricsSystem, BesuMetricCategory.SYNCHRONIZER, "chain_download_pipeline");
     this.fullSyncTerminationCondition = syncTerminationCondition;
     this.betterSyncTargetEvaluator =
         new BetterSyncTargetEvaluator(syncConfig, ethContext.getEthPeers());
+    this.downloadHeadersConcurrencyLimit =
+        DownloadPipelineFactory.createDownloaderConcurrencyLimit(syncConfig, "downloadHeaders");
+    this.downloadBodiesConcurrencyLimit =
+        DownloadPipelineFactory.createDownloaderConcurrencyLimit(syncConfig, "downloadBodies");
   }
 
   @Override
@@ -123,11 +135,15 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
                 "step",
                 "action"),
             true,
-            "fullSync")
-        .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
+            "fullSync",
+            false,
+            pipeMetrics)
+        .thenProcessAsyncOrdered(
+            "downloadHeaders", downloadHeadersStep, downloadHeadersConcurrencyLimit)
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
-        .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
+        .thenProcessAsyncOrdered(
+            "downloadBodies", downloadBodiesStep, downloadBodiesConcurrencyLimit)
         .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
         .andFinishWith("importBlock", importBlockStep);
   }
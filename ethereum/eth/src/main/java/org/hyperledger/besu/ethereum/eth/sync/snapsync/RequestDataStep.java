@@ -42,6 +42,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -226,7 +227,34 @@ public class RequestDataStep {
 
   public CompletableFuture<List<Task<SnapDataRequest>>> requestTrieNodeByPath(
       final List<Task<SnapDataRequest>> requestTasks) {
+    final Optional<TrieNodeHealingPrefetcher> maybePrefetcher =
+        downloadState.getTrieNodeHealingPrefetcher();
+    if (maybePrefetcher.isEmpty()) {
+      return requestTrieNodeFromPeers(requestTasks);
+    }
+    final TrieNodeHealingPrefetcher prefetcher = maybePrefetcher.get();
+    return prefetcher
+        .whenPrefetched()
+        .thenCompose(
+            prefetched -> {
+              // only the nodes that were not prefetched need a round trip
+              final List<Task<SnapDataRequest>> notPrefetchedTasks =
+                  requestTasks.stream()
+                      .filter(
+                          task ->
+                              !prefetcher.fillFromPrefetchedNodes(
+                                  (TrieNodeHealingRequest) task.getData()))
+                      .toList();
+              if (notPrefetchedTasks.isEmpty()) {
+                return CompletableFuture.completedFuture(requestTasks);
+              }
+              return requestTrieNodeFromPeers(notPrefetchedTasks)
+                  .thenApply(requestedTasks -> requestTasks);
+            });
+  }
 
+  private CompletableFuture<List<Task<SnapDataRequest>>> requestTrieNodeFromPeers(
+      final List<Task<SnapDataRequest>> requestTasks) {
     final BlockHeader blockHeader = fastSyncState.getPivotBlockHeader().get();
     final Map<Bytes, List<Bytes>> message = new HashMap<>();
     requestTasks.stream()
@@ -36,6 +36,19 @@ public class SnapSyncConfiguration {
   public static final int DEFAULT_LOCAL_FLAT_STORAGE_COUNT_TO_HEAL_PER_REQUEST =
       1024; // The default number of flat slots entries to verify and heal per request.
 
+  public static final int DEFAULT_PERSIST_PARALLELISM =
+      4; // The default number of downloaded ranges persisted concurrently.
+
+  public static final Boolean DEFAULT_BULK_LOAD_ENABLED = Boolean.FALSE;
+
+  public static final Boolean DEFAULT_RING_BUFFER_PIPES_ENABLED = Boolean.FALSE;
+
+  public static final int DEFAULT_PENDING_STORAGE_REQUESTS_MEMORY_LIMIT =
+      0; // By default the pending storage range requests are only kept in memory.
+
+  public static final int DEFAULT_HEAL_PREFETCH_MAX_DEPTH =
+      3; // The default depth down to which the account trie is prefetched when the heal starts.
+
   public static final Boolean DEFAULT_SNAP_SERVER_ENABLED = Boolean.FALSE;
 
   public static final Boolean DEFAULT_SNAP_SYNC_TRANSACTION_INDEXING_ENABLED = Boolean.FALSE;
@@ -80,6 +93,31 @@ public class SnapSyncConfiguration {
     return DEFAULT_LOCAL_FLAT_STORAGE_COUNT_TO_HEAL_PER_REQUEST;
   }
 
+  @Value.Default
+  public int getPersistParallelism() {
+    return DEFAULT_PERSIST_PARALLELISM;
+  }
+
+  @Value.Default
+  public int getHealPrefetchMaxDepth() {
+    return DEFAULT_HEAL_PREFETCH_MAX_DEPTH;
+  }
+
+  @Value.Default
+  public Boolean isBulkLoadEnabled() {
+    return DEFAULT_BULK_LOAD_ENABLED;
+  }
+
+  @Value.Default
+  public Boolean isRingBufferPipesEnabled() {
+    return DEFAULT_RING_BUFFER_PIPES_ENABLED;
+  }
+
+  @Value.Default
+  public int getPendingStorageRequestsMemoryLimit() {
+    return DEFAULT_PENDING_STORAGE_REQUESTS_MEMORY_LIMIT;
+  }
+
   @Value.Default
   public Boolean isSnapServerEnabled() {
     return DEFAULT_SNAP_SERVER_ENABLED;
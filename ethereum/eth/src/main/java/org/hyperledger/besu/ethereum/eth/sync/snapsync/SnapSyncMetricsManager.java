@@ -27,8 +27,8 @@ import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -76,9 +76,10 @@ public class SnapSyncMetricsManager {
 
   private long startSyncTime;
 
-  private final Map<Bytes32, BigInteger> lastRangeIndex = new HashMap<>();
+  // ranges are persisted by several threads
+  private final Map<Bytes32, BigInteger> lastRangeIndex = new ConcurrentHashMap<>();
 
-  private long lastNotifyTimestamp;
+  private volatile long lastNotifyTimestamp;
 
   public SnapSyncMetricsManager(final MetricsSystem metricsSystem, final EthContext ethContext) {
     this.metricsSystem = metricsSystem;
@@ -139,9 +140,10 @@ public class SnapSyncMetricsManager {
   public void notifyRangeProgress(
       final Step step, final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
     checkNonEmpty(lastRangeIndex, "snapsync range collection");
-    if (lastRangeIndex.containsKey(endKeyHash)) {
-      final BigInteger lastPos = lastRangeIndex.get(endKeyHash);
-      final BigInteger newPos = startKeyHash.toUnsignedBigInteger();
+    final BigInteger newPos = startKeyHash.toUnsignedBigInteger();
+    // swap the position atomically so each progress is only accounted for once
+    final BigInteger lastPos = lastRangeIndex.replace(endKeyHash, newPos);
+    if (lastPos != null) {
       percentageProgress.getAndAccumulate(
           BigDecimal.valueOf(100)
               .multiply(new BigDecimal(newPos.subtract(lastPos)))
@@ -149,7 +151,6 @@ public class SnapSyncMetricsManager {
                   new BigDecimal(RangeManager.MAX_RANGE.toUnsignedBigInteger()),
                   MathContext.DECIMAL32),
           BigDecimal::add);
-      lastRangeIndex.put(endKeyHash, newPos);
       print(step);
     }
   }
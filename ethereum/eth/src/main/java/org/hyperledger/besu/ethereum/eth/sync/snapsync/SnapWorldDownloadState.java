@@ -49,6 +49,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -64,11 +65,13 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldDownloadState.class);
 
+  private static final Bytes STORAGE_REQUESTS_KEY_PREFIX = Bytes.of(1);
+  private static final Bytes LARGE_STORAGE_REQUESTS_KEY_PREFIX = Bytes.of(2);
+
   protected final InMemoryTaskQueue<SnapDataRequest> pendingAccountRequests =
       new InMemoryTaskQueue<>();
-  protected final InMemoryTaskQueue<SnapDataRequest> pendingStorageRequests =
-      new InMemoryTaskQueue<>();
-  protected final InMemoryTaskQueue<SnapDataRequest> pendingLargeStorageRequests =
+  protected TaskCollection<SnapDataRequest> pendingStorageRequests = new InMemoryTaskQueue<>();
+  protected TaskCollection<SnapDataRequest> pendingLargeStorageRequests =
       new InMemoryTaskQueue<>();
   protected final InMemoryTaskQueue<SnapDataRequest> pendingCodeRequests =
       new InMemoryTaskQueue<>();
@@ -80,8 +83,10 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
 
   protected final InMemoryTasksPriorityQueues<SnapDataRequest>
       pendingStorageFlatDatabaseHealingRequests = new InMemoryTasksPriorityQueues<>();
+  private boolean storageRequestsPersisted = false;
   private Set<Bytes> accountsHealingList = new HashSet<>();
   private DynamicPivotBlockSelector pivotBlockSelector;
+  private Optional<TrieNodeHealingPrefetcher> trieNodeHealingPrefetcher = Optional.empty();
 
   private final SnapSyncStatePersistenceManager snapContext;
   private final SnapSyncProcessState snapSyncState;
@@ -132,12 +137,12 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
         BesuMetricCategory.SYNCHRONIZER,
         "snap_world_state_pending_storage_requests_current",
         "Number of storage pending requests for snap sync world state download",
-        pendingStorageRequests::size);
+        () -> pendingStorageRequests.size());
     metricsSystem.createLongGauge(
         BesuMetricCategory.SYNCHRONIZER,
         "snap_world_state_pending_big_storage_requests_current",
         "Number of storage pending requests for snap sync world state download",
-        pendingLargeStorageRequests::size);
+        () -> pendingLargeStorageRequests.size());
     metricsSystem.createLongGauge(
         BesuMetricCategory.SYNCHRONIZER,
         "snap_world_state_pending_code_requests_current",
@@ -227,12 +232,32 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
   protected synchronized void cleanupQueues() {
     super.cleanupQueues();
     pendingAccountRequests.clear();
-    pendingStorageRequests.clear();
-    pendingLargeStorageRequests.clear();
+    // the persisted storage requests are left in the database for the next download to resume them
+    if (!storageRequestsPersisted) {
+      pendingStorageRequests.clear();
+      pendingLargeStorageRequests.clear();
+    }
     pendingCodeRequests.clear();
     pendingTrieNodeRequests.clear();
   }
 
+  /**
+   * Persist the pending storage range requests in the database, keeping only a bounded number of
+   * them in memory, and load the ones left by a previous download. Must be called before any
+   * storage range request is enqueued.
+   *
+   * @param maxInMemoryRequests the max number of pending requests of each queue kept in memory
+   */
+  public synchronized void persistPendingStorageRequests(final int maxInMemoryRequests) {
+    pendingStorageRequests =
+        snapContext.createPendingStorageRequestsQueue(
+            STORAGE_REQUESTS_KEY_PREFIX, maxInMemoryRequests);
+    pendingLargeStorageRequests =
+        snapContext.createPendingStorageRequestsQueue(
+            LARGE_STORAGE_REQUESTS_KEY_PREFIX, maxInMemoryRequests);
+    storageRequestsPersisted = true;
+  }
+
   /** Method to start the healing process of the trie */
   public synchronized void startTrieHeal() {
     if (trieHealStartedBefore.compareAndSet(false, true)) {
@@ -243,6 +268,8 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
     }
     snapContext.clearAccountRangeTasks();
     snapSyncState.setHealTrieStatus(true);
+    // the healing reads back what was downloaded, so it runs with compactions enabled again
+    setBulkLoadEnabled(false);
     // Try to find a new pivot block before starting the healing process
     pivotBlockSelector.switchToNewPivotBlock(
         (blockHeader, newPivotBlockFound) -> {
@@ -250,12 +277,28 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
           LOG.info(
               "Running world state heal process from peers with pivot block {}",
               blockHeader.getNumber());
+          trieNodeHealingPrefetcher.ifPresent(prefetcher -> prefetcher.prefetch(blockHeader));
           enqueueRequest(
               createAccountTrieNodeDataRequest(
                   blockHeader.getStateRoot(), Bytes.EMPTY, accountsHealingList));
         });
   }
 
+  /**
+   * Enable or disable the bulk load of the downloaded ranges in the world state storage, when
+   * supported by its format.
+   *
+   * @param enabled whether the bulk load should be enabled
+   */
+  public void setBulkLoadEnabled(final boolean enabled) {
+    worldStateStorageCoordinator.applyOnMatchingStrategies(
+        List.of(DataStorageFormat.BONSAI, DataStorageFormat.X_BONSAI_ARCHIVE),
+        worldStateKeyValueStorage ->
+            worldStateStorageCoordinator
+                .getStrategy(BonsaiWorldStateKeyValueStorage.class)
+                .setBulkLoadEnabled(enabled));
+  }
+
   /** Method to reload the healing process of the trie */
   public synchronized void reloadTrieHeal() {
     // Clear the flat database and trie log from the world state storage if needed
@@ -432,6 +475,15 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
     this.pivotBlockSelector = pivotBlockSelector;
   }
 
+  public void setTrieNodeHealingPrefetcher(
+      final TrieNodeHealingPrefetcher trieNodeHealingPrefetcher) {
+    this.trieNodeHealingPrefetcher = Optional.of(trieNodeHealingPrefetcher);
+  }
+
+  public Optional<TrieNodeHealingPrefetcher> getTrieNodeHealingPrefetcher() {
+    return trieNodeHealingPrefetcher;
+  }
+
   public BlockAddedObserver createBlockchainObserver() {
     return addedBlockContext ->
         ethContext
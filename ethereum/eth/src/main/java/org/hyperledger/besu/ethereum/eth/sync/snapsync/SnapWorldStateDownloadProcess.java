@@ -28,6 +28,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.services.pipeline.Pipe;
+import org.hyperledger.besu.services.pipeline.PipeMetrics;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 import org.hyperledger.besu.services.pipeline.WritePipe;
@@ -223,6 +224,13 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
 
       // Room for the requests we expect to do in parallel plus some buffer but not unlimited.
       final int bufferCapacity = snapSyncConfiguration.getTrienodeCountPerRequest() * 2;
+      // downloaded ranges are independent, each persist call writes them in its own transaction
+      final int persistParallelism = snapSyncConfiguration.getPersistParallelism();
+      // every downloaded range goes through the pipes from the request to the persist step
+      final boolean useRingBufferPipes = snapSyncConfiguration.isRingBufferPipesEnabled();
+      final PipeMetrics pipeMetrics =
+          new PipeMetrics(
+              metricsSystem, BesuMetricCategory.SYNCHRONIZER, "snap_world_state_pipeline");
       final LabelledMetric<Counter> outputCounter =
           metricsSystem.createLabelledCounter(
               BesuMetricCategory.SYNCHRONIZER,
@@ -264,7 +272,9 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  useRingBufferPipes,
+                  pipeMetrics)
               .thenProcess(
                   "checkNewPivotBlock-Account",
                   tasks -> {
@@ -275,7 +285,10 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   "batchDownloadAccountData",
                   requestTask -> requestDataStep.requestAccount(requestTask),
                   maxOutstandingRequests)
-              .thenProcess("batchPersistAccountData", task -> persistDataStep.persist(task))
+              .thenProcessInParallel(
+                  "batchPersistAccountData",
+                  task -> persistDataStep.persist(task),
+                  persistParallelism)
               .andFinishWith("batchAccountDataDownloaded", requestsToComplete::put);
 
       final Pipeline<Task<SnapDataRequest>> fetchStorageDataPipeline =
@@ -286,7 +299,9 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  useRingBufferPipes,
+                  pipeMetrics)
               .inBatches(snapSyncConfiguration.getStorageCountPerRequest())
               .thenProcess(
                   "checkNewPivotBlock-Storage",
@@ -298,7 +313,10 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   "batchDownloadStorageData",
                   requestTask -> requestDataStep.requestStorage(requestTask),
                   maxOutstandingRequests)
-              .thenProcess("batchPersistStorageData", task -> persistDataStep.persist(task))
+              .thenProcessInParallel(
+                  "batchPersistStorageData",
+                  task -> persistDataStep.persist(task),
+                  persistParallelism)
               .andFinishWith(
                   "batchStorageDataDownloaded",
                   tasks -> {
@@ -313,7 +331,9 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  useRingBufferPipes,
+                  pipeMetrics)
               .thenProcess(
                   "checkNewPivotBlock-LargeStorage",
                   tasks -> {
@@ -324,12 +344,13 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   "batchDownloadLargeStorageData",
                   requestTask -> requestDataStep.requestStorage(List.of(requestTask)),
                   maxOutstandingRequests)
-              .thenProcess(
+              .thenProcessInParallel(
                   "batchPersistLargeStorageData",
                   task -> {
                     persistDataStep.persist(task);
                     return task;
-                  })
+                  },
+                  persistParallelism)
               .andFinishWith(
                   "batchLargeStorageDataDownloaded",
                   tasks -> tasks.forEach(requestsToComplete::put));
@@ -342,7 +363,9 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "code_blocks_download_pipeline")
+                  "code_blocks_download_pipeline",
+                  useRingBufferPipes,
+                  pipeMetrics)
               .inBatches(
                   snapSyncConfiguration.getBytecodeCountPerRequest() * 2,
                   tasks ->
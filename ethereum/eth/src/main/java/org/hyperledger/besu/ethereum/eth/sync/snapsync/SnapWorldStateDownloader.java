@@ -173,6 +173,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
                   newDownloadState.enqueueRequest(snapDataRequest);
                 });
       } else if (!snapContext.getAccountsHealingList().isEmpty()) { // restart only the heal step
+        snapContext.clearPendingTasks();
         snapSyncState.setHealTrieStatus(true);
         worldStateStorageCoordinator.applyOnMatchingStrategies(
             List.of(DataStorageFormat.BONSAI, DataStorageFormat.X_BONSAI_ARCHIVE),
@@ -189,12 +190,18 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
       } else {
         // start from scratch
         worldStateStorageCoordinator.clear();
+        snapContext.clearPendingTasks();
         ranges.forEach(
             (key, value) ->
                 newDownloadState.enqueueRequest(
                     createAccountRangeDataRequest(stateRoot, key, value)));
       }
 
+      if (snapSyncConfiguration.getPendingStorageRequestsMemoryLimit() > 0) {
+        newDownloadState.persistPendingStorageRequests(
+            snapSyncConfiguration.getPendingStorageRequestsMemoryLimit());
+      }
+
       Optional<CompleteTaskStep> maybeCompleteTask =
           Optional.of(new CompleteTaskStep(snapSyncState, metricsSystem));
 
@@ -239,8 +246,24 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
               .build();
 
       newDownloadState.setPivotBlockSelector(dynamicPivotBlockManager);
+      if (snapSyncConfiguration.getHealPrefetchMaxDepth() > 0) {
+        newDownloadState.setTrieNodeHealingPrefetcher(
+            new TrieNodeHealingPrefetcher(
+                ethContext,
+                metricsSystem,
+                newDownloadState,
+                header.getNumber(),
+                snapSyncConfiguration));
+      }
+
+      if (snapSyncConfiguration.isBulkLoadEnabled() && !snapSyncState.isHealTrieInProgress()) {
+        newDownloadState.setBulkLoadEnabled(true);
+      }
 
-      return newDownloadState.startDownload(downloadProcess, ethContext.getScheduler());
+      final CompletableFuture<Void> downloadFuture =
+          newDownloadState.startDownload(downloadProcess, ethContext.getScheduler());
+      downloadFuture.whenComplete((result, error) -> newDownloadState.setBulkLoadEnabled(false));
+      return downloadFuture;
     }
   }
 
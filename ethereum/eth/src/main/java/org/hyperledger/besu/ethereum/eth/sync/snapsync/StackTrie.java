@@ -21,7 +21,9 @@ import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.NodeUpdater;
 import org.hyperledger.besu.ethereum.trie.RangeManager;
 import org.hyperledger.besu.ethereum.trie.SnapCommitVisitor;
+import org.hyperledger.besu.ethereum.trie.StoredNode;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.patricia.StoredNodeFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -31,10 +33,17 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.immutables.value.Value;
@@ -48,6 +57,17 @@ import org.immutables.value.Value;
  */
 public class StackTrie {
 
+  /** Ranges with fewer keys are hashed by the committing thread alone. */
+  static final int PARALLEL_HASHING_MIN_KEYS = 1024;
+
+  private static final int PARALLEL_HASHING_MIN_SEGMENTS = 16;
+  private static final int PARALLEL_HASHING_MAX_DEPTH = 3;
+  private static final int HASHING_THREADS = Runtime.getRuntime().availableProcessors();
+
+  // dedicated to hashing, so the segments are not hashed on the common fork join pool, and
+  // shared by all the tries so concurrent commits do not add threads
+  private static final ExecutorService HASHING_EXECUTOR = createHashingExecutor();
+
   private final Bytes32 rootHash;
   private final AtomicInteger nbSegments;
   private final int maxSegments;
@@ -133,8 +153,8 @@ public class StackTrie {
                 proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey(),
                 true);
 
-        final MerkleTrie<Bytes, Bytes> trie =
-            new StoredMerklePatriciaTrie<>(
+        final SegmentHashingTrie trie =
+            new SegmentHashingTrie(
                 snapStoredNodeFactory,
                 proofs.isEmpty() ? MerkleTrie.EMPTY_TRIE_NODE_HASH : rootHash);
 
@@ -142,6 +162,10 @@ public class StackTrie {
           trie.put(entry.getKey(), entry.getValue());
         }
 
+        if (keys.size() >= PARALLEL_HASHING_MIN_KEYS) {
+          trie.hashSegmentsInParallel();
+        }
+
         keys.forEach(flatDatabaseUpdater::update);
 
         trie.commit(
@@ -175,6 +199,61 @@ public class StackTrie {
     }
   }
 
+  /**
+   * Trie able to hash its new subtries concurrently. The subtries below the first levels of the
+   * trie are independent segments, once they are hashed the commit only has to hash the boundary
+   * nodes above them, reusing the hashes cached in the segments.
+   */
+  private static class SegmentHashingTrie extends StoredMerklePatriciaTrie<Bytes, Bytes> {
+
+    SegmentHashingTrie(final StoredNodeFactory<Bytes> nodeFactory, final Bytes32 rootHash) {
+      super(nodeFactory, rootHash);
+    }
+
+    void hashSegmentsInParallel() {
+      List<Node<Bytes>> segments = List.of(root);
+      for (int depth = 0;
+          depth < PARALLEL_HASHING_MAX_DEPTH && segments.size() < PARALLEL_HASHING_MIN_SEGMENTS;
+          depth++) {
+        segments = segments.stream().flatMap(SegmentHashingTrie::splitSegment).toList();
+      }
+      CompletableFuture.allOf(
+              segments.stream()
+                  .filter(Node::isDirty)
+                  .map(segment -> CompletableFuture.runAsync(segment::getHash, HASHING_EXECUTOR))
+                  .toArray(CompletableFuture[]::new))
+          .join();
+    }
+
+    private static Stream<Node<Bytes>> splitSegment(final Node<Bytes> node) {
+      // only split the nodes built from the range, stored nodes would have to be loaded first
+      if (node.isDirty() && !(node instanceof StoredNode)) {
+        final List<Node<Bytes>> children = node.getChildren();
+        if (!children.isEmpty()) {
+          return children.stream();
+        }
+      }
+      return Stream.of(node);
+    }
+  }
+
+  private static ExecutorService createHashingExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            HASHING_THREADS,
+            HASHING_THREADS,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("snap-trie-hashing-%d")
+                .setDaemon(true)
+                .build());
+    // the threads are only needed while snap sync persists large ranges
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   public interface FlatDatabaseUpdater {
 
     static FlatDatabaseUpdater noop() {
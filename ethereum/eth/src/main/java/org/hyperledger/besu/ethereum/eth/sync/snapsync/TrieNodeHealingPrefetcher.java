@@ -0,0 +1,234 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.snap.RetryingGetTrieNodeFromPeerTask;
+import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.AccountTrieNodeHealingRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.TrieNodeHealingRequest;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prefetches the first levels of the account trie when the trie heal starts.
+ *
+ * <p>Every block the pivot moved across since the ranges started to be downloaded changes hundreds
+ * of accounts, spread uniformly over the trie since its keys are hashes. The nodes of the first
+ * levels are then almost all stale when the heal starts, while the heal would only discover them
+ * one level per round trip. They are instead requested by path, all at once in parallel batches,
+ * and kept in memory until the heal reaches them. A prefetched node is only used if its hash is the
+ * one referenced by its parent, otherwise it is requested again like any other node.
+ */
+public class TrieNodeHealingPrefetcher {
+  private static final Logger LOG = LoggerFactory.getLogger(TrieNodeHealingPrefetcher.class);
+
+  /** Rough number of accounts changed by a mainnet block */
+  static final long ESTIMATED_CHANGED_ACCOUNTS_PER_BLOCK = 400;
+
+  /** Expected changed accounts under a subtrie for it to be considered stale */
+  static final long MIN_EXPECTED_CHANGES_PER_STALE_SUBTRIE = 2;
+
+  private static final int NIBBLES = 16;
+
+  private final EthContext ethContext;
+  private final MetricsSystem metricsSystem;
+  private final SnapWorldDownloadState downloadState;
+  private final long downloadPivotBlockNumber;
+  private final int maxDepth;
+  private final int nodesPerRequest;
+  private final Counter prefetchedNodesUsedCounter;
+
+  private final Map<Bytes, Bytes> prefetchedNodes = new ConcurrentHashMap<>();
+  private volatile CompletableFuture<Void> prefetchFuture = CompletableFuture.completedFuture(null);
+
+  public TrieNodeHealingPrefetcher(
+      final EthContext ethContext,
+      final MetricsSystem metricsSystem,
+      final SnapWorldDownloadState downloadState,
+      final long downloadPivotBlockNumber,
+      final SnapSyncConfiguration snapSyncConfiguration) {
+    this.ethContext = ethContext;
+    this.metricsSystem = metricsSystem;
+    this.downloadState = downloadState;
+    this.downloadPivotBlockNumber = downloadPivotBlockNumber;
+    this.maxDepth = snapSyncConfiguration.getHealPrefetchMaxDepth();
+    this.nodesPerRequest = snapSyncConfiguration.getTrienodeCountPerRequest();
+    this.prefetchedNodesUsedCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_world_state_prefetched_trie_nodes_total",
+            "Total number of trie node heal requests completed using prefetched nodes");
+  }
+
+  /**
+   * Prefetch the levels of the account trie that are likely stale for the new pivot block
+   *
+   * @param pivotBlockHeader the pivot block the heal runs against
+   */
+  public void prefetch(final BlockHeader pivotBlockHeader) {
+    prefetchedNodes.clear();
+    final int depth =
+        computePrefetchDepth(pivotBlockHeader.getNumber() - downloadPivotBlockNumber, maxDepth);
+    if (depth == 0) {
+      return;
+    }
+    final List<Bytes> locations = locationsUpToDepth(depth);
+    LOG.info(
+        "Prefetching {} account trie nodes down to depth {} for the heal of pivot block {}",
+        locations.size(),
+        depth,
+        pivotBlockHeader.getNumber());
+    final List<CompletableFuture<Void>> requests = new ArrayList<>();
+    for (final List<Bytes> batch : Lists.partition(locations, nodesPerRequest)) {
+      requests.add(requestBatch(pivotBlockHeader, batch));
+    }
+    prefetchFuture = CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new));
+  }
+
+  /**
+   * A future completing once the running prefetch, if any, has received its responses
+   *
+   * @return the future, never completing exceptionally
+   */
+  public CompletableFuture<Void> whenPrefetched() {
+    return prefetchFuture;
+  }
+
+  /**
+   * Set the data of the request from a prefetched node, when one matches its location and hash
+   *
+   * @param request the heal request
+   * @return true if the request has been filled
+   */
+  public boolean fillFromPrefetchedNodes(final TrieNodeHealingRequest request) {
+    if (!(request instanceof AccountTrieNodeHealingRequest)) {
+      return false;
+    }
+    final Optional<Bytes> prefetchedNode =
+        getPrefetchedNode(request.getLocation(), request.getNodeHash());
+    prefetchedNode.ifPresent(
+        data -> {
+          request.setData(data);
+          prefetchedNodesUsedCounter.inc();
+        });
+    return prefetchedNode.isPresent();
+  }
+
+  Optional<Bytes> getPrefetchedNode(final Bytes location, final Bytes32 nodeHash) {
+    return Optional.ofNullable(prefetchedNodes.remove(location))
+        .filter(data -> Hash.hash(data).equals(nodeHash));
+  }
+
+  void addPrefetchedNode(final Bytes location, final Bytes data) {
+    if (!data.isEmpty()) {
+      prefetchedNodes.put(location, data);
+    }
+  }
+
+  /**
+   * The deepest level whose subtries are all expected to hold changed accounts.
+   *
+   * @param movedBlocks the number of blocks the pivot moved across
+   * @param maxDepth the maximum depth to prefetch
+   * @return the depth down to which the trie should be prefetched, 0 for none
+   */
+  static int computePrefetchDepth(final long movedBlocks, final int maxDepth) {
+    final long expectedChangedAccounts =
+        Math.max(0, movedBlocks) * ESTIMATED_CHANGED_ACCOUNTS_PER_BLOCK;
+    int depth = 0;
+    long subtries = NIBBLES;
+    while (depth < maxDepth
+        && subtries * MIN_EXPECTED_CHANGES_PER_STALE_SUBTRIE <= expectedChangedAccounts) {
+      depth++;
+      subtries *= NIBBLES;
+    }
+    return depth;
+  }
+
+  static List<Bytes> locationsUpToDepth(final int depth) {
+    final List<Bytes> locations = new ArrayList<>();
+    locations.add(Bytes.EMPTY);
+    List<Bytes> level = List.of(Bytes.EMPTY);
+    for (int i = 0; i < depth; i++) {
+      final List<Bytes> nextLevel = new ArrayList<>(level.size() * NIBBLES);
+      for (final Bytes parent : level) {
+        for (int nibble = 0; nibble < NIBBLES; nibble++) {
+          nextLevel.add(Bytes.concatenate(parent, Bytes.of(nibble)));
+        }
+      }
+      locations.addAll(nextLevel);
+      level = nextLevel;
+    }
+    return locations;
+  }
+
+  private CompletableFuture<Void> requestBatch(
+      final BlockHeader pivotBlockHeader, final List<Bytes> locations) {
+    final Map<Bytes, List<Bytes>> message = new HashMap<>();
+    final Map<Bytes, Bytes> locationsByPath = new HashMap<>();
+    for (final Bytes location : locations) {
+      final Bytes path = CompactEncoding.encode(location);
+      message.put(path, new ArrayList<>());
+      locationsByPath.put(path, location);
+    }
+    final EthTask<Map<Bytes, Bytes>> getTrieNodeFromPeerTask =
+        RetryingGetTrieNodeFromPeerTask.forTrieNodes(
+            ethContext, message, pivotBlockHeader, metricsSystem);
+    downloadState.addOutstandingTask(getTrieNodeFromPeerTask);
+    return getTrieNodeFromPeerTask
+        .run()
+        .orTimeout(10, TimeUnit.SECONDS)
+        .handle(
+            (response, error) -> {
+              downloadState.removeOutstandingTask(getTrieNodeFromPeerTask);
+              if (response != null) {
+                response.forEach(
+                    (path, data) -> {
+                      final Bytes location = locationsByPath.get(path);
+                      if (location != null) {
+                        addPrefetchedNode(location, data);
+                      }
+                    });
+              }
+              if (error != null) {
+                LOG.atDebug()
+                    .setMessage("Error prefetching trie nodes for the heal: {}")
+                    .addArgument(error)
+                    .log();
+              }
+              return null;
+            });
+  }
+}
@@ -18,9 +18,13 @@ import org.hyperledger.besu.ethereum.eth.sync.backwardsync.GenericKeyValueStorag
 import org.hyperledger.besu.ethereum.eth.sync.backwardsync.ValueConvertor;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.AccountRangeDataRequest;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.StorageRangeDataRequest;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.services.tasks.PersistentTaskQueue;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -48,6 +52,7 @@ public class SnapSyncStatePersistenceManager {
   private final GenericKeyValueStorageFacade<BigInteger, AccountRangeDataRequest>
       accountRangeToDownload;
   private final GenericKeyValueStorageFacade<BigInteger, Bytes> healContext;
+  private final KeyValueStorage pendingTasks;
 
   public SnapSyncStatePersistenceManager(final StorageProvider storageProvider) {
     this.accountRangeToDownload =
@@ -83,6 +88,32 @@ public class SnapSyncStatePersistenceManager {
             },
             storageProvider.getStorageBySegmentIdentifier(
                 KeyValueSegmentIdentifier.SNAPSYNC_ACCOUNT_TO_FIX));
+    this.pendingTasks =
+        storageProvider.getStorageBySegmentIdentifier(
+            KeyValueSegmentIdentifier.SNAPSYNC_PENDING_TASKS);
+  }
+
+  /**
+   * Creates a queue of storage range requests persisted in the database, loaded with the requests
+   * that were still pending when the previous download stopped.
+   *
+   * @param keyPrefix the prefix distinguishing this queue from the other persisted ones
+   * @param maxInMemoryRequests the max number of pending requests kept in memory
+   * @return the persisted queue
+   */
+  public TaskCollection<SnapDataRequest> createPendingStorageRequestsQueue(
+      final Bytes keyPrefix, final int maxInMemoryRequests) {
+    return new PersistentTaskQueue<>(
+        pendingTasks,
+        keyPrefix,
+        request -> ((StorageRangeDataRequest) request).serialize(),
+        bytes -> StorageRangeDataRequest.deserialize(new BytesValueRLPInput(bytes, false)),
+        maxInMemoryRequests);
+  }
+
+  /** Deletes the pending requests persisted by the queues of a previous download. */
+  public void clearPendingTasks() {
+    pendingTasks.clear();
   }
 
   /**
@@ -141,11 +172,13 @@ public class SnapSyncStatePersistenceManager {
   public void clear() {
     accountRangeToDownload.clear();
     healContext.clear();
+    pendingTasks.clear();
   }
 
   public void close() throws IOException {
     accountRangeToDownload.close();
     healContext.close();
+    pendingTasks.close();
   }
 
   private Predicate<byte[]> notEqualsTo(final byte[] name) {
@@ -27,6 +27,8 @@ import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapSyncProcessState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.SnapWorldDownloadState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.StackTrie;
 import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.NodeUpdater;
 import org.hyperledger.besu.ethereum.trie.RangeManager;
@@ -230,6 +232,32 @@ public class StorageRangeDataRequest extends SnapDataRequest {
     this.stackTrie.removeElement(startKeyHash);
   }
 
+  public Bytes serialize() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeByte(getRequestType().getValue());
+    out.writeBytes(getRootHash());
+    out.writeBytes(getAccountHash());
+    out.writeBytes(getStorageRoot());
+    out.writeBytes(getStartKeyHash());
+    out.writeBytes(getEndKeyHash());
+    out.endList();
+    return out.encoded();
+  }
+
+  public static StorageRangeDataRequest deserialize(final RLPInput in) {
+    in.enterList();
+    in.skipNext(); // skip request type
+    final Hash rootHash = Hash.wrap(in.readBytes32());
+    final Bytes32 accountHash = in.readBytes32();
+    final Bytes32 storageRoot = in.readBytes32();
+    final Bytes32 startKeyHash = in.readBytes32();
+    final Bytes32 endKeyHash = in.readBytes32();
+    in.leaveList();
+    return createStorageRangeDataRequest(
+        rootHash, accountHash, storageRoot, startKeyHash, endKeyHash);
+  }
+
   @VisibleForTesting
   public void setProofValid(final boolean isProofValid) {
     this.isProofValid = Optional.of(isProofValid);
@@ -30,9 +30,25 @@ import org.slf4j.LoggerFactory;
 
 public class BlobCache {
   private final Cache<VersionedHash, BlobProofBundle> cache;
+  private final Optional<MappedBlobStore> maybeBlobStore;
   private static final Logger LOG = LoggerFactory.getLogger(BlobCache.class);
 
   public BlobCache() {
+    this(Optional.empty());
+  }
+
+  /**
+   * Create a cache that keeps the blobs off-heap in the given store, instead of keeping them in
+   * memory, the store evicts the least recently used blobs when its disk budget is exhausted.
+   *
+   * @param blobStore the store where to keep the blobs
+   */
+  public BlobCache(final MappedBlobStore blobStore) {
+    this(Optional.of(blobStore));
+  }
+
+  private BlobCache(final Optional<MappedBlobStore> maybeBlobStore) {
+    this.maybeBlobStore = maybeBlobStore;
     this.cache =
         Caffeine.newBuilder()
             .maximumSize(
@@ -48,8 +64,13 @@ public class BlobCache {
       if (bwc.isPresent()) {
         bwc.get().getBlobProofBundles().stream()
             .forEach(
-                blobProofBundle ->
-                    this.cache.put(blobProofBundle.getVersionedHash(), blobProofBundle));
+                blobProofBundle -> {
+                  if (maybeBlobStore.isPresent()) {
+                    maybeBlobStore.get().put(blobProofBundle);
+                  } else {
+                    this.cache.put(blobProofBundle.getVersionedHash(), blobProofBundle);
+                  }
+                });
       } else {
         LOG.debug("transaction is missing blobs, cannot cache");
       }
@@ -64,7 +85,7 @@ public class BlobCache {
           Transaction.Builder txBuilder = Transaction.builder();
           txBuilder.copiedFrom(transaction);
           List<BlobProofBundle> blobProofBundles =
-              maybeHashes.get().stream().map(cache::getIfPresent).toList();
+              maybeHashes.get().stream().map(this::get).toList();
           final BlobsWithCommitments bwc = new BlobsWithCommitments(blobProofBundles);
           if (blobProofBundles.stream()
               .map(BlobProofBundle::getVersionedHash)
@@ -93,10 +114,14 @@ public class BlobCache {
   }
 
   public BlobProofBundle get(final VersionedHash vh) {
-    return cache.getIfPresent(vh);
+    return maybeBlobStore
+        .map(blobStore -> blobStore.get(vh).orElse(null))
+        .orElseGet(() -> cache.getIfPresent(vh));
   }
 
   public long size() {
-    return cache.estimatedSize();
+    return maybeBlobStore
+        .map(blobStore -> (long) blobStore.size())
+        .orElseGet(cache::estimatedSize);
   }
 }
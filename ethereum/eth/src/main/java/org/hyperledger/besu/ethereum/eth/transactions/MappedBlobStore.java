@@ -0,0 +1,281 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.BlobType;
+import org.hyperledger.besu.datatypes.VersionedHash;
+import org.hyperledger.besu.ethereum.core.kzg.Blob;
+import org.hyperledger.besu.ethereum.core.kzg.BlobProofBundle;
+import org.hyperledger.besu.ethereum.core.kzg.CKZG4844Helper;
+import org.hyperledger.besu.ethereum.core.kzg.KZGCommitment;
+import org.hyperledger.besu.ethereum.core.kzg.KZGProof;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps {@link BlobProofBundle}s off-heap, in fixed size slots of memory-mapped segment files,
+ * indexed by their {@link VersionedHash}. When the disk budget is exhausted the least recently
+ * used bundle is evicted to make room for the new one.
+ *
+ * <p>Bundles are stored together with their cells, so reading them back does not require any KZG
+ * computation. Proofs are not verified again on read, since they have already been verified when
+ * the transaction carrying them was admitted to the pool.
+ *
+ * <p>The content of the store does not survive a restart, any existing segment file is deleted
+ * when the store is created.
+ */
+public class MappedBlobStore {
+  private static final Logger LOG = LoggerFactory.getLogger(MappedBlobStore.class);
+
+  static final int BLOB_SIZE = 131072;
+  static final int MAX_BLOB_CELLS_SIZE = CKZG4844Helper.CELL_PROOFS_PER_BLOB * 2048;
+  static final int SLOTS_PER_SEGMENT = 16;
+  private static final String SEGMENT_FILE_PREFIX = "blobs-";
+  private static final String SEGMENT_FILE_SUFFIX = ".seg";
+  private static final byte NO_CELLS = 0;
+  private static final byte WITH_CELLS = 1;
+
+  /**
+   * versioned hash, blob type, blob, commitment, proofs count, proofs, cells flag and cells, the
+   * cells are always reserved so a slot can hold a bundle of any type.
+   */
+  static final int SLOT_SIZE =
+      Bytes32.SIZE
+          + 1
+          + BLOB_SIZE
+          + Bytes48.SIZE
+          + Integer.BYTES
+          + CKZG4844Helper.CELL_PROOFS_PER_BLOB * Bytes48.SIZE
+          + 1
+          + MAX_BLOB_CELLS_SIZE;
+
+  private final Path directory;
+  private final int maxSlots;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private final LinkedHashMap<VersionedHash, Integer> index = new LinkedHashMap<>(16, 0.75f, true);
+  private final Deque<Integer> freeSlots = new ArrayDeque<>();
+  private int nextUnusedSlot = 0;
+
+  /**
+   * Create a new store
+   *
+   * @param directory where to create the segment files
+   * @param maxDiskBytes the disk budget, at least one slot must fit in it
+   */
+  public MappedBlobStore(final Path directory, final long maxDiskBytes) {
+    checkArgument(
+        maxDiskBytes >= SLOT_SIZE,
+        "Blob store disk budget must be at least %s bytes, but was %s",
+        SLOT_SIZE,
+        maxDiskBytes);
+    this.directory = directory;
+    this.maxSlots = (int) Math.min(Integer.MAX_VALUE, maxDiskBytes / SLOT_SIZE);
+    try {
+      Files.createDirectories(directory);
+      deleteSegmentFiles();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to initialize blob store in " + directory, e);
+    }
+    LOG.info("Storing blobs in {} using up to {} slots", directory, maxSlots);
+  }
+
+  /**
+   * Store the bundle, evicting the least recently used bundle if there is no free slot
+   *
+   * @param blobProofBundle the bundle to store
+   * @return true if the bundle is now in the store
+   */
+  public synchronized boolean put(final BlobProofBundle blobProofBundle) {
+    final VersionedHash versionedHash = blobProofBundle.getVersionedHash();
+    if (index.containsKey(versionedHash)) {
+      // only refresh its position in the LRU order
+      index.get(versionedHash);
+      return true;
+    }
+    if (!fitsInSlot(blobProofBundle)) {
+      LOG.debug("Blob {} does not fit in a store slot, skipping", versionedHash);
+      return false;
+    }
+    final int slot = allocateSlot();
+    write(slotBuffer(slot), blobProofBundle);
+    index.put(versionedHash, slot);
+    return true;
+  }
+
+  /**
+   * Read back a stored bundle
+   *
+   * @param versionedHash the versioned hash of the bundle
+   * @return the bundle if present in the store
+   */
+  public synchronized Optional<BlobProofBundle> get(final VersionedHash versionedHash) {
+    final Integer slot = index.get(versionedHash);
+    if (slot == null) {
+      return Optional.empty();
+    }
+    return Optional.of(read(slotBuffer(slot)));
+  }
+
+  /**
+   * Is a bundle with this versioned hash in the store? Does not affect the LRU order.
+   *
+   * @param versionedHash the versioned hash of the bundle
+   * @return true if the store contains the bundle
+   */
+  public synchronized boolean contains(final VersionedHash versionedHash) {
+    return index.containsKey(versionedHash);
+  }
+
+  /**
+   * Remove a bundle from the store, freeing its slot
+   *
+   * @param versionedHash the versioned hash of the bundle
+   */
+  public synchronized void remove(final VersionedHash versionedHash) {
+    final Integer slot = index.remove(versionedHash);
+    if (slot != null) {
+      freeSlots.push(slot);
+    }
+  }
+
+  /**
+   * Number of bundles in the store
+   *
+   * @return the number of bundles
+   */
+  public synchronized int size() {
+    return index.size();
+  }
+
+  private int allocateSlot() {
+    if (!freeSlots.isEmpty()) {
+      return freeSlots.pop();
+    }
+    if (nextUnusedSlot < maxSlots) {
+      return nextUnusedSlot++;
+    }
+    final Iterator<Map.Entry<VersionedHash, Integer>> lru = index.entrySet().iterator();
+    final Map.Entry<VersionedHash, Integer> evicted = lru.next();
+    lru.remove();
+    LOG.trace("Evicting blob {} from the store", evicted.getKey());
+    return evicted.getValue();
+  }
+
+  private ByteBuffer slotBuffer(final int slot) {
+    final int segment = slot / SLOTS_PER_SEGMENT;
+    while (segments.size() <= segment) {
+      segments.add(mapSegment(segments.size()));
+    }
+    return segments.get(segment).slice((slot % SLOTS_PER_SEGMENT) * SLOT_SIZE, SLOT_SIZE);
+  }
+
+  private MappedByteBuffer mapSegment(final int segment) {
+    final Path segmentFile = directory.resolve(SEGMENT_FILE_PREFIX + segment + SEGMENT_FILE_SUFFIX);
+    final int slotsInSegment = Math.min(SLOTS_PER_SEGMENT, maxSlots - segment * SLOTS_PER_SEGMENT);
+    try (FileChannel channel =
+        FileChannel.open(
+            segmentFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // the mapping stays valid after the channel is closed
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slotsInSegment * SLOT_SIZE);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to map blob store segment " + segmentFile, e);
+    }
+  }
+
+  private void deleteSegmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (final Path file : files.toList()) {
+        final String fileName = file.getFileName().toString();
+        if (fileName.startsWith(SEGMENT_FILE_PREFIX) && fileName.endsWith(SEGMENT_FILE_SUFFIX)) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  private static boolean fitsInSlot(final BlobProofBundle blobProofBundle) {
+    return blobProofBundle.getBlob().getData().size() == BLOB_SIZE
+        && blobProofBundle.getKzgProof().size() <= CKZG4844Helper.CELL_PROOFS_PER_BLOB
+        && blobProofBundle.getBlobCellsBytes().map(Bytes::size).orElse(MAX_BLOB_CELLS_SIZE)
+            == MAX_BLOB_CELLS_SIZE;
+  }
+
+  private static void write(final ByteBuffer buffer, final BlobProofBundle blobProofBundle) {
+    buffer.put(blobProofBundle.getVersionedHash().toBytes().toArrayUnsafe());
+    buffer.put((byte) blobProofBundle.getBlobType().getVersionId());
+    buffer.put(blobProofBundle.getBlob().getData().toArrayUnsafe());
+    buffer.put(blobProofBundle.getKzgCommitment().getData().toArrayUnsafe());
+    buffer.putInt(blobProofBundle.getKzgProof().size());
+    for (final KZGProof proof : blobProofBundle.getKzgProof()) {
+      buffer.put(proof.getData().toArrayUnsafe());
+    }
+    final Optional<Bytes> maybeCells = blobProofBundle.getBlobCellsBytes();
+    if (maybeCells.isPresent()) {
+      buffer.put(WITH_CELLS);
+      buffer.put(maybeCells.get().toArrayUnsafe());
+    } else {
+      buffer.put(NO_CELLS);
+    }
+  }
+
+  private static BlobProofBundle read(final ByteBuffer buffer) {
+    final VersionedHash versionedHash = new VersionedHash(Bytes32.wrap(readBytes(buffer, 32)));
+    final BlobType blobType = BlobType.of(buffer.get());
+    final Blob blob = new Blob(Bytes.wrap(readBytes(buffer, BLOB_SIZE)));
+    final KZGCommitment commitment =
+        new KZGCommitment(Bytes48.wrap(readBytes(buffer, Bytes48.SIZE)));
+    final int proofCount = buffer.getInt();
+    final List<KZGProof> proofs = new ArrayList<>(proofCount);
+    for (int i = 0; i < proofCount; i++) {
+      proofs.add(new KZGProof(Bytes48.wrap(readBytes(buffer, Bytes48.SIZE))));
+    }
+    final Bytes cells =
+        buffer.get() == WITH_CELLS ? Bytes.wrap(readBytes(buffer, MAX_BLOB_CELLS_SIZE)) : null;
+    return new BlobProofBundle(blobType, blob, commitment, proofs, versionedHash, cells);
+  }
+
+  private static byte[] readBytes(final ByteBuffer buffer, final int length) {
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -27,10 +27,12 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import com.google.common.math.IntMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,7 +43,13 @@ public class PeerTransactionTracker
   private final EthPeers ethPeers;
   private final int maxTrackedSeenTxsPerPeer;
   private final boolean forgetEvictedTxsEnabled;
+  private final boolean seenTxsFilterEnabled;
   private final Map<EthPeer, Set<Hash>> seenTransactions = new ConcurrentHashMap<>();
+  private final Map<EthPeer, SeenTransactionsFilter> seenTransactionsFilters =
+      new ConcurrentHashMap<>();
+  // global index of the txs exchanged with any peer, only used with the seen txs filters, it is
+  // filled by all the peers, so it is sized to remember the seen txs of all of them
+  private final Optional<SeenTransactionsFilter> allSeenTransactionsFilter;
   private final Map<EthPeer, Set<Transaction>> transactionsToSend = new ConcurrentHashMap<>();
   private final Map<EthPeer, Set<Transaction>> transactionHashesToSend = new ConcurrentHashMap<>();
 
@@ -50,45 +58,86 @@ public class PeerTransactionTracker
     this.ethPeers = ethPeers;
     this.maxTrackedSeenTxsPerPeer = txPoolConfig.getUnstable().getMaxTrackedSeenTxsPerPeer();
     this.forgetEvictedTxsEnabled = txPoolConfig.getUnstable().getPeerTrackerForgetEvictedTxs();
+    this.seenTxsFilterEnabled = txPoolConfig.getUnstable().getPeerTrackerSeenTxsFilterEnabled();
+    this.allSeenTransactionsFilter =
+        seenTxsFilterEnabled
+            ? Optional.of(
+                new SeenTransactionsFilter(
+                    IntMath.saturatedMultiply(
+                        maxTrackedSeenTxsPerPeer, Math.max(1, ethPeers.getMaxPeers()))))
+            : Optional.empty();
   }
 
   public void reset() {
     seenTransactions.clear();
+    seenTransactionsFilters.clear();
+    allSeenTransactionsFilter.ifPresent(SeenTransactionsFilter::clear);
     transactionsToSend.clear();
     transactionHashesToSend.clear();
   }
 
-  public synchronized void markTransactionsAsSeen(
+  public void markTransactionsAsSeen(
       final EthPeer peer, final Collection<Transaction> transactions) {
     markTransactionHashesAsSeen(peer, toHashList(transactions));
   }
 
-  public synchronized void markTransactionHashesAsSeen(
-      final EthPeer peer, final Collection<Hash> txHashes) {
-    final Set<Hash> seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
-    seenTransactionsForPeer.addAll(txHashes);
+  public void markTransactionHashesAsSeen(final EthPeer peer, final Collection<Hash> txHashes) {
+    if (seenTxsFilterEnabled) {
+      seenTransactionsFilters
+          .computeIfAbsent(peer, key -> new SeenTransactionsFilter(maxTrackedSeenTxsPerPeer))
+          .putAll(txHashes);
+      allSeenTransactionsFilter.get().putAll(txHashes);
+    } else {
+      final Set<Hash> seenTransactionsForPeer = getOrCreateSeenTransactionsForPeer(peer);
+      seenTransactionsForPeer.addAll(txHashes);
+    }
   }
 
-  public synchronized void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
+  public void addToPeerSendQueue(final EthPeer peer, final Transaction transaction) {
     if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionsToSend.computeIfAbsent(peer, key -> createTransactionsSet()).add(transaction);
+      addToQueue(transactionsToSend, peer, transaction);
     }
   }
 
-  public synchronized void addToPeerHashSendQueue(
-      final EthPeer peer, final Transaction transaction) {
+  public void addToPeerHashSendQueue(final EthPeer peer, final Transaction transaction) {
     if (!hasPeerSeenTransaction(peer, transaction)) {
-      transactionHashesToSend
-          .computeIfAbsent(peer, key -> createTransactionsSet())
-          .add(transaction);
+      addToQueue(transactionHashesToSend, peer, transaction);
     }
   }
 
+  /**
+   * Put back in the send queue of the peer transactions that were claimed but not sent, for example
+   * because the outbound budget for the peer was exhausted. These transactions are already marked as
+   * seen by the peer, so they are added without checking it.
+   *
+   * @param peer the peer
+   * @param transactions the transactions to send later
+   */
+  public void requeueTransactionsToSendToPeer(
+      final EthPeer peer, final Collection<Transaction> transactions) {
+    transactions.forEach(transaction -> addToQueue(transactionsToSend, peer, transaction));
+  }
+
+  private void addToQueue(
+      final Map<EthPeer, Set<Transaction>> queues,
+      final EthPeer peer,
+      final Transaction transaction) {
+    // compute is atomic with the remove done when claiming, so the transaction cannot be added to
+    // a queue that was just claimed
+    queues.compute(
+        peer,
+        (key, queue) -> {
+          final Set<Transaction> peerQueue = queue != null ? queue : createTransactionsSet();
+          peerQueue.add(transaction);
+          return peerQueue;
+        });
+  }
+
   public Iterable<EthPeer> getEthPeersWithUnsentTransactions() {
     return transactionsToSend.keySet();
   }
 
-  public synchronized Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
+  public Set<Transaction> claimTransactionsToSendToPeer(final EthPeer peer) {
     final Set<Transaction> transactionsToSend = this.transactionsToSend.remove(peer);
     if (transactionsToSend != null) {
       markTransactionsAsSeen(peer, transactionsToSend);
@@ -98,7 +147,7 @@ public class PeerTransactionTracker
     }
   }
 
-  public synchronized Set<Transaction> claimTransactionHashesToSendToPeer(final EthPeer peer) {
+  public Set<Transaction> claimTransactionHashesToSendToPeer(final EthPeer peer) {
     final Set<Transaction> transactionHashesToSend = this.transactionHashesToSend.remove(peer);
     if (transactionHashesToSend != null) {
       markTransactionHashesAsSeen(peer, toHashList(transactionHashesToSend));
@@ -109,7 +158,10 @@ public class PeerTransactionTracker
   }
 
   public boolean hasSeenTransaction(final Hash txHash) {
-    return seenTransactions.values().stream().anyMatch(seen -> seen.contains(txHash));
+    return allSeenTransactionsFilter
+        .map(filter -> filter.mightContain(txHash))
+        .orElseGet(
+            () -> seenTransactions.values().stream().anyMatch(seen -> seen.contains(txHash)));
   }
 
   private Set<Hash> getOrCreateSeenTransactionsForPeer(final EthPeer peer) {
@@ -121,6 +173,10 @@ public class PeerTransactionTracker
   }
 
   boolean hasPeerSeenTransaction(final EthPeer peer, final Hash txHash) {
+    if (seenTxsFilterEnabled) {
+      final SeenTransactionsFilter seenTransactionsFilter = seenTransactionsFilters.get(peer);
+      return seenTransactionsFilter != null && seenTransactionsFilter.mightContain(txHash);
+    }
     final Set<Hash> seenTransactionsForPeer = seenTransactions.get(peer);
     return seenTransactionsForPeer != null && seenTransactionsForPeer.contains(txHash);
   }
@@ -144,6 +200,7 @@ public class PeerTransactionTracker
     // processing of incoming messages it could seldom happen that a tracker is recreated just
     // after a peer was disconnected, resulting in a memory leak.
     final Set<EthPeer> trackedPeers = new HashSet<>(seenTransactions.keySet());
+    trackedPeers.addAll(seenTransactionsFilters.keySet());
     trackedPeers.addAll(transactionsToSend.keySet());
     trackedPeers.addAll(transactionHashesToSend.keySet());
 
@@ -168,6 +225,7 @@ public class PeerTransactionTracker
         .forEach(
             disconnectedPeer -> {
               seenTransactions.remove(disconnectedPeer);
+              seenTransactionsFilters.remove(disconnectedPeer);
               transactionsToSend.remove(disconnectedPeer);
               transactionHashesToSend.remove(disconnectedPeer);
               LOG.atTrace()
@@ -0,0 +1,95 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+
+/**
+ * Compact and bounded record of transaction hashes, backed by two generations of bloom filters.
+ * New hashes are added to the current generation, and when it reaches its capacity it replaces the
+ * previous one, so the oldest hashes are eventually forgotten. Generations start small and double
+ * their capacity at each rotation up to the configured one, so a filter that only records a few
+ * hashes does not allocate the full size upfront. Lookups can return false positives, with a low
+ * probability, but never false negatives for the hashes still remembered. Removal is not supported.
+ */
+class SeenTransactionsFilter {
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.001;
+  private static final int INITIAL_GENERATION_CAPACITY = 1024;
+  private static final Funnel<Hash> HASH_FUNNEL =
+      (hash, sink) -> sink.putBytes(hash.toArrayUnsafe());
+
+  private final int capacity;
+  private final AtomicInteger currentGenerationCount = new AtomicInteger();
+  private volatile int currentGenerationCapacity;
+  private volatile BloomFilter<Hash> currentGeneration;
+  // null until the first rotation
+  private volatile BloomFilter<Hash> previousGeneration;
+
+  /**
+   * Create a filter that, once grown to its full size, remembers at least the last {@code
+   * capacity} added hashes.
+   *
+   * @param capacity the number of hashes to remember
+   */
+  SeenTransactionsFilter(final int capacity) {
+    this.capacity = Math.max(1, capacity);
+    this.currentGenerationCapacity = Math.min(this.capacity, INITIAL_GENERATION_CAPACITY);
+    this.currentGeneration = newGeneration(currentGenerationCapacity);
+  }
+
+  void put(final Hash txHash) {
+    // put returns true only when the hash was not already present
+    if (currentGeneration.put(txHash)
+        && currentGenerationCount.incrementAndGet() >= currentGenerationCapacity) {
+      rotate();
+    }
+  }
+
+  void putAll(final Collection<Hash> txHashes) {
+    txHashes.forEach(this::put);
+  }
+
+  boolean mightContain(final Hash txHash) {
+    final BloomFilter<Hash> previous = previousGeneration;
+    return currentGeneration.mightContain(txHash)
+        || (previous != null && previous.mightContain(txHash));
+  }
+
+  synchronized void clear() {
+    previousGeneration = null;
+    currentGenerationCapacity = Math.min(capacity, INITIAL_GENERATION_CAPACITY);
+    currentGeneration = newGeneration(currentGenerationCapacity);
+    currentGenerationCount.set(0);
+  }
+
+  private synchronized void rotate() {
+    if (currentGenerationCount.get() >= currentGenerationCapacity) {
+      previousGeneration = currentGeneration;
+      currentGenerationCapacity = (int) Math.min(capacity, 2L * currentGenerationCapacity);
+      currentGeneration = newGeneration(currentGenerationCapacity);
+      currentGenerationCount.set(0);
+    }
+  }
+
+  private static BloomFilter<Hash> newGeneration(final int generationCapacity) {
+    return BloomFilter.create(HASH_FUNNEL, generationCapacity, FALSE_POSITIVE_PROBABILITY);
+  }
+}
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.messages.EthProtocolMessages;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool.TransactionBatchAddedListener;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,6 +32,8 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -46,11 +49,19 @@ public class TransactionBroadcaster
   private static final Boolean HASH_ONLY_BROADCAST = Boolean.TRUE;
   private static final Boolean FULL_BROADCAST = Boolean.FALSE;
 
+  // delay before sending the txs deferred because the outbound budget of the peer was exhausted,
+  // when no coalescing window is configured
+  private static final Duration MIN_DEFERRED_SEND_DELAY = Duration.ofMillis(100);
+
   private final PeerTransactionTracker transactionTracker;
   private final TransactionsMessageSender transactionsMessageSender;
   private final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender;
   private final EthContext ethContext;
+  private final Duration coalescingWindow;
   private final Random random;
+  private final Set<EthPeer> peersWithScheduledTransactionsSend = ConcurrentHashMap.newKeySet();
+  private final Set<EthPeer> peersWithScheduledTransactionHashesSend =
+      ConcurrentHashMap.newKeySet();
 
   public TransactionBroadcaster(
       final EthContext ethContext,
@@ -62,6 +73,21 @@ public class TransactionBroadcaster
         transactionTracker,
         transactionsMessageSender,
         newPooledTransactionHashesMessageSender,
+        Duration.ZERO);
+  }
+
+  public TransactionBroadcaster(
+      final EthContext ethContext,
+      final PeerTransactionTracker transactionTracker,
+      final TransactionsMessageSender transactionsMessageSender,
+      final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender,
+      final Duration coalescingWindow) {
+    this(
+        ethContext,
+        transactionTracker,
+        transactionsMessageSender,
+        newPooledTransactionHashesMessageSender,
+        coalescingWindow,
         null);
   }
 
@@ -72,10 +98,28 @@ public class TransactionBroadcaster
       final TransactionsMessageSender transactionsMessageSender,
       final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender,
       final Long seed) {
+    this(
+        ethContext,
+        transactionTracker,
+        transactionsMessageSender,
+        newPooledTransactionHashesMessageSender,
+        Duration.ZERO,
+        seed);
+  }
+
+  @VisibleForTesting
+  protected TransactionBroadcaster(
+      final EthContext ethContext,
+      final PeerTransactionTracker transactionTracker,
+      final TransactionsMessageSender transactionsMessageSender,
+      final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender,
+      final Duration coalescingWindow,
+      final Long seed) {
     this.transactionTracker = transactionTracker;
     this.transactionsMessageSender = transactionsMessageSender;
     this.newPooledTransactionHashesMessageSender = newPooledTransactionHashesMessageSender;
     this.ethContext = ethContext;
+    this.coalescingWindow = coalescingWindow;
     this.random = seed != null ? new Random(seed) : new Random();
   }
 
@@ -186,10 +230,7 @@ public class TransactionBroadcaster
           peer -> {
             transactions.forEach(
                 transaction -> transactionTracker.addToPeerSendQueue(peer, transaction));
-            ethContext
-                .getScheduler()
-                .scheduleSyncWorkerTask(
-                    () -> transactionsMessageSender.sendTransactionsToPeer(peer));
+            scheduleTransactionsSend(peer, coalescingWindow);
           });
     }
   }
@@ -202,16 +243,55 @@ public class TransactionBroadcaster
               peer -> {
                 transactions.forEach(
                     transaction -> transactionTracker.addToPeerHashSendQueue(peer, transaction));
-                ethContext
-                    .getScheduler()
-                    .scheduleSyncWorkerTask(
-                        () ->
-                            newPooledTransactionHashesMessageSender.sendTransactionHashesToPeer(
-                                peer));
+                scheduleTransactionHashesSend(peer);
               });
     }
   }
 
+  /**
+   * Schedule sending the queued transactions to the peer, unless a send is already scheduled, in
+   * which case the newly queued transactions are coalesced into it.
+   */
+  private void scheduleTransactionsSend(final EthPeer peer, final Duration delay) {
+    if (peersWithScheduledTransactionsSend.add(peer)) {
+      schedule(
+          () -> {
+            peersWithScheduledTransactionsSend.remove(peer);
+            if (transactionsMessageSender.sendTransactionsToPeer(peer)) {
+              // outbound budget exhausted, the remaining transactions go in the next round
+              scheduleTransactionsSend(
+                  peer,
+                  coalescingWindow.compareTo(MIN_DEFERRED_SEND_DELAY) > 0
+                      ? coalescingWindow
+                      : MIN_DEFERRED_SEND_DELAY);
+            }
+          },
+          delay);
+    }
+  }
+
+  private void scheduleTransactionHashesSend(final EthPeer peer) {
+    if (peersWithScheduledTransactionHashesSend.add(peer)) {
+      schedule(
+          () -> {
+            peersWithScheduledTransactionHashesSend.remove(peer);
+            newPooledTransactionHashesMessageSender.sendTransactionHashesToPeer(peer);
+          },
+          coalescingWindow);
+    }
+  }
+
+  private void schedule(final Runnable sendTask, final Duration delay) {
+    if (delay.isZero()) {
+      ethContext.getScheduler().scheduleSyncWorkerTask(sendTask);
+    } else {
+      ethContext
+          .getScheduler()
+          .scheduleFutureTask(
+              () -> ethContext.getScheduler().scheduleSyncWorkerTask(sendTask), delay);
+    }
+  }
+
   private void movePeersBetweenLists(
       final List<EthPeer> sourceList, final List<EthPeer> destinationList, final int num) {
 
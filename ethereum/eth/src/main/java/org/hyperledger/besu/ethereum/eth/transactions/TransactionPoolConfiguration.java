@@ -42,6 +42,10 @@ public interface TransactionPoolConfiguration {
     int DEFAULT_TX_MSG_KEEP_ALIVE = 60;
     int DEFAULT_MAX_TRACKED_SEEN_TXS_PER_PEER = 200_000;
     boolean DEFAULT_PEER_TRACKER_FORGET_EVICTED_TXS = false;
+    boolean DEFAULT_PEER_TRACKER_SEEN_TXS_FILTER_ENABLED = false;
+    Duration DEFAULT_TX_BROADCAST_COALESCING_WINDOW = Duration.ZERO;
+    int DEFAULT_TX_BROADCAST_MAX_BYTES_PER_PEER = 0;
+    long DEFAULT_BLOB_STORE_MAX_DISK_BYTES = 0;
 
     TransactionPoolConfiguration.Unstable DEFAULT =
         ImmutableTransactionPoolConfiguration.Unstable.builder().build();
@@ -65,6 +69,26 @@ public interface TransactionPoolConfiguration {
     default boolean getPeerTrackerForgetEvictedTxs() {
       return DEFAULT_PEER_TRACKER_FORGET_EVICTED_TXS;
     }
+
+    @Value.Default
+    default boolean getPeerTrackerSeenTxsFilterEnabled() {
+      return DEFAULT_PEER_TRACKER_SEEN_TXS_FILTER_ENABLED;
+    }
+
+    @Value.Default
+    default Duration getTxBroadcastCoalescingWindow() {
+      return DEFAULT_TX_BROADCAST_COALESCING_WINDOW;
+    }
+
+    @Value.Default
+    default int getTxBroadcastMaxBytesPerPeer() {
+      return DEFAULT_TX_BROADCAST_MAX_BYTES_PER_PEER;
+    }
+
+    @Value.Default
+    default long getBlobStoreMaxDiskBytes() {
+      return DEFAULT_BLOB_STORE_MAX_DISK_BYTES;
+    }
   }
 
   enum Implementation {
@@ -63,7 +63,9 @@ public class TransactionPoolFactory {
     final PeerTransactionTracker transactionTracker =
         new PeerTransactionTracker(transactionPoolConfiguration, ethContext.getEthPeers());
     final TransactionsMessageSender transactionsMessageSender =
-        new TransactionsMessageSender(transactionTracker);
+        new TransactionsMessageSender(
+            transactionTracker,
+            transactionPoolConfiguration.getUnstable().getTxBroadcastMaxBytesPerPeer());
 
     final NewPooledTransactionHashesMessageSender newPooledTransactionHashesMessageSender =
         new NewPooledTransactionHashesMessageSender(transactionTracker);
@@ -117,7 +119,8 @@ public class TransactionPoolFactory {
                 ethContext,
                 transactionTracker,
                 transactionsMessageSender,
-                newPooledTransactionHashesMessageSender),
+                newPooledTransactionHashesMessageSender,
+                transactionPoolConfiguration.getUnstable().getTxBroadcastCoalescingWindow()),
             ethContext,
             metrics,
             transactionPoolConfiguration,
@@ -16,11 +16,15 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 
 import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
 
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.messages.LimitedTransactionsMessages;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.StreamSupport;
 
@@ -30,10 +34,30 @@ import org.slf4j.LoggerFactory;
 class TransactionsMessageSender {
   private static final Logger LOG = LoggerFactory.getLogger(TransactionsMessageSender.class);
 
+  // legacy txs do not have a priority fee, so their gas price is used as an approximation
+  private static final Comparator<Transaction> BY_PRIORITY_FEE_DESC =
+      Comparator.comparing(
+              (Transaction tx) ->
+                  tx.getMaxPriorityFeePerGas().orElseGet(() -> tx.getGasPrice().orElse(Wei.ZERO)))
+          .reversed();
+
   private final PeerTransactionTracker transactionTracker;
+  private final int maxBytesPerPeer;
 
   public TransactionsMessageSender(final PeerTransactionTracker transactionTracker) {
+    this(transactionTracker, 0);
+  }
+
+  /**
+   * Create a sender that limits the bytes of transactions sent to each peer on every call.
+   *
+   * @param transactionTracker the peer transaction tracker
+   * @param maxBytesPerPeer the max bytes to send to a peer on each call, 0 means no limit
+   */
+  public TransactionsMessageSender(
+      final PeerTransactionTracker transactionTracker, final int maxBytesPerPeer) {
     this.transactionTracker = transactionTracker;
+    this.maxBytesPerPeer = maxBytesPerPeer;
   }
 
   public void sendTransactionsToPeers() {
@@ -42,9 +66,28 @@ class TransactionsMessageSender {
         .forEach(this::sendTransactionsToPeer);
   }
 
-  void sendTransactionsToPeer(final EthPeer peer) {
-    final Set<Transaction> allTxToSend = transactionTracker.claimTransactionsToSendToPeer(peer);
+  /**
+   * Send the pending transactions to the peer, the ones paying the higher priority fee first. If
+   * the max bytes per peer is reached, the remaining transactions are put back in the peer queue.
+   *
+   * @param peer the peer
+   * @return true if there are remaining transactions that need to be sent later
+   */
+  boolean sendTransactionsToPeer(final EthPeer peer) {
+    final List<Transaction> allTxToSend =
+        new ArrayList<>(transactionTracker.claimTransactionsToSendToPeer(peer));
+    allTxToSend.sort(BY_PRIORITY_FEE_DESC);
+    long sentBytes = 0;
     while (!allTxToSend.isEmpty()) {
+      if (maxBytesPerPeer > 0 && sentBytes >= maxBytesPerPeer) {
+        LOG.atTrace()
+            .setMessage("Outbound budget for peer {} exhausted, deferring {} transactions")
+            .addArgument(peer)
+            .addArgument(allTxToSend::size)
+            .log();
+        transactionTracker.requeueTransactionsToSendToPeer(peer, allTxToSend);
+        return true;
+      }
       final LimitedTransactionsMessages limitedTransactionsMessages =
           LimitedTransactionsMessages.createLimited(allTxToSend);
       final Set<Transaction> includedTransactions =
@@ -60,12 +103,14 @@ class TransactionsMessageSender {
           .addArgument(() -> includedTransactions)
           .addArgument(peer::getAgreedCapabilities)
           .log();
-      allTxToSend.removeAll(limitedTransactionsMessages.getIncludedTransactions());
+      allTxToSend.removeAll(includedTransactions);
       try {
         peer.send(limitedTransactionsMessages.getTransactionsMessage());
+        sentBytes += limitedTransactionsMessages.getTransactionsMessage().getSize();
       } catch (final PeerNotConnected e) {
-        return;
+        return false;
       }
     }
+    return false;
   }
 }
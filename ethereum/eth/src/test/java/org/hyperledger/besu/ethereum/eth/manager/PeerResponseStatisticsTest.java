@@ -0,0 +1,70 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.eth.messages.EthProtocolMessages;
+
+import org.junit.jupiter.api.Test;
+
+public class PeerResponseStatisticsTest {
+
+  private static final int HEADERS = EthProtocolMessages.GET_BLOCK_HEADERS;
+  private static final int BODIES = EthProtocolMessages.GET_BLOCK_BODIES;
+
+  private final PeerResponseStatistics statistics = new PeerResponseStatistics();
+
+  @Test
+  public void shouldBeEmptyWithoutResponses() {
+    assertThat(statistics.getThroughput()).isEmpty();
+    assertThat(statistics.getLatencyMillis(HEADERS)).isEmpty();
+    assertThat(statistics.getSlowResponseThresholdMillis(HEADERS)).isEmpty();
+  }
+
+  @Test
+  public void shouldEstimateLatencyPerRequestCode() {
+    statistics.recordResponse(HEADERS, 100, 1_000);
+    statistics.recordResponse(BODIES, 800, 1_000);
+
+    assertThat(statistics.getLatencyMillis(HEADERS)).contains(100L);
+    assertThat(statistics.getLatencyMillis(BODIES)).contains(800L);
+    // the first sample deviation is half the latency
+    assertThat(statistics.getSlowResponseThresholdMillis(HEADERS)).contains(300L);
+  }
+
+  @Test
+  public void shouldNarrowSlowResponseThresholdWhenLatencyIsSteady() {
+    statistics.recordResponse(HEADERS, 100, 1_000);
+    final long initialThreshold = statistics.getSlowResponseThresholdMillis(HEADERS).orElseThrow();
+    for (int i = 0; i < 50; i++) {
+      statistics.recordResponse(HEADERS, 100, 1_000);
+    }
+
+    assertThat(statistics.getLatencyMillis(HEADERS)).contains(100L);
+    assertThat(statistics.getSlowResponseThresholdMillis(HEADERS).orElseThrow())
+        .isLessThan(initialThreshold)
+        .isGreaterThanOrEqualTo(100L);
+  }
+
+  @Test
+  public void shouldMoveThroughputTowardsRecentResponses() {
+    statistics.recordResponse(BODIES, 10, 1_000);
+    assertThat(statistics.getThroughput()).contains(100.0);
+
+    statistics.recordResponse(BODIES, 10, 9_000);
+    assertThat(statistics.getThroughput().orElseThrow()).isGreaterThan(100.0).isLessThan(900.0);
+  }
+}
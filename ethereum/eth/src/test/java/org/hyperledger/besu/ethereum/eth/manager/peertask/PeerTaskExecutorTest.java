@@ -21,7 +21,9 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.SubProtocol;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
@@ -328,4 +330,129 @@ public class PeerTaskExecutorTest {
     Assertions.assertSame(responseObject, result.result().get());
     Assertions.assertEquals(PeerTaskExecutorResponseCode.SUCCESS, result.responseCode());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExecuteHedgesSlowRequestToAnotherPeer()
+      throws PeerConnection.PeerNotConnected, InvalidPeerTaskResponseException {
+    Object responseObject = new Object();
+    int requestMessageDataCode = 123;
+    EthPeer peer2 = Mockito.mock(EthPeer.class);
+
+    Mockito.when(peerSelector.getPeer(Mockito.any(Predicate.class)))
+        .thenReturn(Optional.of(ethPeer))
+        .thenReturn(Optional.of(peer2));
+
+    Mockito.when(peerTask.isHedgingAllowed()).thenReturn(true);
+    Mockito.when(peerTask.getRequestMessage()).thenReturn(requestMessageData);
+    Mockito.when(peerTask.getRetriesWithOtherPeer()).thenReturn(0);
+    Mockito.when(peerTask.getSubProtocol()).thenReturn(subprotocol);
+    Mockito.when(requestMessageData.getCode()).thenReturn(requestMessageDataCode);
+    Mockito.when(requestSender.getTimeoutMs()).thenReturn(5_000L);
+    Mockito.when(ethPeer.getSlowResponseThresholdMillis(requestMessageDataCode))
+        .thenReturn(Optional.of(50L));
+    // the first peer never answers
+    Mockito.when(requestSender.sendRequestAsync(subprotocol, requestMessageData, ethPeer))
+        .thenReturn(new CompletableFuture<>());
+    Mockito.when(requestSender.sendRequestAsync(subprotocol, requestMessageData, peer2))
+        .thenReturn(CompletableFuture.completedFuture(responseMessageData));
+    Mockito.when(peerTask.processResponse(responseMessageData)).thenReturn(responseObject);
+    Mockito.when(peerTask.validateResult(responseObject))
+        .thenReturn(PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD);
+
+    PeerTaskExecutorResult<Object> result = peerTaskExecutor.execute(peerTask);
+
+    Mockito.verify(peer2).recordUsefulResponse();
+    Mockito.verify(peer2)
+        .recordResponseTime(
+            Mockito.eq(requestMessageDataCode), Mockito.anyLong(), Mockito.anyInt());
+
+    Assertions.assertNotNull(result);
+    Assertions.assertSame(responseObject, result.result().orElseThrow());
+    Assertions.assertEquals(PeerTaskExecutorResponseCode.SUCCESS, result.responseCode());
+    Assertions.assertEquals(List.of(ethPeer, peer2), result.ethPeers());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExecuteHedgedIgnoresTheLosingResponse()
+      throws PeerConnection.PeerNotConnected, InvalidPeerTaskResponseException {
+    Object responseObject = new Object();
+    int requestMessageDataCode = 123;
+    EthPeer peer2 = Mockito.mock(EthPeer.class);
+    CompletableFuture<MessageData> slowResponse = new CompletableFuture<>();
+
+    Mockito.when(peerSelector.getPeer(Mockito.any(Predicate.class)))
+        .thenReturn(Optional.of(ethPeer))
+        .thenReturn(Optional.of(peer2));
+
+    Mockito.when(peerTask.isHedgingAllowed()).thenReturn(true);
+    Mockito.when(peerTask.getRequestMessage()).thenReturn(requestMessageData);
+    Mockito.when(peerTask.getRetriesWithOtherPeer()).thenReturn(0);
+    Mockito.when(peerTask.getSubProtocol()).thenReturn(subprotocol);
+    Mockito.when(requestMessageData.getCode()).thenReturn(requestMessageDataCode);
+    Mockito.when(requestSender.getTimeoutMs()).thenReturn(5_000L);
+    Mockito.when(ethPeer.getSlowResponseThresholdMillis(requestMessageDataCode))
+        .thenReturn(Optional.of(50L));
+    Mockito.when(requestSender.sendRequestAsync(subprotocol, requestMessageData, ethPeer))
+        .thenReturn(slowResponse);
+    Mockito.when(requestSender.sendRequestAsync(subprotocol, requestMessageData, peer2))
+        .thenReturn(CompletableFuture.completedFuture(responseMessageData));
+    Mockito.when(peerTask.processResponse(responseMessageData)).thenReturn(responseObject);
+    Mockito.when(peerTask.validateResult(responseObject))
+        .thenReturn(PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD);
+
+    PeerTaskExecutorResult<Object> result = peerTaskExecutor.execute(peerTask);
+
+    // the slow peer answers after the hedge peer won
+    slowResponse.complete(responseMessageData);
+
+    Mockito.verify(peerTask, Mockito.after(200).times(1)).processResponse(responseMessageData);
+    Mockito.verify(peerTask, Mockito.times(1)).postProcessResult(Mockito.any());
+    Mockito.verify(ethPeer, Mockito.never()).recordUsefulResponse();
+    Mockito.verify(peer2).recordUsefulResponse();
+
+    Assertions.assertSame(responseObject, result.result().orElseThrow());
+    Assertions.assertEquals(PeerTaskExecutorResponseCode.SUCCESS, result.responseCode());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExecuteHedgedRetriesWithSamePeer()
+      throws PeerConnection.PeerNotConnected, InvalidPeerTaskResponseException {
+    Object responseObject = new Object();
+    int requestMessageDataCode = 123;
+
+    Mockito.when(peerSelector.getPeer(Mockito.any(Predicate.class)))
+        .thenReturn(Optional.of(ethPeer))
+        .thenReturn(Optional.empty());
+
+    Mockito.when(peerTask.isHedgingAllowed()).thenReturn(true);
+    Mockito.when(peerTask.getRequestMessage()).thenReturn(requestMessageData);
+    Mockito.when(peerTask.getRetriesWithOtherPeer()).thenReturn(0);
+    Mockito.when(peerTask.getRetriesWithSamePeer()).thenReturn(1);
+    Mockito.when(peerTask.getSubProtocol()).thenReturn(subprotocol);
+    Mockito.when(subprotocol.getName()).thenReturn("subprotocol");
+    Mockito.when(requestMessageData.getCode()).thenReturn(requestMessageDataCode);
+    Mockito.when(requestSender.getTimeoutMs()).thenReturn(5_000L);
+    Mockito.when(ethPeer.getSlowResponseThresholdMillis(requestMessageDataCode))
+        .thenReturn(Optional.of(1_000L));
+    Mockito.when(requestSender.sendRequestAsync(subprotocol, requestMessageData, ethPeer))
+        .thenReturn(CompletableFuture.failedFuture(new TimeoutException()))
+        .thenReturn(CompletableFuture.completedFuture(responseMessageData));
+    Mockito.when(peerTask.processResponse(responseMessageData)).thenReturn(responseObject);
+    Mockito.when(peerTask.validateResult(responseObject))
+        .thenReturn(PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD);
+
+    PeerTaskExecutorResult<Object> result = peerTaskExecutor.execute(peerTask);
+
+    Mockito.verify(requestSender, Mockito.times(2))
+        .sendRequestAsync(subprotocol, requestMessageData, ethPeer);
+    Mockito.verify(ethPeer).recordRequestTimeout("subprotocol", requestMessageDataCode);
+    Mockito.verify(ethPeer).recordUsefulResponse();
+
+    Assertions.assertSame(responseObject, result.result().orElseThrow());
+    Assertions.assertEquals(PeerTaskExecutorResponseCode.SUCCESS, result.responseCode());
+    Assertions.assertEquals(List.of(ethPeer), result.ethPeers());
+  }
 }
@@ -195,6 +195,36 @@ public class BackwardSyncStepTest {
     future.get();
   }
 
+  @Test
+  public void shouldRequestHeaderRangesInParallelUsingPeerTaskSystem() throws Exception {
+    final BackwardChain backwardChain = createBackwardChain(REMOTE_HEIGHT);
+    when(context.getDownloadParallelism()).thenReturn(3);
+    when(context.getSynchronizerConfiguration())
+        .thenReturn(SynchronizerConfiguration.builder().isPeerTaskSystemEnabled(true).build());
+    BackwardSyncStep step = new BackwardSyncStep(context, backwardChain);
+
+    step.executeAsync(backwardChain.getFirstAncestorHeader().orElseThrow()).get();
+
+    assertThat(backwardChain.getFirstAncestorHeader())
+        .contains(getBlockByNumber(REMOTE_HEIGHT - 15).getHeader());
+    assertThat(backwardChain.getDescendant(getBlockByNumber(REMOTE_HEIGHT - 6).getHash()))
+        .contains(getBlockByNumber(REMOTE_HEIGHT - 5).getHash());
+  }
+
+  @Test
+  public void shouldOnlyKeepHeadersLinkedToTheRequestedHash() {
+    final List<BlockHeader> headers =
+        List.of(
+            getBlockByNumber(REMOTE_HEIGHT - 1).getHeader(),
+            getBlockByNumber(REMOTE_HEIGHT - 2).getHeader(),
+            getBlockByNumber(REMOTE_HEIGHT - 4).getHeader());
+
+    assertThat(
+            BackwardSyncStep.linkedHeaders(getBlockByNumber(REMOTE_HEIGHT - 1).getHash(), headers))
+        .isEqualTo(headers.subList(0, 2));
+    assertThat(BackwardSyncStep.linkedHeaders(Hash.ZERO, headers)).isEqualTo(List.of());
+  }
+
   @Test
   public void shouldFindHashToSync() {
 
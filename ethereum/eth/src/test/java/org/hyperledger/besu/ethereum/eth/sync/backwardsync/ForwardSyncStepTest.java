@@ -17,6 +17,8 @@ package org.hyperledger.besu.ethereum.eth.sync.backwardsync;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.StubGenesisConfigOptions;
@@ -49,6 +51,7 @@ import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -218,6 +221,96 @@ public class ForwardSyncStepTest {
     completableFuture.get();
   }
 
+  @Test
+  public void shouldImportBatchesDownloadedInParallelUsingPeerTaskSystem() throws Exception {
+    when(syncConfig.isPeerTaskSystemEnabled()).thenReturn(true);
+    when(context.getDownloadParallelism()).thenReturn(3);
+    when(context.saveBlock(any()))
+        .thenAnswer(
+            invocation -> {
+              final Block block = invocation.getArgument(0);
+              localBlockchain.appendBlock(
+                  block, remoteBlockchain.getTxReceipts(block.getHash()).orElseThrow());
+              return null;
+            });
+    final BackwardChain backwardChain = createBackwardChain(LOCAL_HEIGHT + 1, LOCAL_HEIGHT + 6);
+    ForwardSyncStep step = new ForwardSyncStep(context, backwardChain);
+
+    step.executeAsync().get();
+
+    assertThat(localBlockchain.getChainHeadBlockNumber()).isEqualTo(LOCAL_HEIGHT + 6);
+  }
+
+  @Test
+  public void shouldStopAtFirstMissingBlockWithoutReducingBatchSize() throws Exception {
+    when(syncConfig.isPeerTaskSystemEnabled()).thenReturn(true);
+    when(context.getDownloadParallelism()).thenReturn(3);
+    when(context.saveBlock(any()))
+        .thenAnswer(
+            invocation -> {
+              final Block block = invocation.getArgument(0);
+              localBlockchain.appendBlock(
+                  block, remoteBlockchain.getTxReceipts(block.getHash()).orElseThrow());
+              return null;
+            });
+    when(peerTaskExecutor.execute(any(GetBodiesFromPeerTask.class)))
+        .thenAnswer(
+            (invocationOnMock) -> {
+              GetBodiesFromPeerTask task =
+                  invocationOnMock.getArgument(0, GetBodiesFromPeerTask.class);
+              // the peer only returns the first body of the second batch
+              final List<BlockHeader> headers =
+                  task.getBlockHeaders().getFirst().getNumber() == LOCAL_HEIGHT + 3
+                      ? task.getBlockHeaders().subList(0, 1)
+                      : task.getBlockHeaders();
+              List<Block> blocks =
+                  headers.stream()
+                      .map(
+                          (bh) ->
+                              new Block(bh, remoteBlockchain.getBlockBody(bh.getBlockHash()).get()))
+                      .collect(Collectors.toList());
+              return new PeerTaskExecutorResult<List<Block>>(
+                  Optional.of(blocks),
+                  PeerTaskExecutorResponseCode.SUCCESS,
+                  List.of(peer.getEthPeer()));
+            });
+    final BackwardChain backwardChain = createBackwardChain(LOCAL_HEIGHT + 1, LOCAL_HEIGHT + 6);
+    ForwardSyncStep step = new ForwardSyncStep(context, backwardChain);
+
+    step.executeAsync().get();
+
+    assertThat(localBlockchain.getChainHeadBlockNumber()).isEqualTo(LOCAL_HEIGHT + 3);
+    verify(context, never()).halveBatchSize();
+  }
+
+  @Test
+  public void shouldCancelOutstandingDownloadsWhenABatchFails() throws Exception {
+    final List<CompletableFuture<List<Block>>> downloads = new ArrayList<>();
+    ForwardSyncStep step =
+        new ForwardSyncStep(context, createBackwardChain(LOCAL_HEIGHT + 1, LOCAL_HEIGHT + 3)) {
+          @Override
+          protected CompletableFuture<List<Block>> requestBodies(
+              final List<BlockHeader> blockHeaders) {
+            final CompletableFuture<List<Block>> download = new CompletableFuture<>();
+            downloads.add(download);
+            return download;
+          }
+        };
+
+    final CompletableFuture<Void> imported =
+        step.requestAndImportBatches(
+            List.of(
+                List.of(getBlockByNumber(LOCAL_HEIGHT + 1).getHeader()),
+                List.of(getBlockByNumber(LOCAL_HEIGHT + 2).getHeader()),
+                List.of(getBlockByNumber(LOCAL_HEIGHT + 3).getHeader())));
+    downloads.getFirst().completeExceptionally(new RuntimeException("TIMEOUT"));
+    imported.get();
+
+    assertThat(downloads.get(1).isCancelled()).isTrue();
+    assertThat(downloads.get(2).isCancelled()).isTrue();
+    verify(context).halveBatchSize();
+  }
+
   @Test
   public void shouldNotRequestWhenNull() {
     ForwardSyncStep phase = new ForwardSyncStep(context, null);
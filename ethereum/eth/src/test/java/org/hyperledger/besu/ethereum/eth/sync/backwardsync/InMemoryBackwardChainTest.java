@@ -100,6 +100,23 @@ public class InMemoryBackwardChainTest {
     assertThat(firstHeader).isEqualTo(blocks.get(blocks.size() - 4).getHeader());
   }
 
+  @Test
+  public void shouldPrependSeveralHeadersAtOnce() {
+    BackwardChain backwardChain = createChainFromBlock(blocks.get(blocks.size() - 1));
+    backwardChain.prependAncestorsHeaders(
+        List.of(
+            blocks.get(blocks.size() - 2).getHeader(),
+            blocks.get(blocks.size() - 3).getHeader(),
+            blocks.get(blocks.size() - 4).getHeader()));
+
+    assertThat(backwardChain.getFirstAncestorHeader())
+        .contains(blocks.get(blocks.size() - 4).getHeader());
+    assertThat(backwardChain.getDescendant(blocks.get(blocks.size() - 4).getHash()))
+        .contains(blocks.get(blocks.size() - 3).getHash());
+    assertThat(backwardChain.getDescendant(blocks.get(blocks.size() - 2).getHash()))
+        .contains(blocks.get(blocks.size() - 1).getHash());
+  }
+
   @Test
   public void shouldDropFromTheEnd() {
 
@@ -269,4 +269,33 @@ public class StackTrieTest {
     Assertions.assertThat(recreatedWorldStateStorage.getAccountStateTrieNode(trie.getRootHash()))
         .isPresent();
   }
+
+  @Test
+  public void shouldSaveTheRootOfALargeRangeHashedInParallel() {
+    final ForestWorldStateKeyValueStorage worldStateStorage =
+        new ForestWorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+
+    final MerkleTrie<Bytes, Bytes> trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> worldStateStorage.getAccountStateTrieNode(hash).map(Bytes::wrap),
+            b -> b,
+            b -> b);
+    final TreeMap<Bytes32, Bytes> entries = new TreeMap<>();
+    for (int i = 0; i < StackTrie.PARALLEL_HASHING_MIN_KEYS * 2; i++) {
+      final Bytes32 key = Hash.hash(Bytes.ofUnsignedInt(i));
+      trie.put(key, Bytes.ofUnsignedInt(i));
+      entries.put(key, Bytes.ofUnsignedInt(i));
+    }
+
+    final ForestWorldStateKeyValueStorage recreatedWorldStateStorage =
+        new ForestWorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+    final StackTrie stackTrie = new StackTrie(Hash.wrap(trie.getRootHash()), lastAccount);
+    stackTrie.addElement(Bytes32.random(), new ArrayList<>(), entries);
+    final ForestWorldStateKeyValueStorage.Updater updater = recreatedWorldStateStorage.updater();
+    stackTrie.commit((location, hash, value) -> updater.putAccountStateTrieNode(hash, value));
+    updater.commit();
+
+    Assertions.assertThat(recreatedWorldStateStorage.getAccountStateTrieNode(trie.getRootHash()))
+        .isPresent();
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.heal.TrieNodeHealingRequest;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class TrieNodeHealingPrefetcherTest {
+
+  private static final Bytes NODE = Bytes.fromHexString("0xc28080");
+  private static final Bytes LOCATION = Bytes.of(1, 2);
+
+  private final TrieNodeHealingPrefetcher prefetcher =
+      new TrieNodeHealingPrefetcher(
+          mock(EthContext.class),
+          new NoOpMetricsSystem(),
+          mock(SnapWorldDownloadState.class),
+          0,
+          SnapSyncConfiguration.getDefault());
+
+  @Test
+  public void shouldPrefetchDeeperWhenThePivotMovedFurther() {
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(0, 3)).isZero();
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(-5, 3)).isZero();
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(1, 3)).isEqualTo(1);
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(2, 3)).isEqualTo(2);
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(20, 3)).isEqualTo(2);
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(21, 3)).isEqualTo(3);
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(10_000, 3)).isEqualTo(3);
+    assertThat(TrieNodeHealingPrefetcher.computePrefetchDepth(10_000, 0)).isZero();
+  }
+
+  @Test
+  public void shouldListAllLocationsDownToDepth() {
+    final List<Bytes> locations = TrieNodeHealingPrefetcher.locationsUpToDepth(2);
+
+    assertThat(locations).hasSize(1 + 16 + 256);
+    assertThat(locations.get(0)).isEqualTo(Bytes.EMPTY);
+    assertThat(locations)
+        .contains(Bytes.of(0), Bytes.of(15), Bytes.of(15, 15))
+        .doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void shouldFillRequestFromPrefetchedNodeWithMatchingHash() {
+    prefetcher.addPrefetchedNode(LOCATION, NODE);
+    final TrieNodeHealingRequest request =
+        SnapDataRequest.createAccountTrieNodeDataRequest(
+            Hash.hash(NODE), Hash.EMPTY_TRIE_HASH, LOCATION, Set.of());
+
+    assertThat(prefetcher.fillFromPrefetchedNodes(request)).isTrue();
+    assertThat(request.isResponseReceived()).isTrue();
+    // a prefetched node is only used once
+    assertThat(prefetcher.getPrefetchedNode(LOCATION, Hash.hash(NODE))).isEmpty();
+  }
+
+  @Test
+  public void shouldNotFillRequestFromPrefetchedNodeWithOtherHash() {
+    prefetcher.addPrefetchedNode(LOCATION, NODE);
+    final TrieNodeHealingRequest request =
+        SnapDataRequest.createAccountTrieNodeDataRequest(
+            Hash.EMPTY, Hash.EMPTY_TRIE_HASH, LOCATION, Set.of());
+
+    assertThat(prefetcher.fillFromPrefetchedNodes(request)).isFalse();
+    assertThat(request.isResponseReceived()).isFalse();
+  }
+
+  @Test
+  public void shouldNotFillStorageRequests() {
+    prefetcher.addPrefetchedNode(LOCATION, NODE);
+    final TrieNodeHealingRequest request =
+        SnapDataRequest.createStorageTrieNodeDataRequest(
+            Hash.hash(NODE), Hash.EMPTY, Hash.EMPTY_TRIE_HASH, LOCATION);
+
+    assertThat(prefetcher.fillFromPrefetchedNodes(request)).isFalse();
+  }
+}
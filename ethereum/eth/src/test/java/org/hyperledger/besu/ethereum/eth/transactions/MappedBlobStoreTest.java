@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.BlobType;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.core.BlobTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.kzg.BlobProofBundle;
+import org.hyperledger.besu.ethereum.core.kzg.BlobsWithCommitments;
+import org.hyperledger.besu.ethereum.util.TrustedSetupClassLoaderExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedBlobStoreTest extends TrustedSetupClassLoaderExtension {
+
+  @TempDir private Path tempDir;
+
+  private BlobTestFixture blobTestFixture;
+
+  @BeforeEach
+  public void setup() {
+    blobTestFixture = new BlobTestFixture();
+  }
+
+  @Test
+  public void storedBundlesAreReadBack() {
+    final MappedBlobStore store = new MappedBlobStore(tempDir, 2L * MappedBlobStore.SLOT_SIZE);
+    final BlobProofBundle kzgProofBundle =
+        blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+    final BlobProofBundle cellProofsBundle =
+        blobTestFixture.createBlobProofBundle(BlobType.KZG_CELL_PROOFS);
+
+    assertThat(store.put(kzgProofBundle)).isTrue();
+    assertThat(store.put(cellProofsBundle)).isTrue();
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.get(kzgProofBundle.getVersionedHash())).contains(kzgProofBundle);
+    final BlobProofBundle readCellProofsBundle =
+        store.get(cellProofsBundle.getVersionedHash()).orElseThrow();
+    assertThat(readCellProofsBundle).isEqualTo(cellProofsBundle);
+    assertThat(readCellProofsBundle.getBlobCellsBytes())
+        .isEqualTo(cellProofsBundle.getBlobCellsBytes());
+  }
+
+  @Test
+  public void leastRecentlyUsedBundleIsEvictedWhenBudgetIsExhausted() {
+    final MappedBlobStore store = new MappedBlobStore(tempDir, 2L * MappedBlobStore.SLOT_SIZE);
+    final BlobProofBundle first = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+    final BlobProofBundle second = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+    final BlobProofBundle third = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+
+    store.put(first);
+    store.put(second);
+    // touch the first so the second becomes the least recently used
+    assertThat(store.get(first.getVersionedHash())).isPresent();
+    store.put(third);
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.contains(first.getVersionedHash())).isTrue();
+    assertThat(store.contains(second.getVersionedHash())).isFalse();
+    assertThat(store.get(third.getVersionedHash())).contains(third);
+  }
+
+  @Test
+  public void removedSlotIsReused() {
+    final MappedBlobStore store = new MappedBlobStore(tempDir, 1L * MappedBlobStore.SLOT_SIZE);
+    final BlobProofBundle first = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+    final BlobProofBundle second = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+
+    store.put(first);
+    store.remove(first.getVersionedHash());
+    assertThat(store.size()).isZero();
+
+    store.put(second);
+    assertThat(store.get(first.getVersionedHash())).isEmpty();
+    assertThat(store.get(second.getVersionedHash())).contains(second);
+  }
+
+  @Test
+  public void existingSegmentsAreDeletedOnCreation() throws Exception {
+    final MappedBlobStore store = new MappedBlobStore(tempDir, MappedBlobStore.SLOT_SIZE);
+    store.put(blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF));
+    assertThat(countFiles()).isEqualTo(1);
+
+    final MappedBlobStore newStore = new MappedBlobStore(tempDir, MappedBlobStore.SLOT_SIZE);
+    assertThat(newStore.size()).isZero();
+    assertThat(countFiles()).isZero();
+  }
+
+  @Test
+  public void budgetSmallerThanOneSlotIsRejected() {
+    assertThatThrownBy(() -> new MappedBlobStore(tempDir, MappedBlobStore.SLOT_SIZE - 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void blobCacheKeepsBlobsInStore() {
+    final MappedBlobStore store = new MappedBlobStore(tempDir, 4L * MappedBlobStore.SLOT_SIZE);
+    final BlobCache blobCache = new BlobCache(store);
+    final BlobProofBundle bundle = blobTestFixture.createBlobProofBundle(BlobType.KZG_PROOF);
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getType()).thenReturn(TransactionType.BLOB);
+    when(transaction.getBlobsWithCommitments())
+        .thenReturn(Optional.of(new BlobsWithCommitments(List.of(bundle))));
+
+    blobCache.cacheBlobs(transaction);
+
+    assertThat(store.contains(bundle.getVersionedHash())).isTrue();
+    assertThat(blobCache.size()).isEqualTo(1);
+    assertThat(blobCache.get(bundle.getVersionedHash())).isEqualTo(bundle);
+  }
+
+  private long countFiles() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.count();
+    }
+  }
+}
@@ -48,6 +48,15 @@ public class PeerTransactionTrackerTest {
                       .build())
               .build(),
           ethPeers);
+  private final PeerTransactionTracker filterTracker =
+      new PeerTransactionTracker(
+          ImmutableTransactionPoolConfiguration.builder()
+              .unstable(
+                  ImmutableTransactionPoolConfiguration.Unstable.builder()
+                      .peerTrackerSeenTxsFilterEnabled(true)
+                      .build())
+              .build(),
+          ethPeers);
   private final PeerTransactionTracker shortMemoryTracker =
       new PeerTransactionTracker(
           ImmutableTransactionPoolConfiguration.builder()
@@ -194,6 +203,82 @@ public class PeerTransactionTrackerTest {
     assertThat(tracker.hasPeerSeenTransaction(ethPeer2, transaction2)).isFalse();
   }
 
+  @Test
+  public void shouldExcludeAlreadySeenTransactionsFromTransactionsToSendWithSeenTxsFilter() {
+    filterTracker.markTransactionsAsSeen(ethPeer1, ImmutableSet.of(transaction2));
+
+    assertThat(filterTracker.hasSeenTransaction(transaction2.getHash())).isTrue();
+    assertThat(filterTracker.hasSeenTransaction(transaction3.getHash())).isFalse();
+
+    filterTracker.addToPeerSendQueue(ethPeer1, transaction1);
+    filterTracker.addToPeerSendQueue(ethPeer1, transaction2);
+    filterTracker.addToPeerSendQueue(ethPeer2, transaction2);
+
+    assertThat(filterTracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction1);
+    assertThat(filterTracker.claimTransactionsToSendToPeer(ethPeer2)).containsOnly(transaction2);
+    // claimed transactions are marked as seen
+    assertThat(filterTracker.hasPeerSeenTransaction(ethPeer1, transaction1)).isTrue();
+    assertThat(filterTracker.hasPeerSeenTransaction(ethPeer2, transaction2)).isTrue();
+  }
+
+  @Test
+  public void shouldClearDataWhenPeerDisconnectsWithSeenTxsFilter() {
+    filterTracker.markTransactionsAsSeen(ethPeer1, List.of(transaction1));
+
+    when(ethPeers.streamAllPeers()).thenReturn(Stream.of(ethPeer2));
+    filterTracker.onDisconnect(ethPeer1);
+
+    assertThat(filterTracker.hasPeerSeenTransaction(ethPeer1, transaction1)).isFalse();
+    // the global index still remembers it
+    assertThat(filterTracker.hasSeenTransaction(transaction1.getHash())).isTrue();
+  }
+
+  @Test
+  public void globalSeenTxsFilterShouldRememberTheTransactionsSeenByAllPeers() {
+    when(ethPeers.getMaxPeers()).thenReturn(3);
+    final PeerTransactionTracker smallFilterTracker =
+        new PeerTransactionTracker(
+            ImmutableTransactionPoolConfiguration.builder()
+                .unstable(
+                    ImmutableTransactionPoolConfiguration.Unstable.builder()
+                        .peerTrackerSeenTxsFilterEnabled(true)
+                        .maxTrackedSeenTxsPerPeer(2)
+                        .build())
+                .build(),
+            ethPeers);
+    final EthPeer ethPeer3 = mock(EthPeer.class);
+    final List<Transaction> transactions =
+        List.of(
+            transaction1,
+            transaction2,
+            transaction3,
+            generator.transaction(),
+            generator.transaction(),
+            generator.transaction());
+
+    smallFilterTracker.markTransactionsAsSeen(ethPeer1, transactions.subList(0, 2));
+    smallFilterTracker.markTransactionsAsSeen(ethPeer2, transactions.subList(2, 4));
+    smallFilterTracker.markTransactionsAsSeen(ethPeer3, transactions.subList(4, 6));
+
+    // the global index is not limited by the per peer capacity
+    transactions.forEach(
+        transaction ->
+            assertThat(smallFilterTracker.hasSeenTransaction(transaction.getHash())).isTrue());
+  }
+
+  @Test
+  public void shouldRequeueClaimedTransactionsEvenIfAlreadySeen() {
+    tracker.addToPeerSendQueue(ethPeer1, transaction1);
+    tracker.addToPeerSendQueue(ethPeer1, transaction2);
+
+    final var claimed = tracker.claimTransactionsToSendToPeer(ethPeer1);
+    assertThat(claimed).containsOnly(transaction1, transaction2);
+
+    tracker.requeueTransactionsToSendToPeer(ethPeer1, List.of(transaction2));
+
+    assertThat(tracker.claimTransactionsToSendToPeer(ethPeer1)).containsOnly(transaction2);
+  }
+
   private RemovalReason createRemovalReason(final boolean stopTracking) {
     return new RemovalReason() {
 
@@ -151,6 +151,24 @@ public class TransactionBroadcasterTest {
     verifyNothingSent();
   }
 
+  @Test
+  public void onTransactionsAddedCoalescesSendsToTheSamePeer() {
+    when(ethPeers.peerCount()).thenReturn(1);
+    when(ethPeers.streamAvailablePeers()).thenAnswer(unused -> Stream.of(ethPeerNoEth65));
+
+    txBroadcaster.onTransactionsAdded(toTransactionList(setupTransactionPool(1, 1)));
+    txBroadcaster.onTransactionsAdded(toTransactionList(setupTransactionPool(1, 1)));
+
+    // the second batch is sent with the first, since its send was not yet executed
+    assertThat(sendTaskCapture.getAllValues()).hasSize(1);
+    sendTaskCapture.getValue().run();
+    verify(transactionsMessageSender).sendTransactionsToPeer(ethPeerNoEth65);
+
+    // once the send is executed, a new batch is scheduled again
+    txBroadcaster.onTransactionsAdded(toTransactionList(setupTransactionPool(1, 1)));
+    assertThat(sendTaskCapture.getAllValues()).hasSize(2);
+  }
+
   @Test
   public void onTransactionsAddedWithOnlyNonEth65PeersSendFullTransactions() {
     when(ethPeers.peerCount()).thenReturn(2);
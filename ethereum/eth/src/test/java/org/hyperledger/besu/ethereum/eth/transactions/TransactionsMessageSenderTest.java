@@ -16,12 +16,14 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
@@ -89,6 +91,59 @@ public class TransactionsMessageSenderTest {
     assertThat(Sets.union(firstBatch, secondBatch)).isEqualTo(transactions);
   }
 
+  @Test
+  public void shouldDeferTransactionsWhenMaxBytesPerPeerIsReached() throws Exception {
+    final TransactionsMessageSender limitedMessageSender =
+        new TransactionsMessageSender(transactionTracker, 1);
+    final Set<Transaction> transactions = generator.transactions(6000);
+
+    transactions.forEach(transaction -> transactionTracker.addToPeerSendQueue(peer1, transaction));
+
+    // only the first message is sent, since it already exceeds the budget
+    assertThat(limitedMessageSender.sendTransactionsToPeer(peer1)).isTrue();
+    verify(peer1, times(1)).send(any());
+
+    // the remaining ones are sent on the next call
+    assertThat(limitedMessageSender.sendTransactionsToPeer(peer1)).isFalse();
+    final ArgumentCaptor<MessageData> messageDataArgumentCaptor =
+        ArgumentCaptor.forClass(MessageData.class);
+    verify(peer1, times(2)).send(messageDataArgumentCaptor.capture());
+    final Set<Transaction> firstBatch =
+        getTransactionsFromMessage(messageDataArgumentCaptor.getAllValues().get(0));
+    final Set<Transaction> secondBatch =
+        getTransactionsFromMessage(messageDataArgumentCaptor.getAllValues().get(1));
+
+    assertThat(Sets.union(firstBatch, secondBatch)).isEqualTo(transactions);
+  }
+
+  @Test
+  public void shouldSendTransactionsWithHigherPriorityFeeFirst() throws Exception {
+    final Set<Transaction> transactions = generator.transactions(6000);
+
+    transactions.forEach(transaction -> transactionTracker.addToPeerSendQueue(peer1, transaction));
+
+    messageSender.sendTransactionsToPeers();
+    final ArgumentCaptor<MessageData> messageDataArgumentCaptor =
+        ArgumentCaptor.forClass(MessageData.class);
+    verify(peer1, times(2)).send(messageDataArgumentCaptor.capture());
+
+    final Set<Transaction> firstBatch =
+        getTransactionsFromMessage(messageDataArgumentCaptor.getAllValues().get(0));
+    final Set<Transaction> secondBatch =
+        getTransactionsFromMessage(messageDataArgumentCaptor.getAllValues().get(1));
+
+    final Wei minFirstBatchFee =
+        firstBatch.stream().map(this::priorityFee).min(Wei::compareTo).orElseThrow();
+    assertThat(secondBatch)
+        .allMatch(tx -> priorityFee(tx).compareTo(minFirstBatchFee) <= 0);
+  }
+
+  private Wei priorityFee(final Transaction transaction) {
+    return transaction
+        .getMaxPriorityFeePerGas()
+        .orElseGet(() -> transaction.getGasPrice().orElse(Wei.ZERO));
+  }
+
   private MessageData transactionsMessageContaining(final Transaction... transactions) {
     return argThat(
         message -> {
@@ -91,6 +91,41 @@ public interface SegmentedKeyValueStorage extends Closeable {
    */
   SegmentedKeyValueStorageTransaction startTransaction() throws StorageException;
 
+  /**
+   * Begins a transaction meant to load large amounts of new data, like while syncing. The writes to
+   * the bulk loaded segments may be buffered across transactions and only become readable once
+   * {@link #flushBulkLoad()} is called, so these segments must not be read back while loading. The
+   * writes to the other segments are committed like in a regular transaction. By default this is a
+   * regular transaction.
+   *
+   * @param bulkLoadedSegments the segments whose writes may be buffered
+   * @return An object representing the transaction.
+   * @throws StorageException the storage exception
+   */
+  default SegmentedKeyValueStorageTransaction startBulkLoadTransaction(
+      final Set<SegmentIdentifier> bulkLoadedSegments) throws StorageException {
+    return startTransaction();
+  }
+
+  /**
+   * Writes out the data buffered by the committed bulk load transactions, making it readable. Does
+   * nothing if the storage does not buffer bulk loads.
+   *
+   * @throws StorageException the storage exception
+   */
+  default void flushBulkLoad() throws StorageException {}
+
+  /**
+   * Enables or disables the background compactions of a segment, so they can be deferred while
+   * bulk loading data into it. Does nothing if the storage does not support it.
+   *
+   * @param segmentIdentifier the segment identifier
+   * @param enabled whether background compactions should run
+   * @throws StorageException the storage exception
+   */
+  default void setBackgroundCompactionEnabled(
+      final SegmentIdentifier segmentIdentifier, final boolean enabled) throws StorageException {}
+
   /**
    * Returns a stream of all keys for the segment.
    *
@@ -0,0 +1,221 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.CompressionType;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the writes of bulk load transactions in the database as large SST files. The writes of
+ * each segment are kept sorted in memory across transactions until they reach a size threshold,
+ * or until flushed, and are then written to a single SST file per segment that is ingested in the
+ * database. Ingested files skip the memtable, the write ahead log and the flushes, so loading large
+ * amounts of new data causes less write amplification than regular transactions.
+ *
+ * <p>Buffered writes are not readable, and are lost if the process stops before they are ingested,
+ * so this is only suitable for data that is not read back while loading and that can be recovered,
+ * like the flat database downloaded by a snap sync, which is healed from the trie.
+ */
+public class RocksDBSstBulkLoader {
+  private static final Logger LOG = LoggerFactory.getLogger(RocksDBSstBulkLoader.class);
+  private static final String NO_SPACE_LEFT_ON_DEVICE = "No space left on device";
+  private static final String SST_FILE_SUFFIX = ".sst";
+
+  /** Size of the buffered writes of a segment above which they are written to an SST file */
+  public static final long DEFAULT_FLUSH_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+  private final RocksDB db;
+  private final Function<SegmentIdentifier, ColumnFamilyHandle> columnFamilyMapper;
+  private final Path ingestionDirectory;
+  private final long flushThresholdBytes;
+
+  // guarded by this
+  private final Map<SegmentIdentifier, SegmentBuffer> buffers = new LinkedHashMap<>();
+
+  /**
+   * Instantiates a new RocksDb SST bulk loader.
+   *
+   * @param db the database to ingest the files in
+   * @param columnFamilyMapper mapper from segment identifier to column family handle
+   * @param ingestionDirectory the directory where the SST files are written before ingestion
+   * @param flushThresholdBytes the size of the buffered writes of a segment that triggers a flush
+   */
+  public RocksDBSstBulkLoader(
+      final RocksDB db,
+      final Function<SegmentIdentifier, ColumnFamilyHandle> columnFamilyMapper,
+      final Path ingestionDirectory,
+      final long flushThresholdBytes) {
+    this.db = db;
+    this.columnFamilyMapper = columnFamilyMapper;
+    this.ingestionDirectory = ingestionDirectory;
+    this.flushThresholdBytes = flushThresholdBytes;
+  }
+
+  /**
+   * Create the sorted map in which the writes to a segment are collected before being added.
+   *
+   * @return an empty map sorted in the order of the SST files, an empty value is a removal
+   */
+  public static TreeMap<byte[], Optional<byte[]>> newSegmentWrites() {
+    // SST files must be written in the order of the default bytewise comparator
+    return new TreeMap<>(Arrays::compareUnsigned);
+  }
+
+  /**
+   * Add the writes of a committed transaction, flushing the segments whose buffered writes reach
+   * the threshold. If a flush fails, the writes of that segment stay buffered for the next flush.
+   *
+   * @param writes the writes of each segment, an empty value is a removal
+   * @throws StorageException if a segment could not be flushed
+   */
+  public synchronized void add(
+      final Map<SegmentIdentifier, TreeMap<byte[], Optional<byte[]>>> writes)
+      throws StorageException {
+    writes.forEach(
+        (segmentId, segmentWrites) ->
+            buffers.computeIfAbsent(segmentId, SegmentBuffer::new).addAll(segmentWrites));
+    for (final SegmentIdentifier segmentId : writes.keySet()) {
+      final SegmentBuffer buffer = buffers.get(segmentId);
+      if (buffer.sizeBytes >= flushThresholdBytes) {
+        ingest(buffer);
+      }
+    }
+  }
+
+  /**
+   * Write and ingest the buffered writes of every segment.
+   *
+   * @throws StorageException if a segment could not be flushed
+   */
+  public synchronized void flush() throws StorageException {
+    // RocksJava ingests files in one column family at a time, so each segment is ingested on its
+    // own with its single file
+    for (final SegmentBuffer buffer : buffers.values()) {
+      if (!buffer.writes.isEmpty()) {
+        ingest(buffer);
+      }
+    }
+  }
+
+  /**
+   * Whether some writes are buffered and not yet readable.
+   *
+   * @return true if there are writes waiting for a flush
+   */
+  public synchronized boolean hasBufferedWrites() {
+    return buffers.values().stream().anyMatch(buffer -> !buffer.writes.isEmpty());
+  }
+
+  private void ingest(final SegmentBuffer buffer) {
+    final Path sstFile = ingestionDirectory.resolve(UUID.randomUUID() + SST_FILE_SUFFIX);
+    try {
+      Files.createDirectories(ingestionDirectory);
+      try (final EnvOptions envOptions = new EnvOptions();
+          final Options options =
+              new Options().setCompressionType(CompressionType.LZ4_COMPRESSION);
+          final SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+        writer.open(sstFile.toString());
+        for (final Map.Entry<byte[], Optional<byte[]>> write : buffer.writes.entrySet()) {
+          if (write.getValue().isPresent()) {
+            writer.put(write.getKey(), write.getValue().get());
+          } else {
+            writer.delete(write.getKey());
+          }
+        }
+        writer.finish();
+      }
+      try (final IngestExternalFileOptions ingestOptions =
+          new IngestExternalFileOptions().setMoveFiles(true)) {
+        db.ingestExternalFile(
+            columnFamilyMapper.apply(buffer.segmentId), List.of(sstFile.toString()), ingestOptions);
+      }
+      LOG.debug(
+          "Ingested {} writes of {} bytes in segment {}",
+          buffer.writes.size(),
+          buffer.sizeBytes,
+          buffer.segmentId.getName());
+      buffer.clear();
+    } catch (final RocksDBException e) {
+      if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
+        LOG.error(e.getMessage());
+        System.exit(0);
+      }
+      throw new StorageException(e);
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    } finally {
+      deleteIfExists(sstFile);
+    }
+  }
+
+  private static void deleteIfExists(final Path sstFile) {
+    try {
+      // the file is moved in the database on success, this only cleans up after failures
+      Files.deleteIfExists(sstFile);
+    } catch (final IOException e) {
+      LOG.warn("Unable to delete SST file {}", sstFile, e);
+    }
+  }
+
+  private static class SegmentBuffer {
+    private final SegmentIdentifier segmentId;
+    private TreeMap<byte[], Optional<byte[]>> writes = newSegmentWrites();
+    private long sizeBytes;
+
+    SegmentBuffer(final SegmentIdentifier segmentId) {
+      this.segmentId = segmentId;
+    }
+
+    void addAll(final TreeMap<byte[], Optional<byte[]>> segmentWrites) {
+      segmentWrites.forEach(
+          (key, value) -> {
+            final Optional<byte[]> previous = writes.put(key, value);
+            sizeBytes += (previous == null ? key.length : -valueSize(previous)) + valueSize(value);
+          });
+    }
+
+    void clear() {
+      writes = newSegmentWrites();
+      sizeBytes = 0;
+    }
+
+    private static int valueSize(final Optional<byte[]> value) {
+      return value.map(bytes -> bytes.length).orElse(0);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A transaction whose writes to the bulk loaded segments are handed to a {@link
+ * RocksDBSstBulkLoader} on commit, while the writes to the other segments go through a regular
+ * transaction.
+ *
+ * <p>The regular transaction is committed first, and the bulk loaded writes are only handed to the
+ * loader once it succeeded, so a commit that fails leaves nothing behind in any segment.
+ */
+public class RocksDBSstIngestionTransaction implements SegmentedKeyValueStorageTransaction {
+
+  private final SegmentedKeyValueStorageTransaction regularTransaction;
+  private final Set<SegmentIdentifier> bulkLoadedSegments;
+  private final RocksDBSstBulkLoader bulkLoader;
+
+  /** pending writes to the bulk loaded segments, an empty value is a removal */
+  private final Map<SegmentIdentifier, TreeMap<byte[], Optional<byte[]>>> pendingWrites =
+      new LinkedHashMap<>();
+
+  /**
+   * Instantiates a new RocksDb SST ingestion transaction.
+   *
+   * @param regularTransaction the transaction writing to the segments that are not bulk loaded
+   * @param bulkLoadedSegments the segments whose writes are handed to the bulk loader
+   * @param bulkLoader the bulk loader
+   */
+  public RocksDBSstIngestionTransaction(
+      final SegmentedKeyValueStorageTransaction regularTransaction,
+      final Set<SegmentIdentifier> bulkLoadedSegments,
+      final RocksDBSstBulkLoader bulkLoader) {
+    this.regularTransaction = regularTransaction;
+    this.bulkLoadedSegments = bulkLoadedSegments;
+    this.bulkLoader = bulkLoader;
+  }
+
+  @Override
+  public void put(final SegmentIdentifier segmentId, final byte[] key, final byte[] value) {
+    if (bulkLoadedSegments.contains(segmentId)) {
+      segmentWrites(segmentId).put(key, Optional.of(value));
+    } else {
+      regularTransaction.put(segmentId, key, value);
+    }
+  }
+
+  @Override
+  public void remove(final SegmentIdentifier segmentId, final byte[] key) {
+    if (bulkLoadedSegments.contains(segmentId)) {
+      segmentWrites(segmentId).put(key, Optional.empty());
+    } else {
+      regularTransaction.remove(segmentId, key);
+    }
+  }
+
+  @Override
+  public void commit() throws StorageException {
+    try {
+      regularTransaction.commit();
+      if (!pendingWrites.isEmpty()) {
+        bulkLoader.add(pendingWrites);
+      }
+    } finally {
+      pendingWrites.clear();
+    }
+  }
+
+  @Override
+  public void rollback() {
+    pendingWrites.clear();
+    regularTransaction.rollback();
+  }
+
+  private TreeMap<byte[], Optional<byte[]>> segmentWrites(final SegmentIdentifier segmentId) {
+    return pendingWrites.computeIfAbsent(segmentId, k -> RocksDBSstBulkLoader.newSegmentWrites());
+  }
+}
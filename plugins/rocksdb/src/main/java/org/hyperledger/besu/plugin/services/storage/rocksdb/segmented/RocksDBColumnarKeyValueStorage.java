@@ -22,12 +22,16 @@ import org.hyperledger.besu.plugin.services.exception.StorageException;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBSstBulkLoader;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBSstIngestionTransaction;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageTransactionValidatorDecorator;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -56,6 +60,7 @@ import org.rocksdb.ConfigOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
 import org.rocksdb.LRUCache;
+import org.rocksdb.MutableColumnFamilyOptions;
 import org.rocksdb.Options;
 import org.rocksdb.OptionsUtil;
 import org.rocksdb.ReadOptions;
@@ -76,6 +81,9 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   private static final int ROCKSDB_FORMAT_VERSION = 5;
   private static final long ROCKSDB_BLOCK_SIZE = 32768;
 
+  /** Directory, in the database one, where the SST files of bulk loads are written */
+  private static final String INGESTION_DIRECTORY = "ingest";
+
   /** RocksDb blockcache size when using the high spec option */
   protected static final long ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC = 1_073_741_824L;
 
@@ -98,6 +106,9 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   /** atomic boolean to track if the storage is closed */
   protected final AtomicBoolean closed = new AtomicBoolean(false);
 
+  /** Created on the first bulk load */
+  private volatile RocksDBSstBulkLoader bulkLoader;
+
   private final WriteOptions tryDeleteOptions =
       new WriteOptions().setNoSlowdown(true).setIgnoreMissingColumnFamilies(true);
   private final ReadOptions readOptions = new ReadOptions().setVerifyChecksums(false);
@@ -510,6 +521,55 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
         .collect(toUnmodifiableSet());
   }
 
+  @Override
+  public SegmentedKeyValueStorageTransaction startBulkLoadTransaction(
+      final Set<SegmentIdentifier> bulkLoadedSegments) throws StorageException {
+    throwIfClosed();
+    return new SegmentedKeyValueStorageTransactionValidatorDecorator(
+        new RocksDBSstIngestionTransaction(
+            startTransaction(), bulkLoadedSegments, getBulkLoader()),
+        this.closed::get);
+  }
+
+  @Override
+  public void flushBulkLoad() throws StorageException {
+    throwIfClosed();
+    final RocksDBSstBulkLoader loader = bulkLoader;
+    if (loader != null) {
+      loader.flush();
+    }
+  }
+
+  private synchronized RocksDBSstBulkLoader getBulkLoader() {
+    if (bulkLoader == null) {
+      bulkLoader =
+          new RocksDBSstBulkLoader(
+              getDB(),
+              this::safeColumnHandle,
+              configuration.getDatabaseDir().resolve(INGESTION_DIRECTORY),
+              RocksDBSstBulkLoader.DEFAULT_FLUSH_THRESHOLD_BYTES);
+    }
+    return bulkLoader;
+  }
+
+  @Override
+  public void setBackgroundCompactionEnabled(
+      final SegmentIdentifier segmentIdentifier, final boolean enabled) {
+    throwIfClosed();
+    try {
+      getDB()
+          .setOptions(
+              safeColumnHandle(segmentIdentifier),
+              MutableColumnFamilyOptions.builder().setDisableAutoCompactions(!enabled).build());
+      LOG.debug(
+          "Background compactions {} for segment {}",
+          enabled ? "enabled" : "disabled",
+          segmentIdentifier.getName());
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public void clear(final SegmentIdentifier segmentIdentifier) {
     Optional.ofNullable(columnHandlesBySegmentIdentifier.get(segmentIdentifier))
@@ -518,6 +578,15 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
 
   @Override
   public void close() {
+    final RocksDBSstBulkLoader loader = bulkLoader;
+    if (loader != null && !closed.get()) {
+      try {
+        // buffered bulk loads would otherwise be lost
+        loader.flush();
+      } catch (final StorageException e) {
+        LOG.warn("Unable to flush the bulk loaded data before closing", e);
+      }
+    }
     if (closed.compareAndSet(false, true)) {
       txOptions.close();
       options.close();
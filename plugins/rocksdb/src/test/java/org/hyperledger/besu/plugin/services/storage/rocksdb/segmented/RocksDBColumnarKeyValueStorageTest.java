@@ -15,10 +15,13 @@
 package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,6 +38,8 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBSstBulkLoader;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBSstIngestionTransaction;
 import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
 
 import java.nio.charset.StandardCharsets;
@@ -146,9 +151,9 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
 
       assertThat(store.get(TestSegment.FOO, bytesOf(1))).isEmpty();
       assertThat(store.get(TestSegment.FOO, bytesOf(2))).isEmpty();
-      assertThat(store.get(TestSegment.FOO, bytesOf(3))).contains(bytesOf(3));
+      assertThat(store.get(TestSegment.FOO, bytesOf(3)).orElse(null)).isEqualTo(bytesOf(3));
 
-      assertThat(store.get(TestSegment.BAR, bytesOf(4))).contains(bytesOf(4));
+      assertThat(store.get(TestSegment.BAR, bytesOf(4)).orElse(null)).isEqualTo(bytesOf(4));
       assertThat(store.get(TestSegment.BAR, bytesOf(5))).isEmpty();
       assertThat(store.get(TestSegment.BAR, bytesOf(6))).isEmpty();
 
@@ -156,6 +161,131 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     }
   }
 
+  @Test
+  public void bulkLoadTransactionIngestsWritesOnFlush() throws Exception {
+    final SegmentedKeyValueStorage store = createSegmentedStore();
+
+    final SegmentedKeyValueStorageTransaction existing = store.startTransaction();
+    existing.put(TestSegment.FOO, bytesOf(1), bytesOf(1));
+    existing.put(TestSegment.FOO, bytesOf(2), bytesOf(2));
+    existing.commit();
+
+    store.setBackgroundCompactionEnabled(TestSegment.FOO, false);
+    final SegmentedKeyValueStorageTransaction tx =
+        store.startBulkLoadTransaction(Set.of(TestSegment.FOO));
+    // written out of order, the loader sorts them before writing the files
+    tx.put(TestSegment.FOO, bytesOf(4), bytesOf(4));
+    tx.put(TestSegment.FOO, bytesOf(3), bytesOf(3));
+    tx.put(TestSegment.FOO, bytesOf(1), bytesOf(5));
+    tx.remove(TestSegment.FOO, bytesOf(2));
+    tx.put(TestSegment.BAR, bytesOf(6), bytesOf(6));
+    tx.commit();
+
+    // writes to the segments that are not bulk loaded are committed right away
+    assertThat(store.get(TestSegment.BAR, bytesOf(6)).orElse(null)).isEqualTo(bytesOf(6));
+    // writes to the bulk loaded segments are buffered until flushed
+    assertThat(store.get(TestSegment.FOO, bytesOf(3))).isEmpty();
+    assertThat(store.get(TestSegment.FOO, bytesOf(2)).orElse(null)).isEqualTo(bytesOf(2));
+
+    final SegmentedKeyValueStorageTransaction next =
+        store.startBulkLoadTransaction(Set.of(TestSegment.FOO));
+    next.put(TestSegment.FOO, bytesOf(4), bytesOf(7));
+    next.commit();
+
+    store.flushBulkLoad();
+    store.setBackgroundCompactionEnabled(TestSegment.FOO, true);
+
+    assertThat(store.get(TestSegment.FOO, bytesOf(1)).orElse(null)).isEqualTo(bytesOf(5));
+    assertThat(store.get(TestSegment.FOO, bytesOf(2))).isEmpty();
+    assertThat(store.get(TestSegment.FOO, bytesOf(3)).orElse(null)).isEqualTo(bytesOf(3));
+    assertThat(store.get(TestSegment.FOO, bytesOf(4)).orElse(null)).isEqualTo(bytesOf(7));
+    assertThat(store.get(TestSegment.BAR, bytesOf(4))).isEmpty();
+
+    store.close();
+  }
+
+  @Test
+  public void bulkLoadTransactionDiscardsWritesOnRollback() throws Exception {
+    final SegmentedKeyValueStorage store = createSegmentedStore();
+
+    final SegmentedKeyValueStorageTransaction tx =
+        store.startBulkLoadTransaction(Set.of(TestSegment.FOO));
+    tx.put(TestSegment.FOO, bytesOf(1), bytesOf(1));
+    tx.put(TestSegment.BAR, bytesOf(2), bytesOf(2));
+    tx.rollback();
+    store.flushBulkLoad();
+
+    assertThat(store.get(TestSegment.FOO, bytesOf(1))).isEmpty();
+    assertThat(store.get(TestSegment.BAR, bytesOf(2))).isEmpty();
+
+    store.close();
+  }
+
+  @Test
+  public void bulkLoadTransactionDiscardsAllSegmentsWhenCommitFailsPartway() throws Exception {
+    final RocksDBColumnarKeyValueStorage store =
+        (RocksDBColumnarKeyValueStorage) createSegmentedStore();
+    final RocksDBSstBulkLoader loader =
+        new RocksDBSstBulkLoader(
+            store.getDB(),
+            store::safeColumnHandle,
+            folder.resolve("ingest"),
+            RocksDBSstBulkLoader.DEFAULT_FLUSH_THRESHOLD_BYTES);
+    final SegmentedKeyValueStorageTransaction regularTransaction =
+        mock(SegmentedKeyValueStorageTransaction.class);
+    doThrow(new StorageException("commit failed")).when(regularTransaction).commit();
+
+    final SegmentedKeyValueStorageTransaction tx =
+        new RocksDBSstIngestionTransaction(regularTransaction, Set.of(TestSegment.FOO), loader);
+    tx.put(TestSegment.FOO, bytesOf(1), bytesOf(1));
+    tx.put(TestSegment.BAR, bytesOf(2), bytesOf(2));
+
+    assertThatThrownBy(tx::commit).isInstanceOf(StorageException.class);
+    verify(regularTransaction).put(TestSegment.BAR, bytesOf(2), bytesOf(2));
+
+    // the bulk loaded writes of the failed commit are not buffered for a later flush
+    assertThat(loader.hasBufferedWrites()).isFalse();
+    loader.flush();
+    assertThat(store.get(TestSegment.FOO, bytesOf(1))).isEmpty();
+
+    store.close();
+  }
+
+  @Test
+  public void bulkLoaderIngestsSegmentsReachingTheThreshold() throws Exception {
+    final RocksDBColumnarKeyValueStorage store =
+        (RocksDBColumnarKeyValueStorage) createSegmentedStore();
+    final RocksDBSstBulkLoader loader =
+        new RocksDBSstBulkLoader(
+            store.getDB(), store::safeColumnHandle, folder.resolve("ingest"), 4);
+
+    final SegmentedKeyValueStorageTransaction small =
+        new RocksDBSstIngestionTransaction(
+            store.startTransaction(), Set.of(TestSegment.FOO, TestSegment.BAR), loader);
+    small.put(TestSegment.FOO, bytesOf(1), bytesOf(1));
+    small.commit();
+    assertThat(store.get(TestSegment.FOO, bytesOf(1))).isEmpty();
+
+    final SegmentedKeyValueStorageTransaction large =
+        new RocksDBSstIngestionTransaction(
+            store.startTransaction(), Set.of(TestSegment.FOO, TestSegment.BAR), loader);
+    large.put(TestSegment.FOO, bytesOf(2), bytesOf(2));
+    large.put(TestSegment.BAR, bytesOf(3), bytesOf(3));
+    large.commit();
+
+    // FOO reached the threshold and was ingested in one file, BAR is still buffered
+    assertThat(store.get(TestSegment.FOO, bytesOf(1)).orElse(null)).isEqualTo(bytesOf(1));
+    assertThat(store.get(TestSegment.FOO, bytesOf(2)).orElse(null)).isEqualTo(bytesOf(2));
+    assertThat(store.get(TestSegment.BAR, bytesOf(3))).isEmpty();
+    assertThat(loader.hasBufferedWrites()).isTrue();
+
+    loader.flush();
+    assertThat(store.get(TestSegment.BAR, bytesOf(3)).orElse(null)).isEqualTo(bytesOf(3));
+    assertThat(loader.hasBufferedWrites()).isFalse();
+
+    store.close();
+  }
+
   @Test
   public void canGetThroughSegmentIteration() throws Exception {
     final SegmentedKeyValueStorage store = createSegmentedStore();
@@ -0,0 +1,135 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the blocking queue and the ring buffer implementations of {@link Pipe}, with several
+ * producers putting items in a pipe that a single consumer reads, like the stages of a pipeline
+ * processing in parallel feed the next one. Throughput is reported per item moved through the pipe,
+ * while the sample time mode reports the latency distribution of moving a full batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipeBenchmark {
+  private static final int ITEMS_PER_INVOCATION = 100_000;
+
+  @Param({"false", "true"})
+  public boolean useRingBuffer;
+
+  @Param({"1", "4"})
+  public int producers;
+
+  @Param({"32", "1024"})
+  public int capacity;
+
+  private ExecutorService producerExecutor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    producerExecutor = Executors.newFixedThreadPool(producers);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    producerExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITEMS_PER_INVOCATION)
+  public void putAndGet(final Blackhole blackhole) throws Exception {
+    final Pipe<Integer> pipe = createPipe();
+    final List<Future<?>> producerFutures = startProducers(pipe);
+    for (int i = 0; i < ITEMS_PER_INVOCATION; i++) {
+      blackhole.consume(pipe.get());
+    }
+    waitFor(producerFutures);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITEMS_PER_INVOCATION)
+  public void putAndDrain(final Blackhole blackhole) throws Exception {
+    final Pipe<Integer> pipe = createPipe();
+    final List<Future<?>> producerFutures = startProducers(pipe);
+    final List<Integer> batch = new ArrayList<>(capacity);
+    int received = 0;
+    while (received < ITEMS_PER_INVOCATION) {
+      batch.clear();
+      final int drained = pipe.drainTo(batch, capacity);
+      if (drained == 0) {
+        Thread.onSpinWait();
+      }
+      received += drained;
+      blackhole.consume(batch);
+    }
+    waitFor(producerFutures);
+  }
+
+  private Pipe<Integer> createPipe() {
+    return new Pipe<>(
+        capacity,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        "benchmark",
+        useRingBuffer);
+  }
+
+  private List<Future<?>> startProducers(final Pipe<Integer> pipe) {
+    final int itemsPerProducer = ITEMS_PER_INVOCATION / producers;
+    final List<Future<?>> futures = new ArrayList<>(producers);
+    for (int p = 0; p < producers; p++) {
+      // the first producer also puts the remainder so the consumer always gets all the items
+      final int items =
+          p == 0 ? ITEMS_PER_INVOCATION - itemsPerProducer * (producers - 1) : itemsPerProducer;
+      futures.add(
+          producerExecutor.submit(
+              () -> {
+                for (int i = 0; i < items; i++) {
+                  pipe.put(i);
+                }
+              }));
+    }
+    return futures;
+  }
+
+  private static void waitFor(final List<Future<?>> futures) throws Exception {
+    for (final Future<?> future : futures) {
+      future.get();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConcurrencyLimit} that looks for the concurrency a stage can sustain, increasing it
+ * additively and decreasing it multiplicatively.
+ *
+ * <p>The limit grows by one each time as many operations as the limit completed while the stage
+ * was saturated, so stages that are held back by their limit get more concurrency. It shrinks when
+ * the smoothed latency of the operations goes well above the lowest latency recently observed,
+ * meaning the peers or the executor serving them are overloaded, or when the next stage does not
+ * keep up with the results, in which case more concurrency would only make them wait longer.
+ */
+public class AdaptiveConcurrencyLimit implements ConcurrencyLimit {
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimit.class);
+
+  private static final double LATENCY_SMOOTHING = 0.1;
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double DECREASE_FACTOR = 0.75;
+  private static final int BASELINE_WINDOW = 500;
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private volatile int limit;
+
+  private double smoothedLatencyNanos;
+  private long baselineLatencyNanos = Long.MAX_VALUE;
+  private long windowMinLatencyNanos = Long.MAX_VALUE;
+  private int windowSamples;
+  private int completionsSinceLastChange;
+
+  /**
+   * Create a new adaptive limit
+   *
+   * @param name the name used when logging changes of the limit
+   * @param initialLimit the limit to start from
+   * @param minLimit the lowest limit
+   * @param maxLimit the highest limit
+   */
+  public AdaptiveConcurrencyLimit(
+      final String name, final int initialLimit, final int minLimit, final int maxLimit) {
+    checkArgument(minLimit > 0, "Minimum limit must be greater than 0");
+    checkArgument(
+        minLimit <= initialLimit && initialLimit <= maxLimit,
+        "Initial limit %s must be between %s and %s",
+        initialLimit,
+        minLimit,
+        maxLimit);
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+  }
+
+  @Override
+  public int getLimit() {
+    return limit;
+  }
+
+  @Override
+  public synchronized void onOperationCompleted(final long latencyNanos, final boolean saturated) {
+    smoothedLatencyNanos =
+        smoothedLatencyNanos == 0
+            ? latencyNanos
+            : smoothedLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - smoothedLatencyNanos);
+    updateBaseline(latencyNanos);
+
+    // wait for a full round of operations at the current limit before judging it
+    if (++completionsSinceLastChange < limit) {
+      return;
+    }
+    if (smoothedLatencyNanos > baselineLatencyNanos * LATENCY_TOLERANCE) {
+      decrease("latency increased");
+    } else if (saturated) {
+      setLimit(Math.min(maxLimit, limit + 1), "stage saturated");
+    }
+  }
+
+  @Override
+  public synchronized void onOutputBlocked() {
+    if (completionsSinceLastChange >= limit) {
+      decrease("next stage is not keeping up");
+    }
+  }
+
+  private void updateBaseline(final long latencyNanos) {
+    baselineLatencyNanos = Math.min(baselineLatencyNanos, latencyNanos);
+    windowMinLatencyNanos = Math.min(windowMinLatencyNanos, latencyNanos);
+    // restart the baseline from time to time so it follows peers coming and going
+    if (++windowSamples >= BASELINE_WINDOW) {
+      baselineLatencyNanos = windowMinLatencyNanos;
+      windowMinLatencyNanos = Long.MAX_VALUE;
+      windowSamples = 0;
+    }
+  }
+
+  private void decrease(final String reason) {
+    setLimit(Math.max(minLimit, (int) (limit * DECREASE_FACTOR)), reason);
+  }
+
+  private void setLimit(final int newLimit, final String reason) {
+    completionsSinceLastChange = 0;
+    if (newLimit != limit) {
+      LOG.debug("Changing concurrency of {} from {} to {}: {}", name, limit, newLimit, reason);
+      limit = newLimit;
+    }
+  }
+}
@@ -36,30 +36,46 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
   private final List<CompletableFuture<O>> inProgress;
   private CompletableFuture<?> nextOutputAvailableFuture = completedFuture(null);
   private final boolean preserveOrder;
-  private final int maxConcurrency;
+  private final ConcurrencyLimit concurrencyLimit;
 
   public AsyncOperationProcessor(
       final Function<I, CompletableFuture<O>> processor,
       final int maxConcurrency,
       final boolean preserveOrder) {
+    this(processor, ConcurrencyLimit.fixed(maxConcurrency), preserveOrder);
+  }
+
+  public AsyncOperationProcessor(
+      final Function<I, CompletableFuture<O>> processor,
+      final ConcurrencyLimit concurrencyLimit,
+      final boolean preserveOrder) {
     this.processor = processor;
-    this.maxConcurrency = maxConcurrency;
-    this.inProgress = new ArrayList<>(maxConcurrency);
+    this.concurrencyLimit = concurrencyLimit;
+    this.inProgress = new ArrayList<>(concurrencyLimit.getLimit());
     this.preserveOrder = preserveOrder;
   }
 
   @Override
   public void processNextInput(final ReadPipe<I> inputPipe, final WritePipe<O> outputPipe) {
-    if (inProgress.size() < maxConcurrency) {
+    final int limit = concurrencyLimit.getLimit();
+    if (inProgress.size() < limit) {
       final I value = inputPipe.get();
       if (value != null) {
+        final boolean saturated = inProgress.size() + 1 >= limit;
+        final long startTime = System.nanoTime();
         final CompletableFuture<O> future = processor.apply(value);
         // When the future completes, interrupt so if we're waiting for new input we wake up and
         // schedule the output.
         final Thread stageThread = Thread.currentThread();
         inProgress.add(future);
         updateNextOutputAvailableFuture();
-        future.whenComplete((result, error) -> stageThread.interrupt());
+        future.whenComplete(
+            (result, error) -> {
+              if (error == null) {
+                concurrencyLimit.onOperationCompleted(System.nanoTime() - startTime, saturated);
+              }
+              stageThread.interrupt();
+            });
       }
       outputCompletedTasks(outputPipe);
     } else {
@@ -107,6 +123,9 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
       final O result = process.getNow(null);
       if (result != null) {
         inProgressChanged = true;
+        if (!outputPipe.hasRemainingCapacity()) {
+          concurrencyLimit.onOutputBlocked();
+        }
         outputPipe.put(result);
         i.remove();
       } else if (preserveOrder) {
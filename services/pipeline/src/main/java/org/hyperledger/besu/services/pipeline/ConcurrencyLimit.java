@@ -0,0 +1,54 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+/**
+ * The maximum number of items an asynchronous stage processes concurrently. Implementations are
+ * notified of how the operations of the stage go and may change the limit while the pipeline
+ * runs.
+ */
+public interface ConcurrencyLimit {
+
+  /**
+   * Create a limit that never changes
+   *
+   * @param limit the maximum number of items processed concurrently
+   * @return the fixed limit
+   */
+  static ConcurrencyLimit fixed(final int limit) {
+    return () -> limit;
+  }
+
+  /**
+   * Get the current limit
+   *
+   * @return the maximum number of items to process concurrently
+   */
+  int getLimit();
+
+  /**
+   * Called when an operation of the stage completes successfully
+   *
+   * @param latencyNanos how long the operation took
+   * @param saturated true if the stage was processing as many items as allowed when the operation
+   *     started
+   */
+  default void onOperationCompleted(final long latencyNanos, final boolean saturated) {}
+
+  /**
+   * Called when the stage has a result to output but the next stage has not yet made room for it
+   */
+  default void onOutputBlocked() {}
+}
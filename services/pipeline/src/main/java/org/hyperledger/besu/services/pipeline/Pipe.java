@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.services.pipeline;
 
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.Collection;
@@ -42,6 +43,9 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   private final Counter inputCounter;
   private final Counter outputCounter;
   private final Counter abortedItemCounter;
+  private final Counter putWaitMicrosCounter;
+  private final Counter getWaitMicrosCounter;
+  private final int capacity;
   private final AtomicBoolean closed = new AtomicBoolean();
   private final AtomicBoolean aborted = new AtomicBoolean();
   private String pipeName = "";
@@ -61,10 +65,73 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       final Counter outputCounter,
       final Counter abortedItemCounter,
       final String pipeName) {
-    queue = new ArrayBlockingQueue<>(capacity);
+    this(capacity, inputCounter, outputCounter, abortedItemCounter, pipeName, false);
+  }
+
+  /**
+   * Instantiates a new Pipe, optionally backed by a lock-free ring buffer instead of a blocking
+   * queue. The ring buffer avoids lock and condition variable costs when items flow quickly
+   * between stages, at the cost of some spinning while waiting.
+   *
+   * @param capacity the capacity
+   * @param inputCounter the input counter
+   * @param outputCounter the output counter
+   * @param abortedItemCounter the aborted item counter
+   * @param pipeName the name of the pipe
+   * @param useRingBuffer whether to use a lock-free ring buffer
+   */
+  public Pipe(
+      final int capacity,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter,
+      final String pipeName,
+      final boolean useRingBuffer) {
+    this(
+        capacity,
+        inputCounter,
+        outputCounter,
+        abortedItemCounter,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        pipeName,
+        useRingBuffer);
+  }
+
+  /**
+   * Instantiates a new Pipe that also records, in microseconds, how long writers waited for
+   * capacity and readers waited for items. A stage whose output pipe accumulates put wait time is
+   * held back by the next stage, while a stage whose input pipe accumulates get wait time is
+   * starved by the previous one.
+   *
+   * @param capacity the capacity
+   * @param inputCounter the input counter
+   * @param outputCounter the output counter
+   * @param abortedItemCounter the aborted item counter
+   * @param putWaitMicrosCounter the counter of the time spent waiting to put items
+   * @param getWaitMicrosCounter the counter of the time spent waiting to get items
+   * @param pipeName the name of the pipe
+   * @param useRingBuffer whether to use a lock-free ring buffer
+   */
+  public Pipe(
+      final int capacity,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter,
+      final Counter putWaitMicrosCounter,
+      final Counter getWaitMicrosCounter,
+      final String pipeName,
+      final boolean useRingBuffer) {
+    queue =
+        useRingBuffer
+            ? new RingBufferBlockingQueue<>(capacity)
+            : new ArrayBlockingQueue<>(capacity);
     this.inputCounter = inputCounter;
     this.outputCounter = outputCounter;
     this.abortedItemCounter = abortedItemCounter;
+    this.putWaitMicrosCounter = putWaitMicrosCounter;
+    this.getWaitMicrosCounter = getWaitMicrosCounter;
+    this.capacity = capacity;
     this.pipeName = pipeName;
   }
 
@@ -77,6 +144,24 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     return pipeName;
   }
 
+  /**
+   * Get the number of items currently waiting in this pipe
+   *
+   * @return the number of items in the pipe
+   */
+  public int getSize() {
+    return queue.size();
+  }
+
+  /**
+   * Get the maximum number of items this pipe can hold
+   *
+   * @return the capacity of the pipe
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
   @Override
   public boolean isOpen() {
     return !closed.get() && !aborted.get();
@@ -114,6 +199,14 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public T get() {
+    if (aborted.get()) {
+      return null;
+    }
+    final T available = poll();
+    if (available != null) {
+      return available;
+    }
+    final long waitStart = System.nanoTime();
     try {
       while (hasMore()) {
         final T value = queue.poll(1, TimeUnit.SECONDS);
@@ -124,6 +217,8 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       }
     } catch (final InterruptedException e) {
       LOG.trace("Interrupted while waiting for next item from pipe {}", pipeName);
+    } finally {
+      recordWait(getWaitMicrosCounter, waitStart);
     }
     return null;
   }
@@ -146,15 +241,31 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public void put(final T value) {
-    while (isOpen()) {
-      try {
-        if (queue.offer(value, 1, TimeUnit.SECONDS)) {
-          inputCounter.inc();
-          return;
+    if (!isOpen()) {
+      return;
+    }
+    if (queue.offer(value)) {
+      inputCounter.inc();
+      return;
+    }
+    final long waitStart = System.nanoTime();
+    try {
+      while (isOpen()) {
+        try {
+          if (queue.offer(value, 1, TimeUnit.SECONDS)) {
+            inputCounter.inc();
+            return;
+          }
+        } catch (final InterruptedException e) {
+          LOG.trace("Interrupted while waiting to add to output to pipe {}", pipeName);
         }
-      } catch (final InterruptedException e) {
-        LOG.trace("Interrupted while waiting to add to output to pipe {}", pipeName);
       }
+    } finally {
+      recordWait(putWaitMicrosCounter, waitStart);
     }
   }
+
+  private static void recordWait(final Counter waitMicrosCounter, final long waitStart) {
+    waitMicrosCounter.inc(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - waitStart));
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wait time and occupancy metrics for the pipes of a pipeline, labelled with the name of each pipe.
+ *
+ * <p>The metrics are registered once, so a single instance should be shared by all the pipelines
+ * a component creates over time. The occupancy of a pipe is reported for the last pipe created
+ * with that name.
+ */
+public class PipeMetrics {
+
+  /** Pipe metrics that record nothing. */
+  public static final PipeMetrics NO_OP = new PipeMetrics();
+
+  private final LabelledMetric<Counter> putWaitMicrosCounter;
+  private final LabelledMetric<Counter> getWaitMicrosCounter;
+  private final LabelledSuppliedMetric occupancyGauge;
+  private final Map<String, Pipe<?>> currentPipes;
+
+  /**
+   * Instantiates pipe metrics named after the given prefix.
+   *
+   * @param metricsSystem the metrics system
+   * @param category the category of the metrics
+   * @param prefix the prefix of the metric names, usually the name of the pipeline
+   */
+  public PipeMetrics(
+      final MetricsSystem metricsSystem, final MetricCategory category, final String prefix) {
+    this.putWaitMicrosCounter =
+        metricsSystem.createLabelledCounter(
+            category,
+            prefix + "_pipe_put_wait_microseconds_total",
+            "Time spent waiting for capacity to add items to each pipe",
+            "pipe");
+    this.getWaitMicrosCounter =
+        metricsSystem.createLabelledCounter(
+            category,
+            prefix + "_pipe_get_wait_microseconds_total",
+            "Time spent waiting for items to take from each pipe",
+            "pipe");
+    this.occupancyGauge =
+        metricsSystem.createLabelledSuppliedGauge(
+            category, prefix + "_pipe_items", "Number of items waiting in each pipe", "pipe");
+    this.currentPipes = new ConcurrentHashMap<>();
+  }
+
+  private PipeMetrics() {
+    this.putWaitMicrosCounter = NoOpMetricsSystem.NO_OP_LABELLED_1_COUNTER;
+    this.getWaitMicrosCounter = NoOpMetricsSystem.NO_OP_LABELLED_1_COUNTER;
+    this.occupancyGauge = null;
+    this.currentPipes = null;
+  }
+
+  Counter putWaitMicrosCounter(final String pipeName) {
+    return putWaitMicrosCounter.labels(pipeName);
+  }
+
+  Counter getWaitMicrosCounter(final String pipeName) {
+    return getWaitMicrosCounter.labels(pipeName);
+  }
+
+  void trackOccupancy(final String pipeName, final Pipe<?> pipe) {
+    if (currentPipes == null) {
+      return;
+    }
+    // a gauge can only be registered once per label, later pipes with the same name replace the
+    // one it reads
+    if (currentPipes.put(pipeName, pipe) == null) {
+      occupancyGauge.labels(
+          () -> {
+            final Pipe<?> currentPipe = currentPipes.get(pipeName);
+            return currentPipe == null ? 0 : currentPipe.getSize();
+          },
+          pipeName);
+    }
+  }
+}
@@ -53,6 +53,8 @@ public class PipelineBuilder<I, T> {
   private final LabelledMetric<Counter> outputCounter;
   private final boolean tracingEnabled;
   private final String pipelineName;
+  private final boolean useRingBufferPipes;
+  private final PipeMetrics pipeMetrics;
 
   /**
    * Instantiates a new Pipeline builder.
@@ -77,6 +79,32 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
+    this(
+        inputPipe,
+        stages,
+        pipes,
+        lastStageName,
+        pipeEnd,
+        bufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        false,
+        PipeMetrics.NO_OP);
+  }
+
+  private PipelineBuilder(
+      final Pipe<I> inputPipe,
+      final Collection<Stage> stages,
+      final Collection<Pipe<?>> pipes,
+      final String lastStageName,
+      final ReadPipe<T> pipeEnd,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean useRingBufferPipes,
+      final PipeMetrics pipeMetrics) {
     checkArgument(!pipes.isEmpty(), "Must have at least one pipe in a pipeline");
     this.lastStageName = lastStageName;
     this.outputCounter = outputCounter;
@@ -87,6 +115,8 @@ public class PipelineBuilder<I, T> {
     this.bufferSize = bufferSize;
     this.tracingEnabled = tracingEnabled;
     this.pipelineName = pipelineName;
+    this.useRingBufferPipes = useRingBufferPipes;
+    this.pipeMetrics = pipeMetrics;
   }
 
   /**
@@ -111,7 +141,73 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> itemCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter);
+    return createPipelineFrom(
+        sourceName, source, bufferSize, itemCounter, tracingEnabled, pipelineName, false);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs from <i>source</i>, like {@link
+   * #createPipelineFrom(String, Iterator, int, LabelledMetric, boolean, String)}, choosing the
+   * implementation of the pipes between its stages.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param source the source to pull items from for processing.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param itemCounter the counter to increment for each output of a stage. Must accept two labels,
+   *     the stage name and action (output or drained).
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @param useRingBufferPipes whether the pipes of this pipeline are lock-free ring buffers
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public static <T> PipelineBuilder<T, T> createPipelineFrom(
+      final String sourceName,
+      final Iterator<T> source,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean useRingBufferPipes) {
+    return createPipelineFrom(
+        sourceName,
+        source,
+        bufferSize,
+        itemCounter,
+        tracingEnabled,
+        pipelineName,
+        useRingBufferPipes,
+        PipeMetrics.NO_OP);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs from <i>source</i>, like {@link
+   * #createPipelineFrom(String, Iterator, int, LabelledMetric, boolean, String, boolean)}, also
+   * recording the wait time and occupancy of its pipes.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param source the source to pull items from for processing.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param itemCounter the counter to increment for each output of a stage. Must accept two labels,
+   *     the stage name and action (output or drained).
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @param useRingBufferPipes whether the pipes of this pipeline are lock-free ring buffers
+   * @param pipeMetrics the wait time and occupancy metrics of the pipes
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public static <T> PipelineBuilder<T, T> createPipelineFrom(
+      final String sourceName,
+      final Iterator<T> source,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean useRingBufferPipes,
+      final PipeMetrics pipeMetrics) {
+    final Pipe<T> pipe =
+        createPipe(bufferSize, sourceName, itemCounter, useRingBufferPipes, pipeMetrics);
     final IteratorSourceStage<T> sourceStage = new IteratorSourceStage<>(sourceName, source, pipe);
     return new PipelineBuilder<>(
         pipe,
@@ -122,7 +218,9 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         itemCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        useRingBufferPipes,
+        pipeMetrics);
   }
 
   /**
@@ -144,7 +242,68 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter);
+    return createPipeline(
+        sourceName, bufferSize, outputCounter, tracingEnabled, pipelineName, false);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs added to <i>pipe</i>, like {@link
+   * #createPipeline(String, int, LabelledMetric, boolean, String)}, choosing the implementation of
+   * the pipes between its stages.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param outputCounter the counter to increment for each output of a stage. Must have a single
+   *     label which will be filled with the stage name.
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @param useRingBufferPipes whether the pipes of this pipeline are lock-free ring buffers
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public static <T> PipelineBuilder<T, T> createPipeline(
+      final String sourceName,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean useRingBufferPipes) {
+    return createPipeline(
+        sourceName,
+        bufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        useRingBufferPipes,
+        PipeMetrics.NO_OP);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs added to <i>pipe</i>, like {@link
+   * #createPipeline(String, int, LabelledMetric, boolean, String, boolean)}, also recording the
+   * wait time and occupancy of its pipes.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param outputCounter the counter to increment for each output of a stage. Must have a single
+   *     label which will be filled with the stage name.
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @param useRingBufferPipes whether the pipes of this pipeline are lock-free ring buffers
+   * @param pipeMetrics the wait time and occupancy metrics of the pipes
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public static <T> PipelineBuilder<T, T> createPipeline(
+      final String sourceName,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean useRingBufferPipes,
+      final PipeMetrics pipeMetrics) {
+    final Pipe<T> pipe =
+        createPipe(bufferSize, sourceName, outputCounter, useRingBufferPipes, pipeMetrics);
     return new PipelineBuilder<>(
         pipe,
         emptyList(),
@@ -154,7 +313,9 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        useRingBufferPipes,
+        pipeMetrics);
   }
 
   /**
@@ -211,7 +372,26 @@ public class PipelineBuilder<I, T> {
       final String stageName,
       final Function<T, CompletableFuture<O>> processor,
       final int maxConcurrency) {
-    return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, false), stageName);
+    return thenProcessAsync(stageName, processor, ConcurrencyLimit.fixed(maxConcurrency));
+  }
+
+  /**
+   * Adds a 1-to-1, asynchronous processing stage to the pipeline, like {@link
+   * #thenProcessAsync(String, Function, int)}, but the number of items being processed concurrently
+   * is given by <i>concurrencyLimit</i>, which is notified of the completed operations and can
+   * adjust it while the pipeline runs.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item.
+   * @param concurrencyLimit the limit of items being processed concurrently.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcessAsync(
+      final String stageName,
+      final Function<T, CompletableFuture<O>> processor,
+      final ConcurrencyLimit concurrencyLimit) {
+    return addStage(new AsyncOperationProcessor<>(processor, concurrencyLimit, false), stageName);
   }
 
   /**
@@ -235,7 +415,26 @@ public class PipelineBuilder<I, T> {
       final String stageName,
       final Function<T, CompletableFuture<O>> processor,
       final int maxConcurrency) {
-    return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, true), stageName);
+    return thenProcessAsyncOrdered(stageName, processor, ConcurrencyLimit.fixed(maxConcurrency));
+  }
+
+  /**
+   * Adds a 1-to-1, asynchronous processing stage to the pipeline, like {@link
+   * #thenProcessAsyncOrdered(String, Function, int)}, but the number of items being processed
+   * concurrently is given by <i>concurrencyLimit</i>, which is notified of the completed operations
+   * and can adjust it while the pipeline runs.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item.
+   * @param concurrencyLimit the limit of items being processed concurrently.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcessAsyncOrdered(
+      final String stageName,
+      final Function<T, CompletableFuture<O>> processor,
+      final ConcurrencyLimit concurrencyLimit) {
+    return addStage(new AsyncOperationProcessor<>(processor, concurrencyLimit, true), stageName);
   }
 
   /**
@@ -263,7 +462,9 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        useRingBufferPipes,
+        pipeMetrics);
   }
 
   /**
@@ -293,7 +494,9 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        useRingBufferPipes,
+        pipeMetrics);
   }
 
   /**
@@ -364,7 +567,8 @@ public class PipelineBuilder<I, T> {
       final Supplier<Processor<T, O>> createProcessor,
       final int numberOfThreads,
       final int newBufferSize) {
-    final Pipe<O> newPipeEnd = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> newPipeEnd =
+        createPipe(newBufferSize, stageName, outputCounter, useRingBufferPipes, pipeMetrics);
     final WritePipe<O> outputPipe = new SharedWritePipe<>(newPipeEnd, numberOfThreads);
     final ArrayList<Stage> newStages = new ArrayList<>(stages);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -381,7 +585,9 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        useRingBufferPipes,
+        pipeMetrics);
   }
 
   private <O> PipelineBuilder<I, O> addStage(
@@ -391,7 +597,8 @@ public class PipelineBuilder<I, T> {
 
   private <O> PipelineBuilder<I, O> addStage(
       final Processor<T, O> processor, final int newBufferSize, final String stageName) {
-    final Pipe<O> outputPipe = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> outputPipe =
+        createPipe(newBufferSize, stageName, outputCounter, useRingBufferPipes, pipeMetrics);
     final Stage processStage = new ProcessingStage<>(stageName, pipeEnd, outputPipe, processor);
     final List<Stage> newStages = concat(stages, processStage);
     return new PipelineBuilder<>(
@@ -403,7 +610,9 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        useRingBufferPipes,
+        pipeMetrics);
   }
 
   private <X> List<X> concat(final Collection<X> existing, final X newItem) {
@@ -415,13 +624,21 @@ public class PipelineBuilder<I, T> {
   private static <O> Pipe<O> createPipe(
       final int newBufferSize,
       final String stageName,
-      final LabelledMetric<Counter> outputCounter) {
+      final LabelledMetric<Counter> outputCounter,
+      final boolean useRingBufferPipes,
+      final PipeMetrics pipeMetrics) {
     final String labelName = stageName + "_outputPipe";
-    return new Pipe<>(
-        newBufferSize,
-        outputCounter.labels(labelName, "added"),
-        outputCounter.labels(labelName, "removed"),
-        outputCounter.labels(labelName, "aborted"),
-        stageName);
+    final Pipe<O> pipe =
+        new Pipe<>(
+            newBufferSize,
+            outputCounter.labels(labelName, "added"),
+            outputCounter.labels(labelName, "removed"),
+            outputCounter.labels(labelName, "aborted"),
+            pipeMetrics.putWaitMicrosCounter(labelName),
+            pipeMetrics.getWaitMicrosCounter(labelName),
+            stageName,
+            useRingBufferPipes);
+    pipeMetrics.trackOccupancy(labelName, pipe);
+    return pipe;
   }
 }
@@ -0,0 +1,342 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer queue backed by a ring buffer.
+ *
+ * <p>Each slot of the ring has a sequence number telling whether it is ready to be written or read
+ * for a given position, so producers and consumers only contend on a CAS of the enqueue or dequeue
+ * position, and never take a lock. Waiting operations spin, then yield, and then park until the
+ * other side signals that an element or a free slot is available. Signalling only costs a read of a
+ * counter unless a thread is actually parked.
+ *
+ * <p>Only the operations used by {@link Pipe} are optimized. The iterator is weakly consistent and
+ * read-only.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+  private static final int SPIN_TRIES = 100;
+  private static final int YIELD_TRIES = 10;
+
+  private final int capacity;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+  private final Waiters waitingConsumers = new Waiters();
+  private final Waiters waitingProducers = new Waiters();
+
+  RingBufferBlockingQueue(final int capacity) {
+    checkArgument(capacity > 0, "Capacity must be greater than 0");
+    this.capacity = capacity;
+    this.elements = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  @Override
+  public boolean offer(final E element) {
+    checkNotNull(element);
+    long position = enqueuePosition.get();
+    while (true) {
+      final int index = index(position);
+      final long difference = sequences.getAcquire(index) - position;
+      if (difference == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          elements.setPlain(index, element);
+          // volatile write, so it can't be reordered with the read of the waiting consumers
+          sequences.set(index, position + 1);
+          waitingConsumers.signalAll();
+          return true;
+        }
+        position = enqueuePosition.get();
+      } else if (difference < 0) {
+        // the slot still holds the element written one lap ago, the ring is full
+        return false;
+      } else {
+        position = enqueuePosition.get();
+      }
+    }
+  }
+
+  @Override
+  public E poll() {
+    long position = dequeuePosition.get();
+    while (true) {
+      final int index = index(position);
+      final long difference = sequences.getAcquire(index) - (position + 1);
+      if (difference == 0) {
+        if (dequeuePosition.compareAndSet(position, position + 1)) {
+          final E element = consume(index, position);
+          waitingProducers.signalAll();
+          return element;
+        }
+        position = dequeuePosition.get();
+      } else if (difference < 0) {
+        // nothing has been written at this position yet, the ring is empty
+        return null;
+      } else {
+        position = dequeuePosition.get();
+      }
+    }
+  }
+
+  @Override
+  public int drainTo(final Collection<? super E> output, final int maxElements) {
+    checkNotNull(output);
+    if (maxElements <= 0) {
+      return 0;
+    }
+    while (true) {
+      final long position = dequeuePosition.get();
+      int available = 0;
+      final int limit = Math.min(maxElements, capacity);
+      while (available < limit
+          && sequences.getAcquire(index(position + available)) == position + available + 1) {
+        available++;
+      }
+      if (available == 0) {
+        return 0;
+      }
+      // claim all the ready elements at once
+      if (dequeuePosition.compareAndSet(position, position + available)) {
+        for (int i = 0; i < available; i++) {
+          output.add(consume(index(position + i), position + i));
+        }
+        waitingProducers.signalAll();
+        return available;
+      }
+    }
+  }
+
+  @Override
+  public int drainTo(final Collection<? super E> output) {
+    return drainTo(output, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void put(final E element) throws InterruptedException {
+    int attempt = 0;
+    while (!offer(element)) {
+      idle(attempt++, Long.MAX_VALUE, waitingProducers, this::hasFreeSlot);
+    }
+  }
+
+  @Override
+  public boolean offer(final E element, final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    int attempt = 0;
+    while (!offer(element)) {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      idle(attempt++, remaining, waitingProducers, this::hasFreeSlot);
+    }
+    return true;
+  }
+
+  @Override
+  public E take() throws InterruptedException {
+    int attempt = 0;
+    E element;
+    while ((element = poll()) == null) {
+      idle(attempt++, Long.MAX_VALUE, waitingConsumers, this::hasReadyElement);
+    }
+    return element;
+  }
+
+  @Override
+  public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    int attempt = 0;
+    E element;
+    while ((element = poll()) == null) {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return null;
+      }
+      idle(attempt++, remaining, waitingConsumers, this::hasReadyElement);
+    }
+    return element;
+  }
+
+  @Override
+  public E peek() {
+    final long position = dequeuePosition.get();
+    final int index = index(position);
+    if (sequences.getAcquire(index) == position + 1) {
+      return elements.get(index);
+    }
+    return null;
+  }
+
+  @Override
+  public int size() {
+    while (true) {
+      final long dequeued = dequeuePosition.get();
+      final long enqueued = enqueuePosition.get();
+      if (dequeued == dequeuePosition.get()) {
+        return (int) Math.max(0, Math.min(capacity, enqueued - dequeued));
+      }
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return capacity - size();
+  }
+
+  /**
+   * Returns a weakly consistent iterator over the elements ready to be consumed when it is created,
+   * in order. Elements consumed concurrently are skipped, and the iterator does not support
+   * removal.
+   *
+   * @return an iterator over the elements of this queue
+   */
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<>() {
+      private long position = dequeuePosition.get();
+      private final long end = enqueuePosition.get();
+      private E next = advance();
+
+      private E advance() {
+        while (position < end) {
+          final long current = position++;
+          final int index = index(current);
+          final E element = elements.get(index);
+          // the slot may have been consumed, or even reused by the next lap, since it was read
+          if (element != null && sequences.getAcquire(index) == current + 1) {
+            return element;
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public E next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        final E element = next;
+        next = advance();
+        return element;
+      }
+    };
+  }
+
+  private E consume(final int index, final long position) {
+    final E element = elements.getPlain(index);
+    elements.setPlain(index, null);
+    // make the slot available to the producers of the next lap, with a volatile write so it can't
+    // be reordered with the read of the waiting producers
+    sequences.set(index, position + capacity);
+    return element;
+  }
+
+  private boolean hasReadyElement() {
+    final long position = dequeuePosition.get();
+    return sequences.get(index(position)) == position + 1;
+  }
+
+  private boolean hasFreeSlot() {
+    final long position = enqueuePosition.get();
+    return sequences.get(index(position)) == position;
+  }
+
+  private int index(final long position) {
+    return (int) (position % capacity);
+  }
+
+  private static void idle(
+      final int attempt,
+      final long maxWaitNanos,
+      final Waiters waiters,
+      final BooleanSupplier canProceed)
+      throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    if (attempt < SPIN_TRIES) {
+      Thread.onSpinWait();
+    } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+      Thread.yield();
+    } else {
+      waiters.await(canProceed, maxWaitNanos);
+    }
+  }
+
+  /** Threads parked waiting for the other side of the queue to make progress. */
+  private static class Waiters {
+    private final AtomicInteger count = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Thread> threads = new ConcurrentLinkedQueue<>();
+
+    void await(final BooleanSupplier canProceed, final long maxWaitNanos) {
+      final Thread thread = Thread.currentThread();
+      threads.add(thread);
+      count.incrementAndGet();
+      // publish the registration before checking the condition, a signal sent after the check
+      // then always finds this thread
+      VarHandle.fullFence();
+      try {
+        if (!canProceed.getAsBoolean()) {
+          if (maxWaitNanos == Long.MAX_VALUE) {
+            LockSupport.park(this);
+          } else {
+            LockSupport.parkNanos(this, maxWaitNanos);
+          }
+        }
+      } finally {
+        count.decrementAndGet();
+        threads.remove(thread);
+      }
+    }
+
+    void signalAll() {
+      if (count.get() > 0) {
+        threads.forEach(LockSupport::unpark);
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+  private static final long LATENCY = 1_000_000;
+
+  private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 4, 1, 6);
+
+  @Test
+  public void shouldIncreaseAfterARoundOfSaturatedOperations() {
+    completeRound(LATENCY, true);
+    assertThat(limit.getLimit()).isEqualTo(5);
+
+    completeRound(LATENCY, true);
+    completeRound(LATENCY, true);
+    completeRound(LATENCY, true);
+    assertThat(limit.getLimit()).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldNotIncreaseWhenNotSaturated() {
+    completeRound(LATENCY, false);
+    completeRound(LATENCY, false);
+    assertThat(limit.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldDecreaseWhenLatencyIncreases() {
+    completeRound(LATENCY, true);
+    assertThat(limit.getLimit()).isEqualTo(5);
+
+    for (int i = 0; i < 50 && limit.getLimit() >= 5; i++) {
+      limit.onOperationCompleted(LATENCY * 10, true);
+    }
+    assertThat(limit.getLimit()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldDecreaseWhenOutputIsBlockedAfterARound() {
+    limit.onOutputBlocked();
+    assertThat(limit.getLimit()).isEqualTo(4);
+
+    completeRound(LATENCY, false);
+    limit.onOutputBlocked();
+    assertThat(limit.getLimit()).isEqualTo(3);
+
+    // a new round is needed before decreasing again
+    limit.onOutputBlocked();
+    assertThat(limit.getLimit()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotDecreaseBelowMinimum() {
+    for (int i = 0; i < 10; i++) {
+      completeRound(LATENCY, false);
+      limit.onOutputBlocked();
+    }
+    assertThat(limit.getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRejectInitialLimitOutsideOfBounds() {
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimit("test", 7, 1, 6))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveConcurrencyLimit("test", 0, 0, 6))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void completeRound(final long latencyNanos, final boolean saturated) {
+    final int operations = limit.getLimit();
+    for (int i = 0; i < operations; i++) {
+      limit.onOperationCompleted(latencyNanos, saturated);
+    }
+  }
+}
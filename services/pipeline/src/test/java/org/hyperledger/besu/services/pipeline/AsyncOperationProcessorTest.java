@@ -17,6 +17,8 @@ package org.hyperledger.besu.services.pipeline;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -78,6 +80,44 @@ public class AsyncOperationProcessorTest {
     verify(readPipe, times(4)).get();
   }
 
+  @Test
+  public void shouldFollowChangesOfConcurrencyLimit() {
+    final ConcurrencyLimit concurrencyLimit = mock(ConcurrencyLimit.class);
+    when(concurrencyLimit.getLimit()).thenReturn(1);
+    final AsyncOperationProcessor<CompletableFuture<String>, String> processor =
+        new AsyncOperationProcessor<>(Function.identity(), concurrencyLimit, false);
+    when(readPipe.get())
+        .thenReturn(new CompletableFuture<>())
+        .thenReturn(new CompletableFuture<>());
+
+    processor.processNextInput(readPipe, writePipe);
+    processor.processNextInput(readPipe, writePipe);
+    verify(readPipe, times(1)).get();
+
+    when(concurrencyLimit.getLimit()).thenReturn(2);
+    processor.processNextInput(readPipe, writePipe);
+    verify(readPipe, times(2)).get();
+  }
+
+  @Test
+  public void shouldNotifyConcurrencyLimitOfCompletedTasksAndBlockedOutput() {
+    final ConcurrencyLimit concurrencyLimit = mock(ConcurrencyLimit.class);
+    when(concurrencyLimit.getLimit()).thenReturn(1);
+    final AsyncOperationProcessor<CompletableFuture<String>, String> processor =
+        new AsyncOperationProcessor<>(Function.identity(), concurrencyLimit, false);
+    final CompletableFuture<String> task = new CompletableFuture<>();
+    when(readPipe.get()).thenReturn(task);
+    when(writePipe.hasRemainingCapacity()).thenReturn(false);
+
+    processor.processNextInput(readPipe, writePipe);
+    task.complete("a");
+    verify(concurrencyLimit).onOperationCompleted(anyLong(), eq(true));
+
+    processor.processNextInput(readPipe, writePipe);
+    verify(concurrencyLimit).onOutputBlocked();
+    verify(writePipe).put("a");
+  }
+
   @Test
   public void shouldOutputRemainingInProgressTasksWhenFinalizing() {
     final AsyncOperationProcessor<CompletableFuture<String>, String> processor =
@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+
+import java.util.function.DoubleSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PipeMetricsTest {
+
+  private final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+
+  @SuppressWarnings("unchecked")
+  private final LabelledMetric<Counter> putWaitCounter = mock(LabelledMetric.class);
+
+  @SuppressWarnings("unchecked")
+  private final LabelledMetric<Counter> getWaitCounter = mock(LabelledMetric.class);
+
+  private final LabelledSuppliedMetric occupancyGauge = mock(LabelledSuppliedMetric.class);
+  private PipeMetrics pipeMetrics;
+
+  @BeforeEach
+  public void setUp() {
+    when(metricsSystem.createLabelledCounter(
+            any(), eq("test_pipe_put_wait_microseconds_total"), anyString(), eq("pipe")))
+        .thenReturn(putWaitCounter);
+    when(metricsSystem.createLabelledCounter(
+            any(), eq("test_pipe_get_wait_microseconds_total"), anyString(), eq("pipe")))
+        .thenReturn(getWaitCounter);
+    when(metricsSystem.createLabelledSuppliedGauge(
+            any(), eq("test_pipe_items"), anyString(), eq("pipe")))
+        .thenReturn(occupancyGauge);
+    when(putWaitCounter.labels(anyString())).thenReturn(mock(Counter.class));
+    when(getWaitCounter.labels(anyString())).thenReturn(mock(Counter.class));
+    pipeMetrics = new PipeMetrics(metricsSystem, BesuMetricCategory.SYNCHRONIZER, "test");
+  }
+
+  @Test
+  public void shouldRecordWaitTimesSeparatelyFromItemCounts() {
+    createPipeline();
+
+    verify(putWaitCounter).labels("input_outputPipe");
+    verify(getWaitCounter).labels("input_outputPipe");
+    verify(putWaitCounter).labels("double_outputPipe");
+    verify(getWaitCounter).labels("double_outputPipe");
+  }
+
+  @Test
+  public void shouldReportOccupancyOfLatestPipeWithEachName() {
+    final Pipeline<Integer> firstPipeline = createPipeline();
+    firstPipeline.getInputPipe().put(1);
+
+    final ArgumentCaptor<DoubleSupplier> occupancy = ArgumentCaptor.forClass(DoubleSupplier.class);
+    verify(occupancyGauge).labels(occupancy.capture(), eq("input_outputPipe"));
+    assertThat(occupancy.getValue().getAsDouble()).isEqualTo(1);
+
+    // a pipeline created again with the same stage names does not register the gauge twice
+    final Pipeline<Integer> secondPipeline = createPipeline();
+    verify(occupancyGauge, times(1)).labels(any(), eq("input_outputPipe"));
+    assertThat(occupancy.getValue().getAsDouble()).isZero();
+
+    secondPipeline.getInputPipe().put(1);
+    secondPipeline.getInputPipe().put(2);
+    assertThat(occupancy.getValue().getAsDouble()).isEqualTo(2);
+  }
+
+  private Pipeline<Integer> createPipeline() {
+    return PipelineBuilder.<Integer>createPipeline(
+            "input", 10, NO_OP_LABELLED_2_COUNTER, false, "test", false, pipeMetrics)
+        .thenProcess("double", value -> value * 2)
+        .andFinishWith("end", value -> {});
+  }
+}
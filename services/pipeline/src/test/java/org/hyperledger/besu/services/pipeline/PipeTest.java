@@ -15,7 +15,10 @@
 package org.hyperledger.besu.services.pipeline;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -23,6 +26,8 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,8 +35,18 @@ public class PipeTest {
   private final Counter inputCounter = mock(Counter.class);
   private final Counter outputCounter = mock(Counter.class);
   private final Counter abortedItemCounter = mock(Counter.class);
+  private final Counter putWaitMicrosCounter = mock(Counter.class);
+  private final Counter getWaitMicrosCounter = mock(Counter.class);
   private final Pipe<String> pipe =
-      new Pipe<>(5, inputCounter, outputCounter, abortedItemCounter, "test_pipe");
+      new Pipe<>(
+          5,
+          inputCounter,
+          outputCounter,
+          abortedItemCounter,
+          putWaitMicrosCounter,
+          getWaitMicrosCounter,
+          "test_pipe",
+          false);
 
   @Test
   public void shouldNotHaveMoreWhenEmptyAndClosed() {
@@ -138,4 +153,35 @@ public class PipeTest {
     Thread.currentThread().interrupt();
     assertThat(pipe.get()).isNull();
   }
+
+  @Test
+  public void shouldNotRecordWaitTimeWhenNotBlocked() {
+    pipe.put("A");
+    pipe.get();
+
+    verify(putWaitMicrosCounter, never()).inc(anyLong());
+    verify(getWaitMicrosCounter, never()).inc(anyLong());
+  }
+
+  @Test
+  public void shouldRecordTimeSpentWaitingForAnItem() {
+    CompletableFuture.runAsync(
+        () -> pipe.put("A"), CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+    assertThat(pipe.get()).isEqualTo("A");
+    verify(getWaitMicrosCounter).inc(longThat(micros -> micros >= 40_000));
+  }
+
+  @Test
+  public void shouldRecordTimeSpentWaitingForCapacity() {
+    for (int i = 0; i < pipe.getCapacity(); i++) {
+      pipe.put("item" + i);
+    }
+    assertThat(pipe.getSize()).isEqualTo(5);
+    CompletableFuture.runAsync(
+        pipe::poll, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+    pipe.put("last");
+    verify(putWaitMicrosCounter).inc(longThat(micros -> micros >= 40_000));
+  }
 }
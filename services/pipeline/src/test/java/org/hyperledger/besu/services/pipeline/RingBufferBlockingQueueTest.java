@@ -0,0 +1,176 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferBlockingQueueTest {
+
+  private final RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3);
+  private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+  @AfterEach
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void shouldRejectOfferWhenFull() {
+    assertThat(queue.offer(1)).isTrue();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue.offer(3)).isTrue();
+    assertThat(queue.offer(4)).isFalse();
+    assertThat(queue.size()).isEqualTo(3);
+    assertThat(queue.remainingCapacity()).isZero();
+  }
+
+  @Test
+  public void shouldPollInInsertionOrderAcrossLaps() {
+    for (int i = 0; i < 10; i++) {
+      assertThat(queue.offer(i)).isTrue();
+      assertThat(queue.peek()).isEqualTo(i);
+      assertThat(queue.poll()).isEqualTo(i);
+    }
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldDrainReadyElementsInBatch() {
+    queue.offer(1);
+    queue.offer(2);
+    queue.offer(3);
+
+    final List<Integer> output = new ArrayList<>();
+    assertThat(queue.drainTo(output, 2)).isEqualTo(2);
+    assertThat(output).containsExactly(1, 2);
+
+    queue.offer(4);
+    assertThat(queue.drainTo(output)).isEqualTo(2);
+    assertThat(output).containsExactly(1, 2, 3, 4);
+    assertThat(queue.drainTo(output)).isZero();
+  }
+
+  @Test
+  public void shouldTimeOutWaitingOperations() throws Exception {
+    assertThat(queue.poll(10, MILLISECONDS)).isNull();
+
+    queue.offer(1);
+    queue.offer(2);
+    queue.offer(3);
+    assertThat(queue.offer(4, 10, MILLISECONDS)).isFalse();
+  }
+
+  @Test
+  public void shouldIterateOverReadyElementsInOrder() {
+    queue.offer(1);
+    queue.offer(2);
+    queue.poll();
+    queue.offer(3);
+    queue.offer(4);
+
+    final List<Integer> iterated = new ArrayList<>();
+    queue.iterator().forEachRemaining(iterated::add);
+    assertThat(iterated).containsExactly(2, 3, 4);
+    assertThat(queue).contains(3).doesNotContain(1);
+  }
+
+  @Test
+  public void shouldWakeParkedConsumerWhenElementIsAdded() throws Exception {
+    final Future<Integer> taken = executorService.submit(queue::take);
+    // let the consumer go past spinning and park
+    Thread.sleep(100);
+    assertThat(taken).isNotDone();
+
+    queue.put(1);
+    assertThat(taken.get(1, SECONDS)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWakeParkedProducerWhenSlotIsFreed() throws Exception {
+    queue.put(1);
+    queue.put(2);
+    queue.put(3);
+    final Future<?> put =
+        executorService.submit(
+            () -> {
+              queue.put(4);
+              return null;
+            });
+    Thread.sleep(100);
+    assertThat(put).isNotDone();
+
+    assertThat(queue.drainTo(new ArrayList<>(), 2)).isEqualTo(2);
+    put.get(1, SECONDS);
+    assertThat(queue).containsExactly(3, 4);
+  }
+
+  @Test
+  public void shouldNotLoseElementsWithMultipleProducersAndConsumers() throws Exception {
+    final int producers = 4;
+    final int itemsPerProducer = 10_000;
+    final List<Future<?>> producerFutures = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      final int producer = p;
+      producerFutures.add(
+          executorService.submit(
+              () -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                  queue.put(producer * itemsPerProducer + i);
+                }
+                return null;
+              }));
+    }
+    final List<Future<Set<Integer>>> consumerFutures = new ArrayList<>();
+    for (int c = 0; c < 2; c++) {
+      consumerFutures.add(
+          executorService.submit(
+              () -> {
+                final Set<Integer> consumed = new HashSet<>();
+                Integer item;
+                while ((item = queue.poll(500, MILLISECONDS)) != null) {
+                  consumed.add(item);
+                }
+                return consumed;
+              }));
+    }
+
+    for (final Future<?> future : producerFutures) {
+      future.get(10, SECONDS);
+    }
+    final Set<Integer> allConsumed = new HashSet<>();
+    int totalConsumed = 0;
+    for (final Future<Set<Integer>> future : consumerFutures) {
+      final Set<Integer> consumed = future.get(10, SECONDS);
+      totalConsumed += consumed.size();
+      allConsumed.addAll(consumed);
+    }
+    assertThat(totalConsumed).isEqualTo(producers * itemsPerProducer);
+    assertThat(allConsumed).hasSize(producers * itemsPerProducer);
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A FIFO task queue that writes every task to a key value storage until it is completed, so the
+ * pending tasks survive a restart and only a bounded window of them is kept in memory.
+ *
+ * <p>Tasks are stored under the key prefix followed by their insertion sequence. The oldest ones,
+ * up to the in memory limit, are kept deserialized in memory, the following ones are only written
+ * to the storage and read back in order once the in memory ones have been removed. A task is
+ * deleted from the storage when it is marked completed, so the tasks that were pending or
+ * outstanding when the node stopped are loaded again when the queue is created on the same
+ * storage and prefix.
+ *
+ * @param <T> the type parameter
+ */
+public class PersistentTaskQueue<T> implements TaskCollection<T> {
+  private static final int SEQUENCE_SIZE = Long.BYTES;
+
+  private final KeyValueStorage storage;
+  private final Bytes keyPrefix;
+  private final Function<T, Bytes> serializer;
+  private final Function<Bytes, T> deserializer;
+  private final int maxInMemoryTasks;
+
+  private final Queue<PersistentTask<T>> inMemoryTasks = new ArrayDeque<>();
+  private final Set<PersistentTask<T>> unfinishedOutstandingTasks = new HashSet<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  /** Sequence of the next added task */
+  private long nextSequence;
+
+  /** Sequence of the first task only present in the storage */
+  private long spilledFromSequence;
+
+  /** Number of tasks not removed yet, in memory or only in the storage */
+  private long size;
+
+  /**
+   * Instantiates a new Persistent task queue, loading the tasks already stored under the prefix.
+   *
+   * @param storage the storage the tasks are written to
+   * @param keyPrefix the prefix of the keys of this queue, allowing several queues in one storage
+   * @param serializer the task serializer
+   * @param deserializer the task deserializer
+   * @param maxInMemoryTasks the max number of pending tasks kept in memory
+   */
+  public PersistentTaskQueue(
+      final KeyValueStorage storage,
+      final Bytes keyPrefix,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer,
+      final int maxInMemoryTasks) {
+    if (maxInMemoryTasks < 1) {
+      throw new IllegalArgumentException("The queue must keep at least one task in memory");
+    }
+    this.storage = storage;
+    this.keyPrefix = keyPrefix;
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    this.maxInMemoryTasks = maxInMemoryTasks;
+    loadStoredTasks();
+  }
+
+  @Override
+  public synchronized void add(final T taskData) {
+    assertNotClosed();
+    final long sequence = nextSequence++;
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(key(sequence), serializer.apply(taskData).toArrayUnsafe());
+    transaction.commit();
+    size++;
+    // older tasks still in the storage must be removed first to keep the order
+    if (spilledFromSequence == sequence && inMemoryTasks.size() < maxInMemoryTasks) {
+      inMemoryTasks.add(new PersistentTask<>(this, sequence, taskData));
+      spilledFromSequence = nextSequence;
+    }
+  }
+
+  @Override
+  public synchronized Task<T> remove() {
+    assertNotClosed();
+    if (inMemoryTasks.isEmpty()) {
+      loadSpilledTasks();
+    }
+    final PersistentTask<T> task = inMemoryTasks.poll();
+    if (task == null) {
+      return null;
+    }
+    size--;
+    unfinishedOutstandingTasks.add(task);
+    return task;
+  }
+
+  @Override
+  public synchronized long size() {
+    assertNotClosed();
+    return size;
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    assertNotClosed();
+    return size() == 0;
+  }
+
+  @Override
+  public synchronized void clear() {
+    assertNotClosed();
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    try (final Stream<Pair<byte[], byte[]>> entries = streamStoredTasks(0)) {
+      entries.forEach(entry -> transaction.remove(entry.getKey()));
+    }
+    transaction.commit();
+    unfinishedOutstandingTasks.clear();
+    inMemoryTasks.clear();
+    nextSequence = 0;
+    spilledFromSequence = 0;
+    size = 0;
+  }
+
+  @Override
+  public synchronized boolean allTasksCompleted() {
+    assertNotClosed();
+    return isEmpty() && unfinishedOutstandingTasks.isEmpty();
+  }
+
+  /**
+   * Close the queue and release the tasks kept in memory. The stored tasks are left in the storage
+   * so they can be loaded again.
+   */
+  @Override
+  public synchronized void close() {
+    closed.set(true);
+    inMemoryTasks.clear();
+    unfinishedOutstandingTasks.clear();
+  }
+
+  /**
+   * Returns the number of pending tasks kept in memory.
+   *
+   * @return the number of pending tasks kept in memory
+   */
+  synchronized int inMemorySize() {
+    return inMemoryTasks.size();
+  }
+
+  private void assertNotClosed() {
+    if (closed.get()) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+
+  private void loadStoredTasks() {
+    final List<Long> storedSequences;
+    try (final Stream<Pair<byte[], byte[]>> entries = streamStoredTasks(0)) {
+      storedSequences = entries.map(entry -> sequence(entry.getKey())).collect(Collectors.toList());
+    }
+    if (!storedSequences.isEmpty()) {
+      spilledFromSequence = storedSequences.get(0);
+      nextSequence = storedSequences.get(storedSequences.size() - 1) + 1;
+      size = storedSequences.size();
+    }
+  }
+
+  private void loadSpilledTasks() {
+    if (spilledFromSequence >= nextSequence) {
+      return;
+    }
+    try (final Stream<Pair<byte[], byte[]>> entries = streamStoredTasks(spilledFromSequence)) {
+      entries
+          .limit(maxInMemoryTasks)
+          .forEach(
+              entry -> {
+                final long sequence = sequence(entry.getKey());
+                inMemoryTasks.add(
+                    new PersistentTask<>(
+                        this, sequence, deserializer.apply(Bytes.wrap(entry.getValue()))));
+                spilledFromSequence = sequence + 1;
+              });
+    }
+    if (inMemoryTasks.isEmpty()) {
+      spilledFromSequence = nextSequence;
+    }
+  }
+
+  private Stream<Pair<byte[], byte[]>> streamStoredTasks(final long fromSequence) {
+    return storage
+        .streamFromKey(key(fromSequence))
+        .takeWhile(entry -> isQueueKey(entry.getKey()));
+  }
+
+  private boolean isQueueKey(final byte[] key) {
+    return key.length == keyPrefix.size() + SEQUENCE_SIZE
+        && Bytes.wrap(key, 0, keyPrefix.size()).equals(keyPrefix);
+  }
+
+  private byte[] key(final long sequence) {
+    return Bytes.concatenate(keyPrefix, Bytes.ofUnsignedLong(sequence)).toArrayUnsafe();
+  }
+
+  private long sequence(final byte[] key) {
+    return Bytes.wrap(key, keyPrefix.size(), SEQUENCE_SIZE).toLong();
+  }
+
+  private synchronized void handleFailedTask(final PersistentTask<T> task) {
+    if (unfinishedOutstandingTasks.remove(task)) {
+      // the task is still stored, it only goes back in memory, as a new task since this one has
+      // already been marked as done
+      inMemoryTasks.add(new PersistentTask<>(this, task.sequence, task.data));
+      size++;
+    }
+  }
+
+  private synchronized void markTaskCompleted(final PersistentTask<T> task) {
+    if (unfinishedOutstandingTasks.remove(task)) {
+      final KeyValueStorageTransaction transaction = storage.startTransaction();
+      transaction.remove(key(task.sequence));
+      transaction.commit();
+    }
+  }
+
+  private static class PersistentTask<T> implements Task<T> {
+    private final PersistentTaskQueue<T> queue;
+    private final long sequence;
+    private final T data;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+
+    private PersistentTask(final PersistentTaskQueue<T> queue, final long sequence, final T data) {
+      this.queue = queue;
+      this.sequence = sequence;
+      this.data = data;
+    }
+
+    @Override
+    public T getData() {
+      return data;
+    }
+
+    @Override
+    public void markCompleted() {
+      if (completed.compareAndSet(false, true)) {
+        queue.markTaskCompleted(this);
+      }
+    }
+
+    @Override
+    public void markFailed() {
+      if (completed.compareAndSet(false, true)) {
+        queue.handleFailedTask(this);
+      }
+    }
+  }
+}
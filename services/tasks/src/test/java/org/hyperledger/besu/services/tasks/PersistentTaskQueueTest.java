@@ -0,0 +1,113 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class PersistentTaskQueueTest extends AbstractTaskQueueTest<PersistentTaskQueue<Bytes>> {
+
+  private static final int MAX_IN_MEMORY_TASKS = 2;
+
+  private final KeyValueStorage storage = new InMemoryKeyValueStorage();
+
+  @Override
+  protected PersistentTaskQueue<Bytes> createQueue() {
+    return createQueue(Bytes.of(1));
+  }
+
+  private PersistentTaskQueue<Bytes> createQueue(final Bytes keyPrefix) {
+    return new PersistentTaskQueue<>(
+        storage, keyPrefix, Function.identity(), Function.identity(), MAX_IN_MEMORY_TASKS);
+  }
+
+  @Test
+  public void shouldKeepOrderWhenTasksSpillToStorage() {
+    final PersistentTaskQueue<Bytes> queue = createQueue();
+    for (int i = 0; i < 5; i++) {
+      queue.add(Bytes.of(i));
+    }
+    assertThat(queue.size()).isEqualTo(5);
+    assertThat(queue.inMemorySize()).isEqualTo(MAX_IN_MEMORY_TASKS);
+
+    for (int i = 0; i < 5; i++) {
+      final Task<Bytes> task = queue.remove();
+      assertThat(task.getData()).isEqualTo(Bytes.of(i));
+      assertThat(queue.inMemorySize()).isLessThanOrEqualTo(MAX_IN_MEMORY_TASKS);
+      task.markCompleted();
+    }
+    assertThat(queue.remove()).isNull();
+    assertThat(queue.allTasksCompleted()).isTrue();
+    assertThat(storage.stream()).isEmpty();
+  }
+
+  @Test
+  public void shouldCompleteAndDeleteTaskRemovedAgainAfterFailure() {
+    final PersistentTaskQueue<Bytes> queue = createQueue();
+    queue.add(Bytes.of(1));
+
+    queue.remove().markFailed();
+    final Task<Bytes> retriedTask = queue.remove();
+    assertThat(retriedTask.getData()).isEqualTo(Bytes.of(1));
+    assertThat(queue.allTasksCompleted()).isFalse();
+
+    retriedTask.markCompleted();
+    assertThat(queue.allTasksCompleted()).isTrue();
+    assertThat(storage.stream()).isEmpty();
+  }
+
+  @Test
+  public void shouldReloadPendingAndOutstandingTasksAfterRestart() {
+    final PersistentTaskQueue<Bytes> queue = createQueue();
+    for (int i = 0; i < 4; i++) {
+      queue.add(Bytes.of(i));
+    }
+    queue.remove().markCompleted();
+    // removed but never completed, like a task in flight when the node stopped
+    queue.remove();
+    queue.close();
+
+    final PersistentTaskQueue<Bytes> reloadedQueue = createQueue();
+    assertThat(reloadedQueue.size()).isEqualTo(3);
+    assertThat(reloadedQueue.remove().getData()).isEqualTo(Bytes.of(1));
+    reloadedQueue.add(Bytes.of(4));
+    assertThat(reloadedQueue.remove().getData()).isEqualTo(Bytes.of(2));
+    assertThat(reloadedQueue.remove().getData()).isEqualTo(Bytes.of(3));
+    assertThat(reloadedQueue.remove().getData()).isEqualTo(Bytes.of(4));
+    assertThat(reloadedQueue.remove()).isNull();
+  }
+
+  @Test
+  public void shouldIsolateQueuesWithDifferentPrefixes() {
+    final PersistentTaskQueue<Bytes> queue = createQueue(Bytes.of(1));
+    final PersistentTaskQueue<Bytes> otherQueue = createQueue(Bytes.of(2));
+    queue.add(Bytes.of(1));
+    otherQueue.add(Bytes.of(2));
+    otherQueue.add(Bytes.of(3));
+
+    queue.clear();
+
+    assertThat(queue.isEmpty()).isTrue();
+    assertThat(createQueue(Bytes.of(2)).size()).isEqualTo(2);
+    assertThat(otherQueue.remove().getData()).isEqualTo(Bytes.of(2));
+  }
+}
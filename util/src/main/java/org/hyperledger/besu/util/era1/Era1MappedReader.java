@@ -0,0 +1,199 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.era1;
+
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.xerial.snappy.SnappyFramedInputStream;
+
+/**
+ * Reads era1 files through a memory mapping, giving random access to the blocks they contain.
+ *
+ * <p>The block index at the end of the file is read when the file is opened, so the entries of a
+ * block are found from their offset without reading the ones before them, and only the requested
+ * entries are decompressed. The mapping is read with absolute operations only, so a reader can be
+ * used by several threads at the same time.
+ */
+public class Era1MappedReader {
+  private static final int TYPE_LENGTH = 2;
+  private static final int LENGTH_LENGTH = 6;
+  private static final int ENTRY_HEADER_LENGTH = 8;
+  private static final int INDEX_FIELD_LENGTH = 8;
+  private static final int MAX_ENTRIES_PER_BLOCK = 4;
+
+  private final Path file;
+  private final SnappyFactory snappyFactory;
+  private final ByteBuffer buffer;
+  private final long blockIndexPosition;
+  private final Era1BlockIndex blockIndex;
+
+  /**
+   * Maps the supplied era1 file and reads its block index
+   *
+   * @param file the era1 file
+   * @param snappyFactory A factory to provide objects for snappy decompression
+   * @throws IOException If the file cannot be mapped or does not end with a block index
+   */
+  public Era1MappedReader(final Path file, final SnappyFactory snappyFactory) throws IOException {
+    this.file = file;
+    this.snappyFactory = snappyFactory;
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Era1 file " + file + " is too large to be mapped");
+      }
+      this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    if (buffer.capacity() < ENTRY_HEADER_LENGTH + 2 * INDEX_FIELD_LENGTH) {
+      throw new IOException("Era1 file " + file + " is too small to contain a block index");
+    }
+    final long count = buffer.getLong(buffer.capacity() - INDEX_FIELD_LENGTH);
+    this.blockIndexPosition =
+        buffer.capacity() - ENTRY_HEADER_LENGTH - (count + 2) * INDEX_FIELD_LENGTH;
+    if (count < 0
+        || blockIndexPosition < 0
+        || typeAt(blockIndexPosition) != Era1Type.BLOCK_INDEX
+        || lengthAt(blockIndexPosition) != (count + 2) * INDEX_FIELD_LENGTH) {
+      throw new IOException("Era1 file " + file + " does not end with a block index");
+    }
+    final int indexDataPosition = (int) blockIndexPosition + ENTRY_HEADER_LENGTH;
+    final List<Long> indexes = new ArrayList<>((int) count);
+    for (int i = 0; i < count; i++) {
+      indexes.add(buffer.getLong(indexDataPosition + (i + 1) * INDEX_FIELD_LENGTH));
+    }
+    this.blockIndex = new Era1BlockIndex(buffer.getLong(indexDataPosition), List.copyOf(indexes));
+  }
+
+  /**
+   * Gets the block index of the file
+   *
+   * @return the block index
+   */
+  public Era1BlockIndex getBlockIndex() {
+    return blockIndex;
+  }
+
+  /**
+   * Checks if the file contains the supplied block
+   *
+   * @param blockNumber the block number
+   * @return true if the block is in the file
+   */
+  public boolean containsBlock(final long blockNumber) {
+    return blockNumber >= blockIndex.startingBlockIndex()
+        && blockNumber - blockIndex.startingBlockIndex() < blockIndex.indexes().size();
+  }
+
+  /**
+   * Reads and decompresses the header of the supplied block
+   *
+   * @param blockNumber the block number
+   * @return the header, empty if the block is not in the file
+   * @throws IOException If the entry cannot be decompressed
+   */
+  public Optional<Era1ExecutionBlockHeader> readExecutionBlockHeader(final long blockNumber)
+      throws IOException {
+    final Optional<byte[]> header =
+        readEntry(blockNumber, Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER);
+    return header.map(data -> new Era1ExecutionBlockHeader(data, blockIndexOf(blockNumber)));
+  }
+
+  /**
+   * Reads and decompresses the body of the supplied block
+   *
+   * @param blockNumber the block number
+   * @return the body, empty if the block is not in the file
+   * @throws IOException If the entry cannot be decompressed
+   */
+  public Optional<Era1ExecutionBlockBody> readExecutionBlockBody(final long blockNumber)
+      throws IOException {
+    final Optional<byte[]> body = readEntry(blockNumber, Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY);
+    return body.map(data -> new Era1ExecutionBlockBody(data, blockIndexOf(blockNumber)));
+  }
+
+  /**
+   * Reads and decompresses the transaction receipts of the supplied block
+   *
+   * @param blockNumber the block number
+   * @return the receipts, empty if the block is not in the file
+   * @throws IOException If the entry cannot be decompressed
+   */
+  public Optional<Era1ExecutionBlockReceipts> readExecutionBlockReceipts(final long blockNumber)
+      throws IOException {
+    final Optional<byte[]> receipts =
+        readEntry(blockNumber, Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS);
+    return receipts.map(data -> new Era1ExecutionBlockReceipts(data, blockIndexOf(blockNumber)));
+  }
+
+  private Optional<byte[]> readEntry(final long blockNumber, final Era1Type type)
+      throws IOException {
+    if (!containsBlock(blockNumber)) {
+      return Optional.empty();
+    }
+    long position = blockIndexPosition + blockIndex.indexes().get(blockIndexOf(blockNumber));
+    for (int i = 0; i < MAX_ENTRIES_PER_BLOCK; i++) {
+      if (position < 0 || position + ENTRY_HEADER_LENGTH > blockIndexPosition) {
+        break;
+      }
+      final long length = lengthAt(position);
+      if (position + ENTRY_HEADER_LENGTH + length > blockIndexPosition) {
+        break;
+      }
+      if (typeAt(position) == type) {
+        final byte[] compressed = new byte[(int) length];
+        buffer.get((int) position + ENTRY_HEADER_LENGTH, compressed);
+        try (final SnappyFramedInputStream decompressionStream =
+            snappyFactory.createFramedInputStream(compressed)) {
+          return Optional.of(decompressionStream.readAllBytes());
+        }
+      }
+      position += ENTRY_HEADER_LENGTH + length;
+    }
+    throw new IOException(
+        "No " + type + " entry found for block " + blockNumber + " in era1 file " + file);
+  }
+
+  private int blockIndexOf(final long blockNumber) {
+    return (int) (blockNumber - blockIndex.startingBlockIndex());
+  }
+
+  private Era1Type typeAt(final long position) throws IOException {
+    final byte[] typeCode = new byte[TYPE_LENGTH];
+    buffer.get((int) position, typeCode);
+    try {
+      return Era1Type.getForTypeCode(typeCode);
+    } catch (final IllegalArgumentException e) {
+      throw new IOException("Invalid entry at position " + position + " in era1 file " + file, e);
+    }
+  }
+
+  private long lengthAt(final long position) {
+    long length = 0;
+    for (int i = LENGTH_LENGTH - 1; i >= 0; i--) {
+      length = (length << 8) | (buffer.get((int) position + TYPE_LENGTH + i) & 0xFF);
+    }
+    return length;
+  }
+}
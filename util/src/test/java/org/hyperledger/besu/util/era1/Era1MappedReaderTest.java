@@ -0,0 +1,130 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.era1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.util.snappy.SnappyFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+public class Era1MappedReaderTest {
+  private static final long STARTING_BLOCK = 100;
+  private static final int BLOCK_COUNT = 3;
+
+  @TempDir private Path tempDir;
+  private Path era1File;
+
+  @BeforeEach
+  public void writeEra1File() throws IOException {
+    final ByteArrayOutputStream file = new ByteArrayOutputStream();
+    writeEntry(file, Era1Type.VERSION, new byte[0]);
+    final List<Long> blockPositions = new ArrayList<>();
+    for (long blockNumber = STARTING_BLOCK;
+        blockNumber < STARTING_BLOCK + BLOCK_COUNT;
+        blockNumber++) {
+      blockPositions.add((long) file.size());
+      writeEntry(
+          file, Era1Type.COMPRESSED_EXECUTION_BLOCK_HEADER, compress("header-" + blockNumber));
+      writeEntry(file, Era1Type.COMPRESSED_EXECUTION_BLOCK_BODY, compress("body-" + blockNumber));
+      writeEntry(
+          file, Era1Type.COMPRESSED_EXECUTION_BLOCK_RECEIPTS, compress("receipts-" + blockNumber));
+      writeEntry(file, Era1Type.TOTAL_DIFFICULTY, new byte[32]);
+    }
+    writeEntry(file, Era1Type.ACCUMULATOR, new byte[32]);
+
+    final long blockIndexPosition = file.size();
+    final ByteBuffer blockIndex =
+        ByteBuffer.allocate((BLOCK_COUNT + 2) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    blockIndex.putLong(STARTING_BLOCK);
+    blockPositions.forEach(position -> blockIndex.putLong(position - blockIndexPosition));
+    blockIndex.putLong(BLOCK_COUNT);
+    writeEntry(file, Era1Type.BLOCK_INDEX, blockIndex.array());
+
+    era1File = tempDir.resolve("test-00000-00000000.era1");
+    Files.write(era1File, file.toByteArray());
+  }
+
+  @Test
+  public void shouldReadBlockIndex() throws IOException {
+    final Era1MappedReader reader = new Era1MappedReader(era1File, new SnappyFactory());
+
+    assertThat(reader.getBlockIndex().startingBlockIndex()).isEqualTo(STARTING_BLOCK);
+    assertThat(reader.getBlockIndex().indexes()).hasSize(BLOCK_COUNT);
+    assertThat(reader.containsBlock(STARTING_BLOCK - 1)).isFalse();
+    assertThat(reader.containsBlock(STARTING_BLOCK)).isTrue();
+    assertThat(reader.containsBlock(STARTING_BLOCK + BLOCK_COUNT - 1)).isTrue();
+    assertThat(reader.containsBlock(STARTING_BLOCK + BLOCK_COUNT)).isFalse();
+  }
+
+  @Test
+  public void shouldReadEntriesOfAnyBlock() throws IOException {
+    final Era1MappedReader reader = new Era1MappedReader(era1File, new SnappyFactory());
+
+    final Era1ExecutionBlockBody body = reader.readExecutionBlockBody(101).orElseThrow();
+    assertThat(asString(body.block())).isEqualTo("body-101");
+    assertThat(body.blockIndex()).isEqualTo(1);
+    assertThat(asString(reader.readExecutionBlockHeader(102).orElseThrow().header()))
+        .isEqualTo("header-102");
+    assertThat(asString(reader.readExecutionBlockReceipts(100).orElseThrow().receipts()))
+        .isEqualTo("receipts-100");
+    assertThat(reader.readExecutionBlockHeader(STARTING_BLOCK + BLOCK_COUNT)).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectFileWithoutBlockIndex() throws IOException {
+    final Path invalidFile = tempDir.resolve("invalid.era1");
+    Files.write(invalidFile, new byte[64]);
+
+    assertThatThrownBy(() -> new Era1MappedReader(invalidFile, new SnappyFactory()))
+        .isInstanceOf(IOException.class);
+  }
+
+  private static void writeEntry(
+      final ByteArrayOutputStream file, final Era1Type type, final byte[] data) {
+    file.writeBytes(type.getTypeCode());
+    final ByteBuffer length = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    length.putLong(data.length);
+    file.write(length.array(), 0, 6);
+    file.writeBytes(data);
+  }
+
+  private static byte[] compress(final String data) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (final SnappyFramedOutputStream compressionStream =
+        new SnappyFramedOutputStream(compressed)) {
+      compressionStream.write(data.getBytes(StandardCharsets.UTF_8));
+    }
+    return compressed.toByteArray();
+  }
+
+  private static String asString(final byte[] data) {
+    return new String(data, StandardCharsets.UTF_8);
+  }
+}